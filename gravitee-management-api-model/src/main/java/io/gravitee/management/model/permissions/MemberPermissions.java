@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.model.permissions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable and compact view of the permissions of a member on a given scope: the CRUD flags of each permission are
+ * stored as a bitmask (see {@link RolePermissionAction#getMask()}) indexed by the ordinal of the permission in its
+ * scope.
+ *
+ * @author GraviteeSource Team
+ */
+public final class MemberPermissions {
+
+    private static final RolePermissionAction[] ACTIONS = RolePermissionAction.values();
+
+    private final RoleScope scope;
+    private final Permission[] permissions;
+    private final byte[] masks;
+
+    private MemberPermissions(RoleScope scope, byte[] masks) {
+        this.scope = scope;
+        this.permissions = Permission.findByScope(scope);
+        this.masks = masks;
+    }
+
+    public static MemberPermissions empty(RoleScope scope) {
+        return new MemberPermissions(scope, new byte[Permission.findByScope(scope).length]);
+    }
+
+    public static MemberPermissions of(RoleScope scope, Map<String, char[]> permissions) {
+        MemberPermissions memberPermissions = empty(scope);
+        if (permissions != null) {
+            permissions.forEach((name, crud) -> {
+                int idx = memberPermissions.indexOf(name);
+                if (idx != -1) {
+                    memberPermissions.masks[idx] |= mask(crud);
+                }
+            });
+        }
+        return memberPermissions;
+    }
+
+    public RoleScope getScope() {
+        return scope;
+    }
+
+    /**
+     * @return a new instance holding the union of the CRUD flags of both permissions.
+     */
+    public MemberPermissions merge(MemberPermissions other) {
+        if (other.scope != scope) {
+            throw new IllegalArgumentException("Unable to merge " + other.scope + " permissions into " + scope + " permissions");
+        }
+        byte[] merged = masks.clone();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] |= other.masks[i];
+        }
+        return new MemberPermissions(scope, merged);
+    }
+
+    /**
+     * @return <code>true</code> if at least one of the given actions is granted for the permission.
+     */
+    public boolean has(Permission permission, RolePermissionAction... acls) {
+        int idx = indexOf(permission);
+        if (idx == -1) {
+            return false;
+        }
+        int mask = masks[idx];
+        for (RolePermissionAction acl : acls) {
+            if ((mask & acl.getMask()) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (byte mask : masks) {
+            if (mask != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the permissions as exposed by the REST API, for instance <code>{"PLAN": ['C', 'R']}</code>.
+     */
+    public Map<String, char[]> toMap() {
+        if (isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, char[]> result = new HashMap<>();
+        for (int i = 0; i < masks.length; i++) {
+            if (masks[i] != 0) {
+                result.put(permissions[i].getName(), crud(masks[i]));
+            }
+        }
+        return result;
+    }
+
+    private int indexOf(Permission permission) {
+        // Fast path: permissions of a scope are enum constants, so their ordinal is their index in the scope
+        if (permission instanceof Enum) {
+            int ordinal = ((Enum<?>) permission).ordinal();
+            if (ordinal < permissions.length && permissions[ordinal] == permission) {
+                return ordinal;
+            }
+        }
+        return indexOf(permission.getName());
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < permissions.length; i++) {
+            if (permissions[i].getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte mask(char[] crud) {
+        int mask = 0;
+        if (crud != null) {
+            for (char c : crud) {
+                mask |= RolePermissionAction.findById(c).getMask();
+            }
+        }
+        return (byte) mask;
+    }
+
+    private static char[] crud(int mask) {
+        char[] crud = new char[Integer.bitCount(mask)];
+        int idx = 0;
+        for (RolePermissionAction action : ACTIONS) {
+            if ((mask & action.getMask()) != 0) {
+                crud[idx++] = action.getId();
+            }
+        }
+        return crud;
+    }
+}
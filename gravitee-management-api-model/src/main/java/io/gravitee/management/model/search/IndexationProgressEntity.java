@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.model.search;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Date;
+
+/**
+ * Progress of a full (bulk) indexation of the search engine.
+ *
+ * @author GraviteeSource Team
+ */
+public class IndexationProgressEntity {
+
+    public enum Status {
+        IDLE, RUNNING, DONE, FAILED
+    }
+
+    private Status status = Status.IDLE;
+
+    /**
+     * <code>true</code> if only the entities changed since the previous indexation are indexed.
+     */
+    private boolean incremental;
+
+    @JsonProperty("started_at")
+    private Date startedAt;
+
+    @JsonProperty("ended_at")
+    private Date endedAt;
+
+    @JsonProperty("total_apis")
+    private long totalApis;
+
+    @JsonProperty("indexed_apis")
+    private long indexedApis;
+
+    @JsonProperty("indexed_pages")
+    private long indexedPages;
+
+    @JsonProperty("total_users")
+    private long totalUsers;
+
+    @JsonProperty("indexed_users")
+    private long indexedUsers;
+
+    private String error;
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    public Date getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Date startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Date getEndedAt() {
+        return endedAt;
+    }
+
+    public void setEndedAt(Date endedAt) {
+        this.endedAt = endedAt;
+    }
+
+    public long getTotalApis() {
+        return totalApis;
+    }
+
+    public void setTotalApis(long totalApis) {
+        this.totalApis = totalApis;
+    }
+
+    public long getIndexedApis() {
+        return indexedApis;
+    }
+
+    public void setIndexedApis(long indexedApis) {
+        this.indexedApis = indexedApis;
+    }
+
+    public long getIndexedPages() {
+        return indexedPages;
+    }
+
+    public void setIndexedPages(long indexedPages) {
+        this.indexedPages = indexedPages;
+    }
+
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+
+    public long getIndexedUsers() {
+        return indexedUsers;
+    }
+
+    public void setIndexedUsers(long indexedUsers) {
+        this.indexedUsers = indexedUsers;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -16,6 +16,7 @@
 package io.gravitee.management.repository.plugins;
 
 import io.gravitee.management.repository.proxy.AbstractProxy;
+import io.gravitee.management.repository.proxy.RepositoryMetrics;
 import io.gravitee.plugin.core.api.*;
 import io.gravitee.plugin.core.internal.AnnotationBasedPluginContextConfigurer;
 import io.gravitee.repository.Repository;
@@ -55,6 +56,9 @@ public class RepositoryPluginHandler implements PluginHandler, InitializingBean
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    private RepositoryMetrics repositoryMetrics;
+
     private final Map<Scope, Repository> repositories = new HashMap<>();
     private final Map<Scope, String> repositoryTypeByScope = new HashMap<>();
     private final Map<String, Collection<Scope>> scopeByRepositoryType = new HashMap<>();
@@ -133,7 +137,7 @@ public class RepositoryPluginHandler implements PluginHandler, InitializingBean
                         Object proxyRepository = beanFactory.getBean(repositoryItfClass);
                         if (proxyRepository instanceof AbstractProxy) {
                             AbstractProxy proxy = (AbstractProxy) proxyRepository;
-                            proxy.setTarget(repositoryClassInstance);
+                            proxy.setTarget(repositoryMetrics.instrument((Class) repositoryItfClass, repositoryClassInstance));
                         }
                     } catch (NoSuchBeanDefinitionException nsbde) {
                         LOGGER.debug("Unable to proxify {} [{}]", beanName, repositoryItfClass);
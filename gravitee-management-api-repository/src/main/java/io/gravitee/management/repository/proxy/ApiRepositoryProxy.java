@@ -16,12 +16,17 @@
 package io.gravitee.management.repository.proxy;
 
 import io.gravitee.common.data.domain.Page;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiRepository;
 import io.gravitee.repository.management.api.search.ApiCriteria;
 import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.api.search.Pageable;
 import io.gravitee.repository.management.model.Api;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -33,26 +38,59 @@ import java.util.Optional;
  * @author GraviteeSource Team
  */
 @Component
-public class ApiRepositoryProxy extends AbstractProxy<ApiRepository> implements ApiRepository {
+public class ApiRepositoryProxy extends AbstractProxy<ApiRepository> implements ApiRepository, InitializingBean,
+        EventListener<RepositoryCacheEvent, String> {
+
+    @Autowired
+    private RepositoryCaches repositoryCaches;
+    @Autowired
+    private EventManager eventManager;
+
+    private RepositoryCache<String, Optional<Api>> apisById;
+
+    @Override
+    public void afterPropertiesSet() {
+        apisById = repositoryCaches.create("api", "findById", api -> api.map(Api::new));
+        eventManager.subscribeForEvents(this, RepositoryCacheEvent.class);
+    }
+
+    @Override
+    public void onEvent(Event<RepositoryCacheEvent, String> event) {
+        if (event.type() == RepositoryCacheEvent.INVALIDATE_API) {
+            apisById.invalidate(event.content());
+        }
+    }
 
     @Override
     public Api create(Api api) throws TechnicalException {
-        return target.create(api);
+        try {
+            return target.create(api);
+        } finally {
+            apisById.invalidate(api.getId());
+        }
     }
 
     @Override
     public void delete(String s) throws TechnicalException {
-        target.delete(s);
+        try {
+            target.delete(s);
+        } finally {
+            apisById.invalidate(s);
+        }
     }
 
     @Override
     public Optional<Api> findById(String s) throws TechnicalException {
-        return target.findById(s);
+        return apisById.get(s, () -> target.findById(s));
     }
 
     @Override
     public Api update(Api api) throws TechnicalException {
-        return target.update(api);
+        try {
+            return target.update(api);
+        } finally {
+            apisById.invalidate(api.getId());
+        }
     }
 
     @Override
@@ -17,49 +17,84 @@ package io.gravitee.management.repository.proxy;
 
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.GroupRepository;
-import io.gravitee.repository.management.api.MembershipRepository;
 import io.gravitee.repository.management.model.Group;
-import io.gravitee.repository.management.model.Membership;
-import io.gravitee.repository.management.model.MembershipReferenceType;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
+ * Cached groups are shared between callers: groups have no copy constructor and they are only read by the services,
+ * updates being made from new instances.
+ *
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com) 
  * @author GraviteeSource Team
  */
 @Component
-public class GroupRepositoryProxy extends AbstractProxy<GroupRepository> implements GroupRepository {
+public class GroupRepositoryProxy extends AbstractProxy<GroupRepository> implements GroupRepository, InitializingBean {
+
+    private static final String ALL = "all";
+
+    @Autowired
+    private RepositoryCaches repositoryCaches;
+
+    private RepositoryCache<String, Optional<Group>> groupsById;
+    private RepositoryCache<String, Set<Group>> allGroups;
+
+    @Override
+    public void afterPropertiesSet() {
+        groupsById = repositoryCaches.create("group", "findById", UnaryOperator.identity());
+        allGroups = repositoryCaches.create("group", "findAll", HashSet::new);
+    }
+
     @Override
     public Optional<Group> findById(String id) throws TechnicalException {
-        return target.findById(id);
+        return groupsById.get(id, () -> target.findById(id));
     }
 
     @Override
     public Group create(Group item) throws TechnicalException {
-        return target.create(item);
+        try {
+            return target.create(item);
+        } finally {
+            invalidate(item.getId());
+        }
     }
 
     @Override
     public Group update(Group item) throws TechnicalException {
-        return target.update(item);
+        try {
+            return target.update(item);
+        } finally {
+            invalidate(item.getId());
+        }
     }
 
     @Override
     public void delete(String s) throws TechnicalException {
-        target.delete(s);
+        try {
+            target.delete(s);
+        } finally {
+            invalidate(s);
+        }
     }
 
     @Override
     public Set<Group> findAll() throws TechnicalException {
-        return target.findAll();
+        return allGroups.get(ALL, target::findAll);
     }
 
     @Override
     public Set<Group> findByIds(Set<String> ids) throws TechnicalException {
         return target.findByIds(ids);
     }
+
+    private void invalidate(String id) {
+        groupsById.invalidate(id);
+        allGroups.invalidateAll();
+    }
 }
@@ -18,40 +18,76 @@ package io.gravitee.management.repository.proxy;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ParameterRepository;
 import io.gravitee.repository.management.model.Parameter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.UnaryOperator;
 
 /**
+ * Cached parameters are shared between callers: they are only read by the services, updates being made from new
+ * instances. Missing parameters are cached too, most of them being left to their default value.
+ *
  * @author Azize ELAMRANI (azize at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class ParameterRepositoryProxy extends AbstractProxy<ParameterRepository> implements ParameterRepository {
+public class ParameterRepositoryProxy extends AbstractProxy<ParameterRepository> implements ParameterRepository,
+        InitializingBean {
+
+    @Autowired
+    private RepositoryCaches repositoryCaches;
+
+    private RepositoryCache<String, Optional<Parameter>> parametersByKey;
+
+    @Override
+    public void afterPropertiesSet() {
+        parametersByKey = repositoryCaches.create("parameter", "findById", UnaryOperator.identity());
+    }
 
     @Override
     public Optional<Parameter> findById(String s) throws TechnicalException {
-        return target.findById(s);
+        return parametersByKey.get(s, () -> target.findById(s));
     }
 
     @Override
     public List<Parameter> findAll(List<String> keys) throws TechnicalException {
-        return target.findAll(keys);
+        final List<Parameter> parameters = new ArrayList<>();
+        parametersByKey.getAll(keys, missingKeys -> {
+            final Map<String, Optional<Parameter>> loadedParameters = new LinkedHashMap<>();
+            missingKeys.forEach(key -> loadedParameters.put(key, Optional.empty()));
+            target.findAll(new ArrayList<>(missingKeys))
+                    .forEach(parameter -> loadedParameters.put(parameter.getKey(), Optional.of(parameter)));
+            return loadedParameters;
+        }).values().forEach(parameter -> parameter.ifPresent(parameters::add));
+        return parameters;
     }
 
     @Override
     public Parameter create(Parameter item) throws TechnicalException {
-        return target.create(item);
+        try {
+            return target.create(item);
+        } finally {
+            parametersByKey.invalidate(item.getKey());
+        }
     }
 
     @Override
     public Parameter update(Parameter item) throws TechnicalException {
-        return target.update(item);
+        try {
+            return target.update(item);
+        } finally {
+            parametersByKey.invalidate(item.getKey());
+        }
     }
 
     @Override
     public void delete(String s) throws TechnicalException {
-        target.delete(s);
+        try {
+            target.delete(s);
+        } finally {
+            parametersByKey.invalidate(s);
+        }
     }
 }
@@ -18,35 +18,68 @@ package io.gravitee.management.repository.proxy;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.PlanRepository;
 import io.gravitee.repository.management.model.Plan;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 import java.util.Set;
 
+import static java.util.stream.Collectors.toSet;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class PlanRepositoryProxy extends AbstractProxy<PlanRepository> implements PlanRepository {
+public class PlanRepositoryProxy extends AbstractProxy<PlanRepository> implements PlanRepository, InitializingBean {
+
+    @Autowired
+    private RepositoryCaches repositoryCaches;
+
+    private RepositoryCache<String, Optional<Plan>> plansById;
+    private RepositoryCache<String, Set<Plan>> plansByApi;
+
+    @Override
+    public void afterPropertiesSet() {
+        plansById = repositoryCaches.create("plan", "findById", plan -> plan.map(Plan::new));
+        plansByApi = repositoryCaches.create("plan", "findByApi",
+                plans -> plans.stream().map(Plan::new).collect(toSet()));
+    }
 
     public Set<Plan> findByApi(String apiId) throws TechnicalException {
-        return target.findByApi(apiId);
+        return plansByApi.get(apiId, () -> target.findByApi(apiId));
     }
 
     public Optional<Plan> findById(String s) throws TechnicalException {
-        return target.findById(s);
+        return plansById.get(s, () -> target.findById(s));
     }
 
     public Plan create(Plan item) throws TechnicalException {
-        return target.create(item);
+        try {
+            return target.create(item);
+        } finally {
+            plansById.invalidate(item.getId());
+            plansByApi.invalidate(item.getApi());
+        }
     }
 
     public Plan update(Plan item) throws TechnicalException {
-        return target.update(item);
+        try {
+            return target.update(item);
+        } finally {
+            plansById.invalidate(item.getId());
+            plansByApi.invalidate(item.getApi());
+        }
     }
 
     public void delete(String s) throws TechnicalException {
-        target.delete(s);
+        try {
+            target.delete(s);
+        } finally {
+            // The API of the plan is unknown here
+            plansById.invalidate(s);
+            plansByApi.invalidateAll();
+        }
     }
 }
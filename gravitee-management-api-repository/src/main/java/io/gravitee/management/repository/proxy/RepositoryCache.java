@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.repository.proxy;
+
+import com.google.common.cache.Cache;
+import io.gravitee.repository.exceptions.TechnicalException;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache of the results of a repository method, created by {@link RepositoryCaches}.
+ *
+ * When caching is disabled for the repository, calls go straight to the loader. Otherwise, cached results are copied
+ * before being returned so that callers can modify them, and entries loaded while an invalidation is in progress are
+ * not kept.
+ *
+ * Within a transaction, entries are invalidated both immediately and once the transaction has completed, since they
+ * may have been loaded again by another thread before the write was committed.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ * @author GraviteeSource Team
+ */
+public final class RepositoryCache<K, V> {
+
+    private final String name;
+    private final Cache<K, V> cache;
+    private final UnaryOperator<V> copy;
+    private final RepositoryMetrics metrics;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean monitored = new AtomicBoolean();
+
+    RepositoryCache(String name, Cache<K, V> cache, UnaryOperator<V> copy, RepositoryMetrics metrics) {
+        this.name = name;
+        this.cache = cache;
+        this.copy = copy;
+        this.metrics = metrics;
+    }
+
+    public V get(K key, Loader<V> loader) throws TechnicalException {
+        if (cache == null || key == null) {
+            return loader.load();
+        }
+        monitor();
+
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            final long loadGeneration = generation.get();
+            value = loader.load();
+            if (value == null) {
+                return null;
+            }
+            cache.put(key, value);
+            if (generation.get() != loadGeneration) {
+                cache.invalidate(key);
+            }
+        }
+        return copy.apply(value);
+    }
+
+    /**
+     * @return the results of the given keys, the ones which are not cached being loaded at once. Keys missing from the
+     * map returned by the loader are neither cached nor returned.
+     */
+    public Map<K, V> getAll(Collection<K> keys, BulkLoader<K, V> loader) throws TechnicalException {
+        if (cache == null) {
+            return loader.load(new LinkedHashSet<>(keys));
+        }
+        monitor();
+
+        final Map<K, V> values = new LinkedHashMap<>(cache.getAllPresent(keys));
+        final Set<K> missingKeys = new LinkedHashSet<>(keys);
+        missingKeys.removeAll(values.keySet());
+        if (!missingKeys.isEmpty()) {
+            final long loadGeneration = generation.get();
+            final Map<K, V> loadedValues = loader.load(missingKeys);
+            cache.putAll(loadedValues);
+            if (generation.get() != loadGeneration) {
+                cache.invalidateAll(loadedValues.keySet());
+            }
+            values.putAll(loadedValues);
+        }
+        values.replaceAll((key, value) -> copy.apply(value));
+        return values;
+    }
+
+    public void invalidate(K key) {
+        invalidateOnCompletion(() -> {
+            generation.incrementAndGet();
+            if (cache != null && key != null) {
+                cache.invalidate(key);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        invalidateOnCompletion(() -> {
+            generation.incrementAndGet();
+            if (cache != null) {
+                cache.invalidateAll();
+            }
+        });
+    }
+
+    private static void invalidateOnCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private void monitor() {
+        // Registered on first use, once the registry of the metrics service is available
+        if (!monitored.get() && monitored.compareAndSet(false, true)) {
+            metrics.monitor(name, cache);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws TechnicalException;
+    }
+
+    @FunctionalInterface
+    public interface BulkLoader<K, V> {
+        Map<K, V> load(Set<K> keys) throws TechnicalException;
+    }
+}
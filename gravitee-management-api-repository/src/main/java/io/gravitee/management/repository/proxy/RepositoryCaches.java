@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.repository.proxy;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Creates the read-through caches of the repository proxies.
+ *
+ * Caching is enabled per repository with <code>repositories.cache.&lt;repository&gt;.enabled</code>, entries being
+ * bounded by the <code>ttl</code> and <code>maxSize</code> settings of the repository. Entries are invalidated by the
+ * writes made through the proxy; the TTL bounds the staleness of the changes made from other nodes.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class RepositoryCaches {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(RepositoryCaches.class);
+
+    private static final long DEFAULT_TTL = 60_000;
+    private static final long DEFAULT_MAX_SIZE = 1_000;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private RepositoryMetrics repositoryMetrics;
+
+    /**
+     * @param repository the name of the repository, as used in the settings
+     * @param method the name of the cached method, used with the repository name to name the cache metrics
+     * @param copy copies a cached result before returning it
+     */
+    public <K, V> RepositoryCache<K, V> create(String repository, String method, UnaryOperator<V> copy) {
+        final String name = repository + '.' + method;
+        final String prefix = "repositories.cache." + repository + '.';
+
+        Cache<K, V> cache = null;
+        if (environment.getProperty(prefix + "enabled", Boolean.class, false)) {
+            final long ttl = environment.getProperty(prefix + "ttl", Long.class, DEFAULT_TTL);
+            final long maxSize = environment.getProperty(prefix + "maxSize", Long.class, DEFAULT_MAX_SIZE);
+            LOGGER.info("Caching results of {} for {} ms (up to {} entries)", name, ttl, maxSize);
+
+            cache = CacheBuilder.newBuilder()
+                    .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+                    .maximumSize(maxSize)
+                    .recordStats()
+                    .build();
+        }
+
+        return new RepositoryCache<>(name, cache, copy, repositoryMetrics);
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.repository.proxy;
+
+import com.google.common.cache.Cache;
+import io.gravitee.common.data.domain.Page;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.micrometer.backends.BackendRegistries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the calls made through the repository proxies: a timer per repository, method and outcome (call count,
+ * total and max duration), and a histogram of the number of items returned.
+ *
+ * Meters are registered in the registry of the node metrics service (<code>services.metrics</code>) so that they are
+ * exposed with the Prometheus output, or kept in memory until it is available (never when the service is disabled).
+ *
+ * Calls slower than <code>repositories.metrics.slowCallThreshold</code> are logged, with the REST resource being
+ * served when it is known.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class RepositoryMetrics {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(RepositoryMetrics.class);
+
+    /**
+     * MDC key of the REST resource method being served, set by the REST layer (ResourceMdcFilter).
+     */
+    public static final String RESOURCE_MDC_KEY = "resource";
+
+    private static final String CALLS_METER = "repository.calls";
+    private static final String RESULT_SIZE_METER = "repository.result.size";
+    private static final long[] RESULT_SIZE_BUCKETS = {0, 1, 10, 100, 1000, 10000};
+
+    @Value("${repositories.metrics.enabled:true}")
+    private boolean enabled = true;
+    @Value("${repositories.metrics.slowCallThreshold:0}")
+    private long slowCallThreshold;
+
+    private volatile MeterRegistry registry;
+    private final MeterRegistry fallbackRegistry = new SimpleMeterRegistry();
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+    private final Map<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @return the target wrapped so that the calls of the methods of the repository interface are recorded.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T instrument(Class<T> repositoryClass, T target) {
+        if (!enabled) {
+            return target;
+        }
+        return (T) Proxy.newProxyInstance(repositoryClass.getClassLoader(), new Class<?>[]{repositoryClass},
+                new RecordingInvocationHandler(repositoryClass.getSimpleName(), target));
+    }
+
+    /**
+     * Expose the hit and miss counts, size and evictions of a repository cache.
+     */
+    void monitor(String cacheName, Cache<?, ?> cache) {
+        if (enabled) {
+            caches.put(cacheName, cache);
+            GuavaCacheMetrics.monitor(registry(), cache, "repository." + cacheName);
+        }
+    }
+
+    private MeterRegistry registry() {
+        final MeterRegistry current = registry;
+        if (current != null) {
+            return current;
+        }
+
+        // The registry of the metrics service, if enabled, is available once Vert.x has been created
+        final MeterRegistry backendRegistry = BackendRegistries.getDefaultNow();
+        if (backendRegistry == null) {
+            return fallbackRegistry;
+        }
+        synchronized (this) {
+            if (registry == null) {
+                // Caches monitored before are registered again, method meters are re-created on their next call
+                caches.forEach((cacheName, cache) ->
+                        GuavaCacheMetrics.monitor(backendRegistry, cache, "repository." + cacheName));
+                registry = backendRegistry;
+            }
+            return registry;
+        }
+    }
+
+    private static int sizeOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection) result).size();
+        } else if (result instanceof Optional) {
+            return ((Optional) result).isPresent() ? 1 : 0;
+        } else if (result instanceof Page) {
+            return ((Page) result).getContent() == null ? 0 : ((Page) result).getContent().size();
+        } else if (result instanceof Map) {
+            return ((Map) result).size();
+        }
+        return -1;
+    }
+
+    private final class RecordingInvocationHandler implements InvocationHandler {
+
+        private final String repository;
+        private final Object target;
+
+        private RecordingInvocationHandler(String repository, Object target) {
+            this.repository = repository;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+
+            final MeterRegistry registry = registry();
+            MethodMeters methodMeters = meters.get(method);
+            if (methodMeters == null || methodMeters.registry != registry) {
+                methodMeters = new MethodMeters(registry, repository, method.getName());
+                meters.put(method, methodMeters);
+            }
+            final long start = System.nanoTime();
+            try {
+                final Object result = method.invoke(target, args);
+                final long duration = System.nanoTime() - start;
+                methodMeters.success.record(duration, TimeUnit.NANOSECONDS);
+                final int size = sizeOf(result);
+                if (size >= 0) {
+                    methodMeters.resultSize.record(size);
+                }
+                logIfSlow(method, duration);
+                return result;
+            } catch (InvocationTargetException ite) {
+                final long duration = System.nanoTime() - start;
+                methodMeters.error.record(duration, TimeUnit.NANOSECONDS);
+                logIfSlow(method, duration);
+                throw ite.getCause();
+            }
+        }
+
+        private void logIfSlow(Method method, long duration) {
+            if (slowCallThreshold > 0) {
+                final long durationMs = TimeUnit.NANOSECONDS.toMillis(duration);
+                if (durationMs >= slowCallThreshold) {
+                    LOGGER.warn("Slow repository call {}.{} took {} ms (resource: {})",
+                            repository, method.getName(), durationMs, MDC.get(RESOURCE_MDC_KEY));
+                }
+            }
+        }
+    }
+
+    private final class MethodMeters {
+
+        private final MeterRegistry registry;
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary resultSize;
+
+        private MethodMeters(MeterRegistry registry, String repository, String method) {
+            this.registry = registry;
+            this.success = timer(registry, repository, method, "success");
+            this.error = timer(registry, repository, method, "error");
+            this.resultSize = DistributionSummary.builder(RESULT_SIZE_METER)
+                    .description("Number of items returned by the repository calls")
+                    .tags("repository", repository, "method", method)
+                    .sla(RESULT_SIZE_BUCKETS)
+                    .register(registry);
+        }
+
+        private Timer timer(MeterRegistry registry, String repository, String method, String outcome) {
+            return Timer.builder(CALLS_METER)
+                    .description("Repository calls")
+                    .tags("repository", repository, "method", method, "outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
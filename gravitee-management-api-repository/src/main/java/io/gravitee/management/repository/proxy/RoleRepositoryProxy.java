@@ -19,31 +19,56 @@ import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.RoleRepository;
 import io.gravitee.repository.management.model.Role;
 import io.gravitee.repository.management.model.RoleScope;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 import java.util.Set;
 
+import static java.util.stream.Collectors.toSet;
+
 /**
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class RoleRepositoryProxy extends AbstractProxy<RoleRepository> implements RoleRepository {
+public class RoleRepositoryProxy extends AbstractProxy<RoleRepository> implements RoleRepository, InitializingBean {
+
+    @Autowired
+    private RepositoryCaches repositoryCaches;
+
+    private RepositoryCache<String, Optional<Role>> rolesById;
+    private RepositoryCache<RoleScope, Set<Role>> rolesByScope;
+
+    @Override
+    public void afterPropertiesSet() {
+        rolesById = repositoryCaches.create("role", "findById", role -> role.map(Role::new));
+        rolesByScope = repositoryCaches.create("role", "findByScope",
+                roles -> roles.stream().map(Role::new).collect(toSet()));
+    }
 
     @Override
     public Optional<Role> findById(RoleScope scope, String name) throws TechnicalException {
-        return target.findById(scope, name);
+        return rolesById.get(key(scope, name), () -> target.findById(scope, name));
     }
 
     @Override
     public Role create(Role item) throws TechnicalException {
-        return target.create(item);
+        try {
+            return target.create(item);
+        } finally {
+            invalidate(item.getScope(), item.getName());
+        }
     }
 
     @Override
     public Role update(Role item) throws TechnicalException {
-        return target.update(item);
+        try {
+            return target.update(item);
+        } finally {
+            invalidate(item.getScope(), item.getName());
+        }
     }
 
     @Override
@@ -53,11 +78,24 @@ public class RoleRepositoryProxy extends AbstractProxy<RoleRepository> implement
 
     @Override
     public void delete(RoleScope scope, String name) throws TechnicalException {
-        target.delete(scope, name);
+        try {
+            target.delete(scope, name);
+        } finally {
+            invalidate(scope, name);
+        }
     }
 
     @Override
     public Set<Role> findByScope(RoleScope scope) throws TechnicalException {
-        return target.findByScope(scope);
+        return rolesByScope.get(scope, () -> target.findByScope(scope));
+    }
+
+    private void invalidate(RoleScope scope, String name) {
+        rolesById.invalidate(key(scope, name));
+        rolesByScope.invalidate(scope);
+    }
+
+    private static String key(RoleScope scope, String name) {
+        return scope + ":" + name;
     }
 }
@@ -21,11 +21,13 @@ import io.gravitee.repository.management.api.UserRepository;
 import io.gravitee.repository.management.api.search.Pageable;
 import io.gravitee.repository.management.api.search.UserCriteria;
 import io.gravitee.repository.management.model.User;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+
+import static java.util.stream.Collectors.toMap;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -33,21 +35,39 @@ import java.util.Set;
  * @author GraviteeSource Team
  */
 @Component
-public class UserRepositoryProxy extends AbstractProxy<UserRepository> implements UserRepository {
+public class UserRepositoryProxy extends AbstractProxy<UserRepository> implements UserRepository, InitializingBean {
+
+    @Autowired
+    private RepositoryCaches repositoryCaches;
+
+    private RepositoryCache<String, Optional<User>> usersById;
+
+    @Override
+    public void afterPropertiesSet() {
+        usersById = repositoryCaches.create("user", "findById", user -> user.map(User::new));
+    }
 
     @Override
     public Optional<User> findById(String id) throws TechnicalException {
-        return target.findById(id);
+        return usersById.get(id, () -> target.findById(id));
     }
 
     @Override
     public User create(User user) throws TechnicalException {
-        return target.create(user);
+        try {
+            return target.create(user);
+        } finally {
+            usersById.invalidate(user.getId());
+        }
     }
 
     @Override
     public User update(User user) throws TechnicalException {
-        return target.update(user);
+        try {
+            return target.update(user);
+        } finally {
+            usersById.invalidate(user.getId());
+        }
     }
 
     @Override
@@ -62,11 +82,20 @@ public class UserRepositoryProxy extends AbstractProxy<UserRepository> implement
 
     @Override
     public Set<User> findByIds(List<String> ids) throws TechnicalException {
-        return target.findByIds(ids);
+        final Set<User> users = new HashSet<>();
+        usersById.getAll(ids, missingIds -> target.findByIds(new ArrayList<>(missingIds)).stream()
+                .collect(toMap(User::getId, Optional::of)))
+                .values()
+                .forEach(user -> user.ifPresent(users::add));
+        return users;
     }
 
     @Override
     public void delete(String id) throws TechnicalException {
-        target.delete(id);
+        try {
+            target.delete(id);
+        } finally {
+            usersById.invalidate(id);
+        }
     }
 }
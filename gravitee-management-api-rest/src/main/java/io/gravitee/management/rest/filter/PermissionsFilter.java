@@ -15,15 +15,13 @@
  */
 package io.gravitee.management.rest.filter;
 
-import io.gravitee.management.model.api.ApiEntity;
-import io.gravitee.management.model.ApplicationEntity;
-import io.gravitee.management.model.GroupEntity;
 import io.gravitee.management.model.RoleEntity;
-import io.gravitee.management.model.permissions.SystemRole;
+import io.gravitee.management.model.permissions.MemberPermissions;
 import io.gravitee.management.rest.resource.AbstractResource;
 import io.gravitee.management.rest.security.Permission;
 import io.gravitee.management.rest.security.Permissions;
-import io.gravitee.management.service.*;
+import io.gravitee.management.service.MembershipService;
+import io.gravitee.management.service.RoleService;
 import io.gravitee.management.service.exceptions.ForbiddenAccessException;
 import io.gravitee.management.service.exceptions.UnauthorizedAccessException;
 import io.gravitee.repository.management.model.MembershipDefaultReferenceId;
@@ -43,7 +41,6 @@ import javax.ws.rs.ext.Provider;
 import java.io.IOException;
 import java.security.Principal;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -65,18 +62,9 @@ public class PermissionsFilter implements ContainerRequestFilter {
     @Inject
     private MembershipService membershipService;
 
-    @Inject
-    private ApplicationService applicationService;
-
-    @Inject
-    private ApiService apiService;
-
     @Inject
     private RoleService roleService;
 
-    @Inject
-    private GroupService groupService;
-
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
         if (    securityContext.isUserInRole(AbstractResource.MANAGEMENT_ADMIN) ||
@@ -96,7 +84,7 @@ public class PermissionsFilter implements ContainerRequestFilter {
                 String username = principal.getName();
                 for (Permission permission : permissions.value()) {
                     RoleEntity role;
-                    Map<String, char[]> memberPermissions;
+                    MemberPermissions memberPermissions;
                     switch (permission.value().getScope()) {
                         case MANAGEMENT:
                             role = membershipService.getRole(MembershipReferenceType.MANAGEMENT, MembershipDefaultReferenceId.DEFAULT.name(), username, RoleScope.MANAGEMENT);
@@ -111,22 +99,19 @@ public class PermissionsFilter implements ContainerRequestFilter {
                             }
                             break;
                         case APPLICATION:
-                            ApplicationEntity application = getApplication(requestContext);
-                            memberPermissions = membershipService.getMemberPermissions(application, username);
+                            memberPermissions = getMemberPermissions(MembershipReferenceType.APPLICATION, "application", requestContext, username);
                             if (roleService.hasPermission(memberPermissions, permission.value().getPermission(), permission.acls())) {
                                 return;
                             }
                             break;
                         case API:
-                            ApiEntity api = getApi(requestContext);
-                            memberPermissions = membershipService.getMemberPermissions(api, username);
+                            memberPermissions = getMemberPermissions(MembershipReferenceType.API, "api", requestContext, username);
                             if (roleService.hasPermission(memberPermissions, permission.value().getPermission(), permission.acls())) {
                                 return;
                             }
                             break;
                         case GROUP:
-                            GroupEntity group = getGroup(requestContext);
-                            memberPermissions = membershipService.getMemberPermissions(group, username);
+                            memberPermissions = getMemberPermissions(MembershipReferenceType.GROUP, "group", requestContext, username);
                             if (roleService.hasPermission(memberPermissions, permission.value().getPermission(), permission.acls())) {
                                 return;
                             }
@@ -140,28 +125,17 @@ public class PermissionsFilter implements ContainerRequestFilter {
         }
     }
 
-    private ApiEntity getApi(ContainerRequestContext requestContext) {
-        String apiId = getId("api", requestContext);
-        if (apiId == null) {
-            return null;
-        }
-        return apiService.findById(apiId);
-    }
-
-    private GroupEntity getGroup(ContainerRequestContext requestContext) {
-        String groupId = getId("group", requestContext);
-        if (groupId == null) {
-            return null;
-        }
-        return groupService.findById(groupId);
-    }
-
-    private ApplicationEntity getApplication(ContainerRequestContext requestContext) {
-        String applicationId = getId("application", requestContext);
-        if (applicationId == null) {
+    /**
+     * Permissions are resolved from the reference ID only: the referenced API / application / group is not loaded
+     * (nor its definition parsed) and the result is cached by the membership service.
+     */
+    private MemberPermissions getMemberPermissions(MembershipReferenceType referenceType, String key,
+                                                   ContainerRequestContext requestContext, String username) {
+        String referenceId = getId(key, requestContext);
+        if (referenceId == null) {
             return null;
         }
-        return applicationService.findById(applicationId);
+        return membershipService.getMemberPermissions(referenceType, referenceId, username);
     }
 
     private String getId(String key, ContainerRequestContext requestContext) {
@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.rest.filter;
+
+import org.slf4j.MDC;
+
+import javax.annotation.Priority;
+import javax.ws.rs.container.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+
+/**
+ * Put the resource method serving the request in the logging context, so that the logs written while serving it, as
+ * the slow repository calls, can be related to the endpoint.
+ *
+ * @author GraviteeSource Team
+ */
+@Provider
+@Priority(50)
+public class ResourceMdcFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * MDC key of the resource method, read back by the repository metrics (see RepositoryMetrics.RESOURCE_MDC_KEY).
+     */
+    static final String RESOURCE_MDC_KEY = "resource";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        final Method method = resourceInfo.getResourceMethod();
+        if (method != null) {
+            MDC.put(RESOURCE_MDC_KEY, resourceInfo.getResourceClass().getSimpleName() + '.' + method.getName());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        MDC.remove(RESOURCE_MDC_KEY);
+    }
+}
@@ -16,6 +16,7 @@
 package io.gravitee.management.rest.resource;
 
 import io.gravitee.management.idp.api.authentication.UserDetails;
+import io.gravitee.management.model.PageEntity;
 import io.gravitee.management.model.permissions.RolePermission;
 import io.gravitee.management.model.permissions.RolePermissionAction;
 import io.gravitee.management.model.permissions.RoleScope;
@@ -28,7 +29,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import javax.inject.Inject;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.xml.bind.DatatypeConverter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -41,6 +49,11 @@ public abstract class AbstractResource {
     public final static String MANAGEMENT_ADMIN = RoleScope.MANAGEMENT.name() + ':' + SystemRole.ADMIN.name();
     public final static String PORTAL_ADMIN = RoleScope.PORTAL.name() + ':' + SystemRole.ADMIN.name();
 
+    /**
+     * Max age (one year) of responses served from content-addressed URLs.
+     */
+    protected final static int IMMUTABLE_MAX_AGE = 31536000;
+
     @Context
     protected SecurityContext securityContext;
 
@@ -86,6 +99,38 @@ public abstract class AbstractResource {
         return isAuthenticated() && (isAdmin() || permissionService.hasPermission(permission, referenceId, acls));
     }
 
+    /**
+     * Build the response of a page content, or HTTP 304 'not-modified' when the content has not changed since the
+     * ETag sent by the client. The ETag is a SHA-256 digest of the content and its type.
+     */
+    protected Response getPageContentResponse(final PageEntity pageEntity, final Request request) {
+        if (pageEntity.getContent() == null) {
+            return Response.ok(null, pageEntity.getContentType()).build();
+        }
+
+        EntityTag etag = new EntityTag(hash(pageEntity.getContent(), pageEntity.getContentType()));
+        Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
+
+        if (builder != null) {
+            // Preconditions are not met, returning HTTP 304 'not-modified'
+            return builder.build();
+        }
+
+        return Response.ok(pageEntity.getContent(), pageEntity.getContentType()).tag(etag).build();
+    }
+
+    private static String hash(String content, String contentType) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(contentType).getBytes(StandardCharsets.UTF_8));
+            return DatatypeConverter.printHexBinary(digest.digest());
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+    }
+
     void checkImageSize(final String picture) {
         if (picture != null) {
             final int imageBase64Length = picture.length();
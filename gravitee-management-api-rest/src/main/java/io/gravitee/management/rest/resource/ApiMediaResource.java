@@ -99,7 +99,9 @@ public class ApiMediaResource {
         cc.setNoTransform(true);
         cc.setMustRevalidate(false);
         cc.setNoCache(false);
-        cc.setMaxAge(86400);
+        // Medias are addressed by the hash of their content: the response never changes
+        cc.setMaxAge(AbstractResource.IMMUTABLE_MAX_AGE);
+        cc.getCacheExtension().put("immutable", null);
 
 
         EntityTag etag = new EntityTag(hash);
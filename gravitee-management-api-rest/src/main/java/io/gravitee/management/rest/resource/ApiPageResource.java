@@ -35,6 +35,8 @@ import javax.inject.Inject;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.util.List;
 
@@ -92,12 +94,13 @@ public class ApiPageResource extends AbstractResource {
             notes = "User must have the READ permission to use this service")
     @ApiResponses({
             @ApiResponse(code = 200, message = "Page's content"),
+            @ApiResponse(code = 304, message = "Page's content not modified"),
             @ApiResponse(code = 500, message = "Internal server error")})
     public Response getPageContent(
             @PathParam("api") String api,
-            @PathParam("page") String page) {
-        final PageEntity pageEntity = getPage(api, page, true);
-        return Response.ok(pageEntity.getContent(), pageEntity.getContentType()).build();
+            @PathParam("page") String page,
+            @Context Request request) {
+        return getPageContentResponse(getPage(api, page, true), request);
     }
 
     @PUT
@@ -44,7 +44,6 @@ import javax.ws.rs.*;
 import javax.ws.rs.container.ResourceContext;
 import javax.ws.rs.core.*;
 import javax.ws.rs.core.Response.Status;
-import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -105,9 +104,10 @@ public class ApiResource extends AbstractResource {
     private void setPicture(final ApiEntity apiEntity) {
         final UriBuilder ub = uriInfo.getAbsolutePathBuilder();
         final UriBuilder uriBuilder = ub.path("picture");
-        if (apiEntity.getPicture() != null) {
+        String pictureHash = apiService.getPictureHash(apiEntity);
+        if (pictureHash != null) {
             // force browser to get if updated
-            uriBuilder.queryParam("hash", apiEntity.getPicture().hashCode());
+            uriBuilder.queryParam("hash", pictureHash);
         }
         apiEntity.setPictureUrl(uriBuilder.build().toString());
         apiEntity.setPicture(null);
@@ -122,20 +122,26 @@ public class ApiResource extends AbstractResource {
             @ApiResponse(code = 500, message = "Internal server error")})
     public Response picture(
             @Context Request request,
-            @PathParam("api") String api) throws ApiNotFoundException {
-        ApiEntity apiEntity = apiService.findById(api);
-        if (Visibility.PUBLIC.equals(apiEntity.getVisibility())
+            @PathParam("api") String api,
+            @QueryParam("hash") String hash) throws ApiNotFoundException {
+        if (Visibility.PUBLIC.equals(apiService.getVisibility(api))
                 || hasPermission(RolePermission.API_DEFINITION, api, RolePermissionAction.READ)) {
 
+            InlinePictureEntity image = apiService.getPicture(api);
+
             CacheControl cc = new CacheControl();
             cc.setNoTransform(true);
             cc.setMustRevalidate(false);
             cc.setNoCache(false);
-            cc.setMaxAge(86400);
-
-            InlinePictureEntity image = apiService.getPicture(api);
+            if (hash != null && hash.equals(image.getHash())) {
+                // Content-addressed URL: the response never changes
+                cc.setMaxAge(IMMUTABLE_MAX_AGE);
+                cc.getCacheExtension().put("immutable", null);
+            } else {
+                cc.setMaxAge(86400);
+            }
 
-            EntityTag etag = new EntityTag(Integer.toString(new String(image.getContent()).hashCode()));
+            EntityTag etag = new EntityTag(image.getHash());
             Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
 
             if (builder != null) {
@@ -145,11 +151,8 @@ public class ApiResource extends AbstractResource {
                         .build();
             }
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            baos.write(image.getContent(), 0, image.getContent().length);
-
             return Response
-                    .ok(baos)
+                    .ok(image.getContent())
                     .cacheControl(cc)
                     .tag(etag)
                     .type(image.getType())
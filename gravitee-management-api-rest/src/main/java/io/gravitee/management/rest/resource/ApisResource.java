@@ -23,6 +23,7 @@ import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.api.ApiListItem;
 import io.gravitee.management.model.api.ApiQuery;
 import io.gravitee.management.model.api.NewApiEntity;
+import io.gravitee.management.model.permissions.MemberPermissions;
 import io.gravitee.management.model.permissions.RolePermission;
 import io.gravitee.management.model.permissions.RolePermissionAction;
 import io.gravitee.management.rest.resource.param.ApisParam;
@@ -54,7 +55,9 @@ import java.util.stream.Collectors;
 
 import static io.gravitee.management.model.Visibility.PUBLIC;
 import static io.gravitee.repository.management.model.View.ALL_ID;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -103,30 +106,28 @@ public class ApisResource extends AbstractResource {
             apiQuery.setView(apisParam.getView());
         }
 
-        final Collection<ApiEntity> apis;
-        if (isAdmin()) {
-            apis = apiService.search(apiQuery);
-        } else {
-            if (isAuthenticated()) {
-                apis = apiService.findByUser(getAuthenticatedUser(), apiQuery);
-            } else {
-                apiQuery.setVisibility(PUBLIC);
-                apis = apiService.search(apiQuery);
-            }
-        }
+        final Collection<ApiEntity> apis = findApis(apiQuery);
 
         if (apisParam.isTop()) {
-            final List<String> visibleApis = apis.stream().map(ApiEntity::getId).collect(toList());
-            return topApiService.findAll().stream()
-                    .filter(topApi -> visibleApis.contains(topApi.getApi()))
-                    .map(topApiEntity -> apiService.findById(topApiEntity.getApi()))
-                    .map(this::convert)
+            // Top APIs are taken from the visible APIs already loaded, without their definition
+            final Map<String, ApiEntity> visibleApis = apis.stream().collect(toMap(ApiEntity::getId, identity()));
+            final List<ApiEntity> topApis = topApiService.findAll().stream()
+                    .map(topApi -> visibleApis.get(topApi.getApi()))
+                    .filter(Objects::nonNull)
+                    .collect(toList());
+            final Map<String, String> pictureHashes = getPictureHashes(topApis);
+            final Map<String, RatingSummaryEntity> ratingSummaries = getRatingSummaries(topApis);
+            return topApis.stream()
+                    .map(api -> convert(api, pictureHashes, ratingSummaries))
                     .collect(toList());
         }
 
+        final Map<String, String> pictureHashes = getPictureHashes(apis);
+        final Map<String, RatingSummaryEntity> ratingSummaries = getRatingSummaries(apis);
+        final Map<String, MemberPermissions> permissions = getMemberPermissions(apis);
         return apis.stream()
-                .map(this::convert)
-                .map(this::setManageable)
+                .map(api -> convert(api, pictureHashes, ratingSummaries))
+                .map(api -> setManageable(api, permissions))
                 .sorted((o1, o2) -> String.CASE_INSENSITIVE_ORDER.compare(o1.getName(), o2.getName()))
                 .collect(toList());
     }
@@ -239,26 +240,19 @@ public class ApisResource extends AbstractResource {
             @ApiParam(name = "q", required = true)
             @NotNull @QueryParam("q") String query) {
         try {
-            final Collection<ApiEntity> apis;
-            if (isAdmin()) {
-                apis = apiService.search(new ApiQuery());
-            } else {
-                if (isAuthenticated()) {
-                    apis = apiService.findByUser(getAuthenticatedUser(), new ApiQuery());
-                } else {
-                    ApiQuery apiQuery = new ApiQuery();
-                    apiQuery.setVisibility(PUBLIC);
-                    apis = apiService.search(apiQuery);
-                }
-            }
+            final Collection<ApiEntity> apis = findApis(new ApiQuery());
 
             Map<String, Object> filters = new HashMap<>();
             filters.put("api", apis.stream().map(ApiEntity::getId).collect(Collectors.toSet()));
 
-            return Response.ok().entity(apiService.search(query, filters)
+            final Collection<ApiEntity> matchingApis = apiService.search(query, filters);
+            final Map<String, String> pictureHashes = getPictureHashes(matchingApis);
+            final Map<String, RatingSummaryEntity> ratingSummaries = getRatingSummaries(matchingApis);
+            final Map<String, MemberPermissions> permissions = getMemberPermissions(matchingApis);
+            return Response.ok().entity(matchingApis
                     .stream()
-                    .map(this::convert)
-                    .map(this::setManageable)
+                    .map(api -> convert(api, pictureHashes, ratingSummaries))
+                    .map(api -> setManageable(api, permissions))
                     .collect(toList())).build();
         } catch (TechnicalException te) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(te).build();
@@ -275,7 +269,44 @@ public class ApisResource extends AbstractResource {
         return resourceContext.getResource(ApiMediaResource.class);
     }
 
-    private ApiListItem convert(ApiEntity api) {
+    /**
+     * @return the APIs visible by the current user, loaded without their definition and picture.
+     */
+    private Collection<ApiEntity> findApis(final ApiQuery apiQuery) {
+        if (isAdmin()) {
+            return apiService.searchLight(apiQuery);
+        }
+        if (isAuthenticated()) {
+            return apiService.findByUserLight(getAuthenticatedUser(), apiQuery);
+        }
+        apiQuery.setVisibility(PUBLIC);
+        return apiService.searchLight(apiQuery);
+    }
+
+    private Map<String, String> getPictureHashes(final Collection<ApiEntity> apis) {
+        return apiService.getPictureHashes(apis.stream().map(ApiEntity::getId).collect(toList()));
+    }
+
+    private Map<String, RatingSummaryEntity> getRatingSummaries(final Collection<ApiEntity> apis) {
+        if (!ratingService.isEnabled()) {
+            return Collections.emptyMap();
+        }
+        return ratingService.findSummariesByApis(apis.stream().map(ApiEntity::getId).collect(toList()));
+    }
+
+    /**
+     * @return the permissions of the current user on the APIs, resolved at once (empty for admins and anonymous users
+     * since they do not depend on memberships).
+     */
+    private Map<String, MemberPermissions> getMemberPermissions(final Collection<ApiEntity> apis) {
+        if (!isAuthenticated() || isAdmin()) {
+            return Collections.emptyMap();
+        }
+        return membershipService.getMemberPermissions(apis, getAuthenticatedUser());
+    }
+
+    private ApiListItem convert(ApiEntity api, Map<String, String> pictureHashes,
+                                Map<String, RatingSummaryEntity> ratingSummaries) {
         final ApiListItem apiItem = new ApiListItem();
 
         apiItem.setId(api.getId());
@@ -285,9 +316,10 @@ public class ApisResource extends AbstractResource {
 
         final UriBuilder ub = uriInfo.getBaseUriBuilder();
         final UriBuilder uriBuilder = ub.path("apis").path(api.getId()).path("picture");
-        if (api.getPicture() != null) {
+        String pictureHash = pictureHashes.get(api.getId());
+        if (pictureHash != null) {
             // force browser to get if updated
-            uriBuilder.queryParam("hash", api.getPicture().hashCode());
+            uriBuilder.queryParam("hash", pictureHash);
         }
         apiItem.setPictureUrl(uriBuilder.build().toString());
         apiItem.setViews(api.getViews());
@@ -309,8 +341,8 @@ public class ApisResource extends AbstractResource {
             apiItem.setContextPath(api.getProxy().getContextPath());
         }
 
-        if (ratingService.isEnabled()) {
-            final RatingSummaryEntity ratingSummary = ratingService.findSummaryByApi(api.getId());
+        final RatingSummaryEntity ratingSummary = ratingSummaries.get(api.getId());
+        if (ratingSummary != null) {
             apiItem.setRate(ratingSummary.getAverageRate());
             apiItem.setNumberOfRatings(ratingSummary.getNumberOfRatings());
         }
@@ -319,9 +351,11 @@ public class ApisResource extends AbstractResource {
         return apiItem;
     }
 
-    private ApiListItem setManageable(ApiListItem api) {
+    private ApiListItem setManageable(ApiListItem api, Map<String, MemberPermissions> permissions) {
+        final MemberPermissions memberPermissions = permissions.get(api.getId());
         api.setManageable(isAuthenticated() &&
-                (isAdmin() || hasPermission(RolePermission.API_GATEWAY_DEFINITION, api.getId(), RolePermissionAction.READ))
+                (isAdmin() || (memberPermissions != null &&
+                        memberPermissions.has(RolePermission.API_GATEWAY_DEFINITION.getPermission(), RolePermissionAction.READ)))
         );
         return api;
     }
@@ -18,6 +18,7 @@ package io.gravitee.management.rest.resource;
 import com.fasterxml.jackson.databind.JavaType;
 import io.gravitee.common.util.Version;
 import io.gravitee.management.rest.filter.PermissionsFilter;
+import io.gravitee.management.rest.filter.ResourceMdcFilter;
 import io.gravitee.management.rest.filter.SecurityContextFilter;
 import io.gravitee.management.rest.mapper.ObjectMapperResolver;
 import io.gravitee.management.rest.provider.*;
@@ -122,6 +123,7 @@ public class GraviteeApplication extends ResourceConfig {
 
         register(SecurityContextFilter.class);
         register(PermissionsFilter.class);
+        register(ResourceMdcFilter.class);
         register(UriBuilderRequestFilter.class);
         register(ByteArrayOutputStreamWriter.class);
         register(JacksonFeature.class);
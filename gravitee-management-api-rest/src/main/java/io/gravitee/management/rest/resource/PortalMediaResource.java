@@ -86,7 +86,9 @@ public class PortalMediaResource extends AbstractResource {
         cc.setNoTransform(true);
         cc.setMustRevalidate(false);
         cc.setNoCache(false);
-        cc.setMaxAge(86400);
+        // Medias are addressed by the hash of their content: the response never changes
+        cc.setMaxAge(IMMUTABLE_MAX_AGE);
+        cc.getCacheExtension().put("immutable", null);
 
 
         EntityTag etag = new EntityTag(hash);
@@ -31,6 +31,8 @@ import javax.inject.Inject;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.net.URI;
 import java.util.List;
@@ -77,13 +79,15 @@ public class PortalPagesResource extends AbstractResource {
             notes = "Every users can use this service")
     @ApiResponses({
             @ApiResponse(code = 200, message = "Page's content"),
+            @ApiResponse(code = 304, message = "Page's content not modified"),
             @ApiResponse(code = 500, message = "Internal server error")})
     public Response getPageContent(
-            @PathParam("page") String page) {
+            @PathParam("page") String page,
+            @Context Request request) {
         PageEntity pageEntity = pageService.findById(page);
         pageService.transformSwagger(pageEntity);
         if (isDisplayable(pageEntity.isPublished(), pageEntity.getExcludedGroups())) {
-            return Response.ok(pageEntity.getContent(), pageEntity.getContentType()).build();
+            return getPageContentResponse(pageEntity, request);
         } else {
             throw new UnauthorizedAccessException();
         }
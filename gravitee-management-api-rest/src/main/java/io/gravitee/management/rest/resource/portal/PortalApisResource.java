@@ -36,6 +36,7 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -91,16 +92,20 @@ public class PortalApisResource extends AbstractResource {
             Map<String, Object> filters = new HashMap<>();
             filters.put("api", apis.stream().map(ApiEntity::getId).collect(Collectors.toSet()));
 
-            return Response.ok().entity(apiService.search(query, filters)
+            final Collection<ApiEntity> matchingApis = apiService.search(query, filters);
+            final Map<String, RatingSummaryEntity> ratingSummaries = ratingService.isEnabled() ?
+                    ratingService.findSummariesByApis(matchingApis.stream().map(ApiEntity::getId).collect(toList())) :
+                    Collections.emptyMap();
+            return Response.ok().entity(matchingApis
                     .stream()
-                    .map(this::convert)
+                    .map(api -> convert(api, ratingSummaries))
                     .collect(toList())).build();
         } catch (TechnicalException te) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(te).build();
         }
     }
 
-    private ApiListItem convert(ApiEntity api) {
+    private ApiListItem convert(ApiEntity api, Map<String, RatingSummaryEntity> ratingSummaries) {
         final ApiListItem apiItem = new ApiListItem();
 
         apiItem.setId(api.getId());
@@ -134,8 +139,8 @@ public class PortalApisResource extends AbstractResource {
             apiItem.setContextPath(api.getProxy().getContextPath());
         }
 
-        if (ratingService.isEnabled()) {
-            final RatingSummaryEntity ratingSummary = ratingService.findSummaryByApi(api.getId());
+        final RatingSummaryEntity ratingSummary = ratingSummaries.get(api.getId());
+        if (ratingSummary != null) {
             apiItem.setRate(ratingSummary.getAverageRate());
             apiItem.setNumberOfRatings(ratingSummary.getNumberOfRatings());
         }
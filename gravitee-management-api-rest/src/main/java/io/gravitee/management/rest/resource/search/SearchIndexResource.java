@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.rest.resource.search;
+
+import io.gravitee.common.http.MediaType;
+import io.gravitee.management.model.permissions.RolePermission;
+import io.gravitee.management.model.permissions.RolePermissionAction;
+import io.gravitee.management.model.search.IndexationProgressEntity;
+import io.gravitee.management.rest.resource.AbstractResource;
+import io.gravitee.management.rest.security.Permission;
+import io.gravitee.management.rest.security.Permissions;
+import io.gravitee.management.service.search.SearchEngineIndexationService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Api(tags = {"Search"})
+public class SearchIndexResource extends AbstractResource {
+
+    @Inject
+    private SearchEngineIndexationService searchEngineIndexationService;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get the progress of the bulk indexation of the search engine")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Indexation progress", response = IndexationProgressEntity.class),
+            @ApiResponse(code = 500, message = "Internal server error")})
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_PLATFORM, acls = RolePermissionAction.READ)
+    })
+    public IndexationProgressEntity getProgress() {
+        return searchEngineIndexationService.getProgress();
+    }
+
+    @POST
+    @ApiOperation(value = "Start a bulk indexation of the search engine")
+    @ApiResponses({
+            @ApiResponse(code = 202, message = "Indexation started"),
+            @ApiResponse(code = 500, message = "Internal server error")})
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_PLATFORM, acls = RolePermissionAction.UPDATE)
+    })
+    public Response indexAll() {
+        searchEngineIndexationService.indexAll();
+        return Response.accepted().build();
+    }
+}
@@ -18,6 +18,7 @@ package io.gravitee.management.rest.filter;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.ApplicationEntity;
 import io.gravitee.management.model.RoleEntity;
+import io.gravitee.management.model.permissions.MemberPermissions;
 import io.gravitee.management.model.permissions.RolePermission;
 import io.gravitee.management.model.permissions.RolePermissionAction;
 import io.gravitee.management.rest.security.Permission;
@@ -27,6 +28,7 @@ import io.gravitee.management.service.ApplicationService;
 import io.gravitee.management.service.MembershipService;
 import io.gravitee.management.service.RoleService;
 import io.gravitee.management.service.exceptions.ForbiddenAccessException;
+import io.gravitee.management.service.exceptions.GroupNotFoundException;
 import io.gravitee.repository.management.model.MembershipReferenceType;
 import io.gravitee.repository.management.model.RoleScope;
 import org.junit.Assert;
@@ -43,6 +45,8 @@ import java.security.Principal;
 import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -82,6 +86,8 @@ public class PermissionFilterTest {
 
     public static final String APPLICATION_ID = "APPLICATION_ID";
 
+    public static final String GROUP_ID = "GROUP_ID";
+
     @Before
     public void setUp() {
         initMocks(this);
@@ -94,7 +100,6 @@ public class PermissionFilterTest {
         ApiEntity api = new ApiEntity();
         api.setId(API_ID);
         Principal user = () -> USERNAME;
-        when(apiService.findById(api.getId())).thenReturn(api);
         when(securityContext.getUserPrincipal()).thenReturn(user);
         Permission perm = mock(Permission.class);
         when(perm.value()).thenReturn(RolePermission.API_ANALYTICS);
@@ -111,15 +116,15 @@ public class PermissionFilterTest {
     @Test(expected = ForbiddenAccessException.class)
     public void shouldThrowForbiddenExceptionWhenNoApiPermissions() {
         ApiEntity api = initApiMocks();
-        when(roleService.hasPermission(any(), any(), any())).thenReturn(false);
+        when(roleService.hasPermission(nullable(MemberPermissions.class), any(), any())).thenReturn(false);
 
         try {
             permissionFilter.filter(permissions, containerRequestContext);
         } catch(ForbiddenAccessException e) {
-            verify(apiService, times(1)).findById(api.getId());
+            verify(apiService, never()).findById(any());
             verify(applicationService, never()).findById(any());
-            verify(roleService, times(1)).hasPermission(any(), any(), any());
-            verify(membershipService, times(1)).getMemberPermissions(api, USERNAME);
+            verify(roleService, times(1)).hasPermission(nullable(MemberPermissions.class), any(), any());
+            verify(membershipService, times(1)).getMemberPermissions(MembershipReferenceType.API, API_ID, USERNAME);
             verify(membershipService, never()).getRole(any(), any(), any(), any());
             throw e;
         }
@@ -130,13 +135,13 @@ public class PermissionFilterTest {
     @Test
     public void shouldBeAuthorizedWhenApiPermissions() {
         ApiEntity api = initApiMocks();
-        when(roleService.hasPermission(any(), any(), any())).thenReturn(true);
+        when(roleService.hasPermission(nullable(MemberPermissions.class), any(), any())).thenReturn(true);
 
         permissionFilter.filter(permissions, containerRequestContext);
-        verify(apiService, times(1)).findById(api.getId());
+        verify(apiService, never()).findById(any());
         verify(applicationService, never()).findById(any());
-        verify(roleService, times(1)).hasPermission(any(), any(), any());
-        verify(membershipService, times(1)).getMemberPermissions(api, USERNAME);
+        verify(roleService, times(1)).hasPermission(nullable(MemberPermissions.class), any(), any());
+        verify(membershipService, times(1)).getMemberPermissions(MembershipReferenceType.API, API_ID, USERNAME);
         verify(membershipService, never()).getRole(any(), any(), any(), any());
     }
 
@@ -147,7 +152,6 @@ public class PermissionFilterTest {
         ApplicationEntity application = new ApplicationEntity();
         application.setId(APPLICATION_ID);
         Principal user = () -> USERNAME;
-        when(applicationService.findById(application.getId())).thenReturn(application);
         when(securityContext.getUserPrincipal()).thenReturn(user);
         Permission perm = mock(Permission.class);
         when(perm.value()).thenReturn(RolePermission.APPLICATION_ANALYTICS);
@@ -164,15 +168,15 @@ public class PermissionFilterTest {
     @Test(expected = ForbiddenAccessException.class)
     public void shouldThrowForbiddenExceptionWhenNoApplicationPermissions() {
         ApplicationEntity application = initApplicationMocks();
-        when(roleService.hasPermission(any(), any(), any())).thenReturn(false);
+        when(roleService.hasPermission(nullable(MemberPermissions.class), any(), any())).thenReturn(false);
 
         try {
             permissionFilter.filter(permissions, containerRequestContext);
         } catch(ForbiddenAccessException e) {
-            verify(applicationService, times(1)).findById(application.getId());
+            verify(applicationService, never()).findById(any());
             verify(apiService, never()).findById(any());
-            verify(roleService, times(1)).hasPermission(any(), any(), any());
-            verify(membershipService, times(1)).getMemberPermissions(application, USERNAME);
+            verify(roleService, times(1)).hasPermission(nullable(MemberPermissions.class), any(), any());
+            verify(membershipService, times(1)).getMemberPermissions(MembershipReferenceType.APPLICATION, APPLICATION_ID, USERNAME);
             verify(membershipService, never()).getRole(any(), any(), any(), any());
             throw e;
         }
@@ -183,16 +187,48 @@ public class PermissionFilterTest {
     @Test
     public void shouldBeAuthorizedWhenApplicationPermissions() {
         ApplicationEntity application = initApplicationMocks();
-        when(roleService.hasPermission(any(), any(), any())).thenReturn(true);
+        when(roleService.hasPermission(nullable(MemberPermissions.class), any(), any())).thenReturn(true);
 
         permissionFilter.filter(permissions, containerRequestContext);
         verify(apiService, never()).findById(any());
-        verify(applicationService, times(1)).findById(application.getId());
-        verify(roleService, times(1)).hasPermission(any(), any(), any());
-        verify(membershipService, times(1)).getMemberPermissions(application, USERNAME);
+        verify(applicationService, never()).findById(any());
+        verify(roleService, times(1)).hasPermission(nullable(MemberPermissions.class), any(), any());
+        verify(membershipService, times(1)).getMemberPermissions(MembershipReferenceType.APPLICATION, APPLICATION_ID, USERNAME);
         verify(membershipService, never()).getRole(any(), any(), any(), any());
     }
 
+    /**
+     * GROUP Tests
+     */
+    private void initGroupMocks() {
+        Principal user = () -> USERNAME;
+        when(securityContext.getUserPrincipal()).thenReturn(user);
+        Permission perm = mock(Permission.class);
+        when(perm.value()).thenReturn(RolePermission.GROUP_MEMBER);
+        when(perm.acls()).thenReturn(new RolePermissionAction[]{RolePermissionAction.UPDATE});
+        when(permissions.value()).thenReturn(new Permission[]{perm});
+        UriInfo uriInfo = mock(UriInfo.class);
+        MultivaluedHashMap<String, String> map = new MultivaluedHashMap<>();
+        map.put("group", Collections.singletonList(GROUP_ID));
+        when(uriInfo.getPathParameters()).thenReturn(map);
+        when(containerRequestContext.getUriInfo()).thenReturn(uriInfo);
+    }
+
+    @Test(expected = GroupNotFoundException.class)
+    public void shouldThrowNotFoundExceptionWhenGroupDoesNotExist() {
+        initGroupMocks();
+        when(membershipService.getMemberPermissions(MembershipReferenceType.GROUP, GROUP_ID, USERNAME))
+                .thenThrow(new GroupNotFoundException(GROUP_ID));
+
+        try {
+            permissionFilter.filter(permissions, containerRequestContext);
+        } catch(GroupNotFoundException e) {
+            verify(roleService, never()).hasPermission(nullable(MemberPermissions.class), any(), any());
+            throw e;
+        }
+        Assert.fail("Should throw a GroupNotFoundException");
+    }
+
     /**
      * MANAGEMENT Tests
      */
@@ -212,16 +248,17 @@ public class PermissionFilterTest {
     @Test(expected = ForbiddenAccessException.class)
     public void shouldThrowForbiddenExceptionWhenNoManagementPermissions() {
         initManagementMocks();
-        when(roleService.hasPermission(any(), any(), any())).thenReturn(false);
+        when(roleService.hasPermission(anyMap(), any(), any())).thenReturn(false);
 
         try {
             permissionFilter.filter(permissions, containerRequestContext);
         } catch(ForbiddenAccessException e) {
             verify(applicationService, never()).findById(any());
             verify(apiService, never()).findById(any());
-            verify(roleService, times(1)).hasPermission(any(), any(), any());
+            verify(roleService, times(1)).hasPermission(anyMap(), any(), any());
             verify(membershipService, never()).getMemberPermissions(any(ApiEntity.class), any());
             verify(membershipService, never()).getMemberPermissions(any(ApplicationEntity.class), any());
+            verify(membershipService, never()).getMemberPermissions(any(MembershipReferenceType.class), any(), any());
             verify(membershipService, times(1)).getRole(eq(MembershipReferenceType.MANAGEMENT), any(), any(), eq(RoleScope.MANAGEMENT));
             throw e;
         }
@@ -232,15 +269,16 @@ public class PermissionFilterTest {
     @Test
     public void shouldBeAuthorizedWhenManagementPermissions() {
         initManagementMocks();
-        when(roleService.hasPermission(any(), any(), any())).thenReturn(true);
+        when(roleService.hasPermission(anyMap(), any(), any())).thenReturn(true);
 
         permissionFilter.filter(permissions, containerRequestContext);
 
         verify(applicationService, never()).findById(any());
         verify(apiService, never()).findById(any());
-        verify(roleService, times(1)).hasPermission(any(), any(), any());
+        verify(roleService, times(1)).hasPermission(anyMap(), any(), any());
         verify(membershipService, never()).getMemberPermissions(any(ApiEntity.class), any());
         verify(membershipService, never()).getMemberPermissions(any(ApplicationEntity.class), any());
+        verify(membershipService, never()).getMemberPermissions(any(MembershipReferenceType.class), any(), any());
         verify(membershipService, times(1)).getRole(eq(MembershipReferenceType.MANAGEMENT), any(), any(), eq(RoleScope.MANAGEMENT));
     }
 
@@ -263,16 +301,17 @@ public class PermissionFilterTest {
     @Test(expected = ForbiddenAccessException.class)
     public void shouldThrowForbiddenExceptionWhenNoPortalPermissions() {
         initPortalMocks();
-        when(roleService.hasPermission(any(), any(), any())).thenReturn(false);
+        when(roleService.hasPermission(anyMap(), any(), any())).thenReturn(false);
 
         try {
             permissionFilter.filter(permissions, containerRequestContext);
         } catch(ForbiddenAccessException e) {
             verify(applicationService, never()).findById(any());
             verify(apiService, never()).findById(any());
-            verify(roleService, times(1)).hasPermission(any(), any(), any());
+            verify(roleService, times(1)).hasPermission(anyMap(), any(), any());
             verify(membershipService, never()).getMemberPermissions(any(ApiEntity.class), any());
             verify(membershipService, never()).getMemberPermissions(any(ApplicationEntity.class), any());
+            verify(membershipService, never()).getMemberPermissions(any(MembershipReferenceType.class), any(), any());
             verify(membershipService, times(1)).getRole(eq(MembershipReferenceType.PORTAL), any(), any(), eq(RoleScope.PORTAL));
             throw e;
         }
@@ -283,15 +322,16 @@ public class PermissionFilterTest {
     @Test
     public void shouldBeAuthorizedWhenPortalPermissions() {
         initPortalMocks();
-        when(roleService.hasPermission(any(), any(), any())).thenReturn(true);
+        when(roleService.hasPermission(anyMap(), any(), any())).thenReturn(true);
 
         permissionFilter.filter(permissions, containerRequestContext);
 
         verify(applicationService, never()).findById(any());
         verify(apiService, never()).findById(any());
-        verify(roleService, times(1)).hasPermission(any(), any(), any());
+        verify(roleService, times(1)).hasPermission(anyMap(), any(), any());
         verify(membershipService, never()).getMemberPermissions(any(ApiEntity.class), any());
         verify(membershipService, never()).getMemberPermissions(any(ApplicationEntity.class), any());
+        verify(membershipService, never()).getMemberPermissions(any(MembershipReferenceType.class), any(), any());
         verify(membershipService, times(1)).getRole(eq(MembershipReferenceType.PORTAL), any(), any(), eq(RoleScope.PORTAL));
     }
 }
@@ -117,6 +117,9 @@ public abstract class AbstractResourceTest extends JerseySpringTest {
     @Autowired
     protected TagService tagService;
 
+    @Autowired
+    protected TopApiService topApiService;
+
     @Configuration
     @PropertySource("classpath:/io/gravitee/management/rest/resource/jwt.properties")
     static class ContextConfiguration {
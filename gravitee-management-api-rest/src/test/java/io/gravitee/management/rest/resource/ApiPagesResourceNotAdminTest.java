@@ -19,6 +19,7 @@ import io.gravitee.management.model.PageEntity;
 import io.gravitee.management.model.Visibility;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.permissions.ApiPermission;
+import io.gravitee.management.model.permissions.MemberPermissions;
 import io.gravitee.management.model.permissions.RolePermissionAction;
 import io.gravitee.repository.management.model.RoleScope;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -118,7 +119,7 @@ public class ApiPagesResourceNotAdminTest extends AbstractResourceTest {
         pageMock.setName(PAGE_NAME);
         doReturn(pageMock).when(pageService).findById(PAGE_NAME);
         doReturn(false).when(pageService).isDisplayable(apiMock, pageMock.isPublished(), USER_NAME);
-        doReturn(true).when(roleService).hasPermission(any(), eq(ApiPermission.DOCUMENTATION), eq(new RolePermissionAction[]{RolePermissionAction.READ}));
+        doReturn(true).when(roleService).hasPermission(nullable(MemberPermissions.class), eq(ApiPermission.DOCUMENTATION), eq(new RolePermissionAction[]{RolePermissionAction.READ}));
         when(groupService.isUserAuthorizedToAccessApiData(any(), any(), any())).thenReturn(Boolean.FALSE);
         when(permissionService.hasPermission(any(), any(), any())).thenReturn(true);
 
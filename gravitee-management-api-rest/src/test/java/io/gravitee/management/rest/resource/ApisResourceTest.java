@@ -16,16 +16,24 @@
 package io.gravitee.management.rest.resource;
 
 import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.management.model.TopApiEntity;
 import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.model.api.ApiListItem;
 import io.gravitee.management.model.api.NewApiEntity;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author David BRASSELY (brasseld at gmail.com)
@@ -75,4 +83,29 @@ public class ApisResourceTest extends AbstractResourceTest {
         final Response response = target().request().post(Entity.json(apiEntity));
         assertEquals(HttpStatusCode.CREATED_201, response.getStatus());
     }
+
+    @Test
+    public void shouldListTopApisFromVisibleApis() {
+        ApiEntity api1 = new ApiEntity();
+        api1.setId("api-1");
+        api1.setName("API 1");
+        ApiEntity api2 = new ApiEntity();
+        api2.setId("api-2");
+        api2.setName("API 2");
+        doReturn(Arrays.asList(api1, api2)).when(apiService).searchLight(any());
+
+        TopApiEntity topApi2 = new TopApiEntity();
+        topApi2.setApi("api-2");
+        TopApiEntity topApi3 = new TopApiEntity();
+        topApi3.setApi("api-3");
+        doReturn(Arrays.asList(topApi3, topApi2)).when(topApiService).findAll();
+
+        final Response response = target().queryParam("top", true).request().get();
+
+        assertEquals(HttpStatusCode.OK_200, response.getStatus());
+        final List<ApiListItem> apis = response.readEntity(new GenericType<List<ApiListItem>>() {});
+        assertEquals(1, apis.size());
+        assertEquals("api-2", apis.get(0).getId());
+        verify(apiService, never()).findById(any());
+    }
 }
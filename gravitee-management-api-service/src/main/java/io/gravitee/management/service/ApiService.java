@@ -15,9 +15,11 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.data.domain.Page;
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.api.*;
 import io.gravitee.management.model.api.header.ApiHeaderEntity;
+import io.gravitee.management.model.common.Pageable;
 import io.gravitee.repository.exceptions.TechnicalException;
 
 import java.util.*;
@@ -37,6 +39,12 @@ public interface ApiService {
 
     Set<ApiEntity> findByUser(String userId, ApiQuery apiQuery);
 
+    /**
+     * Same as {@link #findByUser(String, ApiQuery)} but APIs are loaded without their definition and picture: only
+     * the context path and the tags are extracted from the definition.
+     */
+    Set<ApiEntity> findByUserLight(String userId, ApiQuery apiQuery);
+
     Set<ApiEntity> findByVisibility(Visibility visibility);
 
     ApiEntity create(NewApiEntity api, String userId);
@@ -69,8 +77,28 @@ public interface ApiService {
 
     ApiEntity createOrUpdateWithDefinition(ApiEntity apiEntity, String apiDefinition, String userId);
 
+    /**
+     * Get the picture of an API (or the default one), along with its content hash. Pictures are served from a bounded
+     * cache and loaded without the API definition.
+     */
     InlinePictureEntity getPicture(String apiId);
 
+    /**
+     * Get the content hash of the API picture (or <code>null</code> if the API has no picture), to be used to build
+     * content-addressed picture URLs.
+     */
+    String getPictureHash(ApiEntity api);
+
+    /**
+     * Batch version of {@link #getPictureHash(ApiEntity)}, by API ID. APIs without picture are not part of the result.
+     */
+    Map<String, String> getPictureHashes(Collection<String> apiIds);
+
+    /**
+     * Get the visibility of an API without loading its definition.
+     */
+    Visibility getVisibility(String apiId);
+
     byte[] getDefaultPicture();
 
     void deleteViewFromAPIs(String viewId);
@@ -108,6 +136,14 @@ public interface ApiService {
 
     Collection<ApiEntity> search(ApiQuery query);
 
+    /**
+     * Same as {@link #search(ApiQuery)} but APIs are loaded without their definition and picture: only the context
+     * path and the tags are extracted from the definition.
+     */
+    Collection<ApiEntity> searchLight(ApiQuery query);
+
+    Page<ApiEntity> search(ApiQuery query, Pageable pageable);
+
     Collection<ApiEntity> search(String query, Map<String, Object> filters) throws TechnicalException;
 
     List<ApiHeaderEntity> getPortalHeaders(String apiId);
@@ -15,6 +15,8 @@
  */
 package io.gravitee.management.service;
 
+import java.util.Collection;
+
 /**
  * @author Azize Elamrani (azize dot elamrani at gmail dot com)
  */
@@ -23,4 +25,13 @@ public interface EmailService {
     void sendEmailNotification(EmailNotification emailNotification);
 
     void sendAsyncEmailNotification(EmailNotification emailNotification);
+
+    /**
+     * Send the notifications in bulk: templates are rendered once per set of parameters, blind copies are split over
+     * several messages when they exceed the recipients limit, and messages are sent in batches over a single SMTP
+     * connection at the configured rate.
+     */
+    void sendEmailNotifications(Collection<EmailNotification> emailNotifications);
+
+    void sendAsyncEmailNotifications(Collection<EmailNotification> emailNotifications);
 }
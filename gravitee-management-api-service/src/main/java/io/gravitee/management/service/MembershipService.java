@@ -18,9 +18,11 @@ package io.gravitee.management.service;
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.pagedresult.Metadata;
+import io.gravitee.management.model.permissions.MemberPermissions;
 import io.gravitee.repository.management.model.MembershipReferenceType;
 import io.gravitee.repository.management.model.RoleScope;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +45,14 @@ public interface MembershipService {
     Map<String, char[]> getMemberPermissions(ApiEntity api, String userId);
     Map<String, char[]> getMemberPermissions(ApplicationEntity application, String userId);
     Map<String, char[]> getMemberPermissions(GroupEntity group, String userId);
+    MemberPermissions getMemberPermissions(MembershipReferenceType referenceType, String referenceId, String userId);
+    /**
+     * Batch version of {@link #getMemberPermissions(MembershipReferenceType, String, String)} for a list of APIs: the
+     * memberships of the user are loaded once for all the APIs.
+     *
+     * @return the permissions of the user, by API ID.
+     */
+    Map<String, MemberPermissions> getMemberPermissions(Collection<ApiEntity> apis, String userId);
     boolean removeRole(MembershipReferenceType referenceType, String referenceId, String userId, RoleScope roleScope);
     void removeRoleUsage(RoleScope roleScope, String roleName, String newName);
     void removeUser(String userId);
@@ -41,6 +41,11 @@ public interface ParameterService {
     <T> List<T> findAll(Key key, Function<String, T> mapper, Predicate<String> filter);
     <T> Map<String, List<T>> findAll(List<Key> keys, Function<String, T> mapper, Predicate<String> filter);
 
+    /**
+     * @return the version of the parameter values, changed each time they are reloaded.
+     */
+    long getVersion();
+
     Parameter save(Key key, String value);
     Parameter save(Key key, List<String> value);
     Parameter save(Key key, Map<String, String> values);
@@ -19,6 +19,9 @@ import io.gravitee.common.data.domain.Page;
 import io.gravitee.management.model.*;
 import io.gravitee.repository.management.api.search.Pageable;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author Azize ELAMRANI (azize at graviteesource.com)
  * @author GraviteeSource Team
@@ -33,6 +36,13 @@ public interface RatingService {
 
     RatingSummaryEntity findSummaryByApi(String api);
 
+    /**
+     * Batch version of {@link #findSummaryByApi(String)}.
+     *
+     * @return the rating summaries, by API ID.
+     */
+    Map<String, RatingSummaryEntity> findSummariesByApis(Collection<String> apis);
+
     RatingEntity findByApiForConnectedUser(String api);
 
     RatingEntity update(UpdateRatingEntity rating);
@@ -17,6 +17,7 @@ package io.gravitee.management.service;
 
 import io.gravitee.management.model.NewRoleEntity;
 import io.gravitee.management.model.RoleEntity;
+import io.gravitee.management.model.permissions.MemberPermissions;
 import io.gravitee.management.model.permissions.Permission;
 import io.gravitee.management.model.permissions.RolePermissionAction;
 import io.gravitee.repository.management.model.RoleScope;
@@ -40,4 +41,5 @@ public interface RoleService {
     List<RoleEntity> findByScope(RoleScope scope);
     List<RoleEntity> findDefaultRoleByScopes(RoleScope... scopes);
     boolean hasPermission(Map<String, char[]> userPermissions, Permission permission, RolePermissionAction[] acls);
+    boolean hasPermission(MemberPermissions userPermissions, Permission permission, RolePermissionAction[] acls);
 }
@@ -0,0 +1,27 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.event;
+
+/**
+ * Published when cached member permissions must be invalidated, with the ID of the user (INVALIDATE_USER) or of the
+ * API / application (INVALIDATE_REFERENCE) as content.
+ *
+ * @author GraviteeSource Team
+ */
+public enum PermissionEvent {
+
+    INVALIDATE_USER, INVALIDATE_REFERENCE, INVALIDATE_ALL;
+}
@@ -15,10 +15,6 @@
  */
 package io.gravitee.management.service.impl;
 
-import io.gravitee.management.model.api.ApiEntity;
-import io.gravitee.management.model.ApplicationEntity;
-import io.gravitee.management.model.PlanEntity;
-import io.gravitee.management.model.TenantEntity;
 import io.gravitee.management.model.analytics.*;
 import io.gravitee.management.model.analytics.query.CountQuery;
 import io.gravitee.management.model.analytics.query.DateHistogramQuery;
@@ -33,7 +29,6 @@ import io.gravitee.repository.analytics.query.groupby.GroupByQueryBuilder;
 import io.gravitee.repository.analytics.query.groupby.GroupByResponse;
 import io.gravitee.repository.analytics.query.response.histogram.Data;
 import io.gravitee.repository.analytics.query.response.histogram.DateHistogramResponse;
-import io.gravitee.repository.management.model.ApplicationStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,22 +50,11 @@ public class AnalyticsServiceImpl implements AnalyticsService {
      */
     private final Logger logger = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
 
-    private static final String APPLICATION_KEYLESS = "1";
-
     @Autowired
     private AnalyticsRepository analyticsRepository;
 
     @Autowired
-    private ApiService apiService;
-
-    @Autowired
-    private ApplicationService applicationService;
-
-    @Autowired
-    private PlanService planService;
-
-    @Autowired
-    private TenantService tenantService;
+    private ReferenceNameResolver referenceNameResolver;
 
     @Override
     public HitsAnalytics execute(CountQuery query) {
@@ -184,28 +168,13 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
         if (analyticsBucket.getField().equals("application")) {
             // Prepare metadata
-            Map<String, Map<String, String>> metadata = new HashMap<>();
-            bucket.data().keySet().stream().forEach(app -> {
-                metadata.put(app, getApplicationMetadata(app));
-            });
-
-            analyticsBucket.setMetadata(metadata);
+            analyticsBucket.setMetadata(new HashMap<>(referenceNameResolver.getApplicationMetadata(bucket.data().keySet())));
         } else if (analyticsBucket.getField().equals("api")) {
             // Prepare metadata
-            Map<String, Map<String, String>> metadata = new HashMap<>();
-            bucket.data().keySet().stream().forEach(api -> {
-                metadata.put(api, getAPIMetadata(api));
-            });
-
-            analyticsBucket.setMetadata(metadata);
+            analyticsBucket.setMetadata(new HashMap<>(referenceNameResolver.getApiMetadata(bucket.data().keySet())));
         } else if (analyticsBucket.getField().equals("tenant")) {
             // Prepare metadata
-            Map<String, Map<String, String>> metadata = new HashMap<>();
-            bucket.data().keySet().stream().forEach(tenant -> {
-                metadata.put(tenant, getTenantMetadata(tenant));
-            });
-
-            analyticsBucket.setMetadata(metadata);
+            analyticsBucket.setMetadata(new HashMap<>(referenceNameResolver.getTenantMetadata(bucket.data().keySet())));
         }
 
         for (Map.Entry<String, List<Data>> dataBucket : bucket.data().entrySet()) {
@@ -255,17 +224,16 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             // Prepare metadata
             Map<String, Map<String, String>> metadata = new HashMap<>();
             if (topHitsAnalytics.getValues() != null) {
-                for (String key : topHitsAnalytics.getValues().keySet()) {
-                    switch(fieldName) {
-                        case "api": metadata.put(key, getAPIMetadata(key)); break;
-                        case "application": metadata.put(key, getApplicationMetadata(key)); break;
-                        case "plan": metadata.put(key, getPlanMetadata(key)); break;
-                        case "tenant": metadata.put(key, getTenantMetadata(key)); break;
-                        case "geoip.country_iso_code": metadata.put(key, getCountryName(key)); break;
-                        default:
-                            metadata.put(key, getGenericMetadata(key)); break;
-
-                    }
+                final Set<String> keys = topHitsAnalytics.getValues().keySet();
+                switch(fieldName) {
+                    case "api": metadata.putAll(referenceNameResolver.getApiMetadata(keys)); break;
+                    case "application": metadata.putAll(referenceNameResolver.getApplicationMetadata(keys)); break;
+                    case "plan": metadata.putAll(referenceNameResolver.getPlanMetadata(keys)); break;
+                    case "tenant": metadata.putAll(referenceNameResolver.getTenantMetadata(keys)); break;
+                    case "geoip.country_iso_code": keys.forEach(key -> metadata.put(key, getCountryName(key))); break;
+                    default:
+                        keys.forEach(key -> metadata.put(key, getGenericMetadata(key))); break;
+
                 }
             }
 
@@ -275,68 +243,6 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         return  topHitsAnalytics;
     }
 
-    private Map<String, String> getAPIMetadata(String api) {
-        Map<String, String> metadata = new HashMap<>();
-
-        try {
-            ApiEntity apiEntity = apiService.findById(api);
-            metadata.put("name", apiEntity.getName());
-            metadata.put("version", apiEntity.getVersion());
-        } catch (ApiNotFoundException anfe) {
-            metadata.put("name", "Deleted API");
-            metadata.put("deleted", "true");
-        }
-
-        return metadata;
-    }
-
-    private Map<String, String> getApplicationMetadata(String application) {
-        Map<String, String> metadata = new HashMap<>();
-
-        try {
-            ApplicationEntity applicationEntity = applicationService.findById(application);
-            metadata.put("name", applicationEntity.getName());
-            if (ApplicationStatus.ARCHIVED.toString().equals(applicationEntity.getStatus())) {
-                metadata.put("deleted", "true");
-            }
-        } catch (ApplicationNotFoundException anfe) {
-            metadata.put("deleted", "true");
-            if (application.equals(APPLICATION_KEYLESS)) {
-                metadata.put("name", "Unknown application (keyless)");
-            } else {
-                metadata.put("name", "Deleted application");
-            }
-        }
-
-        return metadata;
-    }
-
-    private Map<String, String> getPlanMetadata(String plan) {
-        Map<String, String> metadata = new HashMap<>();
-
-        try {
-            PlanEntity planEntity = planService.findById(plan);
-            metadata.put("name", planEntity.getName());
-        } catch (PlanNotFoundException anfe) {
-            metadata.put("deleted", "true");
-        }
-
-        return metadata;
-    }
-
-    private Map<String, String> getTenantMetadata(String tenant) {
-        Map<String, String> metadata = new HashMap<>();
-
-        try {
-            TenantEntity tenantEntity = tenantService.findById(tenant);
-            metadata.put("name", tenantEntity.getName());
-        } catch (TenantNotFoundException tnfe) {
-            metadata.put("deleted", "true");
-        }
-
-        return metadata;
-    }
-
     private Map<String, String> getCountryName(String country_iso) {
         Map<String, String> metadata = new HashMap<>();
 
@@ -22,7 +22,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
 import io.gravitee.common.component.Lifecycle;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.http.HttpMethod;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.definition.model.*;
@@ -32,12 +37,16 @@ import io.gravitee.management.model.PageType;
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.api.*;
 import io.gravitee.management.model.api.header.ApiHeaderEntity;
+import io.gravitee.management.model.common.Pageable;
 import io.gravitee.management.model.documentation.PageQuery;
 import io.gravitee.management.model.notification.GenericNotificationConfigEntity;
 import io.gravitee.management.model.parameters.Key;
 import io.gravitee.management.model.permissions.SystemRole;
 import io.gravitee.management.model.plan.PlanQuery;
 import io.gravitee.management.service.*;
+import io.gravitee.management.service.event.ApiEvent;
+import io.gravitee.management.service.event.PermissionEvent;
+import io.gravitee.management.service.event.ReferenceNameEvent;
 import io.gravitee.management.service.exceptions.*;
 import io.gravitee.management.service.impl.search.SearchResult;
 import io.gravitee.management.service.jackson.ser.api.ApiSerializer;
@@ -53,12 +62,14 @@ import io.gravitee.repository.management.api.ApiRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
 import io.gravitee.repository.management.api.search.ApiCriteria;
 import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.api.search.builder.PageableBuilder;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Visibility;
 import io.gravitee.repository.management.model.*;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -67,7 +78,10 @@ import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 import javax.xml.bind.DatatypeConverter;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -89,7 +103,8 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
  * @author GraviteeSource Team
  */
 @Component
-public class ApiServiceImpl extends AbstractService implements ApiService {
+public class ApiServiceImpl extends AbstractService implements ApiService, InitializingBean,
+        EventListener<ApiEvent, ApiEntity> {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(ApiServiceImpl.class);
 
@@ -139,10 +154,63 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     private ParameterService parameterService;
     @Autowired
     private TagService tagService;
+    @Autowired
+    private EventManager eventManager;
+
+    private static final long PICTURES_CACHE_MAX_SIZE = 10_000;
+    private static final long PICTURES_CACHE_MAX_WEIGHT = 32 * 1024 * 1024;
+    private static final long PICTURES_CACHE_TTL = 10;
+
+    /**
+     * Picture (content hash and type) of APIs. Entries are refreshed when an API is written through this node, the TTL
+     * bounds the staleness of APIs updated through another node. Visibilities are not cached since they grant access to
+     * the pictures.
+     */
+    private final Cache<String, ApiPictureRef> pictureRefs = CacheBuilder.newBuilder()
+            .maximumSize(PICTURES_CACHE_MAX_SIZE)
+            .expireAfterWrite(PICTURES_CACHE_TTL, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Decoded pictures, indexed by content hash.
+     */
+    private final Cache<String, byte[]> pictureContents = CacheBuilder.newBuilder()
+            .maximumWeight(PICTURES_CACHE_MAX_WEIGHT)
+            .weigher((String hash, byte[] content) -> content.length)
+            .build();
+
+    private volatile InlinePictureEntity defaultPicture;
+
+    @Value("${api.contextPath.checkInterval:5000}")
+    private long contextPathCheckInterval;
+
+    /**
+     * Sub context paths of the APIs, checked against the repository before each API write and at most once per
+     * interval for the context path verification. The interval bounds the staleness of the changes made from other
+     * nodes.
+     */
+    private final ContextPathTrie contextPaths = new ContextPathTrie();
+    private volatile long contextPathsCheckedAt;
+
+    private static final long DEFINITION_SUMMARIES_CACHE_MAX_SIZE = 50_000;
+    private static final int DEFINITION_SUMMARIES_BATCH_SIZE = 100;
+
+    /**
+     * Context path and tags of APIs, as extracted from their definition for the light listings. An entry is only used
+     * while the update date of the API matches the one it has been extracted from.
+     */
+    private final Cache<String, ApiDefinitionSummary> definitionSummaries = CacheBuilder.newBuilder()
+            .maximumSize(DEFINITION_SUMMARIES_CACHE_MAX_SIZE)
+            .build();
 
     private static final Pattern LOGGING_MAX_DURATION_PATTERN = Pattern.compile("(?<before>.*)\\#request.timestamp\\s*\\<\\=?\\s*(?<timestamp>\\d*)l(?<after>.*)");
     private static final String LOGGING_MAX_DURATION_CONDITION = "#request.timestamp <= %dl";
 
+    @Override
+    public void afterPropertiesSet() {
+        eventManager.subscribeForEvents(this, ApiEvent.class);
+    }
+
     @Override
     public ApiEntity create(final NewApiEntity newApiEntity, final String userId) throws ApiAlreadyExistsException {
         return create(newApiEntity, userId, null, null);
@@ -333,7 +401,7 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
             checkShardingTags(api, null);
 
             // format context-path and check if context path is unique
-            checkContextPath(api.getProxy().getContextPath());
+            checkContextPath(api.getProxy().getContextPath(), null, true);
 
             // check endpoints name
             checkEndpointsName(api);
@@ -369,6 +437,8 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
                 }
 
                 Api createdApi = apiRepository.create(repoApi);
+                refreshPicture(createdApi);
+                contextPaths.put(id, subContextPath(formatContextPath(api.getProxy().getContextPath())));
                 // Audit
                 auditService.createApiAuditLog(
                         createdApi.getId(),
@@ -412,10 +482,14 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     }
 
     public void checkContextPath(final String newContextPath) throws TechnicalException {
-        checkContextPath(newContextPath, null);
+        checkContextPath(newContextPath, null, false);
     }
 
-    private void checkContextPath(String newContextPath, final String apiId) throws TechnicalException {
+    /**
+     * @param checkIndex <code>true</code> to check the context paths index against the repository whatever the
+     *                   last check is (before writing an API)
+     */
+    private void checkContextPath(String newContextPath, final String apiId, boolean checkIndex) throws TechnicalException {
         if (newContextPath.charAt(0) != '/') {
             newContextPath = '/' + newContextPath;
         }
@@ -423,25 +497,52 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
             newContextPath = newContextPath.substring(0, newContextPath.length() - 1);
         }
 
-        final int indexOfEndOfNewSubContextPath = newContextPath.lastIndexOf('/', 1);
-        final String newSubContextPath = newContextPath.substring(0, indexOfEndOfNewSubContextPath <= 0 ?
-                newContextPath.length() : indexOfEndOfNewSubContextPath) + '/';
+        final String newSubContextPath = subContextPath(newContextPath);
 
-        final boolean contextPathExists = apiRepository.search(null).stream()
-                .filter(api -> !api.getId().equals(apiId))
-                .anyMatch(api -> {
-                    final String contextPath = convert(api, null).getProxy().getContextPath();
-                    final int indexOfEndOfSubContextPath = contextPath.lastIndexOf('/', 1);
-                    final String subContextPath = contextPath.substring(0, indexOfEndOfSubContextPath <= 0 ?
-                            contextPath.length() : indexOfEndOfSubContextPath) + '/';
-
-                    return subContextPath.startsWith(newSubContextPath) || newSubContextPath.startsWith(subContextPath);
-                });
-        if (contextPathExists) {
+        if (checkIndex || System.currentTimeMillis() - contextPathsCheckedAt >= contextPathCheckInterval) {
+            checkContextPathsIndex();
+        }
+        if (contextPaths.overlaps(newSubContextPath, apiId)) {
             throw new ApiContextPathAlreadyExistsException(newSubContextPath);
         }
     }
 
+    private static String subContextPath(String contextPath) {
+        final int indexOfEndOfSubContextPath = contextPath.lastIndexOf('/', 1);
+        return contextPath.substring(0, indexOfEndOfSubContextPath <= 0 ?
+                contextPath.length() : indexOfEndOfSubContextPath) + '/';
+    }
+
+    /**
+     * Check the context paths index against the repository: APIs are listed without their definition, and only the
+     * definitions of the APIs updated since the last check are read (see {@link #getDefinitionSummaries(List)}).
+     */
+    private void checkContextPathsIndex() throws TechnicalException {
+        synchronized (contextPaths) {
+            final long checkedAt = System.currentTimeMillis();
+            final Map<String, ApiDefinitionSummary> summaries = getDefinitionSummaries(apiRepository.search(null,
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build()));
+
+            contextPaths.retainAll(summaries.keySet());
+            summaries.forEach((apiId, summary) -> {
+                if (summary.contextPath == null) {
+                    contextPaths.remove(apiId);
+                } else {
+                    contextPaths.put(apiId, subContextPath(summary.contextPath));
+                }
+            });
+            contextPathsCheckedAt = checkedAt;
+        }
+    }
+
+    @Override
+    public void onEvent(io.gravitee.common.event.Event<ApiEvent, ApiEntity> event) {
+        // An API has been (un)deployed, as seen by the synchronization of this node: its context path may have changed.
+        // The event manager is local to this node and APIs updated without being deployed are not notified, the check
+        // interval is the only bound of the staleness of the context paths changed through other nodes.
+        contextPathsCheckedAt = 0;
+    }
+
     private void checkEndpointsName(UpdateApiEntity api) {
         if (api.getProxy() != null && api.getProxy().getGroups() != null) {
             for (EndpointGroup group : api.getProxy().getGroups()) {
@@ -562,43 +663,66 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     public Set<ApiEntity> findByUser(String userId, ApiQuery apiQuery) {
         try {
             LOGGER.debug("Find APIs by user {}", userId);
-
-            //get all public apis
-            List<Api> publicApis = apiRepository.search(queryToCriteria(apiQuery).visibility(PUBLIC).build());
-
-            // get user apis
-            List<Api> userApis = emptyList();
-            final String[] userApiIds = membershipRepository
-                    .findByUserAndReferenceType(userId, MembershipReferenceType.API).stream()
-                    .map(Membership::getReferenceId)
-                    .toArray(String[]::new);
-            if (userApiIds.length > 0) {
-                userApis = apiRepository.search(queryToCriteria(apiQuery).ids(userApiIds).build());
-            }
-
-            // get user groups apis
-            List<Api> groupApis = emptyList();
-            final String[] groupIds = membershipRepository
-                    .findByUserAndReferenceType(userId, MembershipReferenceType.GROUP).stream()
-                    .filter(m -> m.getRoles().keySet().contains(RoleScope.API.getId()))
-                    .map(Membership::getReferenceId)
-                    .toArray(String[]::new);
-            if (groupIds.length > 0 && groupIds[0] != null) {
-                groupApis = apiRepository.search(queryToCriteria(apiQuery).groups(groupIds).build());
-            }
-
-            // merge all apis
-            final Set<ApiEntity> apis = new HashSet<>(publicApis.size() + userApis.size() + groupApis.size());
-            apis.addAll(convert(publicApis));
-            apis.addAll(convert(userApis));
-            apis.addAll(convert(groupApis));
-            return apis;
+            return convert(findApisByUser(userId, apiQuery, null));
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to find APIs for user {}", userId, ex);
             throw new TechnicalManagementException("An error occurs while trying to find APIs for user " + userId, ex);
         }
     }
 
+    @Override
+    public Set<ApiEntity> findByUserLight(String userId, ApiQuery apiQuery) {
+        try {
+            LOGGER.debug("Find APIs by user {} without some fields (definition, picture...)", userId);
+            return convertLight(findApisByUser(userId, apiQuery,
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build()));
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find APIs light for user {}", userId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find APIs light for user " + userId, ex);
+        }
+    }
+
+    /**
+     * @return the public APIs, the APIs the user is member of and the APIs of the groups of the user (without
+     * duplicates).
+     */
+    private List<Api> findApisByUser(String userId, ApiQuery apiQuery, ApiFieldExclusionFilter filter) throws TechnicalException {
+        //get all public apis
+        List<Api> publicApis = search(queryToCriteria(apiQuery).visibility(PUBLIC).build(), filter);
+
+        // get user apis
+        List<Api> userApis = emptyList();
+        final String[] userApiIds = membershipRepository
+                .findByUserAndReferenceType(userId, MembershipReferenceType.API).stream()
+                .map(Membership::getReferenceId)
+                .toArray(String[]::new);
+        if (userApiIds.length > 0) {
+            userApis = search(queryToCriteria(apiQuery).ids(userApiIds).build(), filter);
+        }
+
+        // get user groups apis
+        List<Api> groupApis = emptyList();
+        final String[] groupIds = membershipRepository
+                .findByUserAndReferenceType(userId, MembershipReferenceType.GROUP).stream()
+                .filter(m -> m.getRoles().keySet().contains(RoleScope.API.getId()))
+                .map(Membership::getReferenceId)
+                .toArray(String[]::new);
+        if (groupIds.length > 0 && groupIds[0] != null) {
+            groupApis = search(queryToCriteria(apiQuery).groups(groupIds).build(), filter);
+        }
+
+        // merge all apis
+        final Map<String, Api> apis = new LinkedHashMap<>(publicApis.size() + userApis.size() + groupApis.size());
+        publicApis.forEach(api -> apis.putIfAbsent(api.getId(), api));
+        userApis.forEach(api -> apis.putIfAbsent(api.getId(), api));
+        groupApis.forEach(api -> apis.putIfAbsent(api.getId(), api));
+        return new ArrayList<>(apis.values());
+    }
+
+    private List<Api> search(ApiCriteria criteria, ApiFieldExclusionFilter filter) throws TechnicalException {
+        return filter == null ? apiRepository.search(criteria) : apiRepository.search(criteria, filter);
+    }
+
     @Override
     public ApiEntity update(String apiId, UpdateApiEntity updateApiEntity) {
         try {
@@ -613,7 +737,7 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
             checkShardingTags(updateApiEntity, convert(optApiToUpdate.get()));
 
             // check if context path is unique
-            checkContextPath(updateApiEntity.getProxy().getContextPath(), apiId);
+            checkContextPath(updateApiEntity.getProxy().getContextPath(), apiId, true);
 
             // check endpoints name
             checkEndpointsName(updateApiEntity);
@@ -654,6 +778,11 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
                 }
 
                 Api updatedApi = apiRepository.update(api);
+                refreshPicture(updatedApi);
+                contextPaths.put(apiId, subContextPath(formatContextPath(updateApiEntity.getProxy().getContextPath())));
+                // Groups may have changed
+                eventManager.publishEvent(PermissionEvent.INVALIDATE_REFERENCE, apiId);
+                eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_API, apiId);
 
                 // Audit
                 auditService.createApiAuditLog(
@@ -744,6 +873,10 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
 
                 // Delete API
                 apiRepository.delete(apiId);
+                pictureRefs.invalidate(apiId);
+                definitionSummaries.invalidate(apiId);
+                contextPaths.remove(apiId);
+                eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_API, apiId);
                 // Delete top API
                 topApiService.delete(apiId);
                 // Audit
@@ -1159,29 +1292,167 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
 
     @Override
     public InlinePictureEntity getPicture(String apiId) {
-        ApiEntity apiEntity = findById(apiId);
-        InlinePictureEntity imageEntity = new InlinePictureEntity();
-        if (apiEntity.getPicture() == null) {
-            imageEntity.setType("image/png");
-            imageEntity.setContent(getDefaultPicture());
-        } else {
-            String[] parts = apiEntity.getPicture().split(";", 2);
-            imageEntity.setType(parts[0].split(":")[1]);
-            String base64Content = apiEntity.getPicture().split(",", 2)[1];
-            imageEntity.setContent(DatatypeConverter.parseBase64Binary(base64Content));
+        ApiPictureRef ref = pictureRefs.getIfPresent(apiId);
+        if (ref != null) {
+            if (ref.hash == null) {
+                return getDefaultPictureEntity();
+            }
+            byte[] content = pictureContents.getIfPresent(ref.hash);
+            if (content != null) {
+                return convert(ref, content);
+            }
+        }
+
+        // Unknown API or evicted content
+        Api api = findByIdWithout(apiId, new ApiFieldExclusionFilter.Builder().excludeDefinition().build());
+        InlinePictureEntity picture = cachePicture(api.getId(), api.getPicture());
+        return picture == null ? getDefaultPictureEntity() : picture;
+    }
+
+    @Override
+    public String getPictureHash(ApiEntity api) {
+        if (api.getPicture() == null) {
+            return null;
+        }
+        ApiPictureRef ref = pictureRefs.getIfPresent(api.getId());
+        if (ref != null && ref.hash != null) {
+            return ref.hash;
+        }
+        return cachePicture(api.getId(), api.getPicture()).getHash();
+    }
+
+    @Override
+    public Map<String, String> getPictureHashes(Collection<String> apiIds) {
+        Map<String, String> hashes = new HashMap<>(apiIds.size());
+        List<String> missing = new ArrayList<>();
+        for (String apiId : apiIds) {
+            ApiPictureRef ref = pictureRefs.getIfPresent(apiId);
+            if (ref == null) {
+                missing.add(apiId);
+            } else if (ref.hash != null) {
+                hashes.put(apiId, ref.hash);
+            }
+        }
+
+        try {
+            for (List<String> batch : Lists.partition(missing, DEFINITION_SUMMARIES_BATCH_SIZE)) {
+                for (Api api : apiRepository.search(new ApiCriteria.Builder().ids(batch.toArray(new String[0])).build(),
+                        new ApiFieldExclusionFilter.Builder().excludeDefinition().build())) {
+                    try {
+                        InlinePictureEntity picture = cachePicture(api.getId(), api.getPicture());
+                        if (picture != null) {
+                            hashes.put(api.getId(), picture.getHash());
+                        }
+                    } catch (Exception ex) {
+                        LOGGER.warn("Unable to cache the picture of API {}", api.getId(), ex);
+                    }
+                }
+            }
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to get pictures of APIs {}", missing, ex);
+            throw new TechnicalManagementException("An error occurs while trying to get pictures of APIs " + missing, ex);
         }
+        return hashes;
+    }
 
-        return imageEntity;
+    @Override
+    public io.gravitee.management.model.Visibility getVisibility(String apiId) {
+        Api api = findByIdWithout(apiId, new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build());
+        return api.getVisibility() == null ? null : io.gravitee.management.model.Visibility.valueOf(api.getVisibility().name());
     }
 
     @Override
     public byte[] getDefaultPicture() {
+        InlinePictureEntity picture = getDefaultPictureEntity();
+        return picture.getContent();
+    }
+
+    private InlinePictureEntity getDefaultPictureEntity() {
+        InlinePictureEntity picture = defaultPicture;
+        if (picture == null) {
+            picture = new InlinePictureEntity();
+            picture.setType("image/png");
+            try {
+                picture.setContent(IOUtils.toByteArray(new FileInputStream(defaultIcon)));
+                picture.setHash(hash(picture.getContent()));
+                defaultPicture = picture;
+            } catch (IOException ioe) {
+                LOGGER.error("Default icon for API does not exist", ioe);
+            }
+        }
+        return picture;
+    }
+
+    private Api findByIdWithout(String apiId, ApiFieldExclusionFilter apiFieldExclusionFilter) {
         try {
-            return IOUtils.toByteArray(new FileInputStream(defaultIcon));
-        } catch (IOException ioe) {
-            LOGGER.error("Default icon for API does not exist", ioe);
+            List<Api> apis = apiRepository.search(new ApiCriteria.Builder().ids(apiId).build(), apiFieldExclusionFilter);
+            if (apis.isEmpty()) {
+                throw new ApiNotFoundException(apiId);
+            }
+            return apis.get(0);
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find an API using its ID: {}", apiId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find an API using its ID: " + apiId, ex);
+        }
+    }
+
+    /**
+     * Refresh the cached picture of an API which has just been written, so that its hash is computed once.
+     */
+    private void refreshPicture(Api api) {
+        try {
+            cachePicture(api.getId(), api.getPicture());
+        } catch (Exception ex) {
+            LOGGER.warn("Unable to cache the picture of API {}", api.getId(), ex);
+            pictureRefs.invalidate(api.getId());
+        }
+    }
+
+    /**
+     * Decode and cache the picture of an API.
+     *
+     * @param picture the picture, as a data URI (for instance <code>data:image/png;base64,iVBORw0KGgo...</code>)
+     * @return the decoded picture, or <code>null</code> if the API has no picture.
+     */
+    private InlinePictureEntity cachePicture(String apiId, String picture) {
+        if (picture == null) {
+            pictureRefs.put(apiId, new ApiPictureRef(null, null));
+            return null;
+        }
+
+        String type = picture.split(";", 2)[0].split(":")[1];
+        byte[] content = DatatypeConverter.parseBase64Binary(picture.split(",", 2)[1]);
+        ApiPictureRef ref = new ApiPictureRef(hash(content), type);
+
+        pictureContents.put(ref.hash, content);
+        pictureRefs.put(apiId, ref);
+        return convert(ref, content);
+    }
+
+    private static InlinePictureEntity convert(ApiPictureRef ref, byte[] content) {
+        InlinePictureEntity picture = new InlinePictureEntity();
+        picture.setType(ref.type);
+        picture.setContent(content);
+        picture.setHash(ref.hash);
+        return picture;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return DatatypeConverter.printHexBinary(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    private static final class ApiPictureRef {
+        private final String hash;
+        private final String type;
+
+        private ApiPictureRef(String hash, String type) {
+            this.hash = hash;
+            this.type = type;
         }
-        return null;
     }
 
     @Override
@@ -1291,10 +1562,7 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
     public Collection<ApiEntity> search(final ApiQuery query) {
         try {
             LOGGER.debug("Search APIs by {}", query);
-            return convert(apiRepository.search(queryToCriteria(query).build())).stream()
-                    .filter(api -> query.getTag() == null || (api.getTags() != null && api.getTags().contains(query.getTag())))
-                    .filter(api -> query.getContextPath() == null || query.getContextPath().equals(api.getProxy().getContextPath()))
-                    .collect(toList());
+            return filter(convert(apiRepository.search(queryToCriteria(query).build())), query);
         } catch (TechnicalException ex) {
             final String errorMessage = "An error occurs while trying to search for APIs: " + query;
             LOGGER.error(errorMessage, ex);
@@ -1302,6 +1570,46 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
         }
     }
 
+    @Override
+    public Collection<ApiEntity> searchLight(final ApiQuery query) {
+        try {
+            LOGGER.debug("Search APIs by {} without some fields (definition, picture...)", query);
+            return filter(convertLight(apiRepository.search(queryToCriteria(query).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build())), query);
+        } catch (TechnicalException ex) {
+            final String errorMessage = "An error occurs while trying to search for APIs light: " + query;
+            LOGGER.error(errorMessage, ex);
+            throw new TechnicalManagementException(errorMessage, ex);
+        }
+    }
+
+    private List<ApiEntity> filter(final Collection<ApiEntity> apis, final ApiQuery query) {
+        return apis.stream()
+                .filter(api -> query.getTag() == null || (api.getTags() != null && api.getTags().contains(query.getTag())))
+                .filter(api -> query.getContextPath() == null ||
+                        (api.getProxy() != null && query.getContextPath().equals(api.getProxy().getContextPath())))
+                .collect(toList());
+    }
+
+    @Override
+    public io.gravitee.common.data.domain.Page<ApiEntity> search(final ApiQuery query, final Pageable pageable) {
+        try {
+            LOGGER.debug("Search APIs by {} with pageable {}", query, pageable);
+            final io.gravitee.common.data.domain.Page<Api> pageApi = apiRepository.search(queryToCriteria(query).build(),
+                    new PageableBuilder()
+                            .pageNumber(pageable.getPageNumber() - 1)
+                            .pageSize(pageable.getPageSize())
+                            .build());
+
+            return new io.gravitee.common.data.domain.Page<>(new ArrayList<>(convert(pageApi.getContent())),
+                    pageApi.getPageNumber() + 1, (int) pageApi.getPageElements(), pageApi.getTotalElements());
+        } catch (TechnicalException ex) {
+            final String errorMessage = "An error occurs while trying to search for pageable APIs: " + query;
+            LOGGER.error(errorMessage, ex);
+            throw new TechnicalManagementException(errorMessage, ex);
+        }
+    }
+
     @Override
     public Collection<ApiEntity> search(String query, Map<String, Object> filters) {
         Query<ApiEntity> apiQuery = QueryBuilder.create(ApiEntity.class)
@@ -1491,6 +1799,104 @@ public class ApiServiceImpl extends AbstractService implements ApiService {
         return convert(api, null);
     }
 
+    /**
+     * Convert APIs loaded without their definition: the context path and the tags are taken from the definition
+     * summaries.
+     */
+    private Set<ApiEntity> convertLight(final List<Api> apis) throws TechnicalException {
+        final Set<ApiEntity> apiEntities = convert(apis);
+        if (apiEntities.isEmpty()) {
+            return apiEntities;
+        }
+
+        final Map<String, ApiDefinitionSummary> summaries = getDefinitionSummaries(apis);
+        apiEntities.forEach(apiEntity -> {
+            ApiDefinitionSummary summary = summaries.get(apiEntity.getId());
+            if (summary != null) {
+                Proxy proxy = new Proxy();
+                proxy.setContextPath(summary.contextPath);
+                apiEntity.setProxy(proxy);
+                apiEntity.setTags(summary.tags);
+            }
+        });
+        return apiEntities;
+    }
+
+    private Map<String, ApiDefinitionSummary> getDefinitionSummaries(final List<Api> apis) throws TechnicalException {
+        final Map<String, ApiDefinitionSummary> summaries = new HashMap<>(apis.size());
+        final List<String> missing = new ArrayList<>();
+        for (Api api : apis) {
+            ApiDefinitionSummary summary = definitionSummaries.getIfPresent(api.getId());
+            if (summary != null && Objects.equals(summary.updatedAt, api.getUpdatedAt())) {
+                summaries.put(api.getId(), summary);
+            } else {
+                missing.add(api.getId());
+            }
+        }
+
+        // Definitions are only loaded for the APIs created or updated since the last listing
+        for (List<String> batch : Lists.partition(missing, DEFINITION_SUMMARIES_BATCH_SIZE)) {
+            for (Api api : apiRepository.search(new ApiCriteria.Builder().ids(batch.toArray(new String[0])).build(),
+                    new ApiFieldExclusionFilter.Builder().excludePicture().build())) {
+                ApiDefinitionSummary summary = summarize(api);
+                definitionSummaries.put(api.getId(), summary);
+                summaries.put(api.getId(), summary);
+            }
+        }
+        return summaries;
+    }
+
+    private ApiDefinitionSummary summarize(Api api) {
+        String contextPath = null;
+        Set<String> tags = null;
+        if (api.getDefinition() != null) {
+            try {
+                // Only walk the JSON tree instead of binding the whole definition (paths, policies, ...)
+                JsonNode definition = objectMapper.readTree(api.getDefinition());
+                contextPath = formatContextPath(definition.path("proxy").path("context_path").textValue());
+                JsonNode tagsNode = definition.path("tags");
+                if (tagsNode.isArray()) {
+                    Set<String> definitionTags = new HashSet<>(tagsNode.size());
+                    for (JsonNode tag : tagsNode) {
+                        definitionTags.add(tag.asText());
+                    }
+                    tags = Collections.unmodifiableSet(definitionTags);
+                }
+            } catch (IOException ioe) {
+                LOGGER.error("Unexpected error while reading API definition", ioe);
+            }
+        }
+        return new ApiDefinitionSummary(api.getUpdatedAt(), contextPath, tags);
+    }
+
+    /**
+     * Format a context path as the API definition deserializer does: without empty segment nor trailing slash.
+     */
+    private static String formatContextPath(String contextPath) {
+        if (contextPath == null) {
+            return null;
+        }
+        final StringBuilder formatted = new StringBuilder("/");
+        for (String segment : contextPath.split("/")) {
+            if (!segment.isEmpty()) {
+                formatted.append(segment).append('/');
+            }
+        }
+        return formatted.deleteCharAt(formatted.length() - 1).toString();
+    }
+
+    private static final class ApiDefinitionSummary {
+        private final Date updatedAt;
+        private final String contextPath;
+        private final Set<String> tags;
+
+        private ApiDefinitionSummary(Date updatedAt, String contextPath, Set<String> tags) {
+            this.updatedAt = updatedAt;
+            this.contextPath = contextPath;
+            this.tags = tags;
+        }
+    }
+
     private ApiEntity convert(Api api, UserEntity primaryOwner) {
         ApiEntity apiEntity = new ApiEntity();
 
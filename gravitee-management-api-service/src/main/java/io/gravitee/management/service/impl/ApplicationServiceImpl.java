@@ -17,6 +17,7 @@ package io.gravitee.management.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.application.*;
@@ -26,6 +27,8 @@ import io.gravitee.management.model.permissions.SystemRole;
 import io.gravitee.management.model.subscription.SubscriptionQuery;
 import io.gravitee.management.service.*;
 import io.gravitee.management.service.configuration.application.ClientRegistrationService;
+import io.gravitee.management.service.event.PermissionEvent;
+import io.gravitee.management.service.event.ReferenceNameEvent;
 import io.gravitee.management.service.exceptions.*;
 import io.gravitee.management.service.impl.configuration.application.registration.client.register.ClientRegistrationResponse;
 import io.gravitee.management.service.notification.ApplicationHook;
@@ -89,6 +92,9 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
     @Autowired
     private ParameterService parameterService;
 
+    @Autowired
+    private EventManager eventManager;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     @Override
@@ -376,6 +382,9 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
             metadata.forEach((key, value) -> application.getMetadata().put(key, value));
 
             Application updatedApplication =  applicationRepository.update(application);
+            // Groups may have changed
+            eventManager.publishEvent(PermissionEvent.INVALIDATE_REFERENCE, applicationId);
+            eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_APPLICATION, applicationId);
 
             // Audit
             auditService.createApplicationAuditLog(
@@ -450,6 +459,7 @@ public class ApplicationServiceImpl extends AbstractService implements Applicati
             application.setUpdatedAt(new Date());
             application.setStatus(ApplicationStatus.ARCHIVED);
             applicationRepository.update(application);
+            eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_APPLICATION, applicationId);
             // Audit
             auditService.createApplicationAuditLog(
                     application.getId(),
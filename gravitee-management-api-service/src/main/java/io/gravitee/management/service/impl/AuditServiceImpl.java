@@ -15,13 +15,13 @@
  */
 package io.gravitee.management.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.fge.jsonpatch.diff.JsonDiff;
 import io.gravitee.common.data.domain.MetadataPage;
 import io.gravitee.common.data.domain.Page;
 import io.gravitee.common.utils.UUID;
-import io.gravitee.management.model.UserEntity;
 import io.gravitee.management.model.audit.AuditEntity;
 import io.gravitee.management.model.audit.AuditQuery;
 import io.gravitee.management.service.AuditService;
@@ -33,23 +33,40 @@ import io.gravitee.repository.management.api.*;
 import io.gravitee.repository.management.api.search.AuditCriteria.Builder;
 import io.gravitee.repository.management.api.search.builder.PageableBuilder;
 import io.gravitee.repository.management.model.*;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.gravitee.management.service.impl.MetadataServiceImpl.getDefautReferenceId;
 
 /**
+ * Audits are written asynchronously by a single writer, through a bounded queue. The queue depth and the failed writes
+ * are exposed as <code>audit.*</code> meters.
+ *
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class AuditServiceImpl extends AbstractService implements AuditService {
+public class AuditServiceImpl extends AbstractService implements AuditService, InitializingBean, DisposableBean, MeterBinder {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
 
     private final Logger LOGGER = LoggerFactory.getLogger(AuditServiceImpl.class);
 
@@ -74,6 +91,29 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
     @Autowired
     private ObjectMapper mapper;
 
+    @Value("${audit.writer.queueCapacity:10000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor writer;
+
+    private final AtomicLong failedAudits = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        // A single writer keeps the audits in order, the caller writes its audit itself when the queue is full
+        writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("audit-writer-"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        writer.shutdown();
+        if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warn("{} audits have not been written before shutdown", writer.getQueue().size());
+            writer.shutdownNow();
+        }
+    }
+
     @Override
     public MetadataPage<AuditEntity> search(AuditQuery query) {
 
@@ -113,78 +153,84 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
     }
 
     private Map<String, String> getMetadata(List<AuditEntity> content) {
+        // Referenced users, groups, plans and metadata are loaded at once for the whole page
+        final BatchLoader<String, String> userNames = new BatchLoader<>(this::findUserNames);
+        final BatchLoader<String, String> groupNames = new BatchLoader<>(this::findGroupNames);
+        final BatchLoader<String, String> pageNames = new BatchLoader<>(this::findPageNames);
+        final BatchLoader<String, Map<String, String>> planNamesByApi = new BatchLoader<>(this::findPlanNamesByApi);
+        final Map<MetadataReferenceType, BatchLoader<String, Map<String, String>>> metadataNames = new EnumMap<>(MetadataReferenceType.class);
+
+        for (AuditEntity auditEntity : content) {
+            userNames.add(auditEntity.getUser());
+            if (auditEntity.getProperties() != null) {
+                for (Map.Entry<String, String> property : auditEntity.getProperties().entrySet()) {
+                    switch (Audit.AuditProperties.valueOf(property.getKey())) {
+                        case PAGE:
+                            pageNames.add(property.getValue());
+                            break;
+                        case PLAN:
+                            if (Audit.AuditReferenceType.API.name().equals(auditEntity.getReferenceType())) {
+                                planNamesByApi.add(auditEntity.getReferenceId());
+                            }
+                            break;
+                        case METADATA:
+                            metadataNames(metadataNames, getMetadataReferenceType(auditEntity)).add(getMetadataReferenceId(auditEntity));
+                            break;
+                        case GROUP:
+                            groupNames.add(property.getValue());
+                            break;
+                        case USER:
+                            userNames.add(property.getValue());
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+
         Map<String, String> metadata = new HashMap<>();
         for (AuditEntity auditEntity : content) {
             //add user's display name
-            String metadataKey = "USER:"+auditEntity.getUser()+":name";
-            try {
-                UserEntity user = userService.findById(auditEntity.getUser());
-                metadata.put(metadataKey, user.getDisplayName());
-            } catch (TechnicalManagementException e) {
-                LOGGER.error("Error finding metadata {}", auditEntity.getUser());
-            } catch (UserNotFoundException unfe) {
-                metadata.put(metadataKey, auditEntity.getUser());
-            }
+            metadata.put("USER:" + auditEntity.getUser() + ":name",
+                    defaultName(userNames.get(auditEntity.getUser()), auditEntity.getUser()));
 
             //add property metadata
-            String name;
             if (auditEntity.getProperties() != null) {
                 for (Map.Entry<String, String> property : auditEntity.getProperties().entrySet()) {
-                    metadataKey = new StringJoiner(":").
+                    String metadataKey = new StringJoiner(":").
                             add(property.getKey()).
                             add(property.getValue()).
                             add("name").
                             toString();
                     if (!metadata.containsKey(metadataKey)) {
-                        name = property.getValue();
-                        try {
-                            switch (Audit.AuditProperties.valueOf(property.getKey())) {
-                                case PAGE:
-                                    Optional<io.gravitee.repository.management.model.Page> optPage = pageRepository.findById(property.getValue());
-                                    if (optPage.isPresent()) {
-                                        name = optPage.get().getName();
-                                    }
-                                    break;
-                                case PLAN:
-                                    Optional<Plan> optPlan = planRepository.findById(property.getValue());
-                                    if (optPlan.isPresent()) {
-                                        name = optPlan.get().getName();
-                                    }
-                                    break;
-                                case METADATA:
-                                    MetadataReferenceType refType = (Audit.AuditReferenceType.API.name().equals(auditEntity.getReferenceType()))
-                                            ? MetadataReferenceType.API :
-                                            (Audit.AuditReferenceType.APPLICATION.name().equals(auditEntity.getReferenceType())) ?
-                                                    MetadataReferenceType.APPLICATION :
-                                                    MetadataReferenceType.DEFAULT;
-                                    String refId = refType.equals(MetadataReferenceType.DEFAULT) ? getDefautReferenceId() : auditEntity.getReferenceId();
-
-                                    Optional<Metadata> optMetadata = metadataRepository.findById(property.getValue(), refId, refType);
-                                    if (optMetadata.isPresent()) {
-                                        name = optMetadata.get().getName();
-                                    }
-                                    break;
-                                case GROUP:
-                                    Optional<Group> optGroup = groupRepository.findById(property.getValue());
-                                    if (optGroup.isPresent()) {
-                                        name = optGroup.get().getName();
-                                    }
-                                    break;
-                                case USER:
-                                    try {
-                                        UserEntity user = userService.findById(property.getValue());
-                                        name = user.getDisplayName();
-                                    } catch (UserNotFoundException unfe) {
-                                        name = property.getValue();
-                                    }
-                                default:
-                                    break;
-                            }
-                        } catch (TechnicalException e) {
-                            LOGGER.error("Error finding metadata {}", metadataKey);
-                            name = property.getValue();
+                        String name = null;
+                        switch (Audit.AuditProperties.valueOf(property.getKey())) {
+                            case PAGE:
+                                name = pageNames.get(property.getValue());
+                                break;
+                            case PLAN:
+                                if (Audit.AuditReferenceType.API.name().equals(auditEntity.getReferenceType())) {
+                                    name = planNamesByApi.get(auditEntity.getReferenceId()).get(property.getValue());
+                                }
+                                if (name == null) {
+                                    name = findPlanName(property.getValue());
+                                }
+                                break;
+                            case METADATA:
+                                name = metadataNames(metadataNames, getMetadataReferenceType(auditEntity))
+                                        .get(getMetadataReferenceId(auditEntity)).get(property.getValue());
+                                break;
+                            case GROUP:
+                                name = groupNames.get(property.getValue());
+                                break;
+                            case USER:
+                                name = userNames.get(property.getValue());
+                                break;
+                            default:
+                                break;
                         }
-                        metadata.put(metadataKey, name);
+                        metadata.put(metadataKey, defaultName(name, property.getValue()));
                     }
                 }
             }
@@ -192,6 +238,99 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
         return metadata;
     }
 
+    private static String defaultName(String name, String defaultName) {
+        return name == null ? defaultName : name;
+    }
+
+    private MetadataReferenceType getMetadataReferenceType(AuditEntity auditEntity) {
+        return Audit.AuditReferenceType.API.name().equals(auditEntity.getReferenceType()) ?
+                MetadataReferenceType.API :
+                Audit.AuditReferenceType.APPLICATION.name().equals(auditEntity.getReferenceType()) ?
+                        MetadataReferenceType.APPLICATION :
+                        MetadataReferenceType.DEFAULT;
+    }
+
+    private String getMetadataReferenceId(AuditEntity auditEntity) {
+        return MetadataReferenceType.DEFAULT.equals(getMetadataReferenceType(auditEntity)) ?
+                getDefautReferenceId() : auditEntity.getReferenceId();
+    }
+
+    private BatchLoader<String, Map<String, String>> metadataNames(
+            Map<MetadataReferenceType, BatchLoader<String, Map<String, String>>> metadataNames, MetadataReferenceType referenceType) {
+        return metadataNames.computeIfAbsent(referenceType, type -> new BatchLoader<>(referenceIds -> {
+            Map<String, Map<String, String>> names = new HashMap<>();
+            for (String referenceId : referenceIds) {
+                Map<String, String> referenceNames = new HashMap<>();
+                try {
+                    metadataRepository.findByReferenceTypeAndReferenceId(type, referenceId)
+                            .forEach(metadata -> referenceNames.put(metadata.getKey(), metadata.getName()));
+                } catch (TechnicalException e) {
+                    LOGGER.error("Error finding metadata of {} {}", type, referenceId, e);
+                }
+                names.put(referenceId, referenceNames);
+            }
+            return names;
+        }));
+    }
+
+    private Map<String, String> findUserNames(Set<String> ids) {
+        Map<String, String> names = new HashMap<>();
+        try {
+            userService.findByIds(new ArrayList<>(ids)).forEach(user -> names.put(user.getId(), user.getDisplayName()));
+        } catch (UserNotFoundException unfe) {
+            // none of the users exists anymore
+        } catch (TechnicalManagementException e) {
+            LOGGER.error("Error finding metadata of users {}", ids, e);
+        }
+        return names;
+    }
+
+    private Map<String, String> findGroupNames(Set<String> ids) {
+        Map<String, String> names = new HashMap<>();
+        try {
+            groupRepository.findByIds(ids).forEach(group -> names.put(group.getId(), group.getName()));
+        } catch (TechnicalException e) {
+            LOGGER.error("Error finding metadata of groups {}", ids, e);
+        }
+        return names;
+    }
+
+    private Map<String, String> findPageNames(Set<String> ids) {
+        // pages can only be found one by one
+        Map<String, String> names = new HashMap<>();
+        for (String id : ids) {
+            try {
+                pageRepository.findById(id).ifPresent(page -> names.put(id, page.getName()));
+            } catch (TechnicalException e) {
+                LOGGER.error("Error finding metadata of page {}", id, e);
+            }
+        }
+        return names;
+    }
+
+    private Map<String, Map<String, String>> findPlanNamesByApi(Set<String> apiIds) {
+        Map<String, Map<String, String>> names = new HashMap<>();
+        for (String apiId : apiIds) {
+            Map<String, String> apiNames = new HashMap<>();
+            try {
+                planRepository.findByApi(apiId).forEach(plan -> apiNames.put(plan.getId(), plan.getName()));
+            } catch (TechnicalException e) {
+                LOGGER.error("Error finding metadata of plans of API {}", apiId, e);
+            }
+            names.put(apiId, apiNames);
+        }
+        return names;
+    }
+
+    private String findPlanName(String id) {
+        try {
+            return planRepository.findById(id).map(Plan::getName).orElse(null);
+        } catch (TechnicalException e) {
+            LOGGER.error("Error finding metadata of plan {}", id, e);
+            return null;
+        }
+    }
+
     @Override
     public void createApiAuditLog(String apiId, Map<Audit.AuditProperties,String> properties, Audit.AuditEvent event, Date createdAt,
                                   Object oldValue, Object newValue) {
@@ -253,7 +392,6 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
                 newValue);
     }
 
-    @Async
     protected void create(Audit.AuditReferenceType referenceType, String referenceId, Map<Audit.AuditProperties,String> properties,
                           Audit.AuditEvent event, String userId, Date createdAt,
                           Object oldValue, Object newValue) {
@@ -271,19 +409,75 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
         audit.setReferenceId(referenceId);
         audit.setEvent(event.name());
 
-        ObjectNode oldNode = oldValue == null
-                ? mapper.createObjectNode()
-                : mapper.convertValue(oldValue, ObjectNode.class).remove(Arrays.asList("updatedAt", "createdAt"));
-        ObjectNode newNode = newValue == null
-                ? mapper.createObjectNode()
-                : mapper.convertValue(newValue, ObjectNode.class).remove(Arrays.asList("updatedAt", "createdAt"));
+        // Values are converted on the calling thread since they may be modified once audited, the diff is computed
+        // by the writer
+        final ObjectNode oldNode = toNode(oldValue);
+        final ObjectNode newNode = toNode(newValue);
 
-        audit.setPatch(JsonDiff.asJson(oldNode, newNode).toString());
+        writer.execute(() -> write(audit, oldNode, newNode));
+    }
 
+    /**
+     * @return the number of audits waiting to be written.
+     */
+    public int getPendingAudits() {
+        return writer.getQueue().size();
+    }
+
+    /**
+     * @return the number of audits which have not been written because of an error.
+     */
+    public long getFailedAudits() {
+        return failedAudits.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.pending", this, AuditServiceImpl::getPendingAudits)
+                .description("Audits waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("audit.failed", this, AuditServiceImpl::getFailedAudits)
+                .description("Audits which have not been written because of an error")
+                .register(registry);
+    }
+
+    private ObjectNode toNode(Object value) {
+        return value == null
+                ? mapper.createObjectNode()
+                : mapper.convertValue(value, ObjectNode.class).remove(Arrays.asList("updatedAt", "createdAt"));
+    }
+
+    private void write(Audit audit, ObjectNode oldNode, ObjectNode newNode) {
         try {
+            audit.setPatch(diff(oldNode, newNode).toString());
             auditRepository.create(audit);
-        } catch (TechnicalException e) {
-            LOGGER.error("Error occurs during the creation of an Audit Log {}.", e);
+        } catch (Exception e) {
+            failedAudits.incrementAndGet();
+            LOGGER.error("Error occurs during the creation of an Audit Log {}.", audit.getId(), e);
+        }
+    }
+
+    /**
+     * Compute the JSON patch between the two nodes, after having removed the fields whose value is unchanged so that
+     * the diff only walks the modified subtrees. The given nodes are modified.
+     */
+    static JsonNode diff(ObjectNode oldNode, ObjectNode newNode) {
+        removeUnchangedFields(oldNode, newNode);
+        return JsonDiff.asJson(oldNode, newNode);
+    }
+
+    private static void removeUnchangedFields(ObjectNode oldNode, ObjectNode newNode) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = oldNode.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final JsonNode oldValue = field.getValue();
+            final JsonNode newValue = newNode.get(field.getKey());
+            if (oldValue.equals(newValue)) {
+                fields.remove();
+                newNode.remove(field.getKey());
+            } else if (oldValue.isObject() && newValue != null && newValue.isObject()) {
+                removeUnchangedFields((ObjectNode) oldValue, (ObjectNode) newValue);
+            }
         }
     }
 
@@ -305,4 +499,38 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
     private String getAuthenticatedUsernameOrSystem() {
         return isAuthenticated() ? getAuthenticatedUsername() : "system";
     }
+
+    /**
+     * Loads the values referenced by a page of audits at once: the keys of the whole page are first added, then the
+     * first call to {@link #get(Object)} loads all of them with a single call to the loader. Loaded values are kept for
+     * the lifetime of the instance, which is used for a single search.
+     */
+    private static final class BatchLoader<K, V> {
+
+        private final Function<Set<K>, Map<K, V>> loader;
+        private final Set<K> pendingKeys = new LinkedHashSet<>();
+        private final Map<K, V> values = new HashMap<>();
+
+        private BatchLoader(Function<Set<K>, Map<K, V>> loader) {
+            this.loader = loader;
+        }
+
+        private BatchLoader<K, V> add(K key) {
+            if (key != null && !values.containsKey(key)) {
+                pendingKeys.add(key);
+            }
+            return this;
+        }
+
+        private V get(K key) {
+            add(key);
+            if (!pendingKeys.isEmpty()) {
+                final Set<K> keys = new LinkedHashSet<>(pendingKeys);
+                pendingKeys.clear();
+                final Map<K, V> loadedValues = loader.apply(Collections.unmodifiableSet(keys));
+                keys.forEach(k -> values.put(k, loadedValues.get(k)));
+            }
+            return values.get(key);
+        }
+    }
 }
@@ -31,12 +31,18 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static io.gravitee.management.service.impl.ParameterServiceImpl.KV_SEPARATOR;
+import static java.util.Arrays.asList;
 import static java.util.Collections.*;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 /**
+ * The portal configuration is built once per version of the parameters: the <code>@ParameterKey</code> fields are
+ * looked up once, and the built configuration is returned until the parameters are reloaded.
+ *
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -45,79 +51,111 @@ public class ConfigServiceImpl extends AbstractService implements ConfigService
 
     private final Logger LOGGER = LoggerFactory.getLogger(ConfigServiceImpl.class);
 
+    /**
+     * Accessors of the objects holding the <code>@ParameterKey</code> fields, from the portal configuration.
+     */
+    private static final List<Function<PortalConfigEntity, Object>> PARAMETER_HOLDERS = unmodifiableList(asList(
+            portalConfig -> portalConfig,
+            PortalConfigEntity::getAuthentication,
+            portalConfig -> portalConfig.getAuthentication().getGithub(),
+            portalConfig -> portalConfig.getAuthentication().getGoogle(),
+            portalConfig -> portalConfig.getAuthentication().getOauth2(),
+            PortalConfigEntity::getCompany,
+            PortalConfigEntity::getDocumentation,
+            PortalConfigEntity::getManagement,
+            PortalConfigEntity::getPortal,
+            portalConfig -> portalConfig.getPortal().getApis(),
+            portalConfig -> portalConfig.getPortal().getAnalytics(),
+            portalConfig -> portalConfig.getPortal().getDashboard(),
+            portalConfig -> portalConfig.getPortal().getRating(),
+            portalConfig -> portalConfig.getPortal().getRating().getComment(),
+            portalConfig -> portalConfig.getPortal().getUploadMedia(),
+            PortalConfigEntity::getScheduler,
+            PortalConfigEntity::getTheme,
+            PortalConfigEntity::getPlan,
+            portalConfig -> portalConfig.getPlan().getSecurity(),
+            PortalConfigEntity::getApiQualityMetrics,
+            PortalConfigEntity::getLogging,
+            portalConfig -> portalConfig.getLogging().getAudit(),
+            portalConfig -> portalConfig.getLogging().getUser(),
+            PortalConfigEntity::getAnalytics,
+            PortalConfigEntity::getApplication,
+            portalConfig -> portalConfig.getApplication().getRegistration(),
+            portalConfig -> portalConfig.getLogging().getAudit().getTrail()));
+
+    private static final List<ParameterField> PARAMETER_FIELDS = parameterFields();
+    private static final List<Key> PARAMETER_KEYS =
+            unmodifiableList(PARAMETER_FIELDS.stream().map(field -> field.key).collect(toList()));
+
     @Autowired
     private ParameterService parameterService;
     @Autowired
     private ConfigurableEnvironment environment;
 
+    private volatile VersionedPortalConfig portalConfig;
+
     @Override
     public PortalConfigEntity getPortalConfig() {
+        final long version = parameterService.getVersion();
+        VersionedPortalConfig current = portalConfig;
+        if (current == null || current.version != version) {
+            current = new VersionedPortalConfig(version, buildPortalConfig());
+            portalConfig = current;
+        }
+        return current.portalConfig;
+    }
+
+    private PortalConfigEntity buildPortalConfig() {
         PortalConfigEntity portalConfigEntity = new PortalConfigEntity();
-        Object[] objects = getObjectArray(portalConfigEntity);
 
         // get values from DB
-        final List<Key> parameterKeys = new ArrayList<>();
-        for (Object o : objects) {
-            for (Field f : o.getClass().getDeclaredFields()) {
-                ParameterKey parameterKey = f.getAnnotation(ParameterKey.class);
-                if (parameterKey != null) {
-                    parameterKeys.add(parameterKey.value());
-                }
-            }
-        }
-        Map<String, List<String>> parameterMap = parameterService.findAll(parameterKeys);
+        Map<String, List<String>> parameterMap = parameterService.findAll(PARAMETER_KEYS);
 
         // set values
-        for (Object o : objects) {
-            for (Field f : o.getClass().getDeclaredFields()) {
-                ParameterKey parameterKey = f.getAnnotation(ParameterKey.class);
-                if (parameterKey != null) {
-                    boolean accessible = f.isAccessible();
-                    f.setAccessible(true);
-                    try {
-                        final List<String> values = parameterMap.get(parameterKey.value().key());
-                        final String defaultValue = parameterKey.value().defaultValue();
-                        if (Enabled.class.isAssignableFrom(f.getType())) {
-                            f.set(o, Boolean.valueOf(getFirstValueOrDefault(values, defaultValue))
-                                    ? new Enabled(true)
-                                    : new Enabled(false)
-                            );
-                        } else if (Boolean.class.isAssignableFrom(f.getType())) {
-                            f.set(o, Boolean.valueOf(getFirstValueOrDefault(values, defaultValue)));
-                        } else if (Integer.class.isAssignableFrom(f.getType())) {
-                            f.set(o, Integer.valueOf(getFirstValueOrDefault(values, defaultValue)));
-                        } else if (Long.class.isAssignableFrom(f.getType())) {
-                            f.set(o, Long.valueOf(getFirstValueOrDefault(values, defaultValue)));
-                        } else if (List.class.isAssignableFrom(f.getType())) {
-                            if (values == null || values.isEmpty()) {
-                                f.set(o, emptyList());
-                            } else {
-                                f.set(o, values);
-                            }
-                        } else if (Map.class.isAssignableFrom(f.getType())) {
-                            if (values == null || values.isEmpty()) {
-                                if (defaultValue == null) {
-                                    f.set(o, emptyMap());
-                                } else {
-                                    f.set(o, singletonMap(defaultValue.split(KV_SEPARATOR)[0], defaultValue.split(KV_SEPARATOR)[1]));
-                                }
-                            } else {
-                                f.set(o, values.stream().collect(toMap(v -> v.split(KV_SEPARATOR)[0], v -> {
-                                    final String[] split = v.split(KV_SEPARATOR);
-                                    if (split.length < 2) {
-                                        return "";
-                                    }
-                                    return split[1];
-                                })));
-                            }
+        for (ParameterField parameterField : PARAMETER_FIELDS) {
+            final Field f = parameterField.field;
+            final Object o = parameterField.holder.apply(portalConfigEntity);
+            try {
+                final List<String> values = parameterMap.get(parameterField.key.key());
+                final String defaultValue = parameterField.key.defaultValue();
+                if (Enabled.class.isAssignableFrom(f.getType())) {
+                    f.set(o, Boolean.valueOf(getFirstValueOrDefault(values, defaultValue))
+                            ? new Enabled(true)
+                            : new Enabled(false)
+                    );
+                } else if (Boolean.class.isAssignableFrom(f.getType())) {
+                    f.set(o, Boolean.valueOf(getFirstValueOrDefault(values, defaultValue)));
+                } else if (Integer.class.isAssignableFrom(f.getType())) {
+                    f.set(o, Integer.valueOf(getFirstValueOrDefault(values, defaultValue)));
+                } else if (Long.class.isAssignableFrom(f.getType())) {
+                    f.set(o, Long.valueOf(getFirstValueOrDefault(values, defaultValue)));
+                } else if (List.class.isAssignableFrom(f.getType())) {
+                    if (values == null || values.isEmpty()) {
+                        f.set(o, emptyList());
+                    } else {
+                        f.set(o, values);
+                    }
+                } else if (Map.class.isAssignableFrom(f.getType())) {
+                    if (values == null || values.isEmpty()) {
+                        if (defaultValue == null) {
+                            f.set(o, emptyMap());
                         } else {
-                            f.set(o, getFirstValueOrDefault(values, defaultValue));
+                            f.set(o, singletonMap(defaultValue.split(KV_SEPARATOR)[0], defaultValue.split(KV_SEPARATOR)[1]));
                         }
-                    } catch (IllegalAccessException e) {
-                        LOGGER.error("Unable to set parameter {}. Use the default value", parameterKey.value().key(), e);
+                    } else {
+                        f.set(o, values.stream().collect(toMap(v -> v.split(KV_SEPARATOR)[0], v -> {
+                            final String[] split = v.split(KV_SEPARATOR);
+                            if (split.length < 2) {
+                                return "";
+                            }
+                            return split[1];
+                        })));
                     }
-                    f.setAccessible(accessible);
+                } else {
+                    f.set(o, getFirstValueOrDefault(values, defaultValue));
                 }
+            } catch (IllegalAccessException e) {
+                LOGGER.error("Unable to set parameter {}. Use the default value", parameterField.key.key(), e);
             }
         }
 
@@ -158,70 +196,72 @@ public class ConfigServiceImpl extends AbstractService implements ConfigService
 
     @Override
     public void save(PortalConfigEntity portalConfigEntity) {
-        Object[] objects = getObjectArray(portalConfigEntity);
+        for (ParameterField parameterField : PARAMETER_FIELDS) {
+            final Field f = parameterField.field;
+            final Object o = parameterField.holder.apply(portalConfigEntity);
+            final Key key = parameterField.key;
+            try {
+                final Object value = f.get(o);
+                if (value != null) {
+                    if (Enabled.class.isAssignableFrom(f.getType())) {
+                        parameterService.save(key, Boolean.toString(((Enabled) value).isEnabled()));
+                    } else if (Boolean.class.isAssignableFrom(f.getType())) {
+                        parameterService.save(key, Boolean.toString((Boolean) value));
+                    } else if (Integer.class.isAssignableFrom(f.getType())) {
+                        parameterService.save(key, Integer.toString((Integer) value));
+                    } else if (Long.class.isAssignableFrom(f.getType())) {
+                        parameterService.save(key, Long.toString((Long) value));
+                    } else if (List.class.isAssignableFrom(f.getType())) {
+                        parameterService.save(key, (List) value);
+                    } else if (Map.class.isAssignableFrom(f.getType())) {
+                        parameterService.save(key, (Map) value);
+                    } else {
+                        parameterService.save(key, (String) value);
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                LOGGER.error("Unable to set parameter {}. Use the default value", key.key(), e);
+            }
+        }
+    }
 
-        for (Object o : objects) {
-            for (Field f : o.getClass().getDeclaredFields()) {
+    private static List<ParameterField> parameterFields() {
+        // Fields are looked up from a default configuration, in which all the holders are set
+        final PortalConfigEntity portalConfigEntity = new PortalConfigEntity();
+        final List<ParameterField> parameterFields = new ArrayList<>();
+        for (Function<PortalConfigEntity, Object> holder : PARAMETER_HOLDERS) {
+            for (Field f : holder.apply(portalConfigEntity).getClass().getDeclaredFields()) {
                 ParameterKey parameterKey = f.getAnnotation(ParameterKey.class);
                 if (parameterKey != null) {
-                    boolean accessible = f.isAccessible();
                     f.setAccessible(true);
-                    try {
-                        if (f.get(o) != null) {
-                            if (Enabled.class.isAssignableFrom(f.getType())) {
-                                parameterService.save(parameterKey.value(), Boolean.toString(((Enabled) f.get(o)).isEnabled()));
-                            } else if (Boolean.class.isAssignableFrom(f.getType())) {
-                                parameterService.save(parameterKey.value(), Boolean.toString((Boolean) f.get(o)));
-                            } else if (Integer.class.isAssignableFrom(f.getType())) {
-                                parameterService.save(parameterKey.value(), Integer.toString((Integer) f.get(o)));
-                            } else if (Long.class.isAssignableFrom(f.getType())) {
-                                parameterService.save(parameterKey.value(), Long.toString((Long) f.get(o)));
-                            } else if (List.class.isAssignableFrom(f.getType())) {
-                                parameterService.save(parameterKey.value(), (List) f.get(o));
-                            } else if (Map.class.isAssignableFrom(f.getType())) {
-                                parameterService.save(parameterKey.value(), (Map) f.get(o));
-                            } else {
-                                parameterService.save(parameterKey.value(), (String) f.get(o));
-                            }
-                        }
-                    } catch (IllegalAccessException e) {
-                        LOGGER.error("Unable to set parameter {}. Use the default value", parameterKey.value().key(), e);
-                    }
-                    f.setAccessible(accessible);
+                    parameterFields.add(new ParameterField(holder, f, parameterKey.value()));
                 }
             }
         }
+        return unmodifiableList(parameterFields);
     }
 
-    private Object[] getObjectArray(PortalConfigEntity portalConfigEntity) {
-        return new Object[]{
-                portalConfigEntity,
-                portalConfigEntity.getAuthentication(),
-                portalConfigEntity.getAuthentication().getGithub(),
-                portalConfigEntity.getAuthentication().getGoogle(),
-                portalConfigEntity.getAuthentication().getOauth2(),
-                portalConfigEntity.getCompany(),
-                portalConfigEntity.getDocumentation(),
-                portalConfigEntity.getManagement(),
-                portalConfigEntity.getPortal(),
-                portalConfigEntity.getPortal().getApis(),
-                portalConfigEntity.getPortal().getAnalytics(),
-                portalConfigEntity.getPortal().getDashboard(),
-                portalConfigEntity.getPortal().getRating(),
-                portalConfigEntity.getPortal().getRating().getComment(),
-                portalConfigEntity.getPortal().getUploadMedia(),
-                portalConfigEntity.getScheduler(),
-                portalConfigEntity.getTheme(),
-                portalConfigEntity.getPlan(),
-                portalConfigEntity.getPlan().getSecurity(),
-                portalConfigEntity.getApiQualityMetrics(),
-                portalConfigEntity.getLogging(),
-                portalConfigEntity.getLogging().getAudit(),
-                portalConfigEntity.getLogging().getUser(),
-                portalConfigEntity.getAnalytics(),
-                portalConfigEntity.getApplication(),
-                portalConfigEntity.getApplication().getRegistration(),
-                portalConfigEntity.getLogging().getAudit().getTrail()
-        };
+    private static final class ParameterField {
+
+        private final Function<PortalConfigEntity, Object> holder;
+        private final Field field;
+        private final Key key;
+
+        private ParameterField(Function<PortalConfigEntity, Object> holder, Field field, Key key) {
+            this.holder = holder;
+            this.field = field;
+            this.key = key;
+        }
+    }
+
+    private static final class VersionedPortalConfig {
+
+        private final long version;
+        private final PortalConfigEntity portalConfig;
+
+        private VersionedPortalConfig(long version, PortalConfigEntity portalConfig) {
+            this.version = version;
+            this.portalConfig = portalConfig;
+        }
     }
 }
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import java.util.*;
+
+/**
+ * Prefix tree of the context paths of the APIs, used to find overlapping context paths without reading the API
+ * definitions.
+ *
+ * Two context paths overlap when one of them is a prefix of the other one, so that lookups are done in O(length of
+ * the context path). Several APIs may share the same context path (overlaps created before they were checked).
+ *
+ * @author GraviteeSource Team
+ */
+public class ContextPathTrie {
+
+    private final Node root = new Node();
+
+    /**
+     * Context path of each API.
+     */
+    private final Map<String, String> contextPaths = new HashMap<>();
+
+    public synchronized void put(String apiId, String contextPath) {
+        String current = contextPaths.get(apiId);
+        if (contextPath.equals(current)) {
+            return;
+        }
+        if (current != null) {
+            remove(apiId);
+        }
+
+        Node node = root;
+        node.size++;
+        for (int i = 0; i < contextPath.length(); i++) {
+            node = node.children.computeIfAbsent(contextPath.charAt(i), c -> new Node());
+            node.size++;
+        }
+        if (node.apis == null) {
+            node.apis = new HashSet<>();
+        }
+        node.apis.add(apiId);
+        contextPaths.put(apiId, contextPath);
+    }
+
+    public synchronized void remove(String apiId) {
+        String contextPath = contextPaths.remove(apiId);
+        if (contextPath == null) {
+            return;
+        }
+
+        Node node = root;
+        node.size--;
+        for (int i = 0; i < contextPath.length(); i++) {
+            Node child = node.children.get(contextPath.charAt(i));
+            if (--child.size == 0) {
+                // no more context path in this branch
+                node.children.remove(contextPath.charAt(i));
+                return;
+            }
+            node = child;
+        }
+        node.apis.remove(apiId);
+    }
+
+    /**
+     * Remove the APIs which are not part of the given ones.
+     */
+    public synchronized void retainAll(Collection<String> apiIds) {
+        Set<String> retained = apiIds instanceof Set ? (Set<String>) apiIds : new HashSet<>(apiIds);
+        new ArrayList<>(contextPaths.keySet()).stream()
+                .filter(apiId -> !retained.contains(apiId))
+                .forEach(this::remove);
+    }
+
+    /**
+     * @param excludedApiId the API not to take into account (typically the API being updated), may be <code>null</code>
+     * @return <code>true</code> if the context path of another API is a prefix of the given context path, or starts
+     * with it.
+     */
+    public synchronized boolean overlaps(String contextPath, String excludedApiId) {
+        Node node = root;
+        for (int i = 0; i < contextPath.length(); i++) {
+            if (hasOtherApi(node, excludedApiId)) {
+                return true;
+            }
+            node = node.children.get(contextPath.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+
+        // All the context paths of this branch start with the given context path
+        int size = node.size;
+        String excludedContextPath = excludedApiId == null ? null : contextPaths.get(excludedApiId);
+        if (excludedContextPath != null && excludedContextPath.startsWith(contextPath)) {
+            size--;
+        }
+        return size > 0;
+    }
+
+    public synchronized int size() {
+        return contextPaths.size();
+    }
+
+    private static boolean hasOtherApi(Node node, String excludedApiId) {
+        return node.apis != null &&
+                (node.apis.size() > 1 || (node.apis.size() == 1 && !node.apis.contains(excludedApiId)));
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        /**
+         * APIs whose context path ends on this node.
+         */
+        private Set<String> apis;
+        /**
+         * Number of APIs whose context path goes through this node.
+         */
+        private int size;
+    }
+}
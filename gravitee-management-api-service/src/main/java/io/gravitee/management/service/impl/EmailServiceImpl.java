@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service.impl;
 
+import com.google.common.collect.Lists;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import io.gravitee.management.service.EmailNotification;
@@ -29,16 +30,18 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import javax.activation.MimetypesFileTypeMap;
+import javax.mail.internet.MimeMessage;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -68,40 +71,17 @@ public class EmailServiceImpl extends TransactionalService implements EmailServi
     private boolean enabled;
     @Value("${email.from}")
     private String defaultFrom;
+    @Value("${email.bulk.batchSize:100}")
+    private int bulkBatchSize;
+    @Value("${email.bulk.maxRecipients:50}")
+    private int bulkMaxRecipients;
+    @Value("${email.bulk.rateLimit:0}")
+    private int bulkRateLimit;
 
     public void sendEmailNotification(final EmailNotification emailNotification) {
         if (enabled) {
             try {
-                final MimeMessageHelper mailMessage = new MimeMessageHelper(mailSender.createMimeMessage(), true, StandardCharsets.UTF_8.name());
-
-                final Template template = freemarkerConfiguration.getTemplate(emailNotification.getTemplate());
-                final String content = processTemplateIntoString(template, emailNotification.getParams());
-
-                final String from = isNull(emailNotification.getFrom()) || emailNotification.getFrom().isEmpty()
-                        ? defaultFrom
-                        : emailNotification.getFrom();
-
-                if (isEmpty(emailNotification.getFromName())) {
-                    mailMessage.setFrom(from);
-                } else {
-                    mailMessage.setFrom(from, emailNotification.getFromName());
-                }
-
-                mailMessage.setTo(emailNotification.getTo());
-                if (emailNotification.isCopyToSender() && emailNotification.getFrom() != null) {
-                    mailMessage.setBcc(emailNotification.getFrom());
-                }
-                if (emailNotification.getBcc() != null && emailNotification.getBcc().length > 0) {
-                    mailMessage.setBcc(emailNotification.getBcc());
-                }
-                mailMessage.setSubject(format(subject, emailNotification.getSubject()));
-
-                final String html = addResourcesInMessage(mailMessage, content);
-
-                LOGGER.debug("Sending an email to: {}\nSubject: {}\nMessage: {}",
-                        emailNotification.getTo(), emailNotification.getSubject(), html);
-
-                mailSender.send(mailMessage.getMimeMessage());
+                mailSender.send(createMessage(emailNotification, render(emailNotification), emailNotification.getBcc(), true));
             } catch (final Exception ex) {
                 LOGGER.error("Error while sending email notification", ex);
                 throw new TechnicalManagementException("Error while sending email notification", ex);
@@ -116,8 +96,77 @@ public class EmailServiceImpl extends TransactionalService implements EmailServi
         sendEmailNotification(emailNotification);
     }
 
-    private String addResourcesInMessage(final MimeMessageHelper mailMessage, final String htmlText) throws Exception {
-        final Document document = Jsoup.parse(htmlText);
+    @Override
+    public void sendEmailNotifications(final Collection<EmailNotification> emailNotifications) {
+        if (!enabled) {
+            throw new EmailDisabledException();
+        }
+
+        final long start = System.currentTimeMillis();
+        // Notifications sharing the same template and parameters are only rendered once
+        final Map<List<Object>, RenderedTemplate> renderedTemplates = new HashMap<>();
+        final List<MimeMessage> messages = new ArrayList<>();
+        int failed = 0;
+        for (EmailNotification emailNotification : emailNotifications) {
+            try {
+                final List<Object> key = Arrays.asList(emailNotification.getTemplate(), emailNotification.getParams());
+                RenderedTemplate renderedTemplate = renderedTemplates.get(key);
+                if (renderedTemplate == null) {
+                    renderedTemplate = render(emailNotification);
+                    renderedTemplates.put(key, renderedTemplate);
+                }
+                // Only the first message is sent to the recipients, the next ones are only sent to blind copies
+                boolean withRecipients = true;
+                for (String[] bcc : partition(emailNotification.getBcc(), bulkMaxRecipients)) {
+                    messages.add(createMessage(emailNotification, renderedTemplate, bcc, withRecipients));
+                    withRecipients = false;
+                }
+            } catch (final Exception ex) {
+                LOGGER.error("Error while preparing email notification", ex);
+                failed++;
+            }
+        }
+
+        // Each batch is sent over a single SMTP connection
+        final int batchSize = bulkRateLimit > 0 ? Math.min(bulkBatchSize, bulkRateLimit) : bulkBatchSize;
+        int sent = 0;
+        for (List<MimeMessage> batch : Lists.partition(messages, batchSize)) {
+            try {
+                throttle(start, sent);
+                mailSender.send(batch.toArray(new MimeMessage[0]));
+                sent += batch.size();
+            } catch (MailSendException mse) {
+                LOGGER.error("Error while sending email notifications", mse);
+                failed += mse.getFailedMessages().size();
+                sent += batch.size() - mse.getFailedMessages().size();
+            } catch (MailException me) {
+                LOGGER.error("Error while sending email notifications", me);
+                failed += batch.size();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                failed += messages.size() - sent;
+                break;
+            }
+        }
+
+        final long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+        LOGGER.info("{} emails sent in {} ms ({} emails/s), {} failed", sent, elapsed, sent * 1000L / elapsed, failed);
+        if (failed > 0) {
+            throw new TechnicalManagementException(failed + " email notifications have not been sent", null);
+        }
+    }
+
+    @Async
+    @Override
+    public void sendAsyncEmailNotifications(final Collection<EmailNotification> emailNotifications) {
+        sendEmailNotifications(emailNotifications);
+    }
+
+    private RenderedTemplate render(final EmailNotification emailNotification) throws Exception {
+        final Template template = freemarkerConfiguration.getTemplate(emailNotification.getTemplate());
+        final String content = processTemplateIntoString(template, emailNotification.getParams());
+
+        final Document document = Jsoup.parse(content);
 
         final List<String> resources = new ArrayList<>();
 
@@ -132,15 +181,67 @@ public class EmailServiceImpl extends TransactionalService implements EmailServi
                 })
                 .collect(Collectors.toList()));
 
-        final String html = document.html();
-        mailMessage.setText(html, true);
+        return new RenderedTemplate(document.html(), resources);
+    }
+
+    private MimeMessage createMessage(final EmailNotification emailNotification, final RenderedTemplate renderedTemplate,
+                                      final String[] bcc, final boolean withRecipients) throws Exception {
+        final MimeMessageHelper mailMessage = new MimeMessageHelper(mailSender.createMimeMessage(), true, StandardCharsets.UTF_8.name());
+
+        final String from = isNull(emailNotification.getFrom()) || emailNotification.getFrom().isEmpty()
+                ? defaultFrom
+                : emailNotification.getFrom();
+
+        if (isEmpty(emailNotification.getFromName())) {
+            mailMessage.setFrom(from);
+        } else {
+            mailMessage.setFrom(from, emailNotification.getFromName());
+        }
+
+        if (withRecipients && emailNotification.getTo() != null && emailNotification.getTo().length > 0) {
+            mailMessage.setTo(emailNotification.getTo());
+        }
+        if (withRecipients && emailNotification.isCopyToSender() && emailNotification.getFrom() != null) {
+            mailMessage.setBcc(emailNotification.getFrom());
+        }
+        if (bcc != null && bcc.length > 0) {
+            mailMessage.setBcc(bcc);
+        }
+        mailMessage.setSubject(format(subject, emailNotification.getSubject()));
 
-        for (final String res : resources) {
+        mailMessage.setText(renderedTemplate.html, true);
+        for (final String res : renderedTemplate.resources) {
             final FileSystemResource templateResource = new FileSystemResource(new File(templatesPath, res));
             mailMessage.addInline(res, templateResource, getContentTypeByFileName(res));
         }
 
-        return html;
+        LOGGER.debug("Sending an email to: {}\nSubject: {}\nMessage: {}",
+                emailNotification.getTo(), emailNotification.getSubject(), renderedTemplate.html);
+
+        return mailMessage.getMimeMessage();
+    }
+
+    /**
+     * Wait so that no more than the rate limit of messages are sent per second.
+     */
+    private void throttle(final long start, final int sent) throws InterruptedException {
+        if (bulkRateLimit > 0) {
+            final long wait = start + sent * 1000L / bulkRateLimit - System.currentTimeMillis();
+            if (wait > 0) {
+                Thread.sleep(wait);
+            }
+        }
+    }
+
+    private static List<String[]> partition(final String[] recipients, final int size) {
+        if (recipients == null || recipients.length <= size) {
+            return Collections.singletonList(recipients);
+        }
+        final List<String[]> partitions = new ArrayList<>();
+        for (int i = 0; i < recipients.length; i += size) {
+            partitions.add(Arrays.copyOfRange(recipients, i, Math.min(i + size, recipients.length)));
+        }
+        return partitions;
     }
 
     private String getContentTypeByFileName(final String fileName) {
@@ -151,4 +252,14 @@ public class EmailServiceImpl extends TransactionalService implements EmailServi
         }
         return MimetypesFileTypeMap.getDefaultFileTypeMap().getContentType(fileName);
     }
+
+    private static final class RenderedTemplate {
+        private final String html;
+        private final List<String> resources;
+
+        private RenderedTemplate(String html, List<String> resources) {
+            this.html = html;
+            this.resources = resources;
+        }
+    }
 }
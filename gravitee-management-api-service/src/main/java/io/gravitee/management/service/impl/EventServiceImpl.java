@@ -16,10 +16,12 @@
 package io.gravitee.management.service.impl;
 
 import io.gravitee.common.data.domain.Page;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.*;
 import io.gravitee.management.service.EventService;
 import io.gravitee.management.service.UserService;
+import io.gravitee.management.service.event.SyncEvent;
 import io.gravitee.management.service.exceptions.EventNotFoundException;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.management.service.exceptions.UserNotFoundException;
@@ -32,6 +34,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -55,6 +59,8 @@ public class EventServiceImpl extends TransactionalService implements EventServi
     private EventRepository eventRepository;
     @Autowired
     private UserService userService;
+    @Autowired
+    private EventManager eventManager;
 
     @Override
     public EventEntity findById(String id) {
@@ -91,8 +97,11 @@ public class EventServiceImpl extends TransactionalService implements EventServi
             event.setUpdatedAt(event.getCreatedAt());
 
             Event createdEvent = eventRepository.create(event);
+            EventEntity createdEventEntity = convert(createdEvent);
+
+            notifySync(createdEventEntity);
 
-            return convert(createdEvent);
+            return createdEventEntity;
         } catch (UnknownHostException e) {
             LOGGER.error("An error occurs while getting the server IP address", e);
             throw new TechnicalManagementException("An error occurs while getting the server IP address", e);
@@ -111,6 +120,38 @@ public class EventServiceImpl extends TransactionalService implements EventServi
         return create(event);
     }
     
+    /**
+     * Wake up the synchronization of management nodes, once the event is visible from the repository.
+     */
+    private void notifySync(EventEntity event) {
+        final SyncEvent syncEvent;
+        switch (event.getType()) {
+            case PUBLISH_API:
+            case UNPUBLISH_API:
+            case START_API:
+            case STOP_API:
+                syncEvent = SyncEvent.API;
+                break;
+            case START_DICTIONARY:
+            case STOP_DICTIONARY:
+                syncEvent = SyncEvent.DICTIONARY;
+                break;
+            default:
+                return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    eventManager.publishEvent(syncEvent, event);
+                }
+            });
+        } else {
+            eventManager.publishEvent(syncEvent, event);
+        }
+    }
+
     @Override
     public void delete(String eventId) {
         try {
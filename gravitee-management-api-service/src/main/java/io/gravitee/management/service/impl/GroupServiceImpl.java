@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service.impl;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.Visibility;
@@ -25,6 +26,7 @@ import io.gravitee.management.service.AuditService;
 import io.gravitee.management.service.GroupService;
 import io.gravitee.management.service.MembershipService;
 import io.gravitee.management.service.PermissionService;
+import io.gravitee.management.service.event.PermissionEvent;
 import io.gravitee.management.service.exceptions.GroupNameAlreadyExistsException;
 import io.gravitee.management.service.exceptions.GroupNotFoundException;
 import io.gravitee.management.service.exceptions.GroupsNotFoundException;
@@ -71,6 +73,8 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
     private AuditService auditService;
     @Autowired
     private PermissionService permissionService;
+    @Autowired
+    private EventManager eventManager;
 
     @Override
     public List<GroupEntity> findAll() {
@@ -311,6 +315,7 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
             });
             //remove group
             groupRepository.delete(groupId);
+            eventManager.publishEvent(PermissionEvent.INVALIDATE_ALL, null);
 
             // Audit
             auditService.createPortalAuditLog(
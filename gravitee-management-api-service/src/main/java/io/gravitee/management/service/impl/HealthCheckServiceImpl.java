@@ -17,7 +17,6 @@ package io.gravitee.management.service.impl;
 
 import io.gravitee.definition.model.Endpoint;
 import io.gravitee.management.model.api.ApiEntity;
-import io.gravitee.management.model.InstanceListItem;
 import io.gravitee.management.model.analytics.Analytics;
 import io.gravitee.management.model.analytics.HistogramAnalytics;
 import io.gravitee.management.model.analytics.Timestamp;
@@ -26,7 +25,6 @@ import io.gravitee.management.model.analytics.query.LogQuery;
 import io.gravitee.management.model.healthcheck.*;
 import io.gravitee.management.service.ApiService;
 import io.gravitee.management.service.HealthCheckService;
-import io.gravitee.management.service.InstanceService;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.repository.analytics.AnalyticsException;
 import io.gravitee.repository.analytics.query.AggregationType;
@@ -74,7 +72,7 @@ public class HealthCheckServiceImpl implements HealthCheckService {
     private ApiService apiService;
 
     @Autowired
-    private InstanceService instanceService;
+    private ReferenceNameResolver referenceNameResolver;
 
     @Override
     public Analytics query(final DateHistogramQuery query) {
@@ -235,16 +233,15 @@ public class HealthCheckServiceImpl implements HealthCheckService {
 
         // Add metadata (only if they are results)
         if (response.getSize() > 0) {
-            Map<String, Map<String, String>> metadata = new HashMap<>();
+            Set<String> gateways = new HashSet<>();
 
             searchLogResponseResponse.getLogs().forEach(logItem -> {
-                String gateway = logItem.getGateway();
-                if (gateway != null) {
-                    metadata.computeIfAbsent(gateway, this::getGatewayMetadata);
+                if (logItem.getGateway() != null) {
+                    gateways.add(logItem.getGateway());
                 }
             });
 
-            searchLogResponseResponse.setMetadata(metadata);
+            searchLogResponseResponse.setMetadata(new HashMap<>(referenceNameResolver.getGatewayMetadata(gateways)));
         }
 
         return searchLogResponseResponse;
@@ -306,7 +303,7 @@ public class HealthCheckServiceImpl implements HealthCheckService {
                 if (field.equalsIgnoreCase("endpoint")) {
                     metadata.put(name, getEndpointMetadata(api, name));
                 } else if (field.equalsIgnoreCase("gateway")) {
-                    metadata.put(name, getGatewayMetadata(name));
+                    metadata.put(name, referenceNameResolver.getGatewayMetadata(name));
                 }
             }
         });
@@ -402,22 +399,4 @@ public class HealthCheckServiceImpl implements HealthCheckService {
 
         return metadata;
     }
-
-    private Map<String, String> getGatewayMetadata(String gateway) {
-        Map<String, String> metadata = new HashMap<>();
-
-        Optional<InstanceListItem> instanceOptional = instanceService.findInstances(false, gateway).stream().findFirst();
-
-        if (instanceOptional.isPresent()) {
-            metadata.put("hostname", instanceOptional.get().getHostname());
-            metadata.put("ip", instanceOptional.get().getIp());
-            if (instanceOptional.get().getTenant() != null) {
-                metadata.put("tenant", instanceOptional.get().getTenant());
-            }
-        } else {
-            metadata.put("deleted", "true");
-        }
-
-        return metadata;
-    }
 }
@@ -17,7 +17,6 @@ package io.gravitee.management.service.impl;
 
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.analytics.query.LogQuery;
-import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.log.*;
 import io.gravitee.management.model.log.extended.Request;
 import io.gravitee.management.model.log.extended.Response;
@@ -29,7 +28,6 @@ import io.gravitee.repository.analytics.query.*;
 import io.gravitee.repository.analytics.query.tabular.TabularResponse;
 import io.gravitee.repository.log.api.LogRepository;
 import io.gravitee.repository.log.model.ExtendedLog;
-import io.gravitee.repository.management.model.ApplicationStatus;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.slf4j.Logger;
@@ -38,7 +36,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.gravitee.repository.log.model.Log.AuditEvent.LOG_READ;
@@ -55,7 +52,6 @@ public class LogsServiceImpl implements LogsService {
 
     private final Logger logger = LoggerFactory.getLogger(LogsServiceImpl.class);
 
-    private static final String APPLICATION_KEYLESS = "1";
     private static final String RFC_3339_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
     private static final FastDateFormat dateFormatter = FastDateFormat.getInstance(RFC_3339_DATE_FORMAT);
     private static final char separator = ';';
@@ -63,13 +59,9 @@ public class LogsServiceImpl implements LogsService {
     @Autowired
     private LogRepository logRepository;
     @Autowired
-    private ApiService apiService;
-    @Autowired
-    private ApplicationService applicationService;
-    @Autowired
     private PlanService planService;
     @Autowired
-    private InstanceService instanceService;
+    private ReferenceNameResolver referenceNameResolver;
     @Autowired
     private ApiKeyService apiKeyService;
     @Autowired
@@ -104,20 +96,22 @@ public class LogsServiceImpl implements LogsService {
 
             // Add metadata (only if they are results)
             if (response.getSize() > 0) {
-                Map<String, Map<String, String>> metadata = new HashMap<>();
+                Set<String> applications = new HashSet<>();
+                Set<String> plans = new HashSet<>();
 
                 logResponse.getLogs().forEach(logItem -> {
-                    String application = logItem.getApplication();
-                    String plan = logItem.getPlan();
-
-                    if (application != null) {
-                        metadata.computeIfAbsent(application, getApplicationMetadata(application));
+                    if (logItem.getApplication() != null) {
+                        applications.add(logItem.getApplication());
                     }
-                    if (plan != null) {
-                        metadata.computeIfAbsent(plan, getPlanMetadata(plan));
+                    if (logItem.getPlan() != null) {
+                        plans.add(logItem.getPlan());
                     }
                 });
 
+                Map<String, Map<String, String>> metadata = new HashMap<>();
+                metadata.putAll(referenceNameResolver.getApplicationMetadata(applications));
+                metadata.putAll(referenceNameResolver.getPlanMetadata(plans));
+
                 logResponse.setMetadata(metadata);
             }
 
@@ -173,20 +167,22 @@ public class LogsServiceImpl implements LogsService {
 
             // Add metadata (only if they are results)
             if (response.getSize() > 0) {
-                Map<String, Map<String, String>> metadata = new HashMap<>();
+                Set<String> apis = new HashSet<>();
+                Set<String> plans = new HashSet<>();
 
                 logResponse.getLogs().forEach(logItem -> {
-                    String api = logItem.getApi();
-                    String plan = logItem.getPlan();
-
-                    if (api != null) {
-                        metadata.computeIfAbsent(api, getAPIMetadata(api));
+                    if (logItem.getApi() != null) {
+                        apis.add(logItem.getApi());
                     }
-                    if (plan != null) {
-                        metadata.computeIfAbsent(plan, getPlanMetadata(plan));
+                    if (logItem.getPlan() != null) {
+                        plans.add(logItem.getPlan());
                     }
                 });
 
+                Map<String, Map<String, String>> metadata = new HashMap<>();
+                metadata.putAll(referenceNameResolver.getApiMetadata(apis));
+                metadata.putAll(referenceNameResolver.getPlanMetadata(plans));
+
                 logResponse.setMetadata(metadata);
             }
 
@@ -207,81 +203,6 @@ public class LogsServiceImpl implements LogsService {
         }
     }
 
-    private Function<String, Map<String, String>> getAPIMetadata(String api) {
-        return s -> {
-            Map<String, String> metadata = new HashMap<>();
-
-            try {
-                ApiEntity apiEntity = apiService.findById(api);
-                metadata.put("name", apiEntity.getName());
-                metadata.put("version", apiEntity.getVersion());
-            } catch (ApiNotFoundException anfe) {
-                metadata.put("name", "Deleted API");
-                metadata.put("deleted", "true");
-            }
-
-            return metadata;
-        };
-    }
-
-    private Function<String, Map<String, String>> getApplicationMetadata(String application) {
-        return s -> {
-            Map<String, String> metadata = new HashMap<>();
-
-            try {
-                ApplicationEntity applicationEntity = applicationService.findById(application);
-                metadata.put("name", applicationEntity.getName());
-                if (ApplicationStatus.ARCHIVED.toString().equals(applicationEntity.getStatus())) {
-                    metadata.put("deleted", "true");
-                }
-            } catch (ApplicationNotFoundException anfe) {
-                metadata.put("deleted", "true");
-                if (application.equals(APPLICATION_KEYLESS)) {
-                    metadata.put("name", "Unknown application (keyless)");
-                } else {
-                    metadata.put("name", "Deleted application");
-                }
-            }
-
-            return metadata;
-        };
-    }
-
-    private Function<String, Map<String, String>> getPlanMetadata(String plan) {
-        return s -> {
-            Map<String, String> metadata = new HashMap<>();
-
-            try {
-                PlanEntity planEntity = planService.findById(plan);
-                metadata.put("name", planEntity.getName());
-            } catch (PlanNotFoundException anfe) {
-                metadata.put("deleted", "true");
-            }
-
-            return metadata;
-        };
-    }
-
-    private Function<String, Map<String, String>> getGatewayMetadata(String gateway) {
-        return s -> {
-            Map<String, String> metadata = new HashMap<>();
-
-            Optional<InstanceListItem> instanceOptional = instanceService.findInstances(true, gateway).stream().findFirst();
-
-            if (instanceOptional.isPresent()) {
-                metadata.put("hostname", instanceOptional.get().getHostname());
-                metadata.put("ip", instanceOptional.get().getIp());
-                if (instanceOptional.get().getTenant() != null) {
-                    metadata.put("tenant", instanceOptional.get().getTenant());
-                }
-            } else {
-                metadata.put("deleted", "true");
-            }
-
-            return metadata;
-        };
-    }
-
     private String getSubscription(io.gravitee.repository.log.model.ExtendedLog log) {
         if ("API_KEY".equals(log.getSecurityType())) {
             try {
@@ -361,7 +282,9 @@ public class LogsServiceImpl implements LogsService {
     }
 
     private String getName(Object map) {
-        return map == null ? "" : ((Map) map).get("name").toString();
+        // metadata of deleted plans have no name
+        final Object name = map == null ? null : ((Map) map).get("name");
+        return name == null ? "" : name.toString();
     }
 
     private ApiRequestItem toApiRequestItem(io.gravitee.repository.log.model.Log log) {
@@ -434,13 +357,13 @@ public class LogsServiceImpl implements LogsService {
 
 
         if (application != null) {
-            metadata.computeIfAbsent(application, getApplicationMetadata(application));
+            metadata.put(application, referenceNameResolver.getApplicationMetadata(application));
         }
         if (plan != null) {
-            metadata.computeIfAbsent(plan, getPlanMetadata(plan));
+            metadata.put(plan, referenceNameResolver.getPlanMetadata(plan));
         }
         if (gateway != null) {
-            metadata.computeIfAbsent(gateway, getGatewayMetadata(gateway));
+            metadata.put(gateway, referenceNameResolver.getGatewayMetadata(gateway));
         }
 
         req.setMetadata(metadata);
@@ -502,13 +425,13 @@ public class LogsServiceImpl implements LogsService {
         String gateway = log.getGateway();
 
         if (api != null) {
-            metadata.computeIfAbsent(api, getAPIMetadata(api));
+            metadata.put(api, referenceNameResolver.getApiMetadata(api));
         }
         if (plan != null) {
-            metadata.computeIfAbsent(plan, getPlanMetadata(plan));
+            metadata.put(plan, referenceNameResolver.getPlanMetadata(plan));
         }
         if (gateway != null) {
-            metadata.computeIfAbsent(gateway, getGatewayMetadata(gateway));
+            metadata.put(gateway, referenceNameResolver.getGatewayMetadata(gateway));
         }
 
         req.setMetadata(metadata);
@@ -15,6 +15,8 @@
  */
 package io.gravitee.management.service.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.MediaEntity;
 import io.gravitee.management.service.ConfigService;
@@ -50,6 +52,16 @@ public class MediaServiceImpl implements MediaService {
     @Autowired
     private ConfigService configService;
 
+    private static final long MEDIAS_CACHE_MAX_WEIGHT = 32 * 1024 * 1024;
+
+    /**
+     * Medias are immutable once saved: they are cached by API and hash, without expiration.
+     */
+    private final Cache<String, Media> medias = CacheBuilder.newBuilder()
+            .maximumWeight(MEDIAS_CACHE_MAX_WEIGHT)
+            .weigher((String key, Media media) -> media.getData() == null ? 0 : media.getData().length)
+            .build();
+
     @Override
     public String savePortalMedia(MediaEntity mediaEntity) {
         return this.saveApiMedia(null, mediaEntity);
@@ -97,20 +109,34 @@ public class MediaServiceImpl implements MediaService {
 
     @Override
     public MediaEntity findby(String id) {
-        Optional<Media> mediaData = mediaRepository.findByHash(id, "image");
-        return mediaData.isPresent() ? convert(mediaData.get()) : null;
+        return findby(id, null);
     }
 
     @Override
     public MediaEntity findby(String id, String api) {
-        Optional<Media> mediaData = mediaRepository.findByHash(id, api, "image");
-        return mediaData.isPresent() ? convert(mediaData.get()): null;
+        String key = key(id, api);
+        Media media = medias.getIfPresent(key);
+        if (media == null) {
+            Optional<Media> mediaData = (api == null) ?
+                    mediaRepository.findByHash(id, "image") :
+                    mediaRepository.findByHash(id, api, "image");
+            if (!mediaData.isPresent()) {
+                return null;
+            }
+            media = mediaData.get();
+            medias.put(key, media);
+        }
+        return convert(media);
     }
 
     public Long getMediaMaxSize() {
         return Long.valueOf(configService.getPortalConfig().getPortal().getUploadMedia().getMaxSizeInOctet());
     }
 
+    private static String key(String hash, String api) {
+        return (api == null) ? hash : api + ':' + hash;
+    }
+
     private static Media convert(MediaEntity imageEntity) {
         Media media = new Media();
         media.setFileName(imageEntity.getFileName());
@@ -15,32 +15,46 @@
  */
 package io.gravitee.management.service.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.api.ApiQuery;
 import io.gravitee.management.model.pagedresult.Metadata;
+import io.gravitee.management.model.permissions.MemberPermissions;
 import io.gravitee.management.model.permissions.SystemRole;
 import io.gravitee.management.model.providers.User;
 import io.gravitee.management.service.*;
 import io.gravitee.management.service.builder.EmailNotificationBuilder;
+import io.gravitee.management.service.event.PermissionEvent;
 import io.gravitee.management.service.exceptions.*;
 import io.gravitee.management.service.notification.NotificationParamsBuilder;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiRepository;
 import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.GroupRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
 import io.gravitee.repository.management.api.search.ApiCriteria;
 import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.Application;
 import io.gravitee.repository.management.model.Audit;
 import io.gravitee.repository.management.model.Membership;
 import io.gravitee.repository.management.model.MembershipReferenceType;
 import io.gravitee.repository.management.model.RoleScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static io.gravitee.management.model.permissions.SystemRole.PRIMARY_OWNER;
@@ -54,7 +68,8 @@ import static java.util.Collections.singletonMap;
  * @author GraviteeSource Team
  */
 @Component
-public class MembershipServiceImpl extends AbstractService implements MembershipService {
+public class MembershipServiceImpl extends AbstractService implements MembershipService, InitializingBean,
+        EventListener<PermissionEvent, String> {
 
     private final Logger LOGGER = LoggerFactory.getLogger(MembershipServiceImpl.class);
 
@@ -81,9 +96,45 @@ public class MembershipServiceImpl extends AbstractService implements Membership
     @Autowired
     private ApplicationRepository applicationRepository;
     @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
     private NotifierService notifierService;
     @Autowired
     private InvitationService invitationService;
+    @Autowired
+    private EventManager eventManager;
+
+    @Value("${security.permissions.cache.ttl:60000}")
+    private long permissionsCacheTtl;
+
+    /**
+     * Merged permissions of a user on an API, an application or a group.
+     */
+    private Cache<PermissionKey, MemberPermissions> permissions;
+
+    @Override
+    public void afterPropertiesSet() {
+        permissions = CacheBuilder.newBuilder()
+                .expireAfterWrite(permissionsCacheTtl, TimeUnit.MILLISECONDS)
+                .maximumSize(10_000)
+                .build();
+        eventManager.subscribeForEvents(this, PermissionEvent.class);
+    }
+
+    @Override
+    public void onEvent(Event<PermissionEvent, String> event) {
+        switch (event.type()) {
+            case INVALIDATE_USER:
+                permissions.asMap().keySet().removeIf(key -> key.userId.equals(event.content()));
+                break;
+            case INVALIDATE_REFERENCE:
+                permissions.asMap().keySet().removeIf(key -> key.referenceId.equals(event.content()));
+                break;
+            case INVALIDATE_ALL:
+                permissions.invalidateAll();
+                break;
+        }
+    }
 
     @Override
     public Set<MemberEntity> getMembers(MembershipReferenceType referenceType, String referenceId, RoleScope roleScope) {
@@ -293,6 +344,8 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 }
             }
 
+            eventManager.publishEvent(PermissionEvent.INVALIDATE_USER, userEntity.getId());
+
             return convert(returnedMembership, role.getScope());
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to add member for {} {}", reference.getType(), reference.getId(), ex);
@@ -318,6 +371,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
             Membership membership = new Membership(userId, referenceId, referenceType);
             membershipRepository.delete(membership);
             createAuditLog(MEMBERSHIP_DELETED, new Date(), membership, null);
+            eventManager.publishEvent(PermissionEvent.INVALIDATE_USER, userId);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to delete member {} for {} {}", userId, referenceType, referenceId, ex);
             throw new TechnicalManagementException("An error occurs while trying to delete member " + userId + " for " + referenceType + " " + referenceId, ex);
@@ -360,7 +414,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 api.getId(),
                 userId,
                 api.getGroups(),
-                RoleScope.API);
+                RoleScope.API).toMap();
     }
 
     @Override
@@ -369,7 +423,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 application.getId(),
                 userId,
                 application.getGroups(),
-                RoleScope.APPLICATION);
+                RoleScope.APPLICATION).toMap();
     }
 
     @Override
@@ -378,7 +432,108 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 group.getId(),
                 userId,
                 null,
-                RoleScope.GROUP);
+                RoleScope.GROUP).toMap();
+    }
+
+    @Override
+    public MemberPermissions getMemberPermissions(MembershipReferenceType referenceType, String referenceId, String userId) {
+        try {
+            return permissions.get(new PermissionKey(userId, referenceType, referenceId), () -> {
+                switch (referenceType) {
+                    case API:
+                        List<io.gravitee.repository.management.model.Api> apis = apiRepository.search(
+                                new ApiCriteria.Builder().ids(referenceId).build(),
+                                new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build());
+                        if (apis.isEmpty()) {
+                            throw new ApiNotFoundException(referenceId);
+                        }
+                        return getMemberPermissions(API, referenceId, userId, apis.get(0).getGroups(), RoleScope.API);
+                    case APPLICATION:
+                        Application application = applicationRepository.findById(referenceId)
+                                .orElseThrow(() -> new ApplicationNotFoundException(referenceId));
+                        return getMemberPermissions(APPLICATION, referenceId, userId, application.getGroups(), RoleScope.APPLICATION);
+                    case GROUP:
+                        if (!groupRepository.findById(referenceId).isPresent()) {
+                            throw new GroupNotFoundException(referenceId);
+                        }
+                        return getMemberPermissions(GROUP, referenceId, userId, null, RoleScope.GROUP);
+                    default:
+                        throw new IllegalArgumentException(referenceType + " has no member permissions");
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof AbstractManagementException) {
+                throw (AbstractManagementException) ex.getCause();
+            }
+            LOGGER.error("An error occurs while trying to get permissions of user {} for {} {}", userId, referenceType, referenceId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to get permissions of user " + userId + " for " + referenceType + " " + referenceId, ex.getCause());
+        }
+    }
+
+    @Override
+    public Map<String, MemberPermissions> getMemberPermissions(Collection<ApiEntity> apis, String userId) {
+        final Map<String, MemberPermissions> apiPermissions = new HashMap<>(apis.size());
+        final List<ApiEntity> missing = new ArrayList<>();
+        for (ApiEntity api : apis) {
+            MemberPermissions memberPermissions = permissions.getIfPresent(new PermissionKey(userId, API, api.getId()));
+            if (memberPermissions == null) {
+                missing.add(api);
+            } else {
+                apiPermissions.put(api.getId(), memberPermissions);
+            }
+        }
+        if (missing.isEmpty()) {
+            return apiPermissions;
+        }
+
+        try {
+            LOGGER.debug("Get permissions of user {} for {} APIs", userId, missing.size());
+            final io.gravitee.management.model.permissions.RoleScope scope =
+                    io.gravitee.management.model.permissions.RoleScope.API;
+            final Map<String, String> apiRoles = getRoleNames(userId, API, RoleScope.API);
+            final Map<String, String> groupRoles = getRoleNames(userId, GROUP, RoleScope.API);
+            final Map<String, MemberPermissions> rolePermissions = new HashMap<>();
+
+            for (ApiEntity api : missing) {
+                MemberPermissions memberPermissions;
+                String roleName = apiRoles.get(api.getId());
+                if (roleName != null) {
+                    memberPermissions = rolePermissions.computeIfAbsent(roleName,
+                            name -> MemberPermissions.of(scope, roleService.findById(RoleScope.API, name).getPermissions()));
+                } else {
+                    memberPermissions = MemberPermissions.empty(scope);
+                    if (api.getGroups() != null) {
+                        for (String group : api.getGroups()) {
+                            String groupRoleName = groupRoles.get(group);
+                            if (groupRoleName != null) {
+                                memberPermissions = memberPermissions.merge(rolePermissions.computeIfAbsent(groupRoleName,
+                                        name -> MemberPermissions.of(scope, roleService.findById(RoleScope.API, name).getPermissions())));
+                            }
+                        }
+                    }
+                }
+                permissions.put(new PermissionKey(userId, API, api.getId()), memberPermissions);
+                apiPermissions.put(api.getId(), memberPermissions);
+            }
+            return apiPermissions;
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to get permissions of user {} for APIs", userId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to get permissions of user " + userId + " for APIs", ex);
+        }
+    }
+
+    /**
+     * @return the name of the role of the user for the given scope, by reference ID.
+     */
+    private Map<String, String> getRoleNames(String userId, MembershipReferenceType referenceType, RoleScope roleScope) throws TechnicalException {
+        final Map<String, String> roleNames = new HashMap<>();
+        for (Membership membership : membershipRepository.findByUserAndReferenceType(userId, referenceType)) {
+            String roleName = membership.getRoles() == null ? null : membership.getRoles().get(roleScope.getId());
+            if (roleName != null) {
+                roleNames.put(membership.getReferenceId(), roleName);
+            }
+        }
+        return roleNames;
     }
 
     @Override
@@ -395,6 +550,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 } else {
                     membershipRepository.update(membership);
                     createAuditLog(MEMBERSHIP_UPDATED, membership.getUpdatedAt(), previousMembership, membership);
+                    eventManager.publishEvent(PermissionEvent.INVALIDATE_USER, userId);
                     return true;
                 }
             }
@@ -413,6 +569,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 membership.getRoles().put(roleScope.getId(), newRole);
                 membershipRepository.update(membership);
             }
+            eventManager.publishEvent(PermissionEvent.INVALIDATE_ALL, null);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to remove role {} {}", roleScope, roleName, ex);
             throw new TechnicalManagementException("An error occurs while trying to remove role " + roleScope + " " + roleName, ex);
@@ -425,6 +582,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
             for(Membership membership : membershipRepository.findByUser(userId)) {
                 membershipRepository.delete(membership);
             }
+            eventManager.publishEvent(PermissionEvent.INVALIDATE_USER, userId);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to remove user {}", userId, ex);
             throw new TechnicalManagementException("An error occurs while trying to remove user " + userId, ex);
@@ -526,43 +684,50 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 invitationService.findByReference(InvitationReferenceType.valueOf(referenceType.name()), referenceId).size();
     }
 
-    private Map<String, char[]> getMemberPermissions(MembershipReferenceType membershipReferenceType, String referenceId, String userId, Set<String> groups, RoleScope roleScope) {
+    private MemberPermissions getMemberPermissions(MembershipReferenceType membershipReferenceType, String referenceId, String userId, Set<String> groups, RoleScope roleScope) {
+        io.gravitee.management.model.permissions.RoleScope scope =
+                io.gravitee.management.model.permissions.RoleScope.valueOf(roleScope.name());
         MemberEntity member = this.getMember(membershipReferenceType, referenceId, userId, roleScope);
         if (member != null) {
-            return member.getPermissions();
-        } else if (groups != null) {
-            Map<String, Set<Character>> mergedPermissions = new HashMap<>();
+            return MemberPermissions.of(scope, member.getPermissions());
+        }
+        MemberPermissions permissions = MemberPermissions.empty(scope);
+        if (groups != null) {
             for (String groupid : groups) {
                 member = this.getMember(GROUP, groupid, userId, roleScope);
                 if (member != null) {
-                    for (Map.Entry<String, char[]> perm : member.getPermissions().entrySet()) {
-                        if (mergedPermissions.containsKey(perm.getKey())) {
-                            Set<Character> previousCRUD = mergedPermissions.get(perm.getKey());
-                            for (char c : perm.getValue()) {
-                                previousCRUD.add(c);
-                            }
-                        } else {
-                            HashSet<Character> crudAsSet = new HashSet<>();
-                            for (char c : perm.getValue()) {
-                                crudAsSet.add(c);
-                            }
-                            mergedPermissions.put(perm.getKey(), crudAsSet);
-                        }
-                    }
+                    permissions = permissions.merge(MemberPermissions.of(scope, member.getPermissions()));
                 }
             }
-            Map<String, char[]> permissions = new HashMap<>(mergedPermissions.size());
-            mergedPermissions.forEach((String k, Set<Character> v) -> {
-                Character[] characters = v.toArray(new Character[v.size()]);
-                char[] chars = new char[characters.length];
-                for (int i = 0; i < characters.length; i++) {
-                    chars[i] = characters[i];
-                }
-                permissions.put(k, chars);
-            });
-            return permissions;
         }
-        return Collections.emptyMap();
+        return permissions;
+    }
+
+    private static final class PermissionKey {
+        private final String userId;
+        private final MembershipReferenceType referenceType;
+        private final String referenceId;
+
+        private PermissionKey(String userId, MembershipReferenceType referenceType, String referenceId) {
+            this.userId = userId;
+            this.referenceType = referenceType;
+            this.referenceId = referenceId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PermissionKey that = (PermissionKey) o;
+            return userId.equals(that.userId) &&
+                    referenceType == that.referenceType &&
+                    referenceId.equals(that.referenceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, referenceType, referenceId);
+        }
     }
 
     private MemberEntity convert(Membership membership, RoleScope roleScope) {
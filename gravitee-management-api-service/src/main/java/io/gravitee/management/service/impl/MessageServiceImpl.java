@@ -143,13 +143,14 @@ public class MessageServiceImpl extends AbstractService implements MessageServic
             case MAIL:
                 Set<String> mails = getRecipientsEmails(recipientsId);
                     if (!mails.isEmpty()) {
-                        emailService.sendAsyncEmailNotification(new EmailNotificationBuilder()
+                        // Sent in bulk: recipients are split over several messages, the sender only receives the first one
+                        emailService.sendAsyncEmailNotifications(Collections.singletonList(new EmailNotificationBuilder()
                                 .to(defaultFrom)
                                 .bcc(mails.toArray(new String[0]))
                                 .subject(message.getTitle())
                                 .template(EmailNotificationBuilder.EmailTemplate.GENERIC_MESSAGE)
                                 .params(Collections.singletonMap("message", message.getText()))
-                                .build());
+                                .build()));
                 }
                 return mails.size();
 
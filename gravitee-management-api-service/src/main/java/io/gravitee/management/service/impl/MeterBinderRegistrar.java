@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.vertx.micrometer.backends.BackendRegistries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registers the meters of the {@link MeterBinder} beans (search engine, audits, notifications, HTTP clients, ...) in
+ * the registry of the node metrics service (<code>services.metrics</code>), so that they are exposed with the
+ * Prometheus output.
+ *
+ * Binders are registered once the context is refreshed, when Vert.x and its metrics backend have been created.
+ * Nothing is registered while the metrics service is disabled.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class MeterBinderRegistrar implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(MeterBinderRegistrar.class);
+
+    @Autowired(required = false)
+    private List<MeterBinder> binders = Collections.emptyList();
+
+    private boolean registered;
+
+    @Override
+    public synchronized void onApplicationEvent(ContextRefreshedEvent event) {
+        if (registered) {
+            return;
+        }
+
+        final MeterRegistry registry = BackendRegistries.getDefaultNow();
+        if (registry == null) {
+            LOGGER.debug("Metrics service is disabled, {} meter binder(s) not registered", binders.size());
+            return;
+        }
+
+        binders.forEach(binder -> binder.bindTo(registry));
+        registered = true;
+        LOGGER.debug("{} meter binder(s) registered", binders.size());
+    }
+}
@@ -15,39 +15,62 @@
  */
 package io.gravitee.management.service.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.notification.NotifierEntity;
 import io.gravitee.management.service.NotifierService;
 import io.gravitee.management.service.PortalNotificationService;
+import io.gravitee.management.service.event.NotificationConfigEvent;
 import io.gravitee.management.service.notification.ApiHook;
 import io.gravitee.management.service.notification.ApplicationHook;
 import io.gravitee.management.service.notification.Hook;
 import io.gravitee.management.service.notification.PortalHook;
 import io.gravitee.management.service.notifiers.EmailNotifierService;
 import io.gravitee.management.service.notifiers.WebhookNotifierService;
-import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.GenericNotificationConfigRepository;
 import io.gravitee.repository.management.api.PortalNotificationConfigRepository;
 import io.gravitee.repository.management.model.GenericNotificationConfig;
 import io.gravitee.repository.management.model.NotificationReferenceType;
 import io.gravitee.repository.management.model.PortalNotificationConfig;
 import io.gravitee.repository.management.model.PortalNotificationDefaultReferenceId;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
+ * Notifications are dispatched by a bounded pool of workers: when its queue is full, the notification is processed
+ * by the calling thread so that bulk operations are slowed down instead of spawning unbounded threads.
+ *
+ * The notification configurations of each hook and reference are cached, and failed webhooks are retried with an
+ * exponential backoff. Retries are submitted by a single scheduler thread which must never run them itself: they are
+ * dropped when the queue is full.
+ *
+ * The number of notifications waiting for a worker and of dropped retries are exposed as <code>notifier.*</code>
+ * meters.
+ *
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class NotifierServiceImpl extends AbstractService implements NotifierService {
+public class NotifierServiceImpl extends AbstractService implements NotifierService, InitializingBean, DisposableBean,
+        MeterBinder, EventListener<NotificationConfigEvent, String> {
 
     /**
      * Default Notifier IDs
@@ -55,6 +78,11 @@ public class NotifierServiceImpl extends AbstractService implements NotifierServ
     public static final String DEFAULT_EMAIL_NOTIFIER_ID = "default-email";
     private static final String DEFAULT_WEBHOOK_NOTIFIER_ID = "default-webhook";
 
+    private static final long CONFIGS_CACHE_MAX_SIZE = 10_000;
+    // Configurations may be updated through another node
+    private static final long CONFIGS_CACHE_TTL_SECONDS = 60;
+    private static final long WEBHOOK_RETRY_DELAY_MS = 1000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
 
     private final Logger LOGGER = LoggerFactory.getLogger(NotifierServiceImpl.class);
 
@@ -73,58 +101,178 @@ public class NotifierServiceImpl extends AbstractService implements NotifierServ
     @Autowired
     WebhookNotifierService webhookNotifierService;
 
+    @Autowired
+    private EventManager eventManager;
+
+    @Value("${notifiers.dispatcher.workers:2}")
+    private int workers;
+    @Value("${notifiers.dispatcher.queueCapacity:10000}")
+    private int queueCapacity;
+    @Value("${notifiers.webhook.retries:3}")
+    private int webhookRetries;
+
+    private ThreadPoolExecutor dispatcher;
+    private ScheduledExecutorService retryScheduler;
+
+    private final AtomicLong droppedWebhookRetries = new AtomicLong();
+
+    private final Cache<ConfigKey, List<String>> portalConfigs = CacheBuilder.newBuilder()
+            .maximumSize(CONFIGS_CACHE_MAX_SIZE)
+            .expireAfterWrite(CONFIGS_CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+            .build();
+
+    private final Cache<ConfigKey, List<GenericNotificationConfig>> genericConfigs = CacheBuilder.newBuilder()
+            .maximumSize(CONFIGS_CACHE_MAX_SIZE)
+            .expireAfterWrite(CONFIGS_CACHE_TTL_SECONDS, TimeUnit.SECONDS)
+            .build();
+
+    @Override
+    public void afterPropertiesSet() {
+        dispatcher = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("notifier-"),
+                this::rejected);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("notifier-retry-"));
+
+        eventManager.subscribeForEvents(this, NotificationConfigEvent.class);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        retryScheduler.shutdownNow();
+        dispatcher.shutdown();
+        if (!dispatcher.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warn("{} notifications have not been sent before shutdown", dispatcher.getQueue().size());
+            dispatcher.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onEvent(Event<NotificationConfigEvent, String> event) {
+        final String referenceId = event.content();
+        if (referenceId == null) {
+            portalConfigs.invalidateAll();
+            genericConfigs.invalidateAll();
+        } else {
+            portalConfigs.asMap().keySet().removeIf(key -> referenceId.equals(key.referenceId));
+            genericConfigs.asMap().keySet().removeIf(key -> referenceId.equals(key.referenceId));
+        }
+    }
+
     @Override
-    @Async
     public void trigger(final ApiHook hook, final String apiId, Map<String, Object> params) {
-        triggerPortalNotifications(hook, NotificationReferenceType.API, apiId, params);
-        triggerGenericNotifications(hook, NotificationReferenceType.API, apiId, params);
+        dispatch(hook, NotificationReferenceType.API, apiId, params);
     }
 
     @Override
-    @Async
     public void trigger(final ApplicationHook hook, final String applicationId, Map<String, Object> params) {
-        triggerPortalNotifications(hook, NotificationReferenceType.APPLICATION, applicationId, params);
-        triggerGenericNotifications(hook, NotificationReferenceType.APPLICATION, applicationId, params);
+        dispatch(hook, NotificationReferenceType.APPLICATION, applicationId, params);
     }
 
     @Override
-    @Async
     public void trigger(final PortalHook hook, Map<String, Object> params) {
-        triggerPortalNotifications(hook, NotificationReferenceType.PORTAL, PortalNotificationDefaultReferenceId.DEFAULT.name(), params);
-        triggerGenericNotifications(hook, NotificationReferenceType.PORTAL, PortalNotificationDefaultReferenceId.DEFAULT.name(), params);
+        dispatch(hook, NotificationReferenceType.PORTAL, PortalNotificationDefaultReferenceId.DEFAULT.name(), params);
     }
 
-    private void triggerPortalNotifications(final Hook hook, final NotificationReferenceType refType, final String refId, final Map<String, Object> params) {
+    /**
+     * @return the number of notifications waiting for a worker.
+     */
+    public int getPendingNotifications() {
+        return dispatcher.getQueue().size();
+    }
+
+    /**
+     * @return the number of webhook retries dropped because the queue was full.
+     */
+    public long getDroppedWebhookRetries() {
+        return droppedWebhookRetries.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notifier.pending", this, NotifierServiceImpl::getPendingNotifications)
+                .description("Notifications waiting for a worker")
+                .register(registry);
+        FunctionCounter.builder("notifier.webhook.retries.dropped", this, NotifierServiceImpl::getDroppedWebhookRetries)
+                .description("Webhook retries dropped because the queue was full")
+                .register(registry);
+    }
+
+    private void rejected(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        if (task instanceof WebhookRetry) {
+            droppedWebhookRetries.incrementAndGet();
+            LOGGER.error("Unable to retry webhook {} for hook {}, too many pending notifications",
+                    ((WebhookRetry) task).config.getConfig(), ((WebhookRetry) task).hook);
+        } else {
+            task.run();
+        }
+    }
+
+    private void dispatch(final Hook hook, final NotificationReferenceType refType, final String refId, final Map<String, Object> params) {
+        final ConfigKey key = new ConfigKey(hook.name(), refType, refId);
+        dispatcher.execute(() -> {
+            triggerPortalNotifications(hook, key, params);
+            triggerGenericNotifications(hook, key, params);
+        });
+    }
+
+    private void triggerPortalNotifications(final Hook hook, final ConfigKey key, final Map<String, Object> params) {
         try {
-            List<String> userIds = portalNotificationConfigRepository.findByReferenceAndHook(hook.name(), refType, refId).
-                    stream().
-                    map(PortalNotificationConfig::getUser).
-                    collect(Collectors.toList());
+            List<String> userIds = portalConfigs.get(key, () ->
+                    portalNotificationConfigRepository.findByReferenceAndHook(key.hook, key.referenceType, key.referenceId).
+                            stream().
+                            map(PortalNotificationConfig::getUser).
+                            collect(Collectors.toList()));
             if (!userIds.isEmpty()) {
                 portalNotificationService.create(hook, userIds, params);
             }
-        } catch (TechnicalException e) {
-            LOGGER.error("Error looking for PortalNotificationConfig with {}/{}/{}", hook, refType, refId, e);
+        } catch (ExecutionException e) {
+            LOGGER.error("Error looking for PortalNotificationConfig with {}", key, e.getCause());
+        } catch (Exception e) {
+            LOGGER.error("Error creating portal notifications with {}", key, e);
         }
     }
 
-    private void triggerGenericNotifications(final Hook hook, final NotificationReferenceType refType, final String refId, final Map<String, Object> params) {
+    private void triggerGenericNotifications(final Hook hook, final ConfigKey key, final Map<String, Object> params) {
         try {
-            for (GenericNotificationConfig genericNotificationConfig : genericNotificationConfigRepository.findByReferenceAndHook(hook.name(), refType, refId)) {
+            final List<GenericNotificationConfig> emailConfigs = new ArrayList<>();
+            for (GenericNotificationConfig genericNotificationConfig : genericConfigs.get(key, () ->
+                    genericNotificationConfigRepository.findByReferenceAndHook(key.hook, key.referenceType, key.referenceId))) {
                 switch (genericNotificationConfig.getNotifier()) {
                     case DEFAULT_EMAIL_NOTIFIER_ID:
-                        emailNotifierService.trigger(hook, genericNotificationConfig, params);
+                        emailConfigs.add(genericNotificationConfig);
                         break;
                     case DEFAULT_WEBHOOK_NOTIFIER_ID:
-                        webhookNotifierService.trigger(hook, genericNotificationConfig, params);
+                        triggerWebhook(hook, genericNotificationConfig, params, 0);
                         break;
                     default:
                         LOGGER.error("Unknown notifier {}", genericNotificationConfig.getNotifier());
                         break;
                 }
             }
-        } catch (TechnicalException e) {
-            LOGGER.error("Error looking for GenericNotificationConfig with {}/{}/{}", hook, refType, refId, e);
+            if (!emailConfigs.isEmpty()) {
+                emailNotifierService.triggerAll(hook, emailConfigs, params);
+            }
+        } catch (ExecutionException e) {
+            LOGGER.error("Error looking for GenericNotificationConfig with {}", key, e.getCause());
+        }
+    }
+
+    private void triggerWebhook(final Hook hook, final GenericNotificationConfig genericNotificationConfig,
+                                final Map<String, Object> params, final int attempt) {
+        try {
+            webhookNotifierService.trigger(hook, genericNotificationConfig, params);
+        } catch (Exception e) {
+            if (attempt < webhookRetries && !retryScheduler.isShutdown()) {
+                final long delay = WEBHOOK_RETRY_DELAY_MS << attempt;
+                LOGGER.warn("Unable to call webhook {} for hook {}, retry in {} ms", genericNotificationConfig.getConfig(), hook, delay);
+                final WebhookRetry retry = new WebhookRetry(hook, genericNotificationConfig, params, attempt + 1);
+                retryScheduler.schedule(() -> dispatcher.execute(retry), delay, TimeUnit.MILLISECONDS);
+            } else {
+                LOGGER.error("Unable to call webhook {} for hook {}", genericNotificationConfig.getConfig(), hook, e);
+            }
         }
     }
 
@@ -141,4 +289,55 @@ public class NotifierServiceImpl extends AbstractService implements NotifierServ
         webHookNotifier.setType("WEBHOOK");
         return Arrays.asList(emailNotifier, webHookNotifier);
     }
+
+    private final class WebhookRetry implements Runnable {
+        private final Hook hook;
+        private final GenericNotificationConfig config;
+        private final Map<String, Object> params;
+        private final int attempt;
+
+        private WebhookRetry(Hook hook, GenericNotificationConfig config, Map<String, Object> params, int attempt) {
+            this.hook = hook;
+            this.config = config;
+            this.params = params;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public void run() {
+            triggerWebhook(hook, config, params, attempt);
+        }
+    }
+
+    private static final class ConfigKey {
+        private final String hook;
+        private final NotificationReferenceType referenceType;
+        private final String referenceId;
+
+        private ConfigKey(String hook, NotificationReferenceType referenceType, String referenceId) {
+            this.hook = hook;
+            this.referenceType = referenceType;
+            this.referenceId = referenceId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ConfigKey configKey = (ConfigKey) o;
+            return Objects.equals(hook, configKey.hook) &&
+                    referenceType == configKey.referenceType &&
+                    Objects.equals(referenceId, configKey.referenceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hook, referenceType, referenceId);
+        }
+
+        @Override
+        public String toString() {
+            return hook + "/" + referenceType + "/" + referenceId;
+        }
+    }
 }
@@ -16,6 +16,9 @@
 package io.gravitee.management.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
@@ -58,7 +61,9 @@ import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static io.gravitee.repository.management.model.Audit.AuditProperties.PAGE;
@@ -79,6 +84,8 @@ public class PageServiceImpl extends TransactionalService implements PageService
 
 	private static final Logger logger = LoggerFactory.getLogger(PageServiceImpl.class);
 
+	private static final int TRANSFORMED_PAGES_CACHE_SIZE = 200;
+
 	@Autowired
 	private PageRepository pageRepository;
 	@Autowired
@@ -105,6 +112,15 @@ public class PageServiceImpl extends TransactionalService implements PageService
 	@Autowired
 	private GraviteeDescriptorService graviteeDescriptorService;
 
+	/**
+	 * Swagger pages transformed for the portal, by page ID. An entry is only used for the content, content type and
+	 * tryItURL it has been transformed from, so that pages updated from other nodes are transformed again.
+	 */
+	private final Cache<String, TransformedPage> transformedPages = CacheBuilder.newBuilder()
+			.maximumSize(TRANSFORMED_PAGES_CACHE_SIZE)
+			.expireAfterAccess(1, TimeUnit.HOURS)
+			.build();
+
 	@Override
 	public PageEntity findById(String pageId) {
 		try {
@@ -150,10 +166,34 @@ public class PageServiceImpl extends TransactionalService implements PageService
 
 	private void transformUsingConfiguration(final PageEntity pageEntity) {
 		if (io.gravitee.repository.management.model.PageType.SWAGGER.name().equalsIgnoreCase(pageEntity.getType())) {
-			swaggerService.transform(pageEntity);
+			if (pageEntity.getId() == null || pageEntity.getContent() == null) {
+				swaggerService.transform(pageEntity);
+				return;
+			}
+
+			final String sourceHash = sourceHash(pageEntity);
+			final TransformedPage transformedPage = transformedPages.getIfPresent(pageEntity.getId());
+			if (transformedPage != null && transformedPage.sourceHash.equals(sourceHash)) {
+				pageEntity.setContent(transformedPage.content);
+			} else {
+				swaggerService.transform(pageEntity);
+				transformedPages.put(pageEntity.getId(), new TransformedPage(sourceHash, pageEntity.getContent()));
+			}
 		}
 	}
 
+	private String sourceHash(final PageEntity pageEntity) {
+		final Map<String, String> configuration = pageEntity.getConfiguration();
+		return Hashing.sha256().newHasher()
+				.putString(pageEntity.getContent(), StandardCharsets.UTF_8)
+				.putByte((byte) 0)
+				.putString(String.valueOf(pageEntity.getContentType()), StandardCharsets.UTF_8)
+				.putByte((byte) 0)
+				.putString(String.valueOf(configuration == null ? null : configuration.get("tryItURL")), StandardCharsets.UTF_8)
+				.hash()
+				.toString();
+	}
+
 	private void transformWithTemplate(final PageEntity pageEntity, final String api) {
 		if (pageEntity.getContent() != null) {
 			try {
@@ -292,6 +332,7 @@ public class PageServiceImpl extends TransactionalService implements PageService
 				return null;
 			} else {
 				Page updatedPage = pageRepository.update(page);
+				transformedPages.invalidate(pageId);
 				createAuditLog(page.getApi(), PAGE_UPDATED, page.getUpdatedAt(), pageToUpdate, page);
 
 				PageEntity pageEntity = convert(updatedPage);
@@ -726,6 +767,7 @@ public class PageServiceImpl extends TransactionalService implements PageService
 			}
 
 			pageRepository.delete(pageId);
+			transformedPages.invalidate(pageId);
             createAuditLog(page.getApi(), PAGE_DELETED, new Date(), page, null);
 
             // remove from search engine
@@ -807,6 +849,7 @@ public class PageServiceImpl extends TransactionalService implements PageService
 			page.setLastContributor(contributor);
 
 			Page updatedPage = pageRepository.update(page);
+			transformedPages.invalidate(pageId);
 			createAuditLog(page.getApi(), PAGE_UPDATED, page.getUpdatedAt(), page, page);
 			return convert(updatedPage);
 		} catch (TechnicalException ex) {
@@ -1073,4 +1116,15 @@ public class PageServiceImpl extends TransactionalService implements PageService
 		}
 		return builder.build();
 	}
+
+	private static final class TransformedPage {
+
+		private final String sourceHash;
+		private final String content;
+
+		private TransformedPage(String sourceHash, String content) {
+			this.sourceHash = sourceHash;
+			this.content = content;
+		}
+	}
 }
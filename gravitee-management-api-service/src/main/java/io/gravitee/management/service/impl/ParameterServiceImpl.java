@@ -24,10 +24,14 @@ import io.gravitee.repository.management.api.ParameterRepository;
 import io.gravitee.repository.management.model.Parameter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.inject.Inject;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -42,6 +46,9 @@ import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
 /**
+ * Parameter values are read from a snapshot of all the parameters, loaded at once and replaced after each save. The
+ * snapshot expires after <code>parameters.cache.ttl</code> so that the changes made from other nodes are seen too.
+ *
  * @author Azize ELAMRANI (azize at graviteesource.com)
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
@@ -59,6 +66,12 @@ public class ParameterServiceImpl extends TransactionalService implements Parame
     @Inject
     private AuditService auditService;
 
+    @Value("${parameters.cache.ttl:10000}")
+    private long cacheTtl;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong versions = new AtomicLong();
+
     @Override
     public boolean findAsBoolean(final Key key) {
         final List<String> values = findAll(key);
@@ -93,29 +106,46 @@ public class ParameterServiceImpl extends TransactionalService implements Parame
 
     @Override
     public <T> List<T> findAll(final Key key, final Function<String, T> mapper, final Predicate<String> filter) {
-        try {
-            final Optional<Parameter> optionalParameter = parameterRepository.findById(key.key());
-            if (optionalParameter.isPresent()) {
-                return splitValue(optionalParameter.get().getValue(), mapper, filter);
-            }
-            return emptyList();
-        } catch (final TechnicalException ex) {
-            final String message = "An error occurs while trying to find parameter values with key: " + key;
-            LOGGER.error(message, ex);
-            throw new TechnicalManagementException(message, ex);
-        }
+        return splitValue(snapshot().values.get(key.key()), mapper, filter);
     }
 
     @Override
     public <T> Map<String, List<T>> findAll(List<Key> keys, Function<String, T> mapper, Predicate<String> filter) {
-        try {
-            List<Parameter> parameters = parameterRepository.findAll(keys.stream().map(Key::key).collect(toList()));
-            if (parameters.isEmpty()) {
-                return emptyMap();
+        final Map<String, String> values = snapshot().values;
+        Map<String, List<T>> result = new HashMap<>();
+        keys.stream()
+                .map(Key::key)
+                .filter(values::containsKey)
+                .forEach(key -> result.put(key, splitValue(values.get(key), mapper, filter)));
+        return result.isEmpty() ? emptyMap() : result;
+    }
+
+    @Override
+    public long getVersion() {
+        return snapshot().version;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || current.isExpired(cacheTtl)) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || current.isExpired(cacheTtl)) {
+                    current = loadSnapshot();
+                    snapshot = current;
+                }
             }
-            Map<String, List<T>> result = new HashMap<>();
-            parameters.forEach( p -> result.put(p.getKey(), splitValue(p.getValue(), mapper, filter)) );
-            return result;
+        }
+        return current;
+    }
+
+    private Snapshot loadSnapshot() {
+        final List<String> keys = stream(Key.values()).map(Key::key).collect(toList());
+        try {
+            // Parameters without value are kept, they are not replaced by their default value
+            final Map<String, String> values = new HashMap<>();
+            parameterRepository.findAll(keys).forEach(parameter -> values.put(parameter.getKey(), parameter.getValue()));
+            return new Snapshot(versions.incrementAndGet(), unmodifiableMap(values));
         } catch (final TechnicalException ex) {
             final String message = "An error occurs while trying to find parameter values with keys: " + keys;
             LOGGER.error(message, ex);
@@ -123,6 +153,13 @@ public class ParameterServiceImpl extends TransactionalService implements Parame
         }
     }
 
+    private void invalidateSnapshot() {
+        // Synchronized with the loading so that a snapshot loaded before the save is not kept
+        synchronized (this) {
+            snapshot = null;
+        }
+    }
+
     private <T> List<T> splitValue(final String value, final Function<String, T> mapper, final Predicate<String> filter) {
         if (value == null || value.isEmpty()) {
             return emptyList();
@@ -136,7 +173,23 @@ public class ParameterServiceImpl extends TransactionalService implements Parame
 
     @Override
     public Parameter save(final Key key, final String value) {
+        try {
+            return doSave(key, value);
+        } finally {
+            invalidateSnapshot();
+            // The snapshot may be loaded again by another thread before the save is committed
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        invalidateSnapshot();
+                    }
+                });
+            }
+        }
+    }
 
+    private Parameter doSave(final Key key, final String value) {
         try {
             Optional<Parameter> optionalParameter = parameterRepository.findById(key.key());
             final boolean updateMode = optionalParameter.isPresent();
@@ -192,4 +245,20 @@ public class ParameterServiceImpl extends TransactionalService implements Parame
                 .map(entry -> entry.getKey() + KV_SEPARATOR + entry.getValue())
                 .collect(joining(SEPARATOR)));
     }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final Map<String, String> values;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Snapshot(long version, Map<String, String> values) {
+            this.version = version;
+            this.values = values;
+        }
+
+        private boolean isExpired(long ttl) {
+            return System.currentTimeMillis() - loadedAt >= ttl;
+        }
+    }
 }
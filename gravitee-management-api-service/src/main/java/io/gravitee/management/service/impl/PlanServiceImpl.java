@@ -18,6 +18,7 @@ package io.gravitee.management.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.definition.model.Path;
 import io.gravitee.management.model.*;
@@ -27,6 +28,7 @@ import io.gravitee.management.service.AuditService;
 import io.gravitee.management.service.ParameterService;
 import io.gravitee.management.service.PlanService;
 import io.gravitee.management.service.SubscriptionService;
+import io.gravitee.management.service.event.ReferenceNameEvent;
 import io.gravitee.management.service.exceptions.*;
 import io.gravitee.management.service.processor.PlanSynchronizationProcessor;
 import io.gravitee.repository.exceptions.TechnicalException;
@@ -76,6 +78,9 @@ public class PlanServiceImpl extends TransactionalService implements PlanService
     @Autowired
     private PlanSynchronizationProcessor planSynchronizationProcessor;
 
+    @Autowired
+    private EventManager eventManager;
+
     private static final List<PlanSecurityEntity> DEFAULT_SECURITY_LIST =
             Collections.unmodifiableList(Arrays.asList(
                     new PlanSecurityEntity("oauth2", "OAuth2", "oauth2"),
@@ -256,12 +261,14 @@ public class PlanServiceImpl extends TransactionalService implements PlanService
             if (newPlan.getOrder() != updatePlan.getOrder()) {
                 newPlan.setOrder(updatePlan.getOrder());
                 reorderAndSavePlans(newPlan);
+                eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_PLAN, newPlan.getId());
                 return null;
             } else {
                 if (!planSynchronizationProcessor.processCheckSynchronization(convert(oldPlan), convert(newPlan))) {
                     newPlan.setNeedRedeployAt(newPlan.getUpdatedAt());
                 }
                 newPlan = planRepository.update(newPlan);
+                eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_PLAN, newPlan.getId());
                 auditService.createApiAuditLog(
                         newPlan.getApis().iterator().next(),
                         Collections.singletonMap(PLAN, newPlan.getId()),
@@ -369,6 +376,7 @@ public class PlanServiceImpl extends TransactionalService implements PlanService
 
             // Delete plan
             planRepository.delete(plan);
+            eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_PLAN, plan);
             // Audit
             auditService.createApiAuditLog(
                     optPlan.get().getApis().iterator().next(),
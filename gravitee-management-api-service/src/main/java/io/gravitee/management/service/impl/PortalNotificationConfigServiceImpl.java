@@ -15,9 +15,11 @@
  */
 package io.gravitee.management.service.impl;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.notification.NotificationConfigType;
 import io.gravitee.management.model.notification.PortalNotificationConfigEntity;
 import io.gravitee.management.service.PortalNotificationConfigService;
+import io.gravitee.management.service.event.NotificationConfigEvent;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.PortalNotificationConfigRepository;
@@ -44,6 +46,9 @@ public class PortalNotificationConfigServiceImpl extends AbstractService impleme
     @Autowired
     private PortalNotificationConfigRepository portalNotificationConfigRepository;
 
+    @Autowired
+    private EventManager eventManager;
+
     @Override
     public PortalNotificationConfigEntity save(PortalNotificationConfigEntity notificationEntity) {
         try {
@@ -73,6 +78,9 @@ public class PortalNotificationConfigServiceImpl extends AbstractService impleme
         } catch (TechnicalException te) {
             LOGGER.error("An error occurs while trying to save the notification settings {}", notificationEntity, te);
             throw new TechnicalManagementException("An error occurs while trying to save the notification settings " + notificationEntity, te);
+        } finally {
+            // Notifications are dispatched from cached configurations
+            eventManager.publishEvent(NotificationConfigEvent.INVALIDATE_REFERENCE, notificationEntity.getReferenceId());
         }
     }
 
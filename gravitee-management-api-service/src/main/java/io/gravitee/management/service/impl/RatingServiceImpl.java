@@ -15,6 +15,9 @@
  */
 package io.gravitee.management.service.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.gravitee.common.data.domain.Page;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.*;
@@ -38,10 +41,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
-import java.util.OptionalDouble;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.reverseOrder;
@@ -77,6 +79,18 @@ public class RatingServiceImpl extends AbstractService implements RatingService
     @Autowired
     private ApiService apiService;
 
+    private static final long SUMMARIES_CACHE_MAX_SIZE = 10_000;
+    private static final long SUMMARIES_CACHE_TTL = 10;
+
+    /**
+     * Rating aggregates by API. They are computed from the ratings of the API on first access, then maintained on each
+     * rating written through this node. The TTL bounds the staleness of ratings written through another node.
+     */
+    private final Cache<String, RatingAggregate> summaries = CacheBuilder.newBuilder()
+            .maximumSize(SUMMARIES_CACHE_MAX_SIZE)
+            .expireAfterWrite(SUMMARIES_CACHE_TTL, TimeUnit.MINUTES)
+            .build();
+
     @Override
     public RatingEntity create(final NewRatingEntity ratingEntity) {
         if (!isEnabled()) {
@@ -88,6 +102,7 @@ public class RatingServiceImpl extends AbstractService implements RatingService
                 throw new RatingAlreadyExistsException(ratingEntity.getApi(), getAuthenticatedUsername());
             }
             Rating rating = ratingRepository.create(convert(ratingEntity));
+            summaries.asMap().computeIfPresent(rating.getApi(), (api, aggregate) -> aggregate.add(rating.getRate()));
             auditService.createApiAuditLog(rating.getApi(), null, Rating.RatingEvent.RATING_CREATED, rating.getCreatedAt(), null, rating);
 
             notifierService.trigger(
@@ -158,20 +173,42 @@ public class RatingServiceImpl extends AbstractService implements RatingService
         if (!isEnabled()) {
             throw new ApiRatingUnavailableException();
         }
+        return convert(api, getAggregate(api));
+    }
+
+    @Override
+    public Map<String, RatingSummaryEntity> findSummariesByApis(final Collection<String> apis) {
+        if (!isEnabled()) {
+            throw new ApiRatingUnavailableException();
+        }
+        // Cached aggregates are looked up at once, RatingRepository has no finder by several APIs so each missing
+        // aggregate is computed from the ratings of its API
+        final Map<String, RatingAggregate> aggregates = summaries.getAllPresent(apis);
+        final Map<String, RatingSummaryEntity> ratingSummaries = new HashMap<>(apis.size());
+        for (String api : apis) {
+            final RatingAggregate aggregate = aggregates.get(api);
+            ratingSummaries.put(api, convert(api, aggregate != null ? aggregate : getAggregate(api)));
+        }
+        return ratingSummaries;
+    }
+
+    private RatingAggregate getAggregate(final String api) {
         try {
-            final List<Rating> ratings = ratingRepository.findByApi(api);
-            final RatingSummaryEntity ratingSummary = new RatingSummaryEntity();
-            ratingSummary.setApi(api);
-            ratingSummary.setNumberOfRatings(ratings.size());
-            final OptionalDouble optionalAvg = ratings.stream().mapToInt(Rating::getRate).average();
-            if (optionalAvg.isPresent()) {
-                ratingSummary.setAverageRate(optionalAvg.getAsDouble());
-            }
-            ratingSummary.setNumberOfRatingsByRate(ratings.stream().collect(groupingBy(Rating::getRate, counting())));
-            return ratingSummary;
-        } catch (TechnicalException ex) {
+            return summaries.get(api, () -> {
+                RatingAggregate aggregate = RatingAggregate.EMPTY;
+                for (Rating rating : ratingRepository.findByApi(api)) {
+                    aggregate = aggregate.add(rating.getRate());
+                }
+                if (!aggregate.outOfRange.isEmpty()) {
+                    LOGGER.warn("API {} has {} rating(s) out of range [0, {}]: {}", api,
+                            aggregate.outOfRange.values().stream().mapToInt(Integer::intValue).sum(),
+                            RatingAggregate.MAX_RATE, aggregate.outOfRange.keySet());
+                }
+                return aggregate;
+            });
+        } catch (ExecutionException | UncheckedExecutionException ex) {
             LOGGER.error("An error occurred while trying to find summary rating for api {}", api, ex);
-            throw new TechnicalManagementException("An error occurred while trying to find summary rating for api " + api, ex);
+            throw new TechnicalManagementException("An error occurred while trying to find summary rating for api " + api, ex.getCause());
         }
     }
 
@@ -216,6 +253,8 @@ public class RatingServiceImpl extends AbstractService implements RatingService
                 rating.setComment(ratingEntity.getComment());
             }
             Rating updatedRating = ratingRepository.update(rating);
+            summaries.asMap().computeIfPresent(rating.getApi(),
+                    (api, aggregate) -> aggregate.remove(oldRating.getRate()).add(updatedRating.getRate()));
             auditService.createApiAuditLog(rating.getApi(), null, Rating.RatingEvent.RATING_UPDATED, updatedRating.getUpdatedAt(), oldRating, updatedRating);
             return convert(updatedRating);
         } catch (TechnicalException ex) {
@@ -232,6 +271,7 @@ public class RatingServiceImpl extends AbstractService implements RatingService
         try {
             Rating rating = findById(id);
             ratingRepository.delete(id);
+            summaries.asMap().computeIfPresent(rating.getApi(), (api, aggregate) -> aggregate.remove(rating.getRate()));
             auditService.createApiAuditLog(rating.getApi(), null, Rating.RatingEvent.RATING_DELETED, new Date(), rating, null);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to delete rating {}", id, ex);
@@ -337,4 +377,63 @@ public class RatingServiceImpl extends AbstractService implements RatingService
         rating.setUpdatedAt(now);
         return rating;
     }
+
+    private static RatingSummaryEntity convert(final String api, final RatingAggregate aggregate) {
+        final RatingSummaryEntity ratingSummary = new RatingSummaryEntity();
+        ratingSummary.setApi(api);
+        ratingSummary.setNumberOfRatings(aggregate.count);
+        if (aggregate.count > 0) {
+            ratingSummary.setAverageRate((double) aggregate.sum / aggregate.count);
+        }
+        final Map<Byte, Long> numberOfRatingsByRate = new HashMap<>();
+        for (int rate = 0; rate < aggregate.histogram.length; rate++) {
+            if (aggregate.histogram[rate] > 0) {
+                numberOfRatingsByRate.put((byte) rate, (long) aggregate.histogram[rate]);
+            }
+        }
+        aggregate.outOfRange.forEach((rate, count) -> numberOfRatingsByRate.put(rate, (long) count));
+        ratingSummary.setNumberOfRatingsByRate(numberOfRatingsByRate);
+        return ratingSummary;
+    }
+
+    /**
+     * Immutable count, sum and histogram of the rates of an API. Rates out of the expected range are still counted, in
+     * a separate map which is empty unless ratings have been written with an invalid rate.
+     */
+    private static final class RatingAggregate {
+        private static final int MAX_RATE = 5;
+        private static final RatingAggregate EMPTY = new RatingAggregate(0, 0, new int[MAX_RATE + 1], Collections.emptyMap());
+
+        private final int count;
+        private final long sum;
+        private final int[] histogram;
+        private final Map<Byte, Integer> outOfRange;
+
+        private RatingAggregate(int count, long sum, int[] histogram, Map<Byte, Integer> outOfRange) {
+            this.count = count;
+            this.sum = sum;
+            this.histogram = histogram;
+            this.outOfRange = outOfRange;
+        }
+
+        private RatingAggregate add(byte rate) {
+            return apply(rate, 1);
+        }
+
+        private RatingAggregate remove(byte rate) {
+            return apply(rate, -1);
+        }
+
+        private RatingAggregate apply(byte rate, int delta) {
+            if (rate < 0 || rate > MAX_RATE) {
+                final Map<Byte, Integer> newOutOfRange = new HashMap<>(outOfRange);
+                newOutOfRange.merge(rate, delta, Integer::sum);
+                newOutOfRange.remove(rate, 0);
+                return new RatingAggregate(count + delta, sum + delta * rate, histogram, newOutOfRange);
+            }
+            final int[] newHistogram = histogram.clone();
+            newHistogram[rate] += delta;
+            return new RatingAggregate(count + delta, sum + delta * rate, newHistogram, outOfRange);
+        }
+    }
 }
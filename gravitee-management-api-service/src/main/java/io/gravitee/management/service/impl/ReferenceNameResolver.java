@@ -0,0 +1,291 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
+import io.gravitee.management.model.InstanceListItem;
+import io.gravitee.management.service.InstanceService;
+import io.gravitee.management.service.event.ReferenceNameEvent;
+import io.gravitee.management.service.exceptions.TechnicalManagementException;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.PlanRepository;
+import io.gravitee.repository.management.api.TenantRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.ApplicationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Resolves the metadata (name, version, deleted flag, ...) of the APIs, applications, plans, tenants and gateways
+ * referenced by analytics, logs and health-check results.
+ *
+ * Metadata are read from the repositories, without converting the whole entities, loaded at once for all the
+ * references of a result and cached. Cached metadata are invalidated by {@link ReferenceNameEvent} when an entity is
+ * updated from this node, the TTL bounds the staleness of the changes made from other nodes.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class ReferenceNameResolver implements InitializingBean, EventListener<ReferenceNameEvent, String> {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ReferenceNameResolver.class);
+
+    private static final String APPLICATION_KEYLESS = "1";
+
+    @Autowired
+    private ApiRepository apiRepository;
+    @Autowired
+    private ApplicationRepository applicationRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private TenantRepository tenantRepository;
+    @Autowired
+    private InstanceService instanceService;
+    @Autowired
+    private EventManager eventManager;
+
+    @Value("${analytics.references.cache.ttl:60000}")
+    private long cacheTtl;
+    @Value("${analytics.references.cache.maxSize:10000}")
+    private long cacheMaxSize;
+
+    private LoadingCache<String, Map<String, String>> apis;
+    private LoadingCache<String, Map<String, String>> applications;
+    private LoadingCache<String, Map<String, String>> plans;
+    private LoadingCache<String, Map<String, String>> tenants;
+    private LoadingCache<String, Map<String, String>> gateways;
+
+    @Override
+    public void afterPropertiesSet() {
+        apis = cache(this::loadApis, this::deletedApi);
+        applications = cache(this::loadApplications, this::deletedApplication);
+        plans = cache(this::loadPlans, id -> deleted());
+        tenants = cache(this::loadTenants, id -> deleted());
+        gateways = cache(this::loadGateways, id -> deleted());
+        eventManager.subscribeForEvents(this, ReferenceNameEvent.class);
+    }
+
+    @Override
+    public void onEvent(Event<ReferenceNameEvent, String> event) {
+        switch (event.type()) {
+            case INVALIDATE_API:
+                apis.invalidate(event.content());
+                break;
+            case INVALIDATE_APPLICATION:
+                applications.invalidate(event.content());
+                break;
+            case INVALIDATE_PLAN:
+                plans.invalidate(event.content());
+                break;
+            case INVALIDATE_TENANT:
+                tenants.invalidate(event.content());
+                break;
+        }
+    }
+
+    public Map<String, String> getApiMetadata(String api) {
+        return get(apis, Collections.singleton(api)).get(api);
+    }
+
+    public Map<String, Map<String, String>> getApiMetadata(Collection<String> apis) {
+        return get(this.apis, apis);
+    }
+
+    public Map<String, String> getApplicationMetadata(String application) {
+        return get(applications, Collections.singleton(application)).get(application);
+    }
+
+    public Map<String, Map<String, String>> getApplicationMetadata(Collection<String> applications) {
+        return get(this.applications, applications);
+    }
+
+    public Map<String, String> getPlanMetadata(String plan) {
+        return get(plans, Collections.singleton(plan)).get(plan);
+    }
+
+    public Map<String, Map<String, String>> getPlanMetadata(Collection<String> plans) {
+        return get(this.plans, plans);
+    }
+
+    public Map<String, String> getTenantMetadata(String tenant) {
+        return get(tenants, Collections.singleton(tenant)).get(tenant);
+    }
+
+    public Map<String, Map<String, String>> getTenantMetadata(Collection<String> tenants) {
+        return get(this.tenants, tenants);
+    }
+
+    public Map<String, String> getGatewayMetadata(String gateway) {
+        return get(gateways, Collections.singleton(gateway)).get(gateway);
+    }
+
+    public Map<String, Map<String, String>> getGatewayMetadata(Collection<String> gateways) {
+        return get(this.gateways, gateways);
+    }
+
+    private Map<String, Map<String, String>> get(LoadingCache<String, Map<String, String>> cache, Collection<String> ids) {
+        try {
+            return cache.getAll(ids);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof TechnicalManagementException) {
+                throw (TechnicalManagementException) e.getCause();
+            }
+            throw new TechnicalManagementException("An error occurs while trying to resolve references " + ids, e.getCause());
+        }
+    }
+
+    private LoadingCache<String, Map<String, String>> cache(Function<Set<String>, Map<String, Map<String, String>>> loader,
+                                                           Function<String, Map<String, String>> missing) {
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(cacheTtl, TimeUnit.MILLISECONDS)
+                .maximumSize(cacheMaxSize)
+                .build(new CacheLoader<String, Map<String, String>>() {
+                    @Override
+                    public Map<String, String> load(String id) {
+                        return loadAll(Collections.singleton(id)).get(id);
+                    }
+
+                    @Override
+                    public Map<String, Map<String, String>> loadAll(Iterable<? extends String> ids) {
+                        final Set<String> keys = Sets.newHashSet(ids);
+                        final Map<String, Map<String, String>> metadata = new HashMap<>(loader.apply(keys));
+                        keys.forEach(id -> metadata.computeIfAbsent(id, missing));
+                        return metadata;
+                    }
+                });
+    }
+
+    private Map<String, Map<String, String>> loadApis(Set<String> ids) {
+        try {
+            final Map<String, Map<String, String>> metadata = new HashMap<>();
+            apiRepository.search(new ApiCriteria.Builder().ids(ids.toArray(new String[0])).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build())
+                    .forEach(api -> {
+                        Map<String, String> apiMetadata = new HashMap<>();
+                        apiMetadata.put("name", api.getName());
+                        apiMetadata.put("version", api.getVersion());
+                        metadata.put(api.getId(), Collections.unmodifiableMap(apiMetadata));
+                    });
+            return metadata;
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find APIs {}", ids, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find APIs " + ids, ex);
+        }
+    }
+
+    private Map<String, Map<String, String>> loadApplications(Set<String> ids) {
+        try {
+            final Map<String, Map<String, String>> metadata = new HashMap<>();
+            applicationRepository.findByIds(new ArrayList<>(ids)).forEach(application -> {
+                Map<String, String> applicationMetadata = new HashMap<>();
+                applicationMetadata.put("name", application.getName());
+                if (ApplicationStatus.ARCHIVED.equals(application.getStatus())) {
+                    applicationMetadata.put("deleted", "true");
+                }
+                metadata.put(application.getId(), Collections.unmodifiableMap(applicationMetadata));
+            });
+            return metadata;
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find applications {}", ids, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find applications " + ids, ex);
+        }
+    }
+
+    private Map<String, Map<String, String>> loadPlans(Set<String> ids) {
+        // plans can only be found one by one
+        final Map<String, Map<String, String>> metadata = new HashMap<>();
+        for (String id : ids) {
+            try {
+                planRepository.findById(id).ifPresent(plan ->
+                        metadata.put(id, Collections.singletonMap("name", plan.getName())));
+            } catch (TechnicalException ex) {
+                LOGGER.error("An error occurs while trying to find plan {}", id, ex);
+                throw new TechnicalManagementException("An error occurs while trying to find plan " + id, ex);
+            }
+        }
+        return metadata;
+    }
+
+    private Map<String, Map<String, String>> loadTenants(Set<String> ids) {
+        try {
+            // tenants are few, they are all loaded at once
+            final Map<String, Map<String, String>> metadata = new HashMap<>();
+            tenantRepository.findAll().forEach(tenant ->
+                    metadata.put(tenant.getId(), Collections.singletonMap("name", tenant.getName())));
+            return metadata;
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find tenants {}", ids, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find tenants " + ids, ex);
+        }
+    }
+
+    private Map<String, Map<String, String>> loadGateways(Set<String> ids) {
+        final Collection<InstanceListItem> instances = ids.size() == 1 ?
+                instanceService.findInstances(true, ids.iterator().next()) : instanceService.findInstances(true);
+
+        final Map<String, Map<String, String>> metadata = new HashMap<>();
+        for (InstanceListItem instance : instances) {
+            if (ids.contains(instance.getId())) {
+                Map<String, String> instanceMetadata = new HashMap<>();
+                instanceMetadata.put("hostname", instance.getHostname());
+                instanceMetadata.put("ip", instance.getIp());
+                if (instance.getTenant() != null) {
+                    instanceMetadata.put("tenant", instance.getTenant());
+                }
+                metadata.putIfAbsent(instance.getId(), Collections.unmodifiableMap(instanceMetadata));
+            }
+        }
+        return metadata;
+    }
+
+    private Map<String, String> deletedApi(String id) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("name", "Deleted API");
+        metadata.put("deleted", "true");
+        return Collections.unmodifiableMap(metadata);
+    }
+
+    private Map<String, String> deletedApplication(String id) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("deleted", "true");
+        metadata.put("name", APPLICATION_KEYLESS.equals(id) ? "Unknown application (keyless)" : "Deleted application");
+        return Collections.unmodifiableMap(metadata);
+    }
+
+    private Map<String, String> deleted() {
+        return Collections.singletonMap("deleted", "true");
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service.impl;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.NewRoleEntity;
 import io.gravitee.management.model.RoleEntity;
 import io.gravitee.management.model.UpdateRoleEntity;
@@ -22,6 +23,7 @@ import io.gravitee.management.model.permissions.*;
 import io.gravitee.management.service.AuditService;
 import io.gravitee.management.service.MembershipService;
 import io.gravitee.management.service.RoleService;
+import io.gravitee.management.service.event.PermissionEvent;
 import io.gravitee.management.service.exceptions.*;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.RoleRepository;
@@ -60,6 +62,9 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private EventManager eventManager;
+
     @Override
     public RoleEntity findById(final RoleScope scope, final String name) {
         try {
@@ -188,6 +193,7 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
                     updatedRole.getUpdatedAt(),
                     role,
                     updatedRole);
+            eventManager.publishEvent(PermissionEvent.INVALIDATE_ALL, null);
             if (entity.isDefaultRole()) {
                 toggleDefaultRole(scope, entity.getName());
             }
@@ -270,22 +276,25 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
 
     @Override
     public boolean hasPermission(Map<String, char[]> userPermissions, Permission permission, RolePermissionAction[] acls) {
-        boolean hasPermission = false;
-        if (userPermissions != null) {
-            Iterator<Map.Entry<String, char[]>> it = userPermissions.entrySet().iterator();
-            while (it.hasNext() && !hasPermission) {
-                Map.Entry<String, char[]> entry = it.next();
-                if (permission.getName().equals(entry.getKey())) {
-                    String crud = Arrays.toString(entry.getValue());
-                    for (RolePermissionAction perm : acls) {
-                        if (crud.indexOf(perm.getId()) != -1) {
-                            hasPermission = true;
-                        }
+        if (userPermissions == null) {
+            return false;
+        }
+        char[] crud = userPermissions.get(permission.getName());
+        if (crud != null) {
+            for (char c : crud) {
+                for (RolePermissionAction acl : acls) {
+                    if (c == acl.getId()) {
+                        return true;
                     }
                 }
             }
         }
-        return hasPermission;
+        return false;
+    }
+
+    @Override
+    public boolean hasPermission(MemberPermissions userPermissions, Permission permission, RolePermissionAction[] acls) {
+        return userPermissions != null && userPermissions.has(permission, acls);
     }
 
     private void toggleDefaultRole(RoleScope scope, String newDefaultRoleName) throws TechnicalException {
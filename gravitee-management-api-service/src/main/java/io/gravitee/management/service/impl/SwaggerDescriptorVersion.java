@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+
+import java.io.IOException;
+
+/**
+ * Version of a Swagger / OpenAPI descriptor, detected from its top-level fields (<code>swaggerVersion</code>,
+ * <code>swagger: "2.0"</code> or <code>openapi: 3.x</code>) with a streaming parser, without building the whole
+ * document, so that the descriptor is only given to the parser of its version.
+ *
+ * @author GraviteeSource Team
+ */
+public enum SwaggerDescriptorVersion {
+
+    V1, V2, V3;
+
+    /**
+     * @return the version of the JSON or YAML descriptor, or <code>null</code> if it can not be detected.
+     */
+    public static SwaggerDescriptorVersion detect(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        final JsonFactory factory = isJson(content) ? Json.mapper().getFactory() : Yaml.mapper().getFactory();
+        try (JsonParser parser = factory.createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "swaggerVersion":
+                        return V1;
+                    case "swagger":
+                        return value.isScalarValue() && parser.getText().startsWith("2") ? V2 : null;
+                    case "openapi":
+                        return value.isScalarValue() && parser.getText().startsWith("3") ? V3 : null;
+                    default:
+                        // Values of the other fields are skipped without being read
+                        parser.skipChildren();
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Not a well-formed descriptor
+        }
+        return null;
+    }
+
+    private static boolean isJson(String content) {
+        for (int i = 0; i < content.length(); i++) {
+            final char c = content.charAt(i);
+            if (!Character.isWhitespace(c) && c != '\uFEFF') {
+                return c == '{';
+            }
+        }
+        return false;
+    }
+}
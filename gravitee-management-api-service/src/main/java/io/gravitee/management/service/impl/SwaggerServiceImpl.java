@@ -16,7 +16,9 @@
 package io.gravitee.management.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.gravitee.common.http.MediaType;
 import io.gravitee.management.model.ImportSwaggerDescriptorEntity;
 import io.gravitee.management.model.PageEntity;
@@ -26,12 +28,17 @@ import io.gravitee.management.model.api.SwaggerVerb;
 import io.gravitee.management.service.SwaggerService;
 import io.gravitee.management.service.exceptions.SwaggerDescriptorException;
 import io.swagger.models.*;
+import io.swagger.models.apideclaration.ApiDeclaration;
 import io.swagger.models.properties.ObjectProperty;
 import io.swagger.models.properties.Property;
 import io.swagger.models.properties.RefProperty;
+import io.swagger.models.resourcelisting.ResourceListing;
 import io.swagger.parser.SwaggerCompatConverter;
 import io.swagger.parser.SwaggerParser;
 import io.swagger.parser.util.RemoteUrl;
+import io.swagger.report.MessageBuilder;
+import io.swagger.transform.migrate.ApiDeclarationMigrator;
+import io.swagger.transform.migrate.ResourceListingMigrator;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -51,9 +58,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -87,17 +91,29 @@ public class SwaggerServiceImpl implements SwaggerService {
     public NewSwaggerApiEntity prepare(ImportSwaggerDescriptorEntity swaggerDescriptor) {
         NewSwaggerApiEntity apiEntity;
 
-        // try to read swagger in version 2
-        apiEntity = prepareV2(swaggerDescriptor);
+        // remote descriptors are read by the parsers themselves, so that their relative references are resolved
+        final SwaggerDescriptorVersion version = swaggerDescriptor.getType() == ImportSwaggerDescriptorEntity.Type.INLINE ?
+                SwaggerDescriptorVersion.detect(swaggerDescriptor.getPayload()) : null;
 
-        // try to read swagger in version 3 (openAPI)
-        if (apiEntity == null) {
+        if (version == SwaggerDescriptorVersion.V1) {
+            apiEntity = prepareV1(swaggerDescriptor);
+        } else if (version == SwaggerDescriptorVersion.V2) {
+            apiEntity = prepareV2(swaggerDescriptor);
+        } else if (version == SwaggerDescriptorVersion.V3) {
             apiEntity = prepareV3(swaggerDescriptor);
-        }
+        } else {
+            // try to read swagger in version 2
+            apiEntity = prepareV2(swaggerDescriptor);
 
-        // try to read swagger in version 1
-        if (apiEntity == null) {
-            apiEntity = prepareV1(swaggerDescriptor);
+            // try to read swagger in version 3 (openAPI)
+            if (apiEntity == null) {
+                apiEntity = prepareV3(swaggerDescriptor);
+            }
+
+            // try to read swagger in version 1
+            if (apiEntity == null) {
+                apiEntity = prepareV1(swaggerDescriptor);
+            }
         }
 
         if (apiEntity == null) {
@@ -112,15 +128,7 @@ public class SwaggerServiceImpl implements SwaggerService {
         try {
             logger.info("Loading an old Swagger descriptor from {}", swaggerDescriptor.getPayload());
             if (swaggerDescriptor.getType() == ImportSwaggerDescriptorEntity.Type.INLINE) {
-                File temp = null;
-                try {
-                    temp = createTmpSwagger1File(swaggerDescriptor.getPayload());
-                    apiEntity = mapSwagger12ToNewApi(new SwaggerCompatConverter().read(temp.getAbsolutePath()), swaggerDescriptor.isWithPolicyMocks());
-                } finally {
-                    if (temp != null) {
-                        temp.delete();
-                    }
-                }
+                apiEntity = mapSwagger12ToNewApi(new InlineSwaggerCompatConverter(swaggerDescriptor.getPayload()).read(), swaggerDescriptor.isWithPolicyMocks());
             } else {
                 apiEntity = mapSwagger12ToNewApi(new SwaggerCompatConverter().read(swaggerDescriptor.getPayload()), swaggerDescriptor.isWithPolicyMocks());
             }
@@ -160,14 +168,25 @@ public class SwaggerServiceImpl implements SwaggerService {
                 && page.getConfiguration().get("tryItURL") != null
                 && !page.getConfiguration().get("tryItURL").isEmpty()) {
 
-            Object swagger = transformV2(page.getContent(), page.getConfiguration());
+            final SwaggerDescriptorVersion version = SwaggerDescriptorVersion.detect(page.getContent());
+            Object swagger;
 
-            if (swagger == null) {
+            if (version == SwaggerDescriptorVersion.V1) {
                 swagger = transformV1(page.getContent(), page.getConfiguration());
-            }
-
-            if (swagger == null) {
+            } else if (version == SwaggerDescriptorVersion.V2) {
+                swagger = transformV2(page.getContent(), page.getConfiguration());
+            } else if (version == SwaggerDescriptorVersion.V3) {
                 swagger = transformV3(page.getContent(), page.getConfiguration());
+            } else {
+                swagger = transformV2(page.getContent(), page.getConfiguration());
+
+                if (swagger == null) {
+                    swagger = transformV1(page.getContent(), page.getConfiguration());
+                }
+
+                if (swagger == null) {
+                    swagger = transformV3(page.getContent(), page.getConfiguration());
+                }
             }
 
             if (swagger == null) {
@@ -190,45 +209,10 @@ public class SwaggerServiceImpl implements SwaggerService {
         }
     }
 
-    private File createTmpSwagger1File(String content) {
-        // Create temporary file for Swagger parser (only for descriptor version < 2.x)
-        File temp = null;
-        String fileName = "gio_swagger_" + System.currentTimeMillis();
-        BufferedWriter bw = null;
-        FileWriter out = null;
-        Swagger swagger = null;
-        try {
-            temp = File.createTempFile(fileName, ".tmp");
-            out = new FileWriter(temp);
-            bw = new BufferedWriter(out);
-            bw.write(content);
-            bw.close();
-        } catch (IOException ioe) {
-            // Fallback to the new parser
-        } finally {
-            if (bw != null) {
-                try {
-                    bw.close();
-                } catch (IOException e) {
-                }
-            }
-            if (out != null) {
-                try {
-                    out.close();
-                } catch (IOException e) {
-                }
-            }
-        }
-        return temp;
-    }
-
     private Swagger transformV1(String content, Map<String, String> config) {
-        // Create temporary file for Swagger parser (only for descriptor version < 2.x)
-        File temp = null;
         Swagger swagger = null;
         try {
-            temp = createTmpSwagger1File(content);
-            swagger = new SwaggerCompatConverter().read(temp.getAbsolutePath());
+            swagger = new InlineSwaggerCompatConverter(content).read();
             if (swagger != null && config != null && config.get("tryItURL") != null) {
                 URI newURI = URI.create(config.get("tryItURL"));
                 swagger.setSchemes(Collections.singletonList(Scheme.forValue(newURI.getScheme())));
@@ -237,10 +221,6 @@ public class SwaggerServiceImpl implements SwaggerService {
             }
         } catch (IOException ioe) {
             // Fallback to the new parser
-        } finally {
-            if (temp != null) {
-                temp.delete();
-            }
         }
         return swagger;
     }
@@ -258,7 +238,7 @@ public class SwaggerServiceImpl implements SwaggerService {
 
     private OpenAPI transformV3(String content, Map<String, String> config) {
         SwaggerParseResult result = new OpenAPIV3Parser().readContents(content, null, null);
-        if (result != null && config != null && config.get("tryItURL") != null) {
+        if (result != null && result.getOpenAPI() != null && config != null && config.get("tryItURL") != null) {
             URI newURI = URI.create(config.get("tryItURL"));
             result.getOpenAPI().getServers().forEach(server -> {
                 try {
@@ -523,4 +503,64 @@ public class SwaggerServiceImpl implements SwaggerService {
     private Map<String, Object> getResponseExample(final Map<String, Schema> properties) {
         return properties.entrySet().stream().collect(toMap(Map.Entry::getKey, e -> e.getValue().getExample()));
     }
+
+    /**
+     * Reads a Swagger 1.x descriptor from its content instead of a location. The descriptor is both the resource
+     * listing and the API declaration, as for the descriptors read from a file.
+     */
+    private final class InlineSwaggerCompatConverter extends SwaggerCompatConverter {
+
+        private static final String LOCATION = "inline";
+
+        private final JsonNode descriptor;
+
+        private InlineSwaggerCompatConverter(String content) throws IOException {
+            this.descriptor = io.swagger.util.Json.mapper().readTree(content);
+        }
+
+        private Swagger read() throws IOException {
+            return read(LOCATION, null);
+        }
+
+        @Override
+        public ResourceListing readResourceListing(String input, MessageBuilder messages,
+                                                   List<io.swagger.models.auth.AuthorizationValue> auths) {
+            if (!LOCATION.equals(input)) {
+                return super.readResourceListing(input, messages, auths);
+            }
+            if (descriptor == null || descriptor.get("swaggerVersion") == null) {
+                return null;
+            }
+            try {
+                return io.swagger.util.Json.mapper().convertValue(
+                        new ResourceListingMigrator().migrate(messages, descriptor.deepCopy()), ResourceListing.class);
+            } catch (IllegalArgumentException iae) {
+                return null;
+            } catch (Exception ex) {
+                logger.error("Can not read old Swagger resource listing", ex);
+                return null;
+            }
+        }
+
+        @Override
+        public ApiDeclaration readDeclaration(String input, MessageBuilder messages,
+                                              List<io.swagger.models.auth.AuthorizationValue> auths) {
+            if (!LOCATION.equals(input)) {
+                return super.readDeclaration(input, messages, auths);
+            }
+            try {
+                final JsonNode declaration = descriptor.deepCopy();
+                if (declaration.isObject()) {
+                    ((ObjectNode) declaration).remove("authorizations");
+                }
+                return io.swagger.util.Json.mapper().convertValue(
+                        new ApiDeclarationMigrator().migrate(messages, declaration), ApiDeclaration.class);
+            } catch (IllegalArgumentException iae) {
+                return null;
+            } catch (Exception ex) {
+                logger.error("Can not read old Swagger API declaration", ex);
+                return null;
+            }
+        }
+    }
 }
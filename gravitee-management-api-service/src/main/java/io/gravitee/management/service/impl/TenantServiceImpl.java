@@ -15,12 +15,14 @@
  */
 package io.gravitee.management.service.impl;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.utils.IdGenerator;
 import io.gravitee.management.model.NewTenantEntity;
 import io.gravitee.management.model.TenantEntity;
 import io.gravitee.management.model.UpdateTenantEntity;
 import io.gravitee.management.service.AuditService;
 import io.gravitee.management.service.TenantService;
+import io.gravitee.management.service.event.ReferenceNameEvent;
 import io.gravitee.management.service.exceptions.DuplicateTenantNameException;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.management.service.exceptions.TenantNotFoundException;
@@ -55,6 +57,9 @@ public class TenantServiceImpl extends TransactionalService implements TenantSer
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private EventManager eventManager;
+
     @Override
     public TenantEntity findById(String tenantId) {
         try {
@@ -105,6 +110,7 @@ public class TenantServiceImpl extends TransactionalService implements TenantSer
             try {
                 Tenant tenant = convert(tenantEntity);
                 savedTenants.add(convert(tenantRepository.create(tenant)));
+                eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_TENANT, tenant.getId());
                 auditService.createPortalAuditLog(
                         Collections.singletonMap(TENANT, tenant.getId()),
                         TENANT_CREATED,
@@ -128,6 +134,7 @@ public class TenantServiceImpl extends TransactionalService implements TenantSer
                 Optional<Tenant> tenantOptional = tenantRepository.findById(tenant.getId());
                 if (tenantOptional.isPresent()) {
                     savedTenants.add(convert(tenantRepository.update(tenant)));
+                    eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_TENANT, tenant.getId());
                     auditService.createPortalAuditLog(
                             Collections.singletonMap(TENANT, tenant.getId()),
                             TENANT_UPDATED,
@@ -156,6 +163,7 @@ public class TenantServiceImpl extends TransactionalService implements TenantSer
                         null,
                         tenantOptional.get());
                 tenantRepository.delete(tenantId);
+                eventManager.publishEvent(ReferenceNameEvent.INVALIDATE_TENANT, tenantId);
             }
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to delete tenant {}", tenantId, ex);
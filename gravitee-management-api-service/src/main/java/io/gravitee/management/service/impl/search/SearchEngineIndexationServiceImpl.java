@@ -0,0 +1,352 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl.search;
+
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.management.model.PageEntity;
+import io.gravitee.management.model.PageType;
+import io.gravitee.management.model.UserEntity;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.model.api.ApiQuery;
+import io.gravitee.management.model.common.PageableImpl;
+import io.gravitee.management.model.documentation.PageQuery;
+import io.gravitee.management.model.search.IndexationProgressEntity;
+import io.gravitee.management.model.search.Indexable;
+import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.PageService;
+import io.gravitee.management.service.UserService;
+import io.gravitee.management.service.impl.search.lucene.DocumentTransformer;
+import io.gravitee.management.service.impl.search.lucene.SearchEngineIndexer;
+import io.gravitee.management.service.search.SearchEngineIndexationService;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.search.UserCriteria;
+import io.gravitee.repository.management.model.UserStatus;
+import org.apache.lucene.document.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bulk indexation: entities are read page by page from the repositories, documents are built in parallel by a pool
+ * of workers and added to the index by batch. The index is committed only once, at the end of the indexation.
+ *
+ * When the index is persistent (<code>search.persistent</code>), the last indexed update date of each document type
+ * is stored along with the index commit. The next indexation only (re)indexes the entities updated since then and
+ * removes from the index the documents whose entity does not exist anymore.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class SearchEngineIndexationServiceImpl implements SearchEngineIndexationService {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(SearchEngineIndexationServiceImpl.class);
+
+    /**
+     * Version of the documents structure. Must be increased each time the way documents are built changes so that
+     * persistent indexes are fully rebuilt.
+     */
+    private final static String INDEX_VERSION = "4";
+    private final static String COMMIT_DATA_VERSION = "version";
+    private final static String COMMIT_DATA_UPDATED_AT = ".updatedAt";
+
+    private final static String API_TYPE = "api";
+    private final static String PAGE_TYPE = "page";
+    private final static String USER_TYPE = "user";
+
+    @Autowired
+    private ApiService apiService;
+
+    @Autowired
+    private PageService pageService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SearchEngineIndexer indexer;
+
+    @Autowired
+    private Collection<DocumentTransformer> transformers;
+
+    @Value("${search.persistent:false}")
+    private boolean persistent;
+
+    @Value("${search.bulk.pageSize:100}")
+    private int pageSize;
+
+    @Value("${search.bulk.workers:0}")
+    private int workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile IndexationProgressEntity.Status status = IndexationProgressEntity.Status.IDLE;
+    private volatile boolean incremental;
+    private volatile Date startedAt;
+    private volatile Date endedAt;
+    private volatile String error;
+    private final AtomicLong totalApis = new AtomicLong();
+    private final AtomicLong indexedApis = new AtomicLong();
+    private final AtomicLong indexedPages = new AtomicLong();
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong indexedUsers = new AtomicLong();
+
+    @Async
+    @Override
+    public void indexAll() {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("An indexation is already running, skipping");
+            return;
+        }
+
+        Map<String, String> commitData = indexer.getCommitData();
+        reset(persistent && INDEX_VERSION.equals(commitData.get(COMMIT_DATA_VERSION)));
+        logger.info("{} indexation of the search engine started", incremental ? "Incremental" : "Full");
+
+        int nbWorkers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(nbWorkers, new CustomizableThreadFactory("search-indexation-"));
+
+        indexer.startBulk();
+        try {
+            if (persistent && !incremental) {
+                // The persistent index has been built by a previous version, documents must be rebuilt from scratch
+                indexer.removeAll();
+            }
+
+            DocumentType apis = new DocumentType(API_TYPE, commitData);
+            DocumentType pages = new DocumentType(PAGE_TYPE, commitData);
+            DocumentType users = new DocumentType(USER_TYPE, commitData);
+
+            indexApis(executor, apis, pages);
+            indexUsers(executor, users);
+
+            if (incremental) {
+                removeDeleted(apis);
+                removeDeleted(pages);
+                removeDeleted(users);
+            }
+
+            if (persistent) {
+                Map<String, String> data = new HashMap<>();
+                data.put(COMMIT_DATA_VERSION, INDEX_VERSION);
+                apis.store(data);
+                pages.store(data);
+                users.store(data);
+                indexer.setCommitData(data);
+            }
+
+            status = IndexationProgressEntity.Status.DONE;
+        } catch (Exception ex) {
+            logger.error("An error occurs while indexing the search engine", ex);
+            error = ex.getMessage();
+            status = IndexationProgressEntity.Status.FAILED;
+        } finally {
+            try {
+                indexer.endBulk();
+            } catch (TechnicalException te) {
+                logger.error("An error occurs while committing the search engine index", te);
+                error = te.getMessage();
+                status = IndexationProgressEntity.Status.FAILED;
+            }
+            executor.shutdown();
+            endedAt = new Date();
+            running.set(false);
+        }
+
+        logger.info("Indexation of the search engine ended in {} ms: {} APIs, {} pages and {} users indexed",
+                endedAt.getTime() - startedAt.getTime(), indexedApis.get(), indexedPages.get(), indexedUsers.get());
+    }
+
+    @Override
+    public IndexationProgressEntity getProgress() {
+        IndexationProgressEntity progress = new IndexationProgressEntity();
+        progress.setStatus(status);
+        progress.setIncremental(incremental);
+        progress.setStartedAt(startedAt);
+        progress.setEndedAt(endedAt);
+        progress.setError(error);
+        progress.setTotalApis(totalApis.get());
+        progress.setIndexedApis(indexedApis.get());
+        progress.setIndexedPages(indexedPages.get());
+        progress.setTotalUsers(totalUsers.get());
+        progress.setIndexedUsers(indexedUsers.get());
+        return progress;
+    }
+
+    private void indexApis(ExecutorService executor, DocumentType apis, DocumentType pages) throws Exception {
+        int pageNumber = 1;
+        long fetched = 0;
+        Page<ApiEntity> page;
+
+        do {
+            page = apiService.search(new ApiQuery(), new PageableImpl(pageNumber++, pageSize));
+            totalApis.set(page.getTotalElements());
+            fetched += page.getPageElements();
+
+            indexer.index(transform(executor, page.getContent(), api -> transformApi(api, apis, pages)));
+        } while (page.getPageElements() > 0 && fetched < page.getTotalElements());
+    }
+
+    private void indexUsers(ExecutorService executor, DocumentType users) throws Exception {
+        int pageNumber = 1;
+        long fetched = 0;
+        Page<UserEntity> page;
+
+        do {
+            page = userService.search(
+                    new UserCriteria.Builder().statuses(UserStatus.ACTIVE).build(),
+                    new PageableImpl(pageNumber++, pageSize));
+            totalUsers.set(page.getTotalElements());
+            fetched += page.getPageElements();
+
+            indexer.index(transform(executor, page.getContent(), user -> {
+                if (!users.changed(user.getId(), user.getUpdatedAt())) {
+                    return Collections.emptyList();
+                }
+                List<Document> documents = transform(user);
+                indexedUsers.addAndGet(documents.size());
+                return documents;
+            }));
+        } while (page.getPageElements() > 0 && fetched < page.getTotalElements());
+    }
+
+    private List<Document> transformApi(ApiEntity api, DocumentType apis, DocumentType pages) {
+        List<Document> documents = new ArrayList<>();
+        boolean apiChanged = apis.changed(api.getId(), api.getUpdatedAt());
+        if (apiChanged) {
+            documents.addAll(transform(api));
+            indexedApis.incrementAndGet();
+        }
+
+        List<PageEntity> apiPages = pageService.search(new PageQuery.Builder().api(api.getId()).published(true).build());
+        for (PageEntity page : apiPages) {
+            if (!PageType.FOLDER.name().equals(page.getType()) && !PageType.ROOT.name().equals(page.getType())) {
+                // Page content may depend on the API (templating), so pages are re-indexed along with their API
+                boolean pageChanged = pages.changed(page.getId(), page.getLastModificationDate());
+                if (apiChanged || pageChanged) {
+                    try {
+                        pageService.transformSwagger(page, api.getId());
+                        List<Document> pageDocuments = transform(page);
+                        documents.addAll(pageDocuments);
+                        indexedPages.addAndGet(pageDocuments.size());
+                    } catch (Exception ex) {
+                        logger.debug("Unable to index page {} of API {}", page.getId(), api.getId(), ex);
+                    }
+                }
+            }
+        }
+
+        return documents;
+    }
+
+    private void removeDeleted(DocumentType type) throws TechnicalException {
+        Set<String> deleted = indexer.getIds(type.name);
+        deleted.removeAll(type.ids);
+        // Entities created or updated during the indexation, after their page was read, have been indexed meanwhile
+        deleted.removeAll(indexer.getIdsIndexedDuringBulk());
+        if (!deleted.isEmpty()) {
+            logger.debug("Removing {} deleted {} document(s) from the index", deleted.size(), type.name);
+            indexer.remove(deleted);
+        }
+    }
+
+    private <T> List<Document> transform(ExecutorService executor, Collection<T> sources,
+                                         Function<T, List<Document>> transformer) throws Exception {
+        List<Future<List<Document>>> futures = new ArrayList<>(sources.size());
+        for (T source : sources) {
+            futures.add(executor.submit(() -> transformer.apply(source)));
+        }
+
+        List<Document> documents = new ArrayList<>();
+        for (Future<List<Document>> future : futures) {
+            documents.addAll(future.get());
+        }
+        return documents;
+    }
+
+    private List<Document> transform(Indexable source) {
+        return transformers.stream()
+                .filter(transformer -> transformer.handle(source.getClass()))
+                .findFirst()
+                .map(transformer -> Collections.singletonList(transformer.transform(source)))
+                .orElse(Collections.emptyList());
+    }
+
+    private void reset(boolean incremental) {
+        this.incremental = incremental;
+        status = IndexationProgressEntity.Status.RUNNING;
+        startedAt = new Date();
+        endedAt = null;
+        error = null;
+        totalApis.set(0);
+        indexedApis.set(0);
+        indexedPages.set(0);
+        totalUsers.set(0);
+        indexedUsers.set(0);
+    }
+
+    /**
+     * Tracks, for a type of document, the entities seen during the indexation and the last update date indexed.
+     */
+    private class DocumentType {
+
+        private final String name;
+        private final long since;
+        private final AtomicLong highWaterMark;
+        private final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        DocumentType(String name, Map<String, String> commitData) {
+            this.name = name;
+            String lastUpdatedAt = commitData.get(name + COMMIT_DATA_UPDATED_AT);
+            this.since = incremental && lastUpdatedAt != null ? Long.parseLong(lastUpdatedAt) : 0;
+            this.highWaterMark = new AtomicLong(since);
+        }
+
+        /**
+         * @return <code>true</code> if the entity has been updated since the previous indexation.
+         */
+        boolean changed(String id, Date updatedAt) {
+            ids.add(id);
+            if (updatedAt == null) {
+                return true;
+            }
+
+            long time = updatedAt.getTime();
+            highWaterMark.accumulateAndGet(time, Math::max);
+            // Entities updated in the same millisecond than the high-water mark are re-indexed to be safe
+            return time >= since;
+        }
+
+        void store(Map<String, String> commitData) {
+            commitData.put(name + COMMIT_DATA_UPDATED_AT, Long.toString(highWaterMark.get()));
+        }
+    }
+}
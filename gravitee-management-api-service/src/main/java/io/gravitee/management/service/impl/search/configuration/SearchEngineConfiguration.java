@@ -16,10 +16,14 @@
 package io.gravitee.management.service.impl.search.configuration;
 
 import io.gravitee.management.service.impl.search.lucene.SearchEngineIndexer;
+import io.gravitee.management.service.impl.search.lucene.analyzer.NGramAnalyzer;
+import io.gravitee.management.service.impl.search.lucene.analyzer.PositionalNGramAnalyzer;
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.springframework.beans.factory.annotation.Value;
@@ -29,6 +33,8 @@ import org.springframework.context.annotation.Configuration;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -40,6 +46,9 @@ public class SearchEngineConfiguration {
     @Value("${search.data:${gravitee.home}/data}")
     private String indexDirectory;
 
+    @Value("${search.persistent:false}")
+    private boolean persistent;
+
     @Bean
     public SearchEngineIndexer searchEngineIndexer() {
         return new SearchEngineIndexer();
@@ -58,13 +67,26 @@ public class SearchEngineConfiguration {
     @Bean
     public IndexWriter indexWriter(Directory directory, Analyzer analyzer) throws IOException {
         IndexWriterConfig iwc = new IndexWriterConfig(analyzer);
-        iwc.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        // A persistent index is kept between restarts and only caught up at startup
+        iwc.setOpenMode(persistent ? IndexWriterConfig.OpenMode.CREATE_OR_APPEND : IndexWriterConfig.OpenMode.CREATE);
 
         return new IndexWriter(directory, iwc);
     }
 
+    @Bean
+    public SearcherManager searcherManager(IndexWriter indexWriter) throws IOException {
+        return new SearcherManager(indexWriter, null);
+    }
+
     @Bean
     public Analyzer analyzer() {
-        return new StandardAnalyzer();
+        // Infix n-grams used for "contains" searches on API name and path
+        Map<String, Analyzer> analyzers = new HashMap<>();
+        analyzers.put("name_ngram", new NGramAnalyzer());
+        analyzers.put("path_ngram", new NGramAnalyzer());
+        analyzers.put("name_ngram_pos", new PositionalNGramAnalyzer());
+        analyzers.put("path_ngram_pos", new PositionalNGramAnalyzer());
+
+        return new PerFieldAnalyzerWrapper(new StandardAnalyzer(), analyzers);
     }
 }
@@ -16,23 +16,44 @@
 package io.gravitee.management.service.impl.search.lucene;
 
 import io.gravitee.repository.exceptions.TechnicalException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
-import org.apache.lucene.search.BooleanClause;
-import org.apache.lucene.search.BooleanQuery;
-import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Write side of the search engine.
+ *
+ * Documents are not committed one by one anymore: changes are made visible to searchers through the near-real-time
+ * {@link SearcherManager} (after each write and / or periodically) and the index is committed to disk either when
+ * enough changes are pending or periodically.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class SearchEngineIndexer {
+public class SearchEngineIndexer implements InitializingBean, DisposableBean, MeterBinder {
 
     /**
      * Logger.
@@ -45,12 +66,89 @@ public class SearchEngineIndexer {
     @Autowired
     private IndexWriter writer;
 
+    @Autowired
+    private SearcherManager searcherManager;
+
+    @Value("${search.refresh.interval:1000}")
+    private long refreshInterval;
+
+    @Value("${search.refresh.onWrite:true}")
+    private boolean refreshOnWrite;
+
+    @Value("${search.commit.interval:5000}")
+    private long commitInterval;
+
+    @Value("${search.commit.batchSize:500}")
+    private int commitBatchSize;
+
+    private final SearchEngineMetrics metrics = new SearchEngineMetrics();
+
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+
+    /**
+     * Timestamp of the oldest write not yet visible by searchers (0 when searchers are up-to-date).
+     */
+    private final AtomicLong dirtySince = new AtomicLong();
+
+    /**
+     * In bulk mode, commits are deferred until the end of the bulk operation.
+     */
+    private volatile boolean bulk;
+
+    /**
+     * IDs of the documents indexed one by one (not by the bulk operation itself) since the bulk mode was started.
+     */
+    private final Set<String> indexedDuringBulk = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("search-indexer-");
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+
+        if (refreshInterval > 0) {
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    refresh(true);
+                } catch (IOException ioe) {
+                    logger.error("Unable to refresh the index searcher", ioe);
+                }
+            }, refreshInterval);
+        }
+
+        if (commitInterval > 0) {
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    if (!bulk) {
+                        commit();
+                    }
+                } catch (TechnicalException te) {
+                    logger.error("Unable to commit the index", te);
+                }
+            }, commitInterval);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        commit();
+    }
+
     public long index(Document document) throws TechnicalException {
         logger.debug("Updating a document into the Lucene index");
         String id = document.get(ID_FIELD);
         try {
             long seq = writer.updateDocument(new Term(ID_FIELD, id), document);
-            writer.commit();
+            if (bulk) {
+                indexedDuringBulk.add(id);
+            }
+            afterWrite();
             return seq;
         } catch (IOException ioe) {
             logger.error("Fail to index document with ID: {}", id, ioe);
@@ -70,9 +168,224 @@ public class SearchEngineIndexer {
 
         try {
             writer.deleteDocuments(bq.build());
+            afterWrite();
         } catch (IOException ioe) {
             logger.error("Fail to index document with ID: {}", id, ioe);
             throw new TechnicalException("Fail to index document with ID: " + id, ioe);
         }
     }
+
+    /**
+     * Index a batch of documents at once. Documents are neither made visible to searchers nor committed: this is
+     * done periodically or at the end of the bulk operation (see {@link #endBulk()}).
+     */
+    public void index(Collection<Document> documents) throws TechnicalException {
+        if (documents.isEmpty()) {
+            return;
+        }
+
+        logger.debug("Indexing a batch of {} documents into the Lucene index", documents.size());
+        try {
+            // Replace each document atomically, so that a refresh never exposes a deleted but not yet added document
+            for (Document document : documents) {
+                writer.updateDocument(new Term(ID_FIELD, document.get(ID_FIELD)), document);
+            }
+            dirtySince.compareAndSet(0, System.currentTimeMillis());
+            pendingChanges.addAndGet(documents.size());
+        } catch (IOException ioe) {
+            logger.error("Fail to index a batch of {} documents", documents.size(), ioe);
+            throw new TechnicalException("Fail to index a batch of " + documents.size() + " documents", ioe);
+        }
+    }
+
+    /**
+     * Remove documents by their IDs.
+     */
+    public void remove(Collection<String> ids) throws TechnicalException {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        logger.debug("Removing {} documents from the Lucene index", ids.size());
+        try {
+            writer.deleteDocuments(ids.stream().map(id -> new Term(ID_FIELD, id)).toArray(Term[]::new));
+            dirtySince.compareAndSet(0, System.currentTimeMillis());
+            pendingChanges.addAndGet(ids.size());
+        } catch (IOException ioe) {
+            logger.error("Fail to remove {} documents", ids.size(), ioe);
+            throw new TechnicalException("Fail to remove " + ids.size() + " documents", ioe);
+        }
+    }
+
+    /**
+     * Remove all the documents from the index.
+     */
+    public void removeAll() throws TechnicalException {
+        logger.debug("Removing all documents from the Lucene index");
+        try {
+            writer.deleteAll();
+            dirtySince.compareAndSet(0, System.currentTimeMillis());
+            pendingChanges.incrementAndGet();
+        } catch (IOException ioe) {
+            logger.error("Fail to remove all documents", ioe);
+            throw new TechnicalException("Fail to remove all documents", ioe);
+        }
+    }
+
+    /**
+     * @return the IDs of all the indexed documents of the given type, as seen by the current searcher.
+     */
+    public Set<String> getIds(String type) throws TechnicalException {
+        final Set<String> ids = new HashSet<>();
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            searcher.search(new TermQuery(new Term(TYPE_FIELD, type)), new SimpleCollector() {
+                private LeafReader reader;
+
+                @Override
+                protected void doSetNextReader(LeafReaderContext context) {
+                    reader = context.reader();
+                }
+
+                @Override
+                public void collect(int doc) throws IOException {
+                    ids.add(reader.document(doc).get(ID_FIELD));
+                }
+
+                @Override
+                public boolean needsScores() {
+                    return false;
+                }
+            });
+            return ids;
+        } catch (IOException ioe) {
+            logger.error("Fail to list documents of type {}", type, ioe);
+            throw new TechnicalException("Fail to list documents of type " + type, ioe);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException ioe) {
+                    logger.error("An error occurs while releasing the index searcher", ioe);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the user data stored along with the last commit (or set since then).
+     */
+    public Map<String, String> getCommitData() {
+        Map<String, String> data = new HashMap<>();
+        Iterable<Map.Entry<String, String>> liveCommitData = writer.getLiveCommitData();
+        if (liveCommitData != null) {
+            liveCommitData.forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+        }
+        return data;
+    }
+
+    /**
+     * Set the user data to store along with the next commit.
+     */
+    public void setCommitData(Map<String, String> data) {
+        writer.setLiveCommitData(new HashMap<>(data).entrySet());
+        pendingChanges.incrementAndGet();
+    }
+
+    /**
+     * Switch the indexer to bulk mode: periodic and batch commits are suspended until {@link #endBulk()}.
+     */
+    public void startBulk() {
+        indexedDuringBulk.clear();
+        bulk = true;
+    }
+
+    /**
+     * @return the IDs of the documents indexed one by one, concurrently with the current (or last) bulk operation.
+     */
+    public Set<String> getIdsIndexedDuringBulk() {
+        return Collections.unmodifiableSet(indexedDuringBulk);
+    }
+
+    /**
+     * Leave the bulk mode: pending changes are committed once and made visible to searchers.
+     */
+    public void endBulk() throws TechnicalException {
+        bulk = false;
+        commit();
+
+        try {
+            refresh(true);
+        } catch (IOException ioe) {
+            logger.error("Unable to refresh the index searcher", ioe);
+            throw new TechnicalException("Unable to refresh the index searcher", ioe);
+        }
+    }
+
+    /**
+     * Commit pending changes to the index directory, if any.
+     */
+    public synchronized void commit() throws TechnicalException {
+        int pending = pendingChanges.getAndSet(0);
+        if (pending == 0) {
+            return;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            writer.commit();
+            long time = System.currentTimeMillis() - start;
+            metrics.committed(time);
+            logger.debug("{} change(s) committed into the Lucene index in {} ms", pending, time);
+        } catch (IOException ioe) {
+            pendingChanges.addAndGet(pending);
+            logger.error("Fail to commit the Lucene index", ioe);
+            throw new TechnicalException("Fail to commit the Lucene index", ioe);
+        }
+    }
+
+    public SearchEngineMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.bindTo(registry);
+    }
+
+    private void afterWrite() throws IOException, TechnicalException {
+        dirtySince.compareAndSet(0, System.currentTimeMillis());
+
+        if (refreshOnWrite) {
+            refresh(false);
+        }
+
+        int pending = pendingChanges.incrementAndGet();
+        if (!bulk && commitBatchSize > 0 && pending >= commitBatchSize) {
+            commit();
+        }
+    }
+
+    private void refresh(boolean blocking) throws IOException {
+        long since = dirtySince.getAndSet(0);
+        if (since == 0) {
+            return;
+        }
+
+        boolean refreshed;
+        if (blocking) {
+            searcherManager.maybeRefreshBlocking();
+            refreshed = true;
+        } else {
+            // Another thread may already be refreshing, in which case the periodic refresh will take care of our write
+            refreshed = searcherManager.maybeRefresh();
+        }
+
+        if (refreshed) {
+            metrics.refreshed(System.currentTimeMillis() - since);
+        } else {
+            dirtySince.compareAndSet(0, since);
+        }
+    }
 }
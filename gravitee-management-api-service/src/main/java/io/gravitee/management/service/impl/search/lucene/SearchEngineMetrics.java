@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl.search.lucene;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timings collected by the {@link SearchEngineIndexer} about index refreshes and commits, exposed as
+ * <code>search.index.*</code> meters.
+ *
+ * @author GraviteeSource Team
+ */
+public class SearchEngineMetrics implements MeterBinder {
+
+    private final LongAdder refreshes = new LongAdder();
+    private final AtomicLong lastRefreshLag = new AtomicLong();
+    private final AtomicLong maxRefreshLag = new AtomicLong();
+
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder commitTime = new LongAdder();
+    private final AtomicLong lastCommitTime = new AtomicLong();
+    private final AtomicLong maxCommitTime = new AtomicLong();
+
+    /**
+     * @param lag time (in ms) between the oldest pending write and the moment it became visible to searchers.
+     */
+    void refreshed(long lag) {
+        refreshes.increment();
+        lastRefreshLag.set(lag);
+        maxRefreshLag.accumulateAndGet(lag, Math::max);
+    }
+
+    /**
+     * @param time time (in ms) spent to commit the index.
+     */
+    void committed(long time) {
+        commits.increment();
+        commitTime.add(time);
+        lastCommitTime.set(time);
+        maxCommitTime.accumulateAndGet(time, Math::max);
+    }
+
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    public long getLastRefreshLag() {
+        return lastRefreshLag.get();
+    }
+
+    public long getMaxRefreshLag() {
+        return maxRefreshLag.get();
+    }
+
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    public long getLastCommitTime() {
+        return lastCommitTime.get();
+    }
+
+    public long getMaxCommitTime() {
+        return maxCommitTime.get();
+    }
+
+    public long getTotalCommitTime() {
+        return commitTime.sum();
+    }
+
+    public double getAverageCommitTime() {
+        long count = commits.sum();
+        return count == 0 ? 0 : (double) commitTime.sum() / count;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("search.index.refreshes", this, SearchEngineMetrics::getRefreshes)
+                .description("Refreshes of the index searchers")
+                .register(registry);
+        TimeGauge.builder("search.index.refresh.lag", this, TimeUnit.MILLISECONDS, SearchEngineMetrics::getLastRefreshLag)
+                .description("Time between the oldest pending write and its visibility, for the last refresh")
+                .register(registry);
+        TimeGauge.builder("search.index.refresh.lag.max", this, TimeUnit.MILLISECONDS, SearchEngineMetrics::getMaxRefreshLag)
+                .description("Maximum time between a write and its visibility")
+                .register(registry);
+        FunctionTimer.builder("search.index.commits", this, SearchEngineMetrics::getCommits,
+                SearchEngineMetrics::getTotalCommitTime, TimeUnit.MILLISECONDS)
+                .description("Commits of the index")
+                .register(registry);
+        TimeGauge.builder("search.index.commit.max", this, TimeUnit.MILLISECONDS, SearchEngineMetrics::getMaxCommitTime)
+                .description("Maximum time spent to commit the index")
+                .register(registry);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchEngineMetrics{" +
+                "refreshes=" + getRefreshes() +
+                ", lastRefreshLag=" + getLastRefreshLag() +
+                ", maxRefreshLag=" + getMaxRefreshLag() +
+                ", commits=" + getCommits() +
+                ", lastCommitTime=" + getLastCommitTime() +
+                ", maxCommitTime=" + getMaxCommitTime() +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl.search.lucene.analyzer;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.KeywordTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+
+/**
+ * Index every lower-cased infix (up to {@link #MAX_GRAM} characters) of a value so that "contains" searches can be
+ * done with term queries instead of leading wildcard queries.
+ *
+ * @author GraviteeSource Team
+ */
+public class NGramAnalyzer extends Analyzer {
+
+    public final static int MIN_GRAM = 1;
+    public final static int MAX_GRAM = 10;
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        final Tokenizer tokenizer = new KeywordTokenizer();
+        return new TokenStreamComponents(tokenizer,
+                new NGramTokenFilter(new LowerCaseFilter(tokenizer), MIN_GRAM, MAX_GRAM, false));
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl.search.lucene.analyzer;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+
+/**
+ * Index the lower-cased n-grams of exactly {@link NGramAnalyzer#MAX_GRAM} characters of a value, each one at the
+ * position of its first character, so that "contains" searches longer than the largest n-gram can be done with a
+ * phrase query on contiguous n-grams.
+ *
+ * @author GraviteeSource Team
+ */
+public class PositionalNGramAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        final Tokenizer tokenizer = new NGramTokenizer(NGramAnalyzer.MAX_GRAM, NGramAnalyzer.MAX_GRAM);
+        return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+    }
+}
@@ -22,16 +22,14 @@ import io.gravitee.management.service.impl.search.lucene.analyzer.CustomWhitespa
 import io.gravitee.repository.exceptions.TechnicalException;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.DirectoryReader;
-import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.*;
 import org.apache.lucene.search.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -48,10 +46,16 @@ public abstract class AbstractDocumentSearcher implements DocumentSearcher {
     protected final static String FIELD_ID = "id";
     protected final static String FIELD_TYPE = "type";
 
+    /**
+     * Maximum number of hits collected at once. Deeper pages (and non-paged searches) are walked through with
+     * {@link IndexSearcher#searchAfter(ScoreDoc, Query, int)} so that memory stays bounded.
+     */
+    private final static int MAX_HITS_PER_COLLECT = 1000;
+
     protected Analyzer analyzer = new CustomWhitespaceAnalyzer();
 
     @Autowired
-    protected IndexWriter indexWriter;
+    protected SearcherManager searcherManager;
 
     protected SearchResult search(Query query) throws TechnicalException {
         return search(query, null);
@@ -60,44 +64,136 @@ public abstract class AbstractDocumentSearcher implements DocumentSearcher {
     protected SearchResult search(Query query, Pageable pageable) throws TechnicalException {
         logger.debug("Searching for: {}", query.toString());
 
+        IndexSearcher searcher = null;
         try {
-            IndexSearcher searcher = getIndexSearcher();
-            TopDocs topDocs;
+            searcher = searcherManager.acquire();
+            final List<ScoreDoc> hits = new ArrayList<>();
+            long totalHits;
 
             if (pageable != null) {
-                //TODO: How to find the accurate numhits ?
-                TopScoreDocCollector collector = TopScoreDocCollector.create(1000);
-                searcher.search(query, collector);
-
-                topDocs = collector.topDocs((pageable.getPageNumber() - 1) * pageable.getPageSize(), pageable.getPageSize());
+                int offset = Math.max(0, pageable.getPageNumber() - 1) * pageable.getPageSize();
+                totalHits = collect(searcher, query, offset, pageable.getPageSize(), hits);
             } else {
-                topDocs = searcher.search(query, Integer.MAX_VALUE);
+                totalHits = collect(searcher, query, 0, Integer.MAX_VALUE, hits);
             }
 
-            final ScoreDoc[] hits = topDocs.scoreDocs;
-            final List<String> results = new ArrayList<>();
+            logger.debug("Found {} total matching documents", totalHits);
+
+            final List<String> results = getReferences(searcher, hits);
+            return new SearchResult(results.stream().distinct().collect(Collectors.toList()), totalHits);
+        } catch (IOException ioe) {
+            logger.error("An error occurs while getting documents from search result", ioe);
+            throw new TechnicalException("An error occurs while getting documents from search result", ioe);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    /**
+     * Collect, ordered by score, at most <code>size</code> hits after the first <code>offset</code> ones.
+     * Hits are collected by chunks of at most {@link #MAX_HITS_PER_COLLECT}, each chunk starting after the last hit of
+     * the previous one.
+     *
+     * @return the total number of matching documents.
+     */
+    private long collect(IndexSearcher searcher, Query query, int offset, int size, List<ScoreDoc> hits) throws IOException {
+        ScoreDoc after = null;
+        int skip = offset;
+        int remaining = size;
+        long totalHits = 0;
+
+        while (remaining > 0) {
+            int numHits = (int) Math.min((long) skip + remaining, MAX_HITS_PER_COLLECT);
+            TopDocs topDocs = searcher.searchAfter(after, query, numHits);
+            totalHits = topDocs.totalHits;
+
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            int from = Math.min(skip, scoreDocs.length);
+            int to = (int) Math.min((long) from + remaining, scoreDocs.length);
+            hits.addAll(Arrays.asList(scoreDocs).subList(from, to));
+
+            skip -= from;
+            remaining -= to - from;
+
+            if (scoreDocs.length < numHits) {
+                // No more matching documents
+                break;
+            }
+            after = scoreDocs[scoreDocs.length - 1];
+        }
 
-            logger.debug("Found {} total matching documents", topDocs.totalHits);
+        return totalHits;
+    }
 
-            if (hits.length > 0) {
-                // Iterate over found results
-                for (ScoreDoc hit : hits) {
-                    results.add(getReference(searcher.doc(hit.doc)));
+    /**
+     * Resolve the reference of each hit using doc values (see {@link #getReferenceFields()}), falling back to stored
+     * fields for documents indexed without doc values.
+     */
+    private List<String> getReferences(IndexSearcher searcher, List<ScoreDoc> hits) throws IOException {
+        final String[] references = new String[hits.size()];
+        final String[] fields = getReferenceFields();
+
+        // Doc values must be read in increasing doc ID order
+        Integer[] order = new Integer[hits.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> hits.get(i).doc));
+
+        List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+        LeafReaderContext leaf = null;
+        SortedDocValues[] values = new SortedDocValues[fields.length];
+
+        for (int i : order) {
+            int doc = hits.get(i).doc;
+            if (leaf == null || doc >= leaf.docBase + leaf.reader().maxDoc()) {
+                leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+                for (int f = 0; f < fields.length; f++) {
+                    values[f] = DocValues.getSorted(leaf.reader(), fields[f]);
                 }
             }
 
-            return new SearchResult(results.stream().distinct().collect(Collectors.toList()), topDocs.totalHits);
-        } catch (IOException ioe) {
-            logger.error("An error occurs while getting documents from search result", ioe);
-            throw new TechnicalException("An error occurs while getting documents from search result", ioe);
+            int leafDoc = doc - leaf.docBase;
+            for (SortedDocValues value : values) {
+                if (value.advanceExact(leafDoc)) {
+                    references[i] = value.binaryValue().utf8ToString();
+                    break;
+                }
+            }
+
+            if (references[i] == null) {
+                references[i] = getReference(leaf.reader().document(leafDoc), fields);
+            }
         }
+
+        return Arrays.asList(references);
     }
 
-    protected String getReference(Document document) {
-        return document.get(FIELD_ID);
+    /**
+     * @return the fields holding the reference of a document, by order of precedence. Each field must be indexed with
+     * doc values.
+     */
+    protected String[] getReferenceFields() {
+        return new String[]{FIELD_ID};
+    }
+
+    private String getReference(Document document, String[] fields) {
+        for (String field : fields) {
+            String reference = document.get(field);
+            if (reference != null) {
+                return reference;
+            }
+        }
+        return null;
     }
 
-    private IndexSearcher getIndexSearcher() throws IOException {
-        return new IndexSearcher(DirectoryReader.open(indexWriter));
+    private void release(IndexSearcher searcher) {
+        if (searcher != null) {
+            try {
+                searcherManager.release(searcher);
+            } catch (IOException ioe) {
+                logger.error("An error occurs while releasing the index searcher", ioe);
+            }
+        }
     }
 }
@@ -18,8 +18,9 @@ package io.gravitee.management.service.impl.search.lucene.searcher;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.search.Indexable;
 import io.gravitee.management.service.impl.search.SearchResult;
+import io.gravitee.management.service.impl.search.lucene.analyzer.NGramAnalyzer;
+import io.gravitee.management.service.impl.search.lucene.analyzer.PositionalNGramAnalyzer;
 import io.gravitee.repository.exceptions.TechnicalException;
-import org.apache.lucene.document.Document;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.ParseException;
@@ -30,7 +31,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 
@@ -79,14 +79,12 @@ public class ApiDocumentSearcher extends AbstractDocumentSearcher {
                 "path_split"
         }, analyzer, API_FIELD_BOOST);
         apiParser.setFuzzyMinSim(0.6f);
-        apiParser.setAllowLeadingWildcard(true);
 
         QueryParser pageParser = new MultiFieldQueryParser(new String[]{
                 "name",
                 "content"
         }, analyzer, PAGE_FIELD_BOOST);
         pageParser.setFuzzyMinSim(0.6f);
-        pageParser.setAllowLeadingWildcard(true);
 
         try {
             String inputQuery = QueryParserBase.escape(query.getQuery());
@@ -100,9 +98,8 @@ public class ApiDocumentSearcher extends AbstractDocumentSearcher {
             BooleanQuery.Builder apiFieldsQuery = new BooleanQuery.Builder();
 
             apiFieldsQuery.add(parse, BooleanClause.Occur.SHOULD);
-            apiFieldsQuery.add(new WildcardQuery(new Term("name", '*' + query.getQuery() + '*')), BooleanClause.Occur.SHOULD);
-            apiFieldsQuery.add(new WildcardQuery(new Term("name_lowercase", '*' + query.getQuery().toLowerCase() + '*')), BooleanClause.Occur.SHOULD);
-            apiFieldsQuery.add(new WildcardQuery(new Term("path", '*' + query.getQuery() + '*')), BooleanClause.Occur.SHOULD);
+            addContainsQuery(apiFieldsQuery, "name_ngram", "name_ngram_pos", query.getQuery());
+            addContainsQuery(apiFieldsQuery, "path_ngram", "path_ngram_pos", query.getQuery());
 
             apiQuery.add(apiFieldsQuery.build(), BooleanClause.Occur.MUST);
             apiQuery.add(new TermQuery(new Term(FIELD_TYPE, FIELD_API_TYPE_VALUE)), BooleanClause.Occur.MUST);
@@ -154,6 +151,35 @@ public class ApiDocumentSearcher extends AbstractDocumentSearcher {
         }
     }
 
+    /**
+     * Match the documents whose field contains the given value, using the infix n-grams indexed by
+     * {@link NGramAnalyzer}. A value longer than the largest n-gram is matched as a phrase of its largest n-grams,
+     * indexed at their position by {@link PositionalNGramAnalyzer}, so that they must be contiguous.
+     */
+    private void addContainsQuery(BooleanQuery.Builder builder, String ngramField, String positionalField, String value) {
+        String lowerCaseValue = value.toLowerCase();
+        if (lowerCaseValue.isEmpty()) {
+            return;
+        }
+
+        Query containsQuery;
+        if (lowerCaseValue.length() <= NGramAnalyzer.MAX_GRAM) {
+            containsQuery = new TermQuery(new Term(ngramField, lowerCaseValue));
+        } else {
+            // Non-overlapping n-grams, plus the last one, are enough to cover the whole value
+            PhraseQuery.Builder phraseQuery = new PhraseQuery.Builder();
+            int last = lowerCaseValue.length() - NGramAnalyzer.MAX_GRAM;
+            for (int i = 0; i < last; i += NGramAnalyzer.MAX_GRAM) {
+                phraseQuery.add(new Term(positionalField, lowerCaseValue.substring(i, i + NGramAnalyzer.MAX_GRAM)), i);
+            }
+            phraseQuery.add(new Term(positionalField, lowerCaseValue.substring(last)), last);
+            containsQuery = phraseQuery.build();
+        }
+
+        // Constant score, as for the wildcard queries previously used
+        builder.add(new ConstantScoreQuery(containsQuery), BooleanClause.Occur.SHOULD);
+    }
+
     private Query getApisFilter(String field, Map<String, Object> filters) {
         Object filter = filters.get(FIELD_API_TYPE_VALUE);
         if (filter != null) {
@@ -175,14 +201,8 @@ public class ApiDocumentSearcher extends AbstractDocumentSearcher {
     }
 
     @Override
-    protected String getReference(Document document) {
-        String type = document.get(FIELD_TYPE);
-        if (FIELD_API_TYPE_VALUE.equals(type)) {
-            return document.get(FIELD_ID);
-        } else if (FIELD_PAGE_TYPE_VALUE.equals(type)) {
-            return document.get(FIELD_API_TYPE_VALUE);
-        }
-
-        return null;
+    protected String[] getReferenceFields() {
+        // A page refers to its API, an API to itself
+        return new String[]{FIELD_API_TYPE_VALUE, FIELD_ID};
     }
 }
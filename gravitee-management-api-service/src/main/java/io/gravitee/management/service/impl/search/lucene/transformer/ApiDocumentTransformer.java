@@ -19,6 +19,7 @@ import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.search.Indexable;
 import io.gravitee.management.service.impl.search.lucene.DocumentTransformer;
 import org.apache.lucene.document.*;
+import org.apache.lucene.util.BytesRef;
 import org.springframework.stereotype.Component;
 
 /**
@@ -34,6 +35,8 @@ public class ApiDocumentTransformer implements DocumentTransformer {
     private final static String FIELD_NAME = "name";
     private final static String FIELD_NAME_LOWERCASE = "name_lowercase";
     private final static String FIELD_NAME_SPLIT = "name_split";
+    private final static String FIELD_NAME_NGRAM = "name_ngram";
+    private final static String FIELD_NAME_NGRAM_POSITIONAL = "name_ngram_pos";
     private final static String FIELD_DESCRIPTION = "description";
     private final static String FIELD_OWNER = "ownerName";
     private final static String FIELD_OWNER_MAIL = "ownerMail";
@@ -43,6 +46,8 @@ public class ApiDocumentTransformer implements DocumentTransformer {
     private final static String FIELD_UPDATED_AT = "updatedAt";
     private final static String FIELD_PATH = "path";
     private final static String FIELD_PATH_SPLIT = "path_split";
+    private final static String FIELD_PATH_NGRAM = "path_ngram";
+    private final static String FIELD_PATH_NGRAM_POSITIONAL = "path_ngram_pos";
     private final static String FIELD_TAGS = "tags";
 
     @Override
@@ -51,10 +56,13 @@ public class ApiDocumentTransformer implements DocumentTransformer {
         ApiEntity api = (ApiEntity) indexable;
 
         doc.add(new StringField(FIELD_ID, api.getId(), Field.Store.YES));
+        doc.add(new SortedDocValuesField(FIELD_ID, new BytesRef(api.getId())));
         doc.add(new StringField(FIELD_TYPE, FIELD_TYPE_VALUE, Field.Store.YES));
         doc.add(new StringField(FIELD_NAME, api.getName(), Field.Store.NO));
         doc.add(new StringField(FIELD_NAME_LOWERCASE, api.getName().toLowerCase(), Field.Store.NO));
         doc.add(new TextField(FIELD_NAME_SPLIT, api.getName(), Field.Store.NO));
+        doc.add(new TextField(FIELD_NAME_NGRAM, api.getName(), Field.Store.NO));
+        doc.add(new TextField(FIELD_NAME_NGRAM_POSITIONAL, api.getName(), Field.Store.NO));
         doc.add(new TextField(FIELD_DESCRIPTION, api.getDescription(), Field.Store.NO));
         doc.add(new TextField(FIELD_OWNER, api.getPrimaryOwner().getDisplayName(), Field.Store.NO));
         if (api.getPrimaryOwner().getEmail() != null) {
@@ -62,6 +70,8 @@ public class ApiDocumentTransformer implements DocumentTransformer {
         }
         doc.add(new StringField(FIELD_PATH, api.getProxy().getContextPath(), Field.Store.NO));
         doc.add(new TextField(FIELD_PATH_SPLIT, api.getProxy().getContextPath(), Field.Store.NO));
+        doc.add(new TextField(FIELD_PATH_NGRAM, api.getProxy().getContextPath(), Field.Store.NO));
+        doc.add(new TextField(FIELD_PATH_NGRAM_POSITIONAL, api.getProxy().getContextPath(), Field.Store.NO));
 
         // labels
         if (api.getLabels() != null) {
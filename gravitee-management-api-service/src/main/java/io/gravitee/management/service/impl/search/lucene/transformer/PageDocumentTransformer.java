@@ -21,8 +21,10 @@ import io.gravitee.management.model.search.Indexable;
 import io.gravitee.management.service.impl.search.lucene.DocumentTransformer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.util.BytesRef;
 import org.springframework.stereotype.Component;
 
 /**
@@ -45,6 +47,7 @@ public class PageDocumentTransformer implements DocumentTransformer {
         PageEntity page = (PageEntity) indexable;
 
         doc.add(new StringField(FIELD_ID, page.getId(), Field.Store.YES));
+        doc.add(new SortedDocValuesField(FIELD_ID, new BytesRef(page.getId())));
         doc.add(new StringField(FIELD_TYPE, FIELD_TYPE_VALUE, Field.Store.YES));
         doc.add(new TextField(FIELD_NAME, page.getName(), Field.Store.NO));
 
@@ -54,6 +57,7 @@ public class PageDocumentTransformer implements DocumentTransformer {
 
         if (page instanceof ApiPageEntity) {
             doc.add(new StringField(FIELD_API, ((ApiPageEntity)page).getApi(), Field.Store.YES));
+            doc.add(new SortedDocValuesField(FIELD_API, new BytesRef(((ApiPageEntity)page).getApi())));
         }
 
         return doc;
@@ -20,8 +20,10 @@ import io.gravitee.management.model.search.Indexable;
 import io.gravitee.management.service.impl.search.lucene.DocumentTransformer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.util.BytesRef;
 import org.springframework.stereotype.Component;
 
 /**
@@ -48,6 +50,7 @@ public class UserDocumentTransformer implements DocumentTransformer {
         UserEntity user = (UserEntity) indexable;
 
         doc.add(new StringField(FIELD_ID, user.getId(), Field.Store.YES));
+        doc.add(new SortedDocValuesField(FIELD_ID, new BytesRef(user.getId())));
         doc.add(new StringField(FIELD_TYPE, FIELD_TYPE_VALUE, Field.Store.YES));
         doc.add(new StringField(FIELD_SOURCE, user.getSource(), Field.Store.NO));
         doc.add(new StringField(FIELD_REFERENCE, user.getSourceId(), Field.Store.NO));
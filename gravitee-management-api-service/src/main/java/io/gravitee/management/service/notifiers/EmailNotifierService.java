@@ -18,6 +18,7 @@ package io.gravitee.management.service.notifiers;
 import io.gravitee.management.service.notification.Hook;
 import io.gravitee.repository.management.model.GenericNotificationConfig;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -26,4 +27,9 @@ import java.util.Map;
  */
 public interface EmailNotifierService {
     void trigger(final Hook hook, GenericNotificationConfig genericNotificationConfig, final Map<String, Object> params);
+
+    /**
+     * Send the notification once to each of the distinct recipients of the given configurations.
+     */
+    void triggerAll(final Hook hook, Collection<GenericNotificationConfig> genericNotificationConfigs, final Map<String, Object> params);
 }
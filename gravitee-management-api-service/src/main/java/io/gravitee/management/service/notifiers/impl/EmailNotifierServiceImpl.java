@@ -18,6 +18,7 @@ package io.gravitee.management.service.notifiers.impl;
 import io.gravitee.management.model.ApiModelEntity;
 import io.gravitee.management.model.PlanEntity;
 import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.service.EmailNotification;
 import io.gravitee.management.service.EmailService;
 import io.gravitee.management.service.builder.EmailNotificationBuilder;
 import io.gravitee.management.service.notification.*;
@@ -28,7 +29,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static io.gravitee.management.service.notification.ApiHook.*;
 
@@ -46,26 +53,54 @@ public class EmailNotifierServiceImpl implements EmailNotifierService {
 
     @Override
     public void trigger(final Hook hook, GenericNotificationConfig genericNotificationConfig, final Map<String, Object> params) {
-        if (genericNotificationConfig == null || genericNotificationConfig.getConfig() == null || genericNotificationConfig.getConfig().isEmpty()) {
-            LOGGER.error("Email Notifier configuration is empty");
+        triggerAll(hook, Collections.singletonList(genericNotificationConfig), params);
+    }
+
+    @Override
+    public void triggerAll(final Hook hook, Collection<GenericNotificationConfig> genericNotificationConfigs, final Map<String, Object> params) {
+        // Recipients of all the configurations are coalesced so that an address is only notified once
+        final Set<String> mails = new LinkedHashSet<>();
+        for (GenericNotificationConfig genericNotificationConfig : genericNotificationConfigs) {
+            if (genericNotificationConfig == null || genericNotificationConfig.getConfig() == null || genericNotificationConfig.getConfig().isEmpty()) {
+                LOGGER.error("Email Notifier configuration is empty");
+                continue;
+            }
+            for (String mail : genericNotificationConfig.getConfig().split(",|;|\\s")) {
+                if (!mail.isEmpty()) {
+                    mails.add(mail);
+                }
+            }
+        }
+        if (mails.isEmpty()) {
             return;
         }
+
         EmailNotificationBuilder.EmailTemplate emailTemplate = getEmailTemplate(hook);
         if (emailTemplate == null) {
             LOGGER.error("Email template not found for hook {}", hook);
             return;
         }
 
-        String[] mails = genericNotificationConfig.getConfig().split(",|;|\\s");
-        for (String mail : mails) {
-            if (!mail.isEmpty()) {
-                emailService.sendAsyncEmailNotification(new EmailNotificationBuilder()
+        final String subject = getEmailSubject(hook, params);
+        if (mails.size() == 1) {
+            emailService.sendAsyncEmailNotification(new EmailNotificationBuilder()
+                    .to(mails.iterator().next())
+                    .subject(subject)
+                    .template(emailTemplate)
+                    .params(params)
+                    .build());
+        } else {
+            // Sent in bulk: each address gets its own message, the template being rendered once for all of them
+            final List<EmailNotification> emailNotifications = new ArrayList<>(mails.size());
+            for (String mail : mails) {
+                emailNotifications.add(new EmailNotificationBuilder()
                         .to(mail)
-                        .subject(getEmailSubject(hook, params))
+                        .subject(subject)
                         .template(emailTemplate)
                         .params(params)
                         .build());
             }
+            emailService.sendAsyncEmailNotifications(emailNotifications);
         }
     }
 
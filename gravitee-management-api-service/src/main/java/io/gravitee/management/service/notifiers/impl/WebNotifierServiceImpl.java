@@ -27,12 +27,12 @@ import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.management.service.notification.Hook;
 import io.gravitee.management.service.notifiers.WebNotifierService;
 import io.gravitee.management.service.notifiers.WebhookNotifierService;
+import io.gravitee.management.service.vertx.HttpClientRegistry;
 import io.gravitee.management.service.vertx.VertxCompletableFuture;
 import io.gravitee.repository.management.model.GenericNotificationConfig;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
-import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.ProxyOptions;
@@ -87,6 +87,9 @@ public class WebNotifierServiceImpl implements WebNotifierService {
     @Autowired
     private Vertx vertx;
 
+    @Autowired
+    private HttpClientRegistry httpClientRegistry;
+
     public void request(HttpMethod method, final String uri, final Map<String, String> headers, String body, boolean useSystemProxy) {
         if (uri == null || uri.isEmpty()) {
             LOGGER.error("Webhook Notifier configuration is empty");
@@ -95,18 +98,10 @@ public class WebNotifierServiceImpl implements WebNotifierService {
 
         CompletableFuture<Buffer> future = new VertxCompletableFuture<>(vertx);
         URI requestUri = URI.create(uri);
-        boolean ssl = HTTPS_SCHEME.equalsIgnoreCase(requestUri.getScheme());
-
-        final HttpClientOptions options = new HttpClientOptions()
-                .setSsl(ssl)
-                .setTrustAll(true)
-                .setMaxPoolSize(1)
-                .setKeepAlive(false)
-                .setTcpKeepAlive(false)
-                .setConnectTimeout(httpClientTimeout);
 
+        ProxyOptions proxyOptions = null;
         if (useSystemProxy) {
-            ProxyOptions proxyOptions = new ProxyOptions();
+            proxyOptions = new ProxyOptions();
             proxyOptions.setType(ProxyType.valueOf(httpClientProxyType));
             if (HTTPS_SCHEME.equals(requestUri.getScheme())) {
                 proxyOptions.setHost(httpClientProxyHttpsHost);
@@ -119,10 +114,10 @@ public class WebNotifierServiceImpl implements WebNotifierService {
                 proxyOptions.setUsername(httpClientProxyHttpUsername);
                 proxyOptions.setPassword(httpClientProxyHttpPassword);
             }
-            options.setProxyOptions(proxyOptions);
         }
 
-        final HttpClient httpClient = vertx.createHttpClient(options);
+        // Shared client: connections are kept alive between the calls to the same host
+        final HttpClient httpClient = httpClientRegistry.getClient(requestUri, proxyOptions);
 
         final int port = requestUri.getPort() != -1 ? requestUri.getPort() :
                 (HTTPS_SCHEME.equals(requestUri.getScheme()) ? 443 : 80);
@@ -145,26 +140,12 @@ public class WebNotifierServiceImpl implements WebNotifierService {
 
         request.handler(response -> {
             if (response.statusCode() == HttpStatusCode.OK_200) {
-                response.bodyHandler(buffer -> {
-                    future.complete(buffer);
-
-                    // Close client
-                    httpClient.close();
-                });
+                response.bodyHandler(future::complete);
             } else {
                 future.completeExceptionally(new TechnicalManagementException(" Error on url '" + uri + "'. Status code: " + response.statusCode() + ". Message: " + response.statusMessage(), null));
             }
         });
-        request.exceptionHandler(event -> {
-            try {
-                future.completeExceptionally(event);
-
-                // Close client
-                httpClient.close();
-            } catch (IllegalStateException ise) {
-                // Do not take care about exception when closing client
-            }
-        });
+        request.exceptionHandler(future::completeExceptionally);
 
         request.end();
 
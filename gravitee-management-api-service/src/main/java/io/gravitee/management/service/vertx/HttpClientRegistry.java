@@ -0,0 +1,266 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.vertx;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.net.ProxyOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of the HTTP clients used to call external services (webhooks, dictionary and dynamic properties
+ * providers, ...).
+ *
+ * One client is shared by all the calls to the same host, port, scheme and proxy, so that connections are kept alive
+ * and reused between calls instead of doing a new TCP (and TLS) handshake for each of them. Clients are closed when
+ * they have not been used for a while.
+ *
+ * Clients are shared: callers must never close them.
+ *
+ * The number of clients and of pooled connections are exposed as <code>http.client.*</code> meters.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class HttpClientRegistry implements DisposableBean, MeterBinder {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(HttpClientRegistry.class);
+
+    private static final String HTTPS_SCHEME = "https";
+    private static final long CLIENTS_EXPIRE_AFTER_ACCESS_MINUTES = 10;
+
+    @Value("${httpClient.timeout:10000}")
+    private int connectTimeout = 10000;
+    @Value("${httpClient.pool.maxSize:10}")
+    private int maxPoolSize = 10;
+    @Value("${httpClient.pool.keepAliveTimeout:60}")
+    private int keepAliveTimeout = 60;
+    @Value("${httpClient.http2.enabled:false}")
+    private boolean http2Enabled;
+
+    @Autowired
+    private Vertx vertx;
+
+    private final Cache<ClientKey, PooledHttpClient> clients = CacheBuilder.newBuilder()
+            .expireAfterAccess(CLIENTS_EXPIRE_AFTER_ACCESS_MINUTES, TimeUnit.MINUTES)
+            .removalListener((RemovalListener<ClientKey, PooledHttpClient>) notification -> {
+                LOGGER.debug("Close HTTP client for {} ({})", notification.getKey(), notification.getValue().metrics);
+                notification.getValue().client.close();
+            })
+            .build();
+
+    private final AtomicLong createdClients = new AtomicLong();
+    private final AtomicLong openedConnections = new AtomicLong();
+
+    public HttpClientRegistry() {
+    }
+
+    public HttpClientRegistry(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    /**
+     * @param proxyOptions the proxy to go through, may be <code>null</code>
+     * @return the client shared by all the requests to the host of the given URI.
+     */
+    public HttpClient getClient(URI uri, ProxyOptions proxyOptions) {
+        final boolean ssl = HTTPS_SCHEME.equalsIgnoreCase(uri.getScheme());
+        final int port = uri.getPort() != -1 ? uri.getPort() : (ssl ? 443 : 80);
+        final ClientKey key = new ClientKey(uri.getHost(), port, ssl, proxyOptions);
+        try {
+            return clients.get(key, () -> create(key)).client;
+        } catch (ExecutionException ee) {
+            throw new IllegalStateException("Unable to create HTTP client for " + key, ee.getCause());
+        }
+    }
+
+    /**
+     * @return the metrics of the connection pool of each client.
+     */
+    public Map<String, PoolMetrics> getMetrics() {
+        final Map<String, PoolMetrics> metrics = new HashMap<>();
+        clients.asMap().forEach((key, client) -> metrics.put(key.toString(), client.metrics));
+        return metrics;
+    }
+
+    /**
+     * @return the number of clients created since startup, including the ones closed since.
+     */
+    public long getCreatedClients() {
+        return createdClients.get();
+    }
+
+    /**
+     * @return the number of connections currently opened by all the clients (in use or idle in the pools).
+     */
+    public int getPoolSize() {
+        return clients.asMap().values().stream().mapToInt(client -> client.metrics.getActiveConnections()).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("http.client.clients", clients, Cache::size)
+                .description("HTTP clients currently opened")
+                .register(registry);
+        FunctionCounter.builder("http.client.clients.created", createdClients, AtomicLong::get)
+                .description("HTTP clients created since startup")
+                .register(registry);
+        Gauge.builder("http.client.pool.size", this, HttpClientRegistry::getPoolSize)
+                .description("Connections currently opened by the HTTP clients, in use or idle in the pools")
+                .register(registry);
+        FunctionCounter.builder("http.client.connections.opened", openedConnections, AtomicLong::get)
+                .description("Connections opened by the HTTP clients since startup")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        clients.invalidateAll();
+    }
+
+    private PooledHttpClient create(ClientKey key) {
+        final HttpClientOptions options = new HttpClientOptions()
+                .setDefaultHost(key.host)
+                .setDefaultPort(key.port)
+                .setSsl(key.ssl)
+                .setTrustAll(true)
+                .setConnectTimeout(connectTimeout)
+                .setKeepAlive(true)
+                .setKeepAliveTimeout(keepAliveTimeout)
+                .setMaxPoolSize(maxPoolSize);
+
+        if (http2Enabled) {
+            // Over TLS the protocol is negotiated with ALPN, in clear text the connection is upgraded if the server
+            // supports it: both fall back to HTTP/1.1
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setUseAlpn(key.ssl)
+                    .setHttp2MaxPoolSize(maxPoolSize);
+        }
+        if (key.proxyOptions != null) {
+            options.setProxyOptions(key.proxyOptions);
+        }
+
+        final PoolMetrics metrics = new PoolMetrics();
+        final HttpClient client = vertx.createHttpClient(options);
+        client.connectionHandler(connection -> {
+            openedConnections.incrementAndGet();
+            metrics.openedConnections.incrementAndGet();
+            metrics.activeConnections.incrementAndGet();
+            connection.closeHandler(v -> metrics.activeConnections.decrementAndGet());
+        });
+
+        createdClients.incrementAndGet();
+        LOGGER.debug("Create HTTP client for {}", key);
+        return new PooledHttpClient(client, metrics);
+    }
+
+    /**
+     * Connections of the pool of a client.
+     */
+    public static final class PoolMetrics {
+
+        private final AtomicLong openedConnections = new AtomicLong();
+        private final AtomicInteger activeConnections = new AtomicInteger();
+
+        /**
+         * @return the number of connections opened since the client has been created.
+         */
+        public long getOpenedConnections() {
+            return openedConnections.get();
+        }
+
+        /**
+         * @return the number of connections currently opened (in use or idle in the pool).
+         */
+        public int getActiveConnections() {
+            return activeConnections.get();
+        }
+
+        @Override
+        public String toString() {
+            return "opened=" + openedConnections + ", active=" + activeConnections;
+        }
+    }
+
+    private static final class PooledHttpClient {
+        private final HttpClient client;
+        private final PoolMetrics metrics;
+
+        private PooledHttpClient(HttpClient client, PoolMetrics metrics) {
+            this.client = client;
+            this.metrics = metrics;
+        }
+    }
+
+    private static final class ClientKey {
+        private final String host;
+        private final int port;
+        private final boolean ssl;
+        private final ProxyOptions proxyOptions;
+
+        private ClientKey(String host, int port, boolean ssl, ProxyOptions proxyOptions) {
+            this.host = host;
+            this.port = port;
+            this.ssl = ssl;
+            this.proxyOptions = proxyOptions;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ClientKey clientKey = (ClientKey) o;
+            return port == clientKey.port &&
+                    ssl == clientKey.ssl &&
+                    Objects.equals(host, clientKey.host) &&
+                    Objects.equals(proxyOptions, clientKey.proxyOptions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(host, port, ssl, proxyOptions);
+        }
+
+        @Override
+        public String toString() {
+            return (ssl ? "https://" : "http://") + host + ':' + port +
+                    (proxyOptions == null ? "" : " via " + proxyOptions.getHost() + ':' + proxyOptions.getPort());
+        }
+    }
+}
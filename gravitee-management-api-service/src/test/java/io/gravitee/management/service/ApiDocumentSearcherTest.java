@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.definition.model.Proxy;
+import io.gravitee.management.model.PrimaryOwnerEntity;
+import io.gravitee.management.model.UserEntity;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.service.impl.search.SearchResult;
+import io.gravitee.management.service.impl.search.configuration.SearchEngineConfiguration;
+import io.gravitee.management.service.impl.search.lucene.searcher.ApiDocumentSearcher;
+import io.gravitee.management.service.impl.search.lucene.transformer.ApiDocumentTransformer;
+import io.gravitee.management.service.search.query.QueryBuilder;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ApiDocumentSearcherTest {
+
+    private ApiDocumentSearcher searcher;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @Before
+    public void setUp() throws Exception {
+        writer = new IndexWriter(new RAMDirectory(), new IndexWriterConfig(new SearchEngineConfiguration().analyzer()));
+
+        ApiDocumentTransformer transformer = new ApiDocumentTransformer();
+        writer.addDocument(transformer.transform(api("api-1", "Echo Service", "/echo")));
+        writer.addDocument(transformer.transform(api("api-2", "PetStore", "/petstore/v2")));
+        writer.addDocument(transformer.transform(api("api-3", "Customer accounts management", "/customers")));
+        writer.addDocument(transformer.transform(api("api-4", "Mnopqrstuvw Opqrstuvwx", "/qrstuvwxyzab")));
+        writer.commit();
+
+        searcherManager = new SearcherManager(writer, null);
+        searcher = new ApiDocumentSearcher();
+        setField(searcher, "searcherManager", searcherManager);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        searcherManager.close();
+        writer.close();
+    }
+
+    @Test
+    public void shouldFindByNameInfix() throws Exception {
+        assertEquals(Collections.singletonList("api-2"), search("tSto").getDocuments());
+    }
+
+    @Test
+    public void shouldFindByPathInfix() throws Exception {
+        assertEquals(Collections.singletonList("api-2"), search("store/v").getDocuments());
+    }
+
+    @Test
+    public void shouldFindBySingleCharacter() throws Exception {
+        assertEquals(new HashSet<>(Arrays.asList("api-1", "api-3")), new HashSet<>(search("c").getDocuments()));
+    }
+
+    @Test
+    public void shouldFindByInfixLongerThanNGrams() throws Exception {
+        assertEquals(Collections.singletonList("api-3"), search("er accounts manag").getDocuments());
+    }
+
+    @Test
+    public void shouldFindByPathInfixLongerThanNGrams() throws Exception {
+        assertEquals(Collections.singletonList("api-4"), search("RSTUVWXYZab").getDocuments());
+    }
+
+    @Test
+    public void shouldNotFindInfixLongerThanNGramsFromNonContiguousNGrams() throws Exception {
+        assertTrue(search("mnopqrstuvwx").getDocuments().isEmpty());
+    }
+
+    @Test
+    public void shouldNotFindUnknownInfix() throws Exception {
+        assertTrue(search("ccounts managed").getDocuments().isEmpty());
+    }
+
+    private SearchResult search(String query) throws Exception {
+        return searcher.search(QueryBuilder.create(ApiEntity.class).setQuery(query).build());
+    }
+
+    private ApiEntity api(String id, String name, String contextPath) {
+        UserEntity owner = new UserEntity();
+        owner.setId("owner");
+        owner.setFirstname("John");
+        owner.setLastname("Doe");
+
+        Proxy proxy = new Proxy();
+        proxy.setContextPath(contextPath);
+
+        ApiEntity api = new ApiEntity();
+        api.setId(id);
+        api.setName(name);
+        api.setDescription("An API");
+        api.setProxy(proxy);
+        api.setPrimaryOwner(new PrimaryOwnerEntity(owner));
+        api.setCreatedAt(new Date());
+        api.setUpdatedAt(new Date());
+        return api;
+    }
+}
@@ -18,6 +18,7 @@ package io.gravitee.management.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.definition.jackson.datatype.GraviteeMapper;
 import io.gravitee.management.model.PlanEntity;
 import io.gravitee.management.model.PlanStatus;
@@ -81,6 +82,9 @@ public class ApiService_DeleteTest {
     @Mock
     private TopApiService topApiService;
 
+    @Mock
+    private EventManager eventManager;
+
     @Before
     public void setUp() {
         PropertyFilter apiMembershipTypeFilter = new ApiPermissionFilter();
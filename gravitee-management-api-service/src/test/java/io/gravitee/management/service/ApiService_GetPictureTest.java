@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.InlinePictureEntity;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.service.exceptions.ApiNotFoundException;
+import io.gravitee.management.service.impl.ApiServiceImpl;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Visibility;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.xml.bind.DatatypeConverter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiService_GetPictureTest {
+
+    private static final String API_ID = "id-api";
+    private static final byte[] CONTENT = "picture".getBytes();
+    private static final String PICTURE = "data:image/png;base64," + DatatypeConverter.printBase64Binary(CONTENT);
+    // MD5 of "picture"
+    private static final String HASH = "5456FC54C74A297CE994998C2873B370";
+
+    @InjectMocks
+    private ApiServiceImpl apiService = new ApiServiceImpl();
+
+    @Mock
+    private ApiRepository apiRepository;
+
+    @Test
+    public void shouldGetPictureWithoutDefinition() throws Exception {
+        Api api = new Api();
+        api.setId(API_ID);
+        api.setPicture(PICTURE);
+        api.setVisibility(Visibility.PUBLIC);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Collections.singletonList(api));
+
+        InlinePictureEntity picture = apiService.getPicture(API_ID);
+
+        assertEquals("image/png", picture.getType());
+        assertArrayEquals(CONTENT, picture.getContent());
+        assertEquals(HASH, picture.getHash());
+
+        // Served from cache
+        assertEquals(HASH, apiService.getPicture(API_ID).getHash());
+        verify(apiRepository, times(1)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+        verify(apiRepository, never()).findById(API_ID);
+    }
+
+    @Test
+    public void shouldGetVisibilityOnEachCall() throws Exception {
+        Api publicApi = new Api();
+        publicApi.setId(API_ID);
+        publicApi.setVisibility(Visibility.PUBLIC);
+        Api privateApi = new Api();
+        privateApi.setId(API_ID);
+        privateApi.setVisibility(Visibility.PRIVATE);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Collections.singletonList(publicApi), Collections.singletonList(privateApi));
+
+        assertEquals(io.gravitee.management.model.Visibility.PUBLIC, apiService.getVisibility(API_ID));
+        assertEquals(io.gravitee.management.model.Visibility.PRIVATE, apiService.getVisibility(API_ID));
+    }
+
+    @Test
+    public void shouldGetPictureHashFromEntity() throws Exception {
+        ApiEntity api = new ApiEntity();
+        api.setId(API_ID);
+        api.setPicture(PICTURE);
+
+        assertEquals(HASH, apiService.getPictureHash(api));
+        assertArrayEquals(CONTENT, apiService.getPicture(API_ID).getContent());
+        verifyZeroInteractions(apiRepository);
+    }
+
+    @Test
+    public void shouldNotGetPictureHashWithoutPicture() {
+        ApiEntity api = new ApiEntity();
+        api.setId(API_ID);
+
+        assertNull(apiService.getPictureHash(api));
+    }
+
+    @Test
+    public void shouldGetPictureHashesInBatch() throws Exception {
+        Api api = new Api();
+        api.setId(API_ID);
+        api.setPicture(PICTURE);
+        Api apiWithoutPicture = new Api();
+        apiWithoutPicture.setId("id-api-2");
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Arrays.asList(api, apiWithoutPicture));
+
+        assertEquals(Collections.singletonMap(API_ID, HASH), apiService.getPictureHashes(Arrays.asList(API_ID, "id-api-2")));
+        assertEquals(Collections.singletonMap(API_ID, HASH), apiService.getPictureHashes(Arrays.asList(API_ID, "id-api-2")));
+        verify(apiRepository, times(1)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+    }
+
+    @Test(expected = ApiNotFoundException.class)
+    public void shouldNotGetPictureBecauseNotFound() throws Exception {
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Collections.emptyList());
+
+        apiService.getPicture(API_ID);
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.model.api.ApiQuery;
+import io.gravitee.management.model.permissions.SystemRole;
+import io.gravitee.management.service.impl.ApiServiceImpl;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.MembershipRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Membership;
+import io.gravitee.repository.management.model.MembershipReferenceType;
+import io.gravitee.repository.management.model.RoleScope;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiService_SearchLightTest {
+
+    private static final String API_ID = "id-api";
+    private static final String DEFINITION = "{\"proxy\": {\"context_path\": \"/echo\"}, \"tags\": [\"public\"]}";
+    private static final String UPDATED_DEFINITION = "{\"proxy\": {\"context_path\": \"/echo-v2\"}}";
+
+    @InjectMocks
+    private ApiServiceImpl apiService = new ApiServiceImpl();
+
+    @Mock
+    private ApiRepository apiRepository;
+
+    @Mock
+    private MembershipRepository membershipRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Spy
+    private ObjectMapper objectMapper = new GraviteeMapper();
+
+    @Before
+    public void init() throws Exception {
+        Membership po = new Membership("admin", API_ID, MembershipReferenceType.API);
+        po.setRoles(Collections.singletonMap(RoleScope.API.getId(), SystemRole.PRIMARY_OWNER.name()));
+        when(membershipRepository.findByReferencesAndRole(any(), any(), any(), any())).thenReturn(Collections.singleton(po));
+    }
+
+    @Test
+    public void shouldSearchLightAndCacheDefinitionSummaries() throws Exception {
+        Date updatedAt = new Date();
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(
+                singletonList(api(updatedAt, null)),
+                singletonList(api(updatedAt, DEFINITION)),
+                singletonList(api(updatedAt, null)));
+
+        ApiQuery query = new ApiQuery();
+        query.setTag("public");
+        Collection<ApiEntity> apis = apiService.searchLight(query);
+
+        assertEquals(1, apis.size());
+        ApiEntity api = apis.iterator().next();
+        assertEquals("/echo", api.getProxy().getContextPath());
+        assertEquals(Collections.singleton("public"), api.getTags());
+        assertNull(api.getPaths());
+
+        query = new ApiQuery();
+        query.setContextPath("/echo");
+        assertEquals(1, apiService.searchLight(query).size());
+
+        // Definition is only loaded and read once
+        verify(apiRepository, times(3)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+        verify(objectMapper, times(1)).readTree(anyString());
+        verify(objectMapper, never()).readValue(anyString(), eq(io.gravitee.definition.model.Api.class));
+    }
+
+    @Test
+    public void shouldReloadDefinitionSummaryOfUpdatedApi() throws Exception {
+        Date updatedAt = new Date(1000);
+        Date newUpdatedAt = new Date(2000);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(
+                singletonList(api(updatedAt, null)),
+                singletonList(api(updatedAt, DEFINITION)),
+                singletonList(api(newUpdatedAt, null)),
+                singletonList(api(newUpdatedAt, UPDATED_DEFINITION)));
+
+        assertEquals("/echo", apiService.searchLight(new ApiQuery()).iterator().next().getProxy().getContextPath());
+
+        ApiEntity api = apiService.searchLight(new ApiQuery()).iterator().next();
+        assertEquals("/echo-v2", api.getProxy().getContextPath());
+        assertNull(api.getTags());
+        verify(apiRepository, times(4)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+    }
+
+    private Api api(Date updatedAt, String definition) {
+        Api api = new Api();
+        api.setId(API_ID);
+        api.setName("Echo");
+        api.setUpdatedAt(updatedAt);
+        api.setDefinition(definition);
+        return api;
+    }
+}
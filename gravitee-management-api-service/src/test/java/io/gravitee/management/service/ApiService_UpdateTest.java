@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
@@ -32,6 +33,7 @@ import io.gravitee.management.service.search.SearchEngineService;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Membership;
 import io.gravitee.repository.management.model.MembershipReferenceType;
@@ -95,6 +97,9 @@ public class ApiService_UpdateTest {
     @Mock
     private ParameterService parameterService;
 
+    @Mock
+    private EventManager eventManager;
+
     @Before
     public void setUp() {
         PropertyFilter apiMembershipTypeFilter = new ApiPermissionFilter();
@@ -185,7 +190,7 @@ public class ApiService_UpdateTest {
         when(existingApi.getProxy()).thenReturn(proxy);
         when(proxy.getContextPath()).thenReturn(contextPathToCreate);
 
-        when(apiRepository.search(null)).thenReturn(singletonList(api));
+        when(apiRepository.search(any(), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(api));
         when(api.getDefinition()).thenReturn("{\"id\": \"" + API_ID + "\",\"name\": \"" + API_NAME + "\",\"proxy\": {\"context_path\": \"" + existingContextPath + "\"}}");
 
         Membership po2 = new Membership("admin", API_ID2, MembershipReferenceType.API);
@@ -213,7 +218,7 @@ public class ApiService_UpdateTest {
         when(group.getName()).thenReturn("inva:lid");
         when(proxy.getGroups()).thenReturn(singleton(group));
 
-        when(apiRepository.search(null)).thenReturn(singletonList(api));
+        when(apiRepository.search(any(), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(api));
         when(api.getDefinition()).thenReturn("{\"id\": \"" + API_ID + "\",\"name\": \"" + API_NAME + "\",\"proxy\": {\"context_path\": \"/old\"}}");
 
         apiService.update(API_ID, existingApi);
@@ -237,7 +242,7 @@ public class ApiService_UpdateTest {
         when(endpoint.getName()).thenReturn("inva:lid");
         when(group.getEndpoints()).thenReturn(singleton(endpoint));
 
-        when(apiRepository.search(null)).thenReturn(singletonList(api));
+        when(apiRepository.search(any(), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(api));
         when(api.getDefinition()).thenReturn("{\"id\": \"" + API_ID + "\",\"name\": \"" + API_NAME + "\",\"proxy\": {\"context_path\": \"/old\"}}");
 
         apiService.update(API_ID, existingApi);
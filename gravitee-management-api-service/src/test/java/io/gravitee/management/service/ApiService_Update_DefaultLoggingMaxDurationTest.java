@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
@@ -97,6 +98,9 @@ public class ApiService_Update_DefaultLoggingMaxDurationTest {
     @Mock
     private ParameterService parameterService;
 
+    @Mock
+    private EventManager eventManager;
+
     private UpdateApiEntity existingApi;
 
     @Before
@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.ApiKeyEntity;
 import io.gravitee.management.model.SubscriptionEntity;
 import io.gravitee.management.service.exceptions.ApplicationNotFoundException;
@@ -69,6 +70,9 @@ public class ApplicationService_ArchiveTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private EventManager eventManager;
+
     @Test
     public void shouldArchive() throws TechnicalException {
         when(applicationRepository.findById(APPLICATION_ID)).thenReturn(Optional.of(application));
@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.ApplicationEntity;
 import io.gravitee.management.model.UpdateApplicationEntity;
 import io.gravitee.management.model.application.ApplicationSettings;
@@ -89,6 +90,9 @@ public class ApplicationService_UpdateTest {
     @Mock
     private ClientRegistrationService clientRegistrationService;
 
+    @Mock
+    private EventManager eventManager;
+
     @Test
     public void shouldUpdate() throws TechnicalException {
         ApplicationSettings settings = new ApplicationSettings();
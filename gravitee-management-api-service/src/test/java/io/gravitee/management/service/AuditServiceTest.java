@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.management.model.UserEntity;
+import io.gravitee.management.model.audit.AuditQuery;
+import io.gravitee.management.service.impl.AuditServiceImpl;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.AuditRepository;
+import io.gravitee.repository.management.api.GroupRepository;
+import io.gravitee.repository.management.api.PlanRepository;
+import io.gravitee.repository.management.model.Audit;
+import io.gravitee.repository.management.model.Group;
+import io.gravitee.repository.management.model.Plan;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.*;
+
+import static io.gravitee.repository.management.model.Api.AuditEvent.API_UPDATED;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AuditServiceTest {
+
+    private static final String API_ID = "id-api";
+
+    @InjectMocks
+    private AuditServiceImpl auditService = new AuditServiceImpl();
+
+    @Mock
+    private AuditRepository auditRepository;
+    @Mock
+    private PlanRepository planRepository;
+    @Mock
+    private GroupRepository groupRepository;
+    @Mock
+    private UserService userService;
+
+    @Before
+    public void setUp() {
+        setField(auditService, "mapper", new ObjectMapper());
+        setField(auditService, "queueCapacity", 10);
+        auditService.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        auditService.destroy();
+    }
+
+    @Test
+    public void shouldWritePatchOfModifiedFields() throws Exception {
+        Map<String, Object> oldValue = value("old description");
+        Map<String, Object> newValue = value("new description");
+        newValue.put("updatedAt", 2);
+
+        auditService.createApiAuditLog(API_ID, Collections.emptyMap(), API_UPDATED, new Date(), oldValue, newValue);
+        // Values may be modified once audited
+        newValue.put("name", "modified");
+        auditService.destroy();
+
+        ArgumentCaptor<Audit> audit = ArgumentCaptor.forClass(Audit.class);
+        verify(auditRepository).create(audit.capture());
+        assertEquals(API_ID, audit.getValue().getReferenceId());
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/proxy/description\",\"value\":\"new description\"}]",
+                audit.getValue().getPatch());
+    }
+
+    @Test
+    public void shouldWriteEmptyPatchOfUnmodifiedValue() throws Exception {
+        auditService.createApiAuditLog(API_ID, null, API_UPDATED, null, value("description"), value("description"));
+        auditService.destroy();
+
+        ArgumentCaptor<Audit> audit = ArgumentCaptor.forClass(Audit.class);
+        verify(auditRepository).create(audit.capture());
+        assertEquals("[]", audit.getValue().getPatch());
+    }
+
+    @Test
+    public void shouldWriteNextAuditsAfterFailure() throws Exception {
+        when(auditRepository.create(any())).thenThrow(TechnicalException.class).thenReturn(new Audit());
+
+        auditService.createApiAuditLog(API_ID, null, API_UPDATED, null, null, value("description"));
+        auditService.createApiAuditLog(API_ID, null, API_UPDATED, null, null, value("description"));
+        auditService.destroy();
+
+        verify(auditRepository, times(2)).create(any());
+        assertEquals(1, auditService.getFailedAudits());
+        assertEquals(0, auditService.getPendingAudits());
+    }
+
+    @Test
+    public void shouldLoadMetadataOfPageAtOnce() throws Exception {
+        when(auditRepository.search(any(), any())).thenReturn(new Page<>(Arrays.asList(
+                audit("user-1", Audit.AuditProperties.PLAN, "plan-1"),
+                audit("user-2", Audit.AuditProperties.PLAN, "plan-2"),
+                audit("user-1", Audit.AuditProperties.GROUP, "group-1"),
+                audit("user-1", Audit.AuditProperties.USER, "user-3")), 1, 4, 4));
+        Plan plan = new Plan();
+        plan.setId("plan-1");
+        plan.setName("Plan 1");
+        when(planRepository.findByApi(API_ID)).thenReturn(Collections.singleton(plan));
+        when(planRepository.findById("plan-2")).thenReturn(Optional.empty());
+        Group group = new Group();
+        group.setId("group-1");
+        group.setName("Group 1");
+        when(groupRepository.findByIds(Collections.singleton("group-1"))).thenReturn(Collections.singleton(group));
+        UserEntity user = new UserEntity();
+        user.setId("user-1");
+        user.setFirstname("John");
+        user.setLastname("Doe");
+        when(userService.findByIds(Arrays.asList("user-1", "user-2", "user-3"))).thenReturn(Collections.singleton(user));
+
+        AuditQuery query = new AuditQuery();
+        query.setPage(1);
+        query.setSize(4);
+        Map<String, String> metadata = auditService.search(query).getMetadata();
+
+        assertEquals("John Doe", metadata.get("USER:user-1:name"));
+        assertEquals("user-2", metadata.get("USER:user-2:name"));
+        assertEquals("user-3", metadata.get("USER:user-3:name"));
+        assertEquals("Plan 1", metadata.get("PLAN:plan-1:name"));
+        assertEquals("plan-2", metadata.get("PLAN:plan-2:name"));
+        assertEquals("Group 1", metadata.get("GROUP:group-1:name"));
+        verify(planRepository, times(1)).findByApi(API_ID);
+        verify(userService, times(1)).findByIds(any());
+    }
+
+    private Audit audit(String user, Audit.AuditProperties property, String value) {
+        Audit audit = new Audit();
+        audit.setReferenceType(Audit.AuditReferenceType.API);
+        audit.setReferenceId(API_ID);
+        audit.setUser(user);
+        audit.setProperties(Collections.singletonMap(property.name(), value));
+        return audit;
+    }
+
+    private Map<String, Object> value(String description) {
+        Map<String, Object> proxy = new HashMap<>();
+        proxy.put("contextPath", "/products");
+        proxy.put("description", description);
+
+        Map<String, Object> value = new HashMap<>();
+        value.put("name", "products");
+        value.put("proxy", proxy);
+        value.put("updatedAt", 1);
+        return value;
+    }
+}
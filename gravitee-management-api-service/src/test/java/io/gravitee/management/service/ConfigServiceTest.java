@@ -33,8 +33,10 @@ import java.util.Map;
 
 import static io.gravitee.management.model.parameters.Key.COMPANY_NAME;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -75,6 +77,20 @@ public class ConfigServiceTest {
         assertEquals("analytics", Boolean.TRUE, portalConfig.getPortal().getAnalytics().isEnabled());
     }
 
+    @Test
+    public void shouldBuildPortalConfigOncePerParametersVersion() {
+        when(mockParameterService.getVersion()).thenReturn(1L, 1L, 2L);
+        when(mockParameterService.findAll(any(List.class)))
+                .thenReturn(singletonMap(COMPANY_NAME.key(), singletonList("ACME")))
+                .thenReturn(singletonMap(COMPANY_NAME.key(), singletonList("Renamed")));
+
+        PortalConfigEntity portalConfig = configService.getPortalConfig();
+
+        assertSame(portalConfig, configService.getPortalConfig());
+        assertEquals("Renamed", configService.getPortalConfig().getCompany().getName());
+        verify(mockParameterService, times(2)).findAll(any(List.class));
+    }
+
     @Test
     public void shouldCreateProtalConfig() {
         PortalConfigEntity portalConfigEntity = new PortalConfigEntity();
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.service.impl.ContextPathTrie;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ContextPathTrieTest {
+
+    private ContextPathTrie contextPaths;
+
+    @Before
+    public void setUp() {
+        contextPaths = new ContextPathTrie();
+        contextPaths.put("api-1", "/products/");
+        contextPaths.put("api-2", "/orders/v1/");
+    }
+
+    @Test
+    public void shouldOverlapSameContextPath() {
+        assertTrue(contextPaths.overlaps("/products/", null));
+    }
+
+    @Test
+    public void shouldOverlapLongerContextPath() {
+        assertTrue(contextPaths.overlaps("/products/v2/", null));
+    }
+
+    @Test
+    public void shouldOverlapShorterContextPath() {
+        assertTrue(contextPaths.overlaps("/orders/", null));
+    }
+
+    @Test
+    public void shouldNotOverlapSiblingContextPath() {
+        assertFalse(contextPaths.overlaps("/product/", null));
+        assertFalse(contextPaths.overlaps("/orders/v2/", null));
+    }
+
+    @Test
+    public void shouldNotOverlapExcludedApi() {
+        assertFalse(contextPaths.overlaps("/products/", "api-1"));
+        assertFalse(contextPaths.overlaps("/products/v2/", "api-1"));
+        assertTrue(contextPaths.overlaps("/orders/", "api-1"));
+    }
+
+    @Test
+    public void shouldOverlapSharedContextPathOfExcludedApi() {
+        contextPaths.put("api-3", "/products/");
+
+        assertTrue(contextPaths.overlaps("/products/", "api-1"));
+        assertTrue(contextPaths.overlaps("/", "api-1"));
+    }
+
+    @Test
+    public void shouldMoveApi() {
+        contextPaths.put("api-1", "/catalog/");
+
+        assertFalse(contextPaths.overlaps("/products/", null));
+        assertTrue(contextPaths.overlaps("/catalog/", null));
+        assertEquals(2, contextPaths.size());
+    }
+
+    @Test
+    public void shouldRemoveApi() {
+        contextPaths.remove("api-2");
+
+        assertFalse(contextPaths.overlaps("/orders/", null));
+        assertTrue(contextPaths.overlaps("/products/", null));
+        assertEquals(1, contextPaths.size());
+    }
+
+    @Test
+    public void shouldRetainApis() {
+        contextPaths.retainAll(Arrays.asList("api-2", "api-4"));
+
+        assertFalse(contextPaths.overlaps("/products/", null));
+        assertTrue(contextPaths.overlaps("/orders/", null));
+        assertEquals(1, contextPaths.size());
+    }
+}
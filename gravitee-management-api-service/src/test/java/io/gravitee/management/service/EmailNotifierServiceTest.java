@@ -30,9 +30,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
@@ -76,6 +78,24 @@ public class EmailNotifierServiceTest {
         verify(mockEmailService, never()).sendEmailNotification(any());
     }
 
+    @Test
+    public void shouldSendToSeveralRecipientsInBulk() {
+        GenericNotificationConfig cfg = new GenericNotificationConfig();
+        cfg.setConfig("a@mail.com, b@mail.com");
+        GenericNotificationConfig otherCfg = new GenericNotificationConfig();
+        otherCfg.setConfig("b@mail.com;c@mail.com");
+
+        service.triggerAll(PortalHook.USER_CREATED, Arrays.asList(cfg, otherCfg), Collections.emptyMap());
+
+        verify(mockEmailService, times(1)).sendAsyncEmailNotifications(argThat(notifications ->
+                notifications.stream().map(notification -> notification.getTo()[0]).collect(Collectors.toList())
+                        .equals(Arrays.asList("a@mail.com", "b@mail.com", "c@mail.com"))
+                && notifications.stream().allMatch(notification -> notification.getTo().length == 1
+                        && notification.getBcc() == null)
+        ));
+        verify(mockEmailService, never()).sendAsyncEmailNotification(any());
+    }
+
     @Test
     public void shouldHaveATemplateForApiHooks() {
         GenericNotificationConfig cfg = new GenericNotificationConfig();
@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import freemarker.cache.StringTemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateMethodModelEx;
+import io.gravitee.management.service.exceptions.EmailDisabledException;
+import io.gravitee.management.service.impl.EmailServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import javax.mail.Message;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class EmailServiceTest {
+
+    private EmailServiceImpl emailService;
+    private RecordingMailSender mailSender;
+    private AtomicInteger renderings;
+
+    @Before
+    public void setUp() {
+        StringTemplateLoader templateLoader = new StringTemplateLoader();
+        templateLoader.putTemplate("message.html", "<html><body>${message} ${render()}</body></html>");
+        Configuration freemarkerConfiguration = new Configuration(Configuration.VERSION_2_3_28);
+        freemarkerConfiguration.setTemplateLoader(templateLoader);
+
+        renderings = new AtomicInteger();
+        mailSender = new RecordingMailSender();
+
+        emailService = new EmailServiceImpl();
+        setField(emailService, "mailSender", mailSender);
+        setField(emailService, "freemarkerConfiguration", freemarkerConfiguration);
+        setField(emailService, "subject", "[Gravitee.io] %s");
+        setField(emailService, "enabled", true);
+        setField(emailService, "defaultFrom", "noreply@gravitee.io");
+        setField(emailService, "bulkBatchSize", 2);
+        setField(emailService, "bulkMaxRecipients", 2);
+    }
+
+    @Test
+    public void shouldRenderTemplateOncePerParameters() throws Exception {
+        Map<String, Object> params = params("hello");
+
+        emailService.sendEmailNotifications(Arrays.asList(
+                notification(params, "a@mail.com"),
+                notification(params, "b@mail.com"),
+                notification(params("bye"), "c@mail.com")));
+
+        assertEquals(2, renderings.get());
+        assertEquals(3, mailSender.messages().size());
+        assertEquals("a@mail.com", mailSender.messages().get(0).getRecipients(Message.RecipientType.TO)[0].toString());
+        assertEquals("[Gravitee.io] Subject", mailSender.messages().get(0).getSubject());
+    }
+
+    @Test
+    public void shouldSplitBlindCopies() throws Exception {
+        EmailNotification notification = notification(params("hello"), "noreply@gravitee.io");
+        notification.setBcc(new String[]{"a@mail.com", "b@mail.com", "c@mail.com"});
+
+        emailService.sendEmailNotifications(Collections.singletonList(notification));
+
+        assertEquals(1, renderings.get());
+        assertEquals(2, mailSender.messages().size());
+        assertEquals(2, mailSender.messages().get(0).getRecipients(Message.RecipientType.BCC).length);
+        assertEquals("c@mail.com", mailSender.messages().get(1).getRecipients(Message.RecipientType.BCC)[0].toString());
+    }
+
+    @Test
+    public void shouldOnlySendFirstBlindCopiesToRecipients() throws Exception {
+        EmailNotification notification = notification(params("hello"), "noreply@gravitee.io");
+        notification.setBcc(new String[]{"a@mail.com", "b@mail.com", "c@mail.com"});
+
+        emailService.sendEmailNotifications(Collections.singletonList(notification));
+
+        assertEquals("noreply@gravitee.io", mailSender.messages().get(0).getRecipients(Message.RecipientType.TO)[0].toString());
+        assertNull(mailSender.messages().get(1).getRecipients(Message.RecipientType.TO));
+    }
+
+    @Test
+    public void shouldSendBlindCopiesWithoutRecipient() throws Exception {
+        EmailNotification notification = notification(params("hello"), null);
+        notification.setTo((String[]) null);
+        notification.setBcc(new String[]{"a@mail.com", "b@mail.com", "c@mail.com"});
+
+        emailService.sendEmailNotifications(Collections.singletonList(notification));
+
+        assertEquals(2, mailSender.messages().size());
+        assertNull(mailSender.messages().get(0).getRecipients(Message.RecipientType.TO));
+        assertEquals(2, mailSender.messages().get(0).getRecipients(Message.RecipientType.BCC).length);
+    }
+
+    @Test
+    public void shouldSendInBatches() {
+        Map<String, Object> params = params("hello");
+
+        emailService.sendEmailNotifications(Arrays.asList(
+                notification(params, "a@mail.com"),
+                notification(params, "b@mail.com"),
+                notification(params, "c@mail.com")));
+
+        assertEquals(2, mailSender.batches.size());
+        assertEquals(2, mailSender.batches.get(0).length);
+        assertEquals(1, mailSender.batches.get(1).length);
+    }
+
+    @Test(expected = EmailDisabledException.class)
+    public void shouldNotSendIfDisabled() {
+        setField(emailService, "enabled", false);
+
+        emailService.sendEmailNotifications(Collections.singletonList(notification(params("hello"), "a@mail.com")));
+    }
+
+    private Map<String, Object> params(String message) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("message", message);
+        params.put("render", (TemplateMethodModelEx) arguments -> renderings.incrementAndGet());
+        return params;
+    }
+
+    private EmailNotification notification(Map<String, Object> params, String to) {
+        EmailNotification notification = new EmailNotification();
+        notification.setTo(to);
+        notification.setSubject("Subject");
+        notification.setTemplate("message.html");
+        notification.setParams(params);
+        return notification;
+    }
+
+    private static class RecordingMailSender implements JavaMailSender {
+
+        private final Session session = Session.getInstance(new Properties());
+        private final List<MimeMessage[]> batches = new ArrayList<>();
+
+        List<MimeMessage> messages() {
+            List<MimeMessage> messages = new ArrayList<>();
+            batches.forEach(batch -> messages.addAll(Arrays.asList(batch)));
+            return messages;
+        }
+
+        @Override
+        public MimeMessage createMimeMessage() {
+            return new MimeMessage(session);
+        }
+
+        @Override
+        public MimeMessage createMimeMessage(InputStream contentStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessage mimeMessage) {
+            batches.add(new MimeMessage[]{mimeMessage});
+        }
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            batches.add(mimeMessages);
+        }
+
+        @Override
+        public void send(MimeMessagePreparator mimeMessagePreparator) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessagePreparator... mimeMessagePreparators) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(SimpleMailMessage simpleMessage) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -16,8 +16,10 @@
 package io.gravitee.management.service;
 
 import io.gravitee.common.data.domain.Page;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.EventEntity;
 import io.gravitee.management.model.NewEventEntity;
+import io.gravitee.management.service.event.SyncEvent;
 import io.gravitee.management.service.exceptions.EventNotFoundException;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.management.service.impl.EventServiceImpl;
@@ -37,6 +39,7 @@ import java.util.*;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -81,6 +84,9 @@ public class EventServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private EventManager eventManager;
+
     @Test
     public void shouldCreateEventWithPublishApiEventType() throws TechnicalException {
         when(event.getType()).thenReturn(EventType.PUBLISH_API);
@@ -98,6 +104,21 @@ public class EventServiceTest {
         assertEquals(EventType.PUBLISH_API.toString(), eventEntity.getType().toString());
         assertEquals(EVENT_PAYLOAD, eventEntity.getPayload());
         assertEquals(EVENT_USERNAME, eventEntity.getProperties().get(Event.EventProperties.USER.getValue()));
+        verify(eventManager).publishEvent(SyncEvent.API, eventEntity);
+    }
+
+    @Test
+    public void shouldCreateEventWithoutSyncNotification() throws TechnicalException {
+        when(event.getType()).thenReturn(EventType.GATEWAY_STARTED);
+        when(event.getProperties()).thenReturn(EVENT_PROPERTIES);
+        when(eventRepository.create(any())).thenReturn(event);
+
+        when(newEvent.getType()).thenReturn(io.gravitee.management.model.EventType.GATEWAY_STARTED);
+        when(newEvent.getProperties()).thenReturn(EVENT_PROPERTIES);
+
+        eventService.create(newEvent);
+
+        verify(eventManager, never()).publishEvent(any(SyncEvent.class), any());
     }
 
     @Test
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.service.vertx.HttpClientRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.net.ProxyOptions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class HttpClientRegistryTest {
+
+    private Vertx vertx;
+    private HttpServer server;
+    private HttpClientRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+        vertx.createHttpServer()
+                .requestHandler(request -> request.response().end("ok"))
+                .listen(0, result -> listening.complete(result.result()));
+        server = listening.get(5, TimeUnit.SECONDS);
+        registry = new HttpClientRegistry(vertx);
+    }
+
+    @After
+    public void tearDown() {
+        registry.destroy();
+        vertx.close();
+    }
+
+    @Test
+    public void shouldShareClientOfSameHost() {
+        HttpClient client = registry.getClient(URI.create("https://example.com/hooks/1"), null);
+
+        assertSame(client, registry.getClient(URI.create("https://example.com:443/hooks/2"), null));
+        assertNotSame(client, registry.getClient(URI.create("http://example.com/hooks/1"), null));
+        assertNotSame(client, registry.getClient(URI.create("https://example.org/hooks/1"), null));
+        assertNotSame(client, registry.getClient(URI.create("https://example.com/hooks/1"),
+                new ProxyOptions().setHost("proxy").setPort(3128)));
+        assertEquals(4, registry.getMetrics().size());
+    }
+
+    @Test
+    public void shouldReuseConnection() throws Exception {
+        URI uri = URI.create("http://localhost:" + server.actualPort() + "/poll");
+
+        assertEquals("ok", get(uri));
+        assertEquals("ok", get(uri));
+
+        HttpClientRegistry.PoolMetrics metrics = registry.getMetrics().values().iterator().next();
+        assertEquals(1, metrics.getOpenedConnections());
+        assertEquals(1, metrics.getActiveConnections());
+    }
+
+    private String get(URI uri) throws Exception {
+        CompletableFuture<String> body = new CompletableFuture<>();
+        registry.getClient(uri, null)
+                .get(uri.getPort(), uri.getHost(), uri.getPath(),
+                        response -> response.bodyHandler(buffer -> body.complete(buffer.toString())))
+                .exceptionHandler(body::completeExceptionally)
+                .end();
+        return body.get(5, TimeUnit.SECONDS);
+    }
+}
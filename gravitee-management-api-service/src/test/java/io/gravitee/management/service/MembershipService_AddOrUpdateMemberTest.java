@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.GroupEntity;
 import io.gravitee.management.model.MemberEntity;
 import io.gravitee.management.model.RoleEntity;
@@ -71,6 +72,8 @@ public class MembershipService_AddOrUpdateMemberTest {
     private IdentityService identityService;
     @Mock
     private NotifierService notifierService;
+    @Mock
+    private EventManager eventManager;
 
     @Test
     public void shouldAddApiGroupMembership() throws Exception {
@@ -15,17 +15,29 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
+import io.gravitee.common.event.impl.SimpleEvent;
 import io.gravitee.management.model.GroupEntity;
 import io.gravitee.management.model.RoleEntity;
 import io.gravitee.management.model.UserEntity;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.permissions.ApiPermission;
+import io.gravitee.management.model.permissions.MemberPermissions;
 import io.gravitee.management.model.permissions.RolePermissionAction;
+import io.gravitee.management.service.event.PermissionEvent;
+import io.gravitee.management.service.exceptions.ApiNotFoundException;
+import io.gravitee.management.service.exceptions.GroupNotFoundException;
 import io.gravitee.management.service.impl.MembershipServiceImpl;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.GroupRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Membership;
 import io.gravitee.repository.management.model.MembershipReferenceType;
 import io.gravitee.repository.management.model.RoleScope;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -38,6 +50,7 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 /**
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
@@ -65,6 +78,21 @@ public class MembershipService_GetMemberPermissionsTest {
     @Mock
     private RoleService roleService;
 
+    @Mock
+    private ApiRepository apiRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private EventManager eventManager;
+
+    @Before
+    public void init() {
+        setField(membershipService, "permissionsCacheTtl", 60000L);
+        ((MembershipServiceImpl) membershipService).afterPropertiesSet();
+    }
+
     @Test
     public void shouldGetNoPermissionsIfNotMemberWithoutGroups() throws Exception {
         ApiEntity api = mock(ApiEntity.class);
@@ -211,6 +239,99 @@ public class MembershipService_GetMemberPermissionsTest {
         verify(userService, times(2)).findById(USERNAME);
     }
 
+    @Test
+    public void shouldGetAndCachePermissionsByApiId() throws Exception {
+        Api api = new Api();
+        api.setId(API_ID);
+        api.setGroups(Collections.singleton(GROUP_ID1));
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(Collections.singletonList(api));
+
+        Membership membership = mock(Membership.class);
+        doReturn(Collections.singletonMap(RoleScope.API.getId(), ROLENAME)).when(membership).getRoles();
+        doReturn(MembershipReferenceType.GROUP).when(membership).getReferenceType();
+        doReturn(GROUP_ID1).when(membership).getReferenceId();
+        doReturn(USERNAME).when(membership).getUserId();
+        doReturn(empty()).when(membershipRepository).findById(USERNAME, MembershipReferenceType.API, API_ID);
+        doReturn(of(membership)).when(membershipRepository).findById(USERNAME, MembershipReferenceType.GROUP, GROUP_ID1);
+        doReturn(mock(UserEntity.class)).when(userService).findById(USERNAME);
+
+        RoleEntity roleEntity = mock(RoleEntity.class);
+        Map<String, char[]> rolePerms = new HashMap<>();
+        rolePerms.put(ApiPermission.DOCUMENTATION.getName(), new char[]{RolePermissionAction.READ.getId()});
+        doReturn(rolePerms).when(roleEntity).getPermissions();
+        doReturn(roleEntity).when(roleService).findById(RoleScope.API, ROLENAME);
+
+        assertPermissions(rolePerms, membershipService.getMemberPermissions(MembershipReferenceType.API, API_ID, USERNAME).toMap());
+        assertPermissions(rolePerms, membershipService.getMemberPermissions(MembershipReferenceType.API, API_ID, USERNAME).toMap());
+
+        verify(apiRepository, times(1)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+        verify(membershipRepository, times(1)).findById(USERNAME, MembershipReferenceType.API, API_ID);
+
+        ((MembershipServiceImpl) membershipService).onEvent(new SimpleEvent<>(PermissionEvent.INVALIDATE_USER, USERNAME));
+        membershipService.getMemberPermissions(MembershipReferenceType.API, API_ID, USERNAME);
+
+        verify(apiRepository, times(2)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+        verify(membershipRepository, times(2)).findById(USERNAME, MembershipReferenceType.API, API_ID);
+    }
+
+    @Test(expected = ApiNotFoundException.class)
+    public void shouldNotGetPermissionsBecauseApiNotFound() throws Exception {
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(Collections.emptyList());
+
+        membershipService.getMemberPermissions(MembershipReferenceType.API, API_ID, USERNAME);
+    }
+
+    @Test(expected = GroupNotFoundException.class)
+    public void shouldNotGetPermissionsBecauseGroupNotFound() throws Exception {
+        when(groupRepository.findById(GROUP_ID1)).thenReturn(empty());
+
+        membershipService.getMemberPermissions(MembershipReferenceType.GROUP, GROUP_ID1, USERNAME);
+    }
+
+    @Test
+    public void shouldGetPermissionsOfApisInBatch() throws Exception {
+        ApiEntity api1 = new ApiEntity();
+        api1.setId(API_ID);
+        ApiEntity api2 = new ApiEntity();
+        api2.setId("api-id-2");
+        api2.setGroups(new HashSet<>(Arrays.asList(GROUP_ID1, GROUP_ID2)));
+        ApiEntity api3 = new ApiEntity();
+        api3.setId("api-id-3");
+
+        Membership apiMembership = new Membership(USERNAME, API_ID, MembershipReferenceType.API);
+        apiMembership.setRoles(Collections.singletonMap(RoleScope.API.getId(), ROLENAME));
+        Membership groupMembership1 = new Membership(USERNAME, GROUP_ID1, MembershipReferenceType.GROUP);
+        groupMembership1.setRoles(Collections.singletonMap(RoleScope.API.getId(), ROLENAME));
+        Membership groupMembership2 = new Membership(USERNAME, GROUP_ID2, MembershipReferenceType.GROUP);
+        groupMembership2.setRoles(Collections.singletonMap(RoleScope.API.getId(), ROLENAME2));
+        doReturn(Collections.singleton(apiMembership)).when(membershipRepository).findByUserAndReferenceType(USERNAME, MembershipReferenceType.API);
+        doReturn(new HashSet<>(Arrays.asList(groupMembership1, groupMembership2))).when(membershipRepository).findByUserAndReferenceType(USERNAME, MembershipReferenceType.GROUP);
+
+        RoleEntity role = mock(RoleEntity.class);
+        doReturn(Collections.singletonMap(ApiPermission.DOCUMENTATION.getName(), new char[]{RolePermissionAction.READ.getId()})).when(role).getPermissions();
+        doReturn(role).when(roleService).findById(RoleScope.API, ROLENAME);
+        RoleEntity role2 = mock(RoleEntity.class);
+        doReturn(Collections.singletonMap(ApiPermission.PLAN.getName(), new char[]{RolePermissionAction.UPDATE.getId()})).when(role2).getPermissions();
+        doReturn(role2).when(roleService).findById(RoleScope.API, ROLENAME2);
+
+        Map<String, MemberPermissions> permissions = membershipService.getMemberPermissions(Arrays.asList(api1, api2, api3), USERNAME);
+
+        assertEquals(3, permissions.size());
+        assertTrue(permissions.get(API_ID).has(ApiPermission.DOCUMENTATION, RolePermissionAction.READ));
+        assertFalse(permissions.get(API_ID).has(ApiPermission.PLAN, RolePermissionAction.UPDATE));
+        assertTrue(permissions.get("api-id-2").has(ApiPermission.DOCUMENTATION, RolePermissionAction.READ));
+        assertTrue(permissions.get("api-id-2").has(ApiPermission.PLAN, RolePermissionAction.UPDATE));
+        assertTrue(permissions.get("api-id-3").isEmpty());
+
+        // Roles are resolved once, and permissions are cached
+        assertSame(permissions.get(API_ID), membershipService.getMemberPermissions(MembershipReferenceType.API, API_ID, USERNAME));
+        verify(roleService, times(1)).findById(RoleScope.API, ROLENAME);
+        verify(roleService, times(1)).findById(RoleScope.API, ROLENAME2);
+        verify(membershipRepository, times(1)).findByUserAndReferenceType(USERNAME, MembershipReferenceType.API);
+        verify(membershipRepository, never()).findById(anyString(), any(MembershipReferenceType.class), anyString());
+        verifyZeroInteractions(apiRepository);
+    }
+
     private void assertPermissions(Map<String, char[]> expected, Map<String, char[]> actual) {
         assertEquals("there must be " + expected.size() + " permission", expected.size(), actual.size());
         for (Map.Entry<String, char[]> expectedEntry : expected.entrySet()) {
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.common.event.EventManager;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.gravitee.management.service.event.NotificationConfigEvent;
+import io.gravitee.management.service.exceptions.TechnicalManagementException;
+import io.gravitee.management.service.impl.NotifierServiceImpl;
+import io.gravitee.management.service.notification.ApiHook;
+import io.gravitee.management.service.notifiers.EmailNotifierService;
+import io.gravitee.management.service.notifiers.WebhookNotifierService;
+import io.gravitee.repository.management.api.GenericNotificationConfigRepository;
+import io.gravitee.repository.management.api.PortalNotificationConfigRepository;
+import io.gravitee.repository.management.model.GenericNotificationConfig;
+import io.gravitee.repository.management.model.NotificationReferenceType;
+import io.gravitee.repository.management.model.PortalNotificationConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class NotifierServiceTest {
+
+    private static final String API_ID = "id-api";
+    private static final Map<String, Object> PARAMS = Collections.emptyMap();
+
+    @InjectMocks
+    private NotifierServiceImpl notifierService = new NotifierServiceImpl();
+
+    @Mock
+    private PortalNotificationConfigRepository portalNotificationConfigRepository;
+    @Mock
+    private PortalNotificationService portalNotificationService;
+    @Mock
+    private GenericNotificationConfigRepository genericNotificationConfigRepository;
+    @Mock
+    private EmailNotifierService emailNotifierService;
+    @Mock
+    private WebhookNotifierService webhookNotifierService;
+    @Mock
+    private EventManager eventManager;
+
+    @Before
+    public void setUp() {
+        setField(notifierService, "workers", 1);
+        setField(notifierService, "queueCapacity", 10);
+        setField(notifierService, "webhookRetries", 1);
+        notifierService.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        notifierService.destroy();
+    }
+
+    @Test
+    public void shouldCacheConfigurations() throws Exception {
+        PortalNotificationConfig portalConfig = new PortalNotificationConfig();
+        portalConfig.setUser("user");
+        when(portalNotificationConfigRepository.findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, API_ID))
+                .thenReturn(Collections.singletonList(portalConfig));
+
+        notifierService.trigger(ApiHook.API_STARTED, API_ID, PARAMS);
+        notifierService.trigger(ApiHook.API_STARTED, API_ID, PARAMS);
+        notifierService.destroy();
+
+        verify(portalNotificationService, times(2)).create(ApiHook.API_STARTED, Collections.singletonList("user"), PARAMS);
+        verify(portalNotificationConfigRepository, times(1)).findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, API_ID);
+        verify(genericNotificationConfigRepository, times(1)).findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, API_ID);
+    }
+
+    @Test
+    public void shouldReloadConfigurationsOfInvalidatedReference() throws Exception {
+        notifierService.trigger(ApiHook.API_STARTED, API_ID, PARAMS);
+        notifierService.trigger(ApiHook.API_STARTED, "other-api", PARAMS);
+        verify(genericNotificationConfigRepository, timeout(5000)).findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, "other-api");
+
+        notifierService.onEvent(new SimpleEvent<>(NotificationConfigEvent.INVALIDATE_REFERENCE, API_ID));
+        notifierService.trigger(ApiHook.API_STARTED, API_ID, PARAMS);
+        notifierService.trigger(ApiHook.API_STARTED, "other-api", PARAMS);
+        notifierService.destroy();
+
+        verify(genericNotificationConfigRepository, times(2)).findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, API_ID);
+        verify(genericNotificationConfigRepository, times(1)).findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, "other-api");
+    }
+
+    @Test
+    public void shouldCoalesceEmailConfigurations() throws Exception {
+        GenericNotificationConfig email1 = config("default-email", "a@mail.com");
+        GenericNotificationConfig email2 = config("default-email", "b@mail.com");
+        when(genericNotificationConfigRepository.findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, API_ID))
+                .thenReturn(Arrays.asList(email1, email2));
+
+        notifierService.trigger(ApiHook.API_STARTED, API_ID, PARAMS);
+        notifierService.destroy();
+
+        verify(emailNotifierService, times(1)).triggerAll(ApiHook.API_STARTED, Arrays.asList(email1, email2), PARAMS);
+        verify(emailNotifierService, never()).trigger(any(), any(GenericNotificationConfig.class), any());
+    }
+
+    @Test
+    public void shouldRetryWebhook() throws Exception {
+        GenericNotificationConfig webhook = config("default-webhook", "http://localhost/hook");
+        when(genericNotificationConfigRepository.findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, API_ID))
+                .thenReturn(Collections.singletonList(webhook));
+        doThrow(new TechnicalManagementException("unavailable", null)).doNothing()
+                .when(webhookNotifierService).trigger(ApiHook.API_STARTED, webhook, PARAMS);
+
+        notifierService.trigger(ApiHook.API_STARTED, API_ID, PARAMS);
+
+        verify(webhookNotifierService, timeout(5000).times(2)).trigger(eq(ApiHook.API_STARTED), eq(webhook), eq(PARAMS));
+    }
+
+    @Test
+    public void shouldDropWebhookRetryWhenQueueIsFull() throws Exception {
+        GenericNotificationConfig webhook = config("default-webhook", "http://localhost/hook");
+        when(genericNotificationConfigRepository.findByReferenceAndHook(ApiHook.API_STARTED.name(), NotificationReferenceType.API, API_ID))
+                .thenReturn(Collections.singletonList(webhook));
+        doThrow(new TechnicalManagementException("unavailable", null))
+                .when(webhookNotifierService).trigger(ApiHook.API_STARTED, webhook, PARAMS);
+
+        // Keep the only worker busy until the queue is full and the retry has been dropped
+        PortalNotificationConfig portalConfig = new PortalNotificationConfig();
+        portalConfig.setUser("user");
+        when(portalNotificationConfigRepository.findByReferenceAndHook(ApiHook.API_STOPPED.name(), NotificationReferenceType.API, API_ID))
+                .thenReturn(Collections.singletonList(portalConfig));
+        final CountDownLatch busy = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            busy.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(portalNotificationService).create(ApiHook.API_STOPPED, Collections.singletonList("user"), PARAMS);
+
+        notifierService.trigger(ApiHook.API_STARTED, API_ID, PARAMS);
+        notifierService.trigger(ApiHook.API_STOPPED, API_ID, PARAMS);
+        busy.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 10; i++) {
+            notifierService.trigger(ApiHook.NEW_RATING, API_ID, PARAMS);
+        }
+
+        for (int i = 0; i < 50 && notifierService.getDroppedWebhookRetries() == 0; i++) {
+            Thread.sleep(100);
+        }
+        release.countDown();
+        notifierService.destroy();
+
+        assertEquals(1, notifierService.getDroppedWebhookRetries());
+        verify(webhookNotifierService, times(1)).trigger(ApiHook.API_STARTED, webhook, PARAMS);
+    }
+
+    private GenericNotificationConfig config(String notifier, String config) {
+        GenericNotificationConfig genericNotificationConfig = new GenericNotificationConfig();
+        genericNotificationConfig.setNotifier(notifier);
+        genericNotificationConfig.setConfig(config);
+        return genericNotificationConfig;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.PageEntity;
+import io.gravitee.management.service.impl.PageServiceImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PageService_TransformSwaggerTest {
+
+    private static final String PAGE_ID = "ba01aef0-e3da-4499-81ae-f0e3daa4995a";
+
+    @InjectMocks
+    private PageServiceImpl pageService = new PageServiceImpl();
+
+    @Mock
+    private SwaggerService swaggerService;
+
+    @Test
+    public void shouldTransformPageOnce() {
+        doAnswer(invocation -> {
+            PageEntity page = invocation.getArgument(0);
+            page.setContent("transformed " + page.getContent());
+            return null;
+        }).when(swaggerService).transform(any(PageEntity.class));
+
+        PageEntity first = swaggerPage("swagger: '2.0'");
+        pageService.transformSwagger(first);
+        PageEntity second = swaggerPage("swagger: '2.0'");
+        pageService.transformSwagger(second);
+
+        assertEquals("transformed swagger: '2.0'", first.getContent());
+        assertEquals("transformed swagger: '2.0'", second.getContent());
+        verify(swaggerService, times(1)).transform(any(PageEntity.class));
+    }
+
+    @Test
+    public void shouldTransformPageAgainWhenContentChanged() {
+        pageService.transformSwagger(swaggerPage("swagger: '2.0'"));
+        pageService.transformSwagger(swaggerPage("openapi: 3.0.0"));
+
+        verify(swaggerService, times(2)).transform(any(PageEntity.class));
+    }
+
+    private PageEntity swaggerPage(String content) {
+        PageEntity page = new PageEntity();
+        page.setId(PAGE_ID);
+        page.setType("SWAGGER");
+        page.setContent(content);
+        return page;
+    }
+}
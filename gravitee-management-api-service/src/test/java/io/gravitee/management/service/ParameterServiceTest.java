@@ -20,11 +20,14 @@ import io.gravitee.management.service.impl.ParameterServiceImpl;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ParameterRepository;
 import io.gravitee.repository.management.model.Parameter;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -36,15 +39,17 @@ import static io.gravitee.repository.management.model.Audit.AuditProperties.PARA
 import static io.gravitee.repository.management.model.Parameter.AuditEvent.PARAMETER_CREATED;
 import static io.gravitee.repository.management.model.Parameter.AuditEvent.PARAMETER_UPDATED;
 import static java.util.Arrays.asList;
-import static java.util.Collections.singletonMap;
+import static java.util.Collections.*;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
 
 /**
  * @author Azize ELAMRANI (azize at graviteesource.com)
@@ -61,13 +66,18 @@ public class ParameterServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Before
+    public void setUp() {
+        setField(parameterService, "cacheTtl", 60_000L);
+    }
+
     @Test
     public void shouldFindAll() throws TechnicalException {
         final Parameter parameter = new Parameter();
         parameter.setKey(PORTAL_TOP_APIS.key());
         parameter.setValue("api1;api2");
 
-        when(parameterRepository.findById(PORTAL_TOP_APIS.key())).thenReturn(of(parameter));
+        when(parameterRepository.findAll(anyList())).thenReturn(singletonList(parameter));
 
         final List<String> values = parameterService.findAll(PORTAL_TOP_APIS, value -> value);
 
@@ -80,7 +90,7 @@ public class ParameterServiceTest {
         parameter.setKey(PORTAL_TOP_APIS.key());
         parameter.setValue("api1;api2;;api1");
 
-        when(parameterRepository.findById(PORTAL_TOP_APIS.key())).thenReturn(of(parameter));
+        when(parameterRepository.findAll(anyList())).thenReturn(singletonList(parameter));
 
         final List<String> values = parameterService.findAll(PORTAL_TOP_APIS, value -> value, value -> !value.isEmpty());
 
@@ -103,8 +113,7 @@ public class ParameterServiceTest {
         final Parameter parameter3 = new Parameter();
         parameter3.setKey(PORTAL_ANALYTICS_TRACKINGID.key());
 
-        when(parameterRepository.findAll(Arrays.asList(PORTAL_TOP_APIS.key(), PORTAL_ANALYTICS_ENABLED.key(), PORTAL_ANALYTICS_TRACKINGID.key())))
-                .thenReturn(Arrays.asList(parameter1, parameter2, parameter3));
+        when(parameterRepository.findAll(anyList())).thenReturn(Arrays.asList(parameter1, parameter2, parameter3));
 
         final Map<String, List<String>> values = parameterService.findAll(Arrays.asList(p1key, p2key, p3key), value -> value, value -> !value.isEmpty());
 
@@ -211,14 +220,74 @@ public class ParameterServiceTest {
         parameter.setKey(PORTAL_RATING_ENABLED.key());
         parameter.setValue("true");
 
-        when(parameterRepository.findById(PORTAL_RATING_ENABLED.key())).thenReturn(of(parameter));
+        when(parameterRepository.findAll(anyList())).thenReturn(singletonList(parameter));
 
         assertTrue(parameterService.findAsBoolean(PORTAL_RATING_ENABLED));
     }
 
     @Test
     public void shouldFindAsBooleanDefaultValue() throws TechnicalException {
-        when(parameterRepository.findById(PORTAL_USERCREATION_ENABLED.key())).thenReturn(empty());
+        when(parameterRepository.findAll(anyList())).thenReturn(emptyList());
         assertTrue(parameterService.findAsBoolean(PORTAL_USERCREATION_ENABLED));
     }
+
+    @Test
+    public void shouldLoadParametersOnce() throws TechnicalException {
+        final Parameter parameter = new Parameter();
+        parameter.setKey(PORTAL_RATING_ENABLED.key());
+        parameter.setValue("true");
+
+        when(parameterRepository.findAll(anyList())).thenReturn(singletonList(parameter));
+
+        assertTrue(parameterService.findAsBoolean(PORTAL_RATING_ENABLED));
+        assertTrue(parameterService.findAll(PORTAL_TOP_APIS).isEmpty());
+        assertEquals(singletonList("true"), parameterService.findAll(singletonList(PORTAL_RATING_ENABLED)).get(PORTAL_RATING_ENABLED.key()));
+
+        verify(parameterRepository, times(1)).findAll(anyList());
+        verify(parameterRepository, never()).findById(any());
+    }
+
+    @Test
+    public void shouldReloadParametersAfterSave() throws TechnicalException {
+        final Parameter parameter = new Parameter();
+        parameter.setKey(PORTAL_TOP_APIS.key());
+        parameter.setValue("api1");
+
+        when(parameterRepository.findAll(anyList())).thenReturn(emptyList(), singletonList(parameter));
+        when(parameterRepository.findById(PORTAL_TOP_APIS.key())).thenReturn(empty());
+        when(parameterRepository.create(parameter)).thenReturn(parameter);
+
+        final long version = parameterService.getVersion();
+        assertTrue(parameterService.findAll(PORTAL_TOP_APIS).isEmpty());
+
+        parameterService.save(PORTAL_TOP_APIS, "api1");
+
+        assertEquals(singletonList("api1"), parameterService.findAll(PORTAL_TOP_APIS));
+        assertNotEquals(version, parameterService.getVersion());
+    }
+
+    @Test
+    public void shouldReloadParametersAfterTransactionCompletion() throws TechnicalException {
+        final Parameter parameter = new Parameter();
+        parameter.setKey(PORTAL_TOP_APIS.key());
+        parameter.setValue("api1");
+
+        when(parameterRepository.findAll(anyList())).thenReturn(emptyList(), singletonList(parameter));
+        when(parameterRepository.findById(PORTAL_TOP_APIS.key())).thenReturn(empty());
+        when(parameterRepository.create(parameter)).thenReturn(parameter);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            parameterService.save(PORTAL_TOP_APIS, "api1");
+            // Loaded by another request before the save is committed
+            assertTrue(parameterService.findAll(PORTAL_TOP_APIS).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(singletonList("api1"), parameterService.findAll(PORTAL_TOP_APIS));
+    }
 }
\ No newline at end of file
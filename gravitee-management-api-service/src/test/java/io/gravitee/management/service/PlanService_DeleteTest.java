@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.SubscriptionEntity;
 import io.gravitee.management.service.exceptions.PlanWithSubscriptionsException;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
@@ -61,6 +62,9 @@ public class PlanService_DeleteTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private EventManager eventManager;
+
 
     @Test(expected = PlanWithSubscriptionsException.class)
     public void shouldNotDeleteBecauseSubscriptionsExist() throws TechnicalException {
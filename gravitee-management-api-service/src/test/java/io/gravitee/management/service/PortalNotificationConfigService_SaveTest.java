@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.notification.PortalNotificationConfigEntity;
 import io.gravitee.management.service.impl.PortalNotificationConfigServiceImpl;
 import io.gravitee.repository.exceptions.TechnicalException;
@@ -48,6 +49,9 @@ public class PortalNotificationConfigService_SaveTest {
     @Mock
     private PortalNotificationConfigRepository portalNotificationConfigRepository;
 
+    @Mock
+    private EventManager eventManager;
+
     @Test
     public void shouldDelete() throws TechnicalException {
         PortalNotificationConfigEntity cfgEntity = mock(PortalNotificationConfigEntity.class);
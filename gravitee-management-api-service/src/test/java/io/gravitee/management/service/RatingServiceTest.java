@@ -299,4 +299,50 @@ public class RatingServiceTest {
         assertEquals(1, ratingSummary.getNumberOfRatingsByRate().get(new Byte("3")), 0);
         assertEquals(1, ratingSummary.getNumberOfRatingsByRate().get(new Byte("4")), 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCountRatesOutOfRangeInSummary() throws TechnicalException {
+        final Rating r = new Rating();
+        r.setRate(new Byte("9"));
+
+        when(ratingRepository.findByApi(API_ID)).thenReturn(asList(rating, r));
+
+        final RatingSummaryEntity ratingSummary = ratingService.findSummariesByApis(singletonList(API_ID)).get(API_ID);
+        assertEquals(2, ratingSummary.getNumberOfRatings());
+        assertEquals(6, ratingSummary.getAverageRate(), 0);
+        assertEquals(1, ratingSummary.getNumberOfRatingsByRate().get(new Byte("3")), 0);
+        assertEquals(1, ratingSummary.getNumberOfRatingsByRate().get(new Byte("9")), 0);
+    }
+
+    @Test
+    public void shouldMaintainSummaryOnCreateAndDelete() throws TechnicalException {
+        when(ratingRepository.findByApi(API_ID)).thenReturn(singletonList(rating));
+        assertEquals(1, ratingService.findSummaryByApi(API_ID).getNumberOfRatings());
+
+        final Rating r = new Rating();
+        r.setId("other-rating");
+        r.setApi(API_ID);
+        r.setUser(USER);
+        r.setRate(new Byte("5"));
+        when(newRatingEntity.getApi()).thenReturn(API_ID);
+        when(ratingRepository.findByApiAndUser(API_ID, USER)).thenReturn(empty());
+        when(ratingRepository.create(any())).thenReturn(r);
+        ratingService.create(newRatingEntity);
+
+        RatingSummaryEntity ratingSummary = ratingService.findSummariesByApis(singletonList(API_ID)).get(API_ID);
+        assertEquals(2, ratingSummary.getNumberOfRatings());
+        assertEquals(4, ratingSummary.getAverageRate(), 0);
+        assertEquals(1, ratingSummary.getNumberOfRatingsByRate().get(new Byte("5")), 0);
+
+        when(ratingRepository.findById("other-rating")).thenReturn(of(r));
+        ratingService.delete("other-rating");
+
+        ratingSummary = ratingService.findSummaryByApi(API_ID);
+        assertEquals(1, ratingSummary.getNumberOfRatings());
+        assertEquals(3, ratingSummary.getAverageRate(), 0);
+        assertNull(ratingSummary.getNumberOfRatingsByRate().get(new Byte("5")));
+
+        // Ratings are only loaded once
+        verify(ratingRepository, times(1)).findByApi(API_ID);
+    }
+}
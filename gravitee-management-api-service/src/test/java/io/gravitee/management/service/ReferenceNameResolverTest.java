@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.common.event.EventManager;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.gravitee.management.service.event.ReferenceNameEvent;
+import io.gravitee.management.service.impl.ReferenceNameResolver;
+import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.PlanRepository;
+import io.gravitee.repository.management.model.Application;
+import io.gravitee.repository.management.model.ApplicationStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ReferenceNameResolverTest {
+
+    @InjectMocks
+    private ReferenceNameResolver referenceNameResolver = new ReferenceNameResolver();
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+    @Mock
+    private PlanRepository planRepository;
+    @Mock
+    private EventManager eventManager;
+
+    @Before
+    public void setUp() {
+        setField(referenceNameResolver, "cacheTtl", 60_000L);
+        setField(referenceNameResolver, "cacheMaxSize", 100L);
+        referenceNameResolver.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldLoadApplicationsAtOnce() throws Exception {
+        when(applicationRepository.findByIds(any())).thenReturn(new HashSet<>(Arrays.asList(
+                application("app-1", "App 1", ApplicationStatus.ACTIVE),
+                application("app-2", "App 2", ApplicationStatus.ARCHIVED))));
+
+        Map<String, Map<String, String>> metadata =
+                referenceNameResolver.getApplicationMetadata(Arrays.asList("app-1", "app-2", "app-3", "1"));
+
+        assertEquals("App 1", metadata.get("app-1").get("name"));
+        assertEquals(null, metadata.get("app-1").get("deleted"));
+        assertEquals("App 2", metadata.get("app-2").get("name"));
+        assertEquals("true", metadata.get("app-2").get("deleted"));
+        assertEquals("Deleted application", metadata.get("app-3").get("name"));
+        assertEquals("Unknown application (keyless)", metadata.get("1").get("name"));
+        verify(applicationRepository, times(1)).findByIds(any());
+    }
+
+    @Test
+    public void shouldCacheApplications() throws Exception {
+        when(applicationRepository.findByIds(any()))
+                .thenReturn(Collections.singleton(application("app-1", "App 1", ApplicationStatus.ACTIVE)));
+
+        referenceNameResolver.getApplicationMetadata(Collections.singletonList("app-1"));
+        referenceNameResolver.getApplicationMetadata("app-1");
+
+        verify(applicationRepository, times(1)).findByIds(any());
+    }
+
+    @Test
+    public void shouldReloadInvalidatedApplication() throws Exception {
+        when(applicationRepository.findByIds(any()))
+                .thenReturn(Collections.singleton(application("app-1", "App 1", ApplicationStatus.ACTIVE)))
+                .thenReturn(Collections.singleton(application("app-1", "Renamed", ApplicationStatus.ACTIVE)));
+
+        referenceNameResolver.getApplicationMetadata("app-1");
+        referenceNameResolver.onEvent(new SimpleEvent<>(ReferenceNameEvent.INVALIDATE_APPLICATION, "app-1"));
+
+        assertEquals("Renamed", referenceNameResolver.getApplicationMetadata("app-1").get("name"));
+    }
+
+    @Test
+    public void shouldFlagDeletedPlan() throws Exception {
+        when(planRepository.findById("plan-1")).thenReturn(Optional.empty());
+
+        assertEquals("true", referenceNameResolver.getPlanMetadata("plan-1").get("deleted"));
+    }
+
+    private Application application(String id, String name, ApplicationStatus status) {
+        Application application = new Application();
+        application.setId(id);
+        application.setName(name);
+        application.setStatus(status);
+        return application;
+    }
+}
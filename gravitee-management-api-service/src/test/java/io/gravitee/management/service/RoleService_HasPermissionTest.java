@@ -16,16 +16,22 @@
 package io.gravitee.management.service;
 
 import io.gravitee.management.model.permissions.ApiPermission;
+import io.gravitee.management.model.permissions.MemberPermissions;
+import io.gravitee.management.model.permissions.RolePermission;
 import io.gravitee.management.model.permissions.RolePermissionAction;
+import io.gravitee.management.model.permissions.RoleScope;
 import io.gravitee.management.service.impl.RoleServiceImpl;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -94,4 +100,48 @@ public class RoleService_HasPermissionTest {
 
         assertFalse(hasPermission);
     }
+
+    @Test
+    public void shouldHasMemberPermission() {
+        MemberPermissions perms = MemberPermissions.of(RoleScope.API, Collections.singletonMap(
+                ApiPermission.DOCUMENTATION.getName(),
+                new char[]{RolePermissionAction.READ.getId(), RolePermissionAction.UPDATE.getId()}));
+
+        assertTrue(roleService.hasPermission(perms, ApiPermission.DOCUMENTATION,
+                new RolePermissionAction[]{RolePermissionAction.CREATE, RolePermissionAction.UPDATE}));
+        assertFalse(roleService.hasPermission(perms, ApiPermission.DOCUMENTATION,
+                new RolePermissionAction[]{RolePermissionAction.DELETE}));
+        assertFalse(roleService.hasPermission(perms, ApiPermission.PLAN,
+                new RolePermissionAction[]{RolePermissionAction.READ}));
+    }
+
+    @Test
+    public void shouldHasMergedMemberPermission() {
+        MemberPermissions perms = MemberPermissions.of(RoleScope.API, Collections.singletonMap(
+                ApiPermission.DOCUMENTATION.getName(), new char[]{RolePermissionAction.READ.getId()}))
+                .merge(MemberPermissions.of(RoleScope.API, Collections.singletonMap(
+                        ApiPermission.DOCUMENTATION.getName(), new char[]{RolePermissionAction.DELETE.getId()})));
+
+        assertTrue(roleService.hasPermission(perms, ApiPermission.DOCUMENTATION,
+                new RolePermissionAction[]{RolePermissionAction.DELETE}));
+        assertEquals(1, perms.toMap().size());
+        assertArrayEquals(new char[]{RolePermissionAction.READ.getId(), RolePermissionAction.DELETE.getId()},
+                perms.toMap().get(ApiPermission.DOCUMENTATION.getName()));
+    }
+
+    @Test
+    public void shouldHasMemberPermissionDeclaredByAnotherScope() {
+        // APPLICATION_ALERT is declared with the API permission
+        MemberPermissions perms = MemberPermissions.of(RoleScope.APPLICATION, Collections.singletonMap(
+                "ALERT", new char[]{RolePermissionAction.READ.getId()}));
+
+        assertTrue(roleService.hasPermission(perms, RolePermission.APPLICATION_ALERT.getPermission(),
+                new RolePermissionAction[]{RolePermissionAction.READ}));
+    }
+
+    @Test
+    public void shouldNotHasMemberPermissionIfNull() {
+        assertFalse(roleService.hasPermission((MemberPermissions) null, ApiPermission.DOCUMENTATION,
+                new RolePermissionAction[]{RolePermissionAction.READ}));
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.RoleEntity;
 import io.gravitee.management.model.UpdateRoleEntity;
 import io.gravitee.management.model.permissions.RolePermissionAction;
@@ -55,6 +56,9 @@ public class RoleService_UpdateTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private EventManager eventManager;
+
 
     @Test
     public void shouldUpdate() throws TechnicalException {
@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.service.impl.search.lucene.SearchEngineIndexer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class SearchEngineIndexerTest {
+
+    private SearchEngineIndexer indexer;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @Before
+    public void setUp() throws Exception {
+        writer = new IndexWriter(new RAMDirectory(), new IndexWriterConfig(new StandardAnalyzer()));
+        searcherManager = new SearcherManager(writer, null);
+
+        indexer = new SearchEngineIndexer();
+        setField(indexer, "writer", writer);
+        setField(indexer, "searcherManager", searcherManager);
+        setField(indexer, "refreshOnWrite", true);
+        setField(indexer, "commitBatchSize", 2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        indexer.destroy();
+        searcherManager.close();
+        writer.close();
+    }
+
+    @Test
+    public void shouldMakeDocumentVisibleWithoutCommit() throws Exception {
+        indexer.index(document("api-1"));
+
+        assertEquals(1, count("api-1"));
+        assertTrue(writer.hasUncommittedChanges());
+        assertEquals(0, indexer.getMetrics().getCommits());
+        assertEquals(1, indexer.getMetrics().getRefreshes());
+    }
+
+    @Test
+    public void shouldCommitWhenBatchIsFull() throws Exception {
+        indexer.index(document("api-1"));
+        indexer.index(document("api-2"));
+
+        assertFalse(writer.hasUncommittedChanges());
+        assertEquals(1, indexer.getMetrics().getCommits());
+    }
+
+    @Test
+    public void shouldCommitOnDestroy() throws Exception {
+        indexer.index(document("api-1"));
+        assertTrue(writer.hasUncommittedChanges());
+
+        indexer.destroy();
+
+        assertFalse(writer.hasUncommittedChanges());
+    }
+
+    @Test
+    public void shouldCommitOnceInBulkMode() throws Exception {
+        indexer.startBulk();
+        indexer.index(Arrays.asList(document("api-1"), document("api-2"), document("api-3")));
+        indexer.index(document("api-4"));
+        indexer.index(Arrays.asList(document("api-1"), document("api-5")));
+
+        assertEquals(0, indexer.getMetrics().getCommits());
+
+        indexer.endBulk();
+
+        assertFalse(writer.hasUncommittedChanges());
+        assertEquals(1, indexer.getMetrics().getCommits());
+        assertEquals(1, count("api-1"));
+        assertEquals(1, count("api-5"));
+    }
+
+    @Test
+    public void shouldTrackDocumentsIndexedDuringBulk() throws Exception {
+        indexer.index(document("api-1"));
+        indexer.startBulk();
+        indexer.index(Arrays.asList(document("api-2"), document("api-3")));
+        indexer.index(document("api-4"));
+        indexer.endBulk();
+
+        assertEquals(Collections.singleton("api-4"), indexer.getIdsIndexedDuringBulk());
+
+        indexer.startBulk();
+        assertTrue(indexer.getIdsIndexedDuringBulk().isEmpty());
+    }
+
+    @Test
+    public void shouldStoreCommitData() throws Exception {
+        indexer.setCommitData(Collections.singletonMap("api.updatedAt", "1234"));
+        indexer.commit();
+
+        assertFalse(writer.hasUncommittedChanges());
+        assertEquals("1234", indexer.getCommitData().get("api.updatedAt"));
+    }
+
+    @Test
+    public void shouldListAndRemoveDocuments() throws Exception {
+        indexer.index(Arrays.asList(document("api-1"), document("api-2"), document("api-3")));
+        indexer.endBulk();
+
+        assertEquals(new HashSet<>(Arrays.asList("api-1", "api-2", "api-3")), indexer.getIds("api"));
+
+        indexer.remove(Arrays.asList("api-1", "api-3"));
+        indexer.endBulk();
+
+        assertEquals(Collections.singleton("api-2"), indexer.getIds("api"));
+    }
+
+    private long count(String id) throws Exception {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(new TermQuery(new Term("id", id)));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Document document(String id) {
+        Document doc = new Document();
+        doc.add(new StringField("id", id, Field.Store.YES));
+        doc.add(new StringField("type", "api", Field.Store.YES));
+        return doc;
+    }
+}
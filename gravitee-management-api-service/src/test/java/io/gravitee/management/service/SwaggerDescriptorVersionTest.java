@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import io.gravitee.management.service.impl.SwaggerDescriptorVersion;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class SwaggerDescriptorVersionTest {
+
+    @Test
+    public void shouldDetectSwaggerV1() throws IOException {
+        assertEquals(SwaggerDescriptorVersion.V1, detect("io/gravitee/management/service/swagger-v1.json"));
+    }
+
+    @Test
+    public void shouldDetectSwaggerV2() throws IOException {
+        assertEquals(SwaggerDescriptorVersion.V2, detect("io/gravitee/management/service/swagger-v2.json"));
+        assertEquals(SwaggerDescriptorVersion.V2, detect("io/gravitee/management/service/swagger-v2.yaml"));
+    }
+
+    @Test
+    public void shouldDetectOpenAPI() throws IOException {
+        assertEquals(SwaggerDescriptorVersion.V3, detect("io/gravitee/management/service/openapi.json"));
+        assertEquals(SwaggerDescriptorVersion.V3, detect("io/gravitee/management/service/openapi.yaml"));
+    }
+
+    @Test
+    public void shouldDetectVersionAfterOtherFields() {
+        assertEquals(SwaggerDescriptorVersion.V2,
+                SwaggerDescriptorVersion.detect("{\"info\": {\"swagger\": \"3.0\"}, \"paths\": [], \"swagger\": \"2.0\"}"));
+        assertEquals(SwaggerDescriptorVersion.V3,
+                SwaggerDescriptorVersion.detect("info:\n  title: API\n  openapi: 2.0\nopenapi: 3.0.1\n"));
+    }
+
+    @Test
+    public void shouldNotDetectUnknownVersion() {
+        assertNull(SwaggerDescriptorVersion.detect(null));
+        assertNull(SwaggerDescriptorVersion.detect(""));
+        assertNull(SwaggerDescriptorVersion.detect("{\"info\": {\"title\": \"API\"}}"));
+        assertNull(SwaggerDescriptorVersion.detect("swagger: 1.0"));
+        assertNull(SwaggerDescriptorVersion.detect("{\"swagger\": "));
+        assertNull(SwaggerDescriptorVersion.detect("not a descriptor"));
+    }
+
+    private SwaggerDescriptorVersion detect(String resource) throws IOException {
+        return SwaggerDescriptorVersion.detect(Resources.toString(Resources.getResource(resource), Charsets.UTF_8));
+    }
+}
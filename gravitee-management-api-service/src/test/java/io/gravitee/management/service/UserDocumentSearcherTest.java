@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.UserEntity;
+import io.gravitee.management.model.common.PageableImpl;
+import io.gravitee.management.service.impl.search.SearchResult;
+import io.gravitee.management.service.impl.search.lucene.searcher.UserDocumentSearcher;
+import io.gravitee.management.service.impl.search.lucene.transformer.UserDocumentTransformer;
+import io.gravitee.management.service.search.query.QueryBuilder;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class UserDocumentSearcherTest {
+
+    private static final int USERS = 2500;
+
+    private UserDocumentSearcher searcher;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @Before
+    public void setUp() throws Exception {
+        writer = new IndexWriter(new RAMDirectory(), new IndexWriterConfig(new StandardAnalyzer()));
+
+        UserDocumentTransformer transformer = new UserDocumentTransformer();
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            UserEntity user = new UserEntity();
+            user.setId("user-" + i);
+            user.setSource("memory");
+            user.setSourceId("user-" + i);
+            user.setFirstname("john");
+            user.setLastname("doe");
+            documents.add(transformer.transform(user));
+        }
+        writer.addDocuments(documents);
+        writer.commit();
+
+        searcherManager = new SearcherManager(writer, null);
+        searcher = new UserDocumentSearcher();
+        setField(searcher, "searcherManager", searcherManager);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        searcherManager.close();
+        writer.close();
+    }
+
+    @Test
+    public void shouldSearchFirstPage() throws Exception {
+        SearchResult result = search(new PageableImpl(1, 10));
+
+        assertEquals(10, result.getDocuments().size());
+        assertEquals(USERS, result.getHits());
+    }
+
+    @Test
+    public void shouldSearchBeyondFirstThousandHits() throws Exception {
+        SearchResult result = search(new PageableImpl(150, 10));
+
+        assertEquals(10, result.getDocuments().size());
+        assertEquals(USERS, result.getHits());
+    }
+
+    @Test
+    public void shouldSearchLastPartialPage() throws Exception {
+        SearchResult result = search(new PageableImpl(3, 1000));
+
+        assertEquals(500, result.getDocuments().size());
+        assertEquals(USERS, result.getHits());
+    }
+
+    @Test
+    public void shouldSearchOutOfRangePage() throws Exception {
+        SearchResult result = search(new PageableImpl(300, 10));
+
+        assertEquals(0, result.getDocuments().size());
+        assertEquals(USERS, result.getHits());
+    }
+
+    @Test
+    public void shouldSearchAllPagesWithoutDuplicates() throws Exception {
+        HashSet<String> ids = new HashSet<>();
+        for (int page = 1; page <= 25; page++) {
+            ids.addAll(search(new PageableImpl(page, 100)).getDocuments());
+        }
+
+        assertEquals(USERS, ids.size());
+    }
+
+    @Test
+    public void shouldSearchWithoutPage() throws Exception {
+        SearchResult result = search(null);
+
+        assertEquals(USERS, result.getDocuments().size());
+        assertEquals(USERS, result.getHits());
+    }
+
+    private SearchResult search(PageableImpl pageable) throws Exception {
+        return searcher.search(QueryBuilder.create(UserEntity.class).setQuery("doe").setPage(pageable).build());
+    }
+}
@@ -25,6 +25,7 @@ import io.gravitee.management.model.configuration.dictionary.DictionaryEntity;
 import io.gravitee.management.model.configuration.dictionary.DictionaryProviderEntity;
 import io.gravitee.management.model.configuration.dictionary.DictionaryTriggerEntity;
 import io.gravitee.management.service.event.DictionaryEvent;
+import io.gravitee.management.service.vertx.HttpClientRegistry;
 import io.gravitee.management.services.dictionary.provider.http.HttpProvider;
 import io.gravitee.management.services.dictionary.provider.http.configuration.HttpProviderConfiguration;
 import io.vertx.core.Vertx;
@@ -60,6 +61,9 @@ public class DictionaryService extends AbstractService implements EventListener<
     @Autowired
     private Vertx vertx;
 
+    @Autowired
+    private HttpClientRegistry httpClientRegistry;
+
     private final Map<DictionaryEntity, Long> timers = new HashMap<>();
 
     @Override
@@ -104,6 +108,7 @@ public class DictionaryService extends AbstractService implements EventListener<
 
                     HttpProvider provider = new HttpProvider(configuration);
                     provider.setVertx(vertx);
+                    provider.setHttpClientRegistry(httpClientRegistry);
 
                     refresher.setProvider(provider);
                     refresher.setDictionaryService(dictionaryService);
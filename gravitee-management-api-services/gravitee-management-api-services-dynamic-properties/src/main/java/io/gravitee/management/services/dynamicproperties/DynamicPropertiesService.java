@@ -26,6 +26,7 @@ import io.gravitee.definition.model.services.schedule.Trigger;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.service.ApiService;
 import io.gravitee.management.service.event.ApiEvent;
+import io.gravitee.management.service.vertx.HttpClientRegistry;
 import io.gravitee.management.services.dynamicproperties.provider.http.HttpProvider;
 import io.vertx.core.Vertx;
 import org.slf4j.Logger;
@@ -54,6 +55,9 @@ public class DynamicPropertiesService extends AbstractService implements EventLi
     @Autowired
     private Vertx vertx;
 
+    @Autowired
+    private HttpClientRegistry httpClientRegistry;
+
     private final Map<ApiEntity, Long> timers = new HashMap<>();
 
     @Override
@@ -100,6 +104,7 @@ public class DynamicPropertiesService extends AbstractService implements EventLi
                 if (dynamicPropertyService.getProvider() == DynamicPropertyProvider.HTTP) {
                     HttpProvider provider = new HttpProvider(dynamicPropertyService);
                     provider.setVertx(vertx);
+                    provider.setHttpClientRegistry(httpClientRegistry);
 
                     updater.setProvider(provider);
                     updater.setApiService(apiService);
@@ -18,6 +18,7 @@ package io.gravitee.management.services.dynamicproperties.provider.http;
 import io.gravitee.common.http.HttpStatusCode;
 import io.gravitee.definition.model.services.dynamicproperty.DynamicPropertyService;
 import io.gravitee.definition.model.services.dynamicproperty.http.HttpDynamicPropertyProviderConfiguration;
+import io.gravitee.management.service.vertx.HttpClientRegistry;
 import io.gravitee.management.services.dynamicproperties.model.DynamicProperty;
 import io.gravitee.management.services.dynamicproperties.provider.Provider;
 import io.gravitee.management.services.dynamicproperties.provider.http.mapper.JoltMapper;
@@ -25,7 +26,6 @@ import io.gravitee.management.services.dynamicproperties.provider.http.vertx.Ver
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
-import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpMethod;
 import org.slf4j.Logger;
@@ -52,6 +52,8 @@ public class HttpProvider implements Provider {
 
     private Vertx vertx;
 
+    private HttpClientRegistry httpClientRegistry;
+
     public HttpProvider(final DynamicPropertyService dpService) {
         Objects.requireNonNull(dpService, "Service must not be null");
 
@@ -64,17 +66,8 @@ public class HttpProvider implements Provider {
         CompletableFuture<Buffer> future = new VertxCompletableFuture<>(vertx);
 
         URI requestUri = URI.create(dpConfiguration.getUrl());
-        boolean ssl = HTTPS_SCHEME.equalsIgnoreCase(requestUri.getScheme());
-
-        final HttpClientOptions options = new HttpClientOptions()
-                .setSsl(ssl)
-                .setTrustAll(true)
-                .setMaxPoolSize(1)
-                .setKeepAlive(false)
-                .setTcpKeepAlive(false)
-                .setConnectTimeout(2000);
-
-        final HttpClient httpClient = vertx.createHttpClient(options);
+        // Shared client: connections are kept alive between two polls
+        final HttpClient httpClient = httpClientRegistry.getClient(requestUri, null);
 
         final int port = requestUri.getPort() != -1 ? requestUri.getPort() :
                 (HTTPS_SCHEME.equals(requestUri.getScheme()) ? 443 : 80);
@@ -89,27 +82,13 @@ public class HttpProvider implements Provider {
 
             request.handler(response -> {
                 if (response.statusCode() == HttpStatusCode.OK_200) {
-                    response.bodyHandler(buffer -> {
-                        future.complete(buffer);
-
-                        // Close client
-                        httpClient.close();
-                    });
+                    response.bodyHandler(future::complete);
                 } else {
                     future.complete(null);
                 }
             });
 
-            request.exceptionHandler(event -> {
-                try {
-                    future.completeExceptionally(event);
-
-                    // Close client
-                    httpClient.close();
-                } catch (IllegalStateException ise) {
-                    // Do not take care about exception when closing client
-                }
-            });
+            request.exceptionHandler(future::completeExceptionally);
 
             request.end();
         } catch (Exception ex) {
@@ -138,4 +117,8 @@ public class HttpProvider implements Provider {
     public void setVertx(Vertx vertx) {
         this.vertx = vertx;
     }
+
+    public void setHttpClientRegistry(HttpClientRegistry httpClientRegistry) {
+        this.httpClientRegistry = httpClientRegistry;
+    }
 }
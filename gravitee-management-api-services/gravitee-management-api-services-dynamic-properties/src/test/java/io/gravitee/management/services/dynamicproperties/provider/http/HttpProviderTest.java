@@ -18,10 +18,12 @@ package io.gravitee.management.services.dynamicproperties.provider.http;
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import io.gravitee.definition.model.services.dynamicproperty.DynamicPropertyService;
 import io.gravitee.definition.model.services.dynamicproperty.http.HttpDynamicPropertyProviderConfiguration;
+import io.gravitee.management.service.vertx.HttpClientRegistry;
 import io.gravitee.management.services.dynamicproperties.model.DynamicProperty;
 import io.gravitee.management.services.dynamicproperties.provider.http.mapper.JoltMapper;
 import io.vertx.core.Vertx;
 import org.apache.commons.io.IOUtils;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -59,9 +61,17 @@ public class HttpProviderTest {
     @Mock
     private JoltMapper mapper;
 
+    private Vertx vertx;
+
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() {
+        vertx.close();
     }
 
     @Test
@@ -72,7 +82,8 @@ public class HttpProviderTest {
 
         HttpProvider provider = new HttpProvider(dynamicPropertyService);
         provider.setMapper(mapper);
-        provider.setVertx(Vertx.vertx());
+        provider.setVertx(vertx);
+        provider.setHttpClientRegistry(new HttpClientRegistry(vertx));
 
         CompletableFuture<Collection<DynamicProperty>> future = provider.get();
         Collection<DynamicProperty> dynamicProperties = future.join();
@@ -90,7 +101,8 @@ public class HttpProviderTest {
 
         HttpProvider provider = new HttpProvider(dynamicPropertyService);
         provider.setMapper(mapper);
-        provider.setVertx(Vertx.vertx());
+        provider.setVertx(vertx);
+        provider.setHttpClientRegistry(new HttpClientRegistry(vertx));
 
         CompletableFuture<Collection<DynamicProperty>> future = provider.get();
         Collection<DynamicProperty> dynamicProperties = future.join();
@@ -108,7 +120,8 @@ public class HttpProviderTest {
 
         HttpProvider provider = new HttpProvider(dynamicPropertyService);
         provider.setMapper(mapper);
-        provider.setVertx(Vertx.vertx());
+        provider.setVertx(vertx);
+        provider.setHttpClientRegistry(new HttpClientRegistry(vertx));
 
         CompletableFuture<Collection<DynamicProperty>> future = provider.get();
         future.join();
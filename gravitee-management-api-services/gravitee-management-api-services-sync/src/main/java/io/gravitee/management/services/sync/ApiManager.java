@@ -21,40 +21,93 @@ import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.service.event.ApiEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
+ * Registry of the deployed APIs.
+ *
+ * {@link ApiEvent}s are not published from the synchronization thread: they are dispatched to a bounded set of
+ * single-threaded workers, the worker being chosen from the API ID so that the events of a given API are always
+ * published in order.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ApiManager {
+public class ApiManager implements InitializingBean, DisposableBean {
 
     private final Logger logger = LoggerFactory.getLogger(ApiManager.class);
 
     @Autowired
     private EventManager eventManager;
 
-    private final Map<String, ApiEntity> apis = new HashMap<>();
+    @Value("${services.sync.workers:0}")
+    private int workers;
+
+    private final Map<String, ApiEntity> apis = new ConcurrentHashMap<>();
+
+    private ExecutorService[] dispatchers;
+
+    @Override
+    public void afterPropertiesSet() {
+        int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sync-dispatcher-");
+
+        dispatchers = new ExecutorService[size];
+        for (int i = 0; i < size; i++) {
+            dispatchers[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (dispatchers != null) {
+            for (ExecutorService dispatcher : dispatchers) {
+                dispatcher.shutdown();
+            }
+        }
+    }
 
     public void deploy(ApiEntity api) {
         logger.info("Deployment of {}", api);
 
-            apis.put(api.getId(), api);
+        apis.put(api.getId(), api);
 
-            if (api.getState() == Lifecycle.State.STARTED) {
-                eventManager.publishEvent(ApiEvent.DEPLOY, api);
-            } else {
-                logger.debug("{} is not enabled. Skip deployment.", api);
-            }
+        if (api.getState() == Lifecycle.State.STARTED) {
+            dispatch(ApiEvent.DEPLOY, api);
+        } else {
+            logger.debug("{} is not enabled. Skip deployment.", api);
+        }
     }
 
     public void update(ApiEntity api) {
-        apis.put(api.getId(), api);
-            eventManager.publishEvent(ApiEvent.UPDATE, api);
+        final boolean[] updated = {false};
+        apis.compute(api.getId(), (id, currentApi) -> {
+            // Never replace an API by an older version of it
+            if (currentApi != null && currentApi.getDeployedAt() != null && api.getDeployedAt() != null
+                    && currentApi.getDeployedAt().after(api.getDeployedAt())) {
+                return currentApi;
+            }
+            updated[0] = true;
+            return api;
+        });
+
+        if (updated[0]) {
+            dispatch(ApiEvent.UPDATE, api);
+        } else {
+            logger.debug("{} is older than the deployed one. Skip update.", api);
+        }
     }
 
     public void undeploy(String apiId) {
@@ -62,13 +115,16 @@ public class ApiManager {
         if (currentApi != null) {
             logger.info("Undeployment of {}", currentApi);
 
-            eventManager.publishEvent(ApiEvent.UNDEPLOY, currentApi);
+            dispatch(ApiEvent.UNDEPLOY, currentApi);
             logger.info("{} has been undeployed", apiId);
         }
     }
 
+    /**
+     * @return a snapshot of the deployed APIs.
+     */
     public Collection<ApiEntity> apis() {
-        return apis.values();
+        return Collections.unmodifiableCollection(new ArrayList<>(apis.values()));
     }
 
     public ApiEntity get(String name) {
@@ -78,4 +134,20 @@ public class ApiManager {
     public void setEventManager(EventManager eventManager) {
         this.eventManager = eventManager;
     }
+
+    private void dispatch(ApiEvent type, ApiEntity api) {
+        Runnable publish = () -> {
+            try {
+                eventManager.publishEvent(type, api);
+            } catch (Exception ex) {
+                logger.error("An error occurs while publishing {} event for {}", type, api, ex);
+            }
+        };
+
+        if (dispatchers == null) {
+            publish.run();
+        } else {
+            dispatchers[Math.floorMod(api.getId().hashCode(), dispatchers.length)].execute(publish);
+        }
+    }
 }
@@ -15,22 +15,41 @@
  */
 package io.gravitee.management.services.sync;
 
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
+import io.gravitee.management.model.EventEntity;
+import io.gravitee.management.service.event.SyncEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.micrometer.backends.BackendRegistries;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.TaskScheduler;
-import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.CronSequenceGenerator;
 
 import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Synchronization is triggered as soon as a {@link SyncEvent} is published by the {@link EventManager} (ie. when an
+ * API or a dictionary event is created from this node).
+ *
+ * Events created from other nodes are caught up by polling the repository: the polling delay starts at
+ * <code>services.sync.delay</code> and is doubled after each synchronization without any change, up to
+ * <code>services.sync.maxDelay</code>. Both default to 5 seconds, so the backoff must be enabled explicitly by raising
+ * <code>services.sync.maxDelay</code>, at the cost of the latency of changes made from other nodes. The deprecated
+ * <code>services.sync.cron</code> setting, when set, is converted to a fixed polling delay.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ScheduledSyncService extends AbstractService implements Runnable {
+public class ScheduledSyncService extends AbstractService implements EventListener<SyncEvent, EventEntity> {
 
     /**
      * Logger.
@@ -40,9 +59,18 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
     @Autowired
     private TaskScheduler scheduler;
 
-    @Value("${services.sync.cron:*/5 * * * * *}")
+    @Autowired
+    private EventManager eventManager;
+
+    @Value("${services.sync.cron:#{null}}")
     private String cronTrigger;
 
+    @Value("${services.sync.delay:5000}")
+    private long delay;
+
+    @Value("${services.sync.maxDelay:5000}")
+    private long maxDelay;
+
     @Value("${services.sync.enabled:true}")
     private boolean enabled;
 
@@ -54,15 +82,46 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
 
     private final AtomicLong counter = new AtomicLong(0);
 
+    private final AtomicBoolean notified = new AtomicBoolean();
+
+    private final Object lock = new Object();
+
+    private long currentDelay;
+
+    private ScheduledFuture<?> nextSync;
+
+    /**
+     * Sequence of the last scheduled synchronization, a synchronization which has been superseded does not run.
+     */
+    private long scheduled;
+
+    private boolean running;
+
+    private volatile boolean stopped;
+
     @Override
     protected void doStart() throws Exception {
         if (! localRegistryEnabled) {
             if (enabled) {
                 super.doStart();
-                logger.info("Sync service has been initialized with cron [{}]", cronTrigger);
+                if (cronTrigger != null) {
+                    delay = maxDelay = cronInterval(cronTrigger);
+                    logger.warn("services.sync.cron is deprecated, synchronization is polled every {} ms. " +
+                            "Use services.sync.delay and services.sync.maxDelay instead", delay);
+                }
+                logger.info("Sync service has been initialized with a polling delay between {} and {} ms", delay, Math.max(delay, maxDelay));
                 // Sync must start only when doStart() is invoked, that's the reason why we are not
                 // using @Scheduled annotation on doSync() method.
-                scheduler.schedule(this, new CronTrigger(cronTrigger));
+                currentDelay = delay;
+                // The registry of the metrics service, if enabled, has been created with Vert.x
+                final MeterRegistry registry = BackendRegistries.getDefaultNow();
+                if (registry != null) {
+                    syncStateManager.getMetrics().bindTo(registry);
+                }
+                eventManager.subscribeForEvents(this, SyncEvent.class);
+                synchronized (lock) {
+                    schedule(0);
+                }
             } else {
                 logger.warn("Sync service has been disabled");
             }
@@ -72,20 +131,80 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
     }
 
     @Override
-    public void run() {
-        doSync();
+    protected void doStop() throws Exception {
+        stopped = true;
+        synchronized (lock) {
+            if (nextSync != null) {
+                nextSync.cancel(false);
+            }
+        }
+        super.doStop();
+    }
+
+    @Override
+    public void onEvent(Event<SyncEvent, EventEntity> event) {
+        logger.debug("Synchronization requested by {} event {}", event.type(), event.content().getId());
+
+        synchronized (lock) {
+            notified.set(true);
+            // If a synchronization is running, the next one will be scheduled right after it
+            if (!running && nextSync != null && nextSync.cancel(false)) {
+                schedule(0);
+            }
+        }
+    }
+
+    private void run(long sequence) {
+        synchronized (lock) {
+            // A cancelled synchronization may already have been started
+            if (running || sequence != scheduled) {
+                return;
+            }
+            running = true;
+        }
+        notified.set(false);
+
+        boolean changed = false;
+        try {
+            changed = doSync();
+        } finally {
+            synchronized (lock) {
+                running = false;
+                if (notified.get()) {
+                    // Notified while synchronizing: the event may not have been seen yet
+                    schedule(0);
+                } else {
+                    currentDelay = changed ? delay : Math.min(currentDelay * 2, Math.max(delay, maxDelay));
+                    schedule(currentDelay);
+                }
+            }
+        }
     }
 
     /**
      * Synchronization done when Gravitee node is starting.
      * This sync phase must be done by all node before starting.
      */
-    private void doSync() {
+    private boolean doSync() {
         logger.debug("Synchronization #{} started at {}", counter.incrementAndGet(), Instant.now().toString());
 
-        syncStateManager.refresh();
+        boolean changed = syncStateManager.refresh();
 
         logger.debug("Synchronization #{} ended at {}", counter.get(), Instant.now().toString());
+        return changed;
+    }
+
+    private void schedule(long after) {
+        if (!stopped) {
+            final long sequence = ++scheduled;
+            nextSync = scheduler.schedule(() -> run(sequence), new Date(System.currentTimeMillis() + after));
+        }
+    }
+
+    private static long cronInterval(String cron) {
+        final CronSequenceGenerator generator = new CronSequenceGenerator(cron);
+        final Date next = generator.next(new Date());
+        return generator.next(next).getTime() - next.getTime();
     }
 
     @Override
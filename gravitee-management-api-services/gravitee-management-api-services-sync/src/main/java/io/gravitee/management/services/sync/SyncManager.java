@@ -25,6 +25,7 @@ import io.gravitee.management.service.event.DictionaryEvent;
 import io.gravitee.management.model.PrimaryOwnerEntity;
 import io.gravitee.management.model.UserEntity;
 import io.gravitee.management.model.permissions.SystemRole;
+import io.gravitee.management.repository.proxy.RepositoryCacheEvent;
 import io.gravitee.management.service.UserService;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiRepository;
@@ -33,6 +34,7 @@ import io.gravitee.repository.management.api.EventRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
 import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.api.search.Pageable;
 import io.gravitee.repository.management.api.search.builder.PageableBuilder;
 import io.gravitee.repository.management.model.*;
 import io.gravitee.repository.management.model.Dictionary;
@@ -43,11 +45,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 /**
@@ -61,6 +65,13 @@ public class SyncManager {
     private static final int TIMEFRAME_BEFORE_DELAY = 10 * 60 * 1000;
     private static final int TIMEFRAME_AFTER_DELAY = 1 * 60 * 1000;
 
+    /**
+     * Number of APIs (or dictionaries) for which the last event is looked up at once during the initial
+     * synchronization, and number of events read per page while doing so.
+     */
+    private static final int BULK_SIZE = 100;
+    private static final int EVENTS_PAGE_SIZE = 500;
+
     @Autowired
     private ApiRepository apiRepository;
     @Autowired
@@ -82,31 +93,54 @@ public class SyncManager {
 
     private final AtomicLong counter = new AtomicLong(0);
 
+    private final SyncMetrics metrics = new SyncMetrics();
+
     private long lastRefreshAt = -1;
 
-    public void refresh() {
+    /**
+     * Last computed event by API and by dictionary: events found again in the next synchronization windows are
+     * skipped instead of being read and deployed again.
+     */
+    private final Map<String, String> apiEventIds = new ConcurrentHashMap<>();
+    private final Map<String, String> dictionaryEventIds = new ConcurrentHashMap<>();
+
+    /**
+     * @return <code>true</code> if some API or dictionary events have been computed.
+     */
+    public boolean refresh() {
         logger.debug("Synchronization #{} started at {}", counter.incrementAndGet(), Instant.now().toString());
         logger.debug("Refreshing state...");
 
         long nextLastRefreshAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        int computedEvents = 0;
 
         try {
-            synchronizeApis(nextLastRefreshAt);
+            computedEvents += synchronizeApis(nextLastRefreshAt);
         } catch (Exception ex) {
             logger.error("An error occurs while synchronizing APIs", ex);
         }
 
         try {
-            synchronizeDictionaries(nextLastRefreshAt);
+            computedEvents += synchronizeDictionaries(nextLastRefreshAt);
         } catch (Exception ex) {
             logger.error("An error occurs while synchronizing dictionaries", ex);
         }
 
+        long time = (System.nanoTime() - start) / 1_000_000;
+        if (lastRefreshAt == -1) {
+            metrics.initialSynchronized(time, apiManager.apis().size());
+            logger.info("Initial synchronization done in {} ms ({} event(s) computed)", time, computedEvents);
+        }
+        metrics.refreshed(time, computedEvents);
+
         lastRefreshAt = nextLastRefreshAt;
-        logger.debug("Synchronization #{} ended at {}", counter.get(), Instant.now().toString());
+        logger.debug("Synchronization #{} ended at {} ({} event(s) computed)", counter.get(), Instant.now().toString(), computedEvents);
+
+        return computedEvents > 0;
     }
 
-    private void synchronizeApis(long nextLastRefreshAt) throws Exception {
+    private int synchronizeApis(long nextLastRefreshAt) throws Exception {
         Map<String, Event> apiEvents;
 
         // Initial synchronization
@@ -118,16 +152,10 @@ public class SyncManager {
                             .excludePicture().build());
 
             // Get last event by API
-            apiEvents = apis
-                    .stream()
-                    .map(api -> getLastApiEvent(api.getId()))
-                    .filter(Objects::nonNull)
-                    .collect(
-                            toMap(
-                                    event -> event.getProperties().get(Event.EventProperties.API_ID.getValue()),
-                                    event -> event
-                            )
-                    );
+            apiEvents = getLastEvents(
+                    Event.EventProperties.API_ID,
+                    apis.stream().map(Api::getId).collect(toList()),
+                    EventType.PUBLISH_API, EventType.UNPUBLISH_API, EventType.START_API, EventType.STOP_API);
         } else {
             // Get latest API events
             List<Event> events = getLatestApiEvents(nextLastRefreshAt);
@@ -142,11 +170,16 @@ public class SyncManager {
                                     BinaryOperator.maxBy(comparing(Event::getCreatedAt))));
         }
 
+        // Skip events already computed
+        apiEvents.entrySet().removeIf(entry -> entry.getValue().getId().equals(apiEventIds.get(entry.getKey())));
+
         // Then, compute events
         computeApiEvents(apiEvents);
+
+        return apiEvents.size();
     }
 
-    private void synchronizeDictionaries(long nextLastRefreshAt) throws Exception {
+    private int synchronizeDictionaries(long nextLastRefreshAt) throws Exception {
         Map<String, Event> dictionaryEvents;
 
         // Initial synchronization
@@ -157,16 +190,10 @@ public class SyncManager {
                     .collect(Collectors.toList());
 
             // Get last event by dictionary
-            dictionaryEvents = dictionaries
-                    .stream()
-                    .map(api -> getLastDictionaryEvent(api.getId()))
-                    .filter(Objects::nonNull)
-                    .collect(
-                            toMap(
-                                    event -> event.getProperties().get(Event.EventProperties.DICTIONARY_ID.getValue()),
-                                    event -> event
-                            )
-                    );
+            dictionaryEvents = getLastEvents(
+                    Event.EventProperties.DICTIONARY_ID,
+                    dictionaries.stream().map(Dictionary::getId).collect(toList()),
+                    EventType.START_DICTIONARY, EventType.STOP_DICTIONARY);
         } else {
             // Get latest dictionary events
             List<Event> events = getLatestDictionaryEvents(nextLastRefreshAt);
@@ -181,8 +208,12 @@ public class SyncManager {
                                     BinaryOperator.maxBy(comparing(Event::getCreatedAt))));
         }
 
+        // Skip events already computed
+        dictionaryEvents.entrySet().removeIf(entry -> entry.getValue().getId().equals(dictionaryEventIds.get(entry.getKey())));
 
         computeDictionaryEvents(dictionaryEvents);
+
+        return dictionaryEvents.size();
     }
 
     private void computeDictionaryEvents(Map<String, Event> dictionaryEvents) {
@@ -199,59 +230,148 @@ public class SyncManager {
                     eventManager.publishEvent(DictionaryEvent.STOP, dictionary);
                     break;
             }
+
+            dictionaryEventIds.put(id, event.getId());
         });
     }
 
     private void computeApiEvents(Map<String, Event> apiEvents) {
+        // Read API definitions to deploy from events
+        Map<String, Api> payloadApis = new HashMap<>();
         apiEvents.forEach((apiId, apiEvent) -> {
+            // The API may have been changed from another node
+            eventManager.publishEvent(RepositoryCacheEvent.INVALIDATE_API, apiId);
+
             switch (apiEvent.getType()) {
                 case UNPUBLISH_API:
                 case STOP_API:
                     apiManager.undeploy(apiId);
+                    apiEventIds.put(apiId, apiEvent.getId());
                     break;
                 case START_API:
                 case PUBLISH_API:
                     try {
-                        // Read API definition from event
-                        io.gravitee.repository.management.model.Api payloadApi =
-                                objectMapper.readValue(apiEvent.getPayload(), io.gravitee.repository.management.model.Api.class);
-
-                        // API to deploy
-                        ApiEntity apiToDeploy = convert(payloadApi);
-
-                        if (apiToDeploy != null) {
-                            // Get deployed API
-                            ApiEntity deployedApi = apiManager.get(apiToDeploy.getId());
-
-                            // API is not yet deployed, so let's do it !
-                            if (deployedApi == null) {
-                                apiManager.deploy(apiToDeploy);
-                            } else {
-                                if (deployedApi.getDeployedAt().before(apiToDeploy.getDeployedAt())) {
-                                    apiManager.update(apiToDeploy);
-                                }
-                            }
-                        }
+                        payloadApis.put(apiId, objectMapper.readValue(apiEvent.getPayload(), Api.class));
                     } catch (Exception e) {
                         logger.error("Error while determining deployed APIs store into events payload", e);
                     }
                     break;
             }
         });
+
+        if (payloadApis.isEmpty()) {
+            return;
+        }
+
+        // Resolve the primary owners of all the APIs to deploy at once
+        Map<String, UserEntity> primaryOwners = getPrimaryOwners(payloadApis.keySet());
+
+        payloadApis.forEach((apiId, payloadApi) -> {
+            try {
+                // API to deploy
+                ApiEntity apiToDeploy = convert(payloadApi, primaryOwners.get(payloadApi.getId()));
+
+                // Get deployed API
+                ApiEntity deployedApi = apiManager.get(apiToDeploy.getId());
+
+                // API is not yet deployed, so let's do it !
+                if (deployedApi == null) {
+                    apiManager.deploy(apiToDeploy);
+                } else {
+                    if (deployedApi.getDeployedAt().before(apiToDeploy.getDeployedAt())) {
+                        apiManager.update(apiToDeploy);
+                    }
+                }
+
+                apiEventIds.put(apiId, apiEvents.get(apiId).getId());
+            } catch (Exception e) {
+                logger.error("Error while determining deployed APIs store into events payload", e);
+            }
+        });
+    }
+
+    /**
+     * Get the last event of each of the given references (APIs or dictionaries).
+     *
+     * References are looked up by batches: events of a batch are read from the most recent one, until the last event
+     * of each reference of the batch has been found. This relies on the repository matching a list of values given for
+     * a property against any of them: references not resolved by the batch search are looked up one by one, as they
+     * would be if the repository compares the list as a single value.
+     */
+    private Map<String, Event> getLastEvents(Event.EventProperties property, List<String> references, EventType... types) {
+        final Map<String, Event> lastEvents = new HashMap<>(references.size());
+
+        for (int from = 0; from < references.size(); from += BULK_SIZE) {
+            final Set<String> remaining = new HashSet<>(references.subList(from, Math.min(from + BULK_SIZE, references.size())));
+            final EventCriteria criteria = new EventCriteria.Builder()
+                    .property(property.getValue(), new ArrayList<>(remaining))
+                    .types(types)
+                    .build();
+
+            int pageNumber = 0;
+            List<Event> events;
+            do {
+                Pageable pageable = new PageableBuilder().pageNumber(pageNumber++).pageSize(EVENTS_PAGE_SIZE).build();
+                events = eventRepository.search(criteria, pageable).getContent();
+
+                for (Event event : events) {
+                    String reference = event.getProperties().get(property.getValue());
+                    // Events are sorted from the most recent one
+                    if (remaining.remove(reference)) {
+                        lastEvents.put(reference, event);
+                    }
+                }
+            } while (!remaining.isEmpty() && events.size() == EVENTS_PAGE_SIZE);
+
+            for (String reference : remaining) {
+                Event event = getLastEvent(property, reference, types);
+                if (event != null) {
+                    lastEvents.put(reference, event);
+                }
+            }
+        }
+
+        return lastEvents;
     }
 
-    private Event getLastDictionaryEvent(final String dictionary) {
-        final EventCriteria.Builder eventCriteriaBuilder =
-                new EventCriteria.Builder()
-                        .property(Event.EventProperties.DICTIONARY_ID.getValue(), dictionary);
+    private Event getLastEvent(Event.EventProperties property, String reference, EventType... types) {
+        final EventCriteria criteria = new EventCriteria.Builder()
+                .property(property.getValue(), reference)
+                .types(types)
+                .build();
 
-        List<Event> events = eventRepository.search(eventCriteriaBuilder
-                        .types(EventType.START_DICTIONARY, EventType.STOP_DICTIONARY).build(),
+        List<Event> events = eventRepository.search(criteria,
                 new PageableBuilder().pageNumber(0).pageSize(1).build()).getContent();
 
         return (!events.isEmpty()) ? events.get(0) : null;
     }
 
+    private Map<String, UserEntity> getPrimaryOwners(Collection<String> apiIds) {
+        try {
+            Set<Membership> memberships = membershipRepository.findByReferencesAndRole(
+                    MembershipReferenceType.API,
+                    new ArrayList<>(apiIds),
+                    RoleScope.API,
+                    SystemRole.PRIMARY_OWNER.name());
+
+            Map<String, UserEntity> users = new HashMap<>(memberships.size());
+            userService.findByIds(memberships.stream().map(Membership::getUserId).distinct().collect(toList()))
+                    .forEach(user -> users.put(user.getId(), user));
+
+            Map<String, UserEntity> primaryOwners = new HashMap<>(memberships.size());
+            memberships.forEach(membership -> {
+                UserEntity user = users.get(membership.getUserId());
+                if (user != null) {
+                    primaryOwners.put(membership.getReferenceId(), user);
+                }
+            });
+            return primaryOwners;
+        } catch (final TechnicalException e) {
+            logger.error("Error while trying to get primary owners of {} APIs", apiIds.size(), e);
+            return Collections.emptyMap();
+        }
+    }
+
     private List<Event> getLatestDictionaryEvents(long nextLastRefreshAt) {
         final EventCriteria.Builder builder = new EventCriteria.Builder()
                 .types(EventType.START_DICTIONARY, EventType.STOP_DICTIONARY)
@@ -270,19 +390,7 @@ public class SyncManager {
         return eventRepository.search(builder.build());
     }
 
-    private Event getLastApiEvent(final String api) {
-        final EventCriteria.Builder eventCriteriaBuilder =
-                new EventCriteria.Builder()
-                        .property(Event.EventProperties.API_ID.getValue(), api);
-
-        List<Event> events = eventRepository.search(eventCriteriaBuilder
-                        .types(EventType.PUBLISH_API, EventType.UNPUBLISH_API, EventType.START_API, EventType.STOP_API).build(),
-                new PageableBuilder().pageNumber(0).pageSize(1).build()).getContent();
-
-        return (!events.isEmpty()) ? events.get(0) : null;
-    }
-
-    private ApiEntity convert(Api api) {
+    private ApiEntity convert(Api api, UserEntity primaryOwner) {
         ApiEntity apiEntity = new ApiEntity();
 
         apiEntity.setId(api.getId());
@@ -322,21 +430,13 @@ public class SyncManager {
             apiEntity.setVisibility(io.gravitee.management.model.Visibility.valueOf(api.getVisibility().toString()));
         }
 
-        try {
-            final Optional<Membership> primaryOwnerMembership = membershipRepository.findByReferenceAndRole(
-                    MembershipReferenceType.API,
-                    api.getId(),
-                    RoleScope.API,
-                    SystemRole.PRIMARY_OWNER.name())
-                    .stream()
-                    .findFirst();
-            if (primaryOwnerMembership.isPresent()) {
-                final UserEntity user = userService.findById(primaryOwnerMembership.get().getUserId());
-                apiEntity.setPrimaryOwner(new PrimaryOwnerEntity(user));
-            }
-        } catch (final TechnicalException e) {
-            logger.error("Error while trying to get primary owner of api " + api.getId(), e);
+        if (primaryOwner != null) {
+            apiEntity.setPrimaryOwner(new PrimaryOwnerEntity(primaryOwner));
         }
         return apiEntity;
     }
+
+    public SyncMetrics getMetrics() {
+        return metrics;
+    }
 }
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.services.sync;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timings collected by the {@link SyncManager}, exposed as <code>sync.*</code> meters.
+ *
+ * @author GraviteeSource Team
+ */
+public class SyncMetrics implements MeterBinder {
+
+    private final AtomicLong initialSyncTime = new AtomicLong(-1);
+    private final AtomicLong initialSyncApis = new AtomicLong();
+
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder syncTime = new LongAdder();
+    private final AtomicLong lastSyncTime = new AtomicLong();
+    private final AtomicLong maxSyncTime = new AtomicLong();
+    private final LongAdder computedEvents = new LongAdder();
+
+    /**
+     * @param time time (in ms) spent by the initial synchronization.
+     * @param apis number of APIs synchronized by the initial synchronization.
+     */
+    void initialSynchronized(long time, long apis) {
+        initialSyncTime.set(time);
+        initialSyncApis.set(apis);
+    }
+
+    /**
+     * @param time time (in ms) spent by a synchronization.
+     * @param events number of API and dictionary events computed.
+     */
+    void refreshed(long time, long events) {
+        syncs.increment();
+        syncTime.add(time);
+        lastSyncTime.set(time);
+        maxSyncTime.accumulateAndGet(time, Math::max);
+        computedEvents.add(events);
+    }
+
+    /**
+     * @return time (in ms) spent by the initial synchronization, -1 if not done yet.
+     */
+    public long getInitialSyncTime() {
+        return initialSyncTime.get();
+    }
+
+    public long getInitialSyncApis() {
+        return initialSyncApis.get();
+    }
+
+    public long getSyncs() {
+        return syncs.sum();
+    }
+
+    public long getLastSyncTime() {
+        return lastSyncTime.get();
+    }
+
+    public long getMaxSyncTime() {
+        return maxSyncTime.get();
+    }
+
+    public long getTotalSyncTime() {
+        return syncTime.sum();
+    }
+
+    public double getAverageSyncTime() {
+        long count = syncs.sum();
+        return count == 0 ? 0 : (double) syncTime.sum() / count;
+    }
+
+    public long getComputedEvents() {
+        return computedEvents.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("sync.initial.duration", this, TimeUnit.MILLISECONDS, SyncMetrics::getInitialSyncTime)
+                .description("Time spent by the initial synchronization, -1 if not done yet")
+                .register(registry);
+        Gauge.builder("sync.initial.apis", this, SyncMetrics::getInitialSyncApis)
+                .description("APIs deployed by the initial synchronization")
+                .register(registry);
+        FunctionTimer.builder("sync.runs", this, SyncMetrics::getSyncs, SyncMetrics::getTotalSyncTime, TimeUnit.MILLISECONDS)
+                .description("Synchronizations of the APIs and dictionaries")
+                .register(registry);
+        TimeGauge.builder("sync.run.last", this, TimeUnit.MILLISECONDS, SyncMetrics::getLastSyncTime)
+                .description("Time spent by the last synchronization")
+                .register(registry);
+        TimeGauge.builder("sync.run.max", this, TimeUnit.MILLISECONDS, SyncMetrics::getMaxSyncTime)
+                .description("Maximum time spent by a synchronization")
+                .register(registry);
+        FunctionCounter.builder("sync.events", this, SyncMetrics::getComputedEvents)
+                .description("API and dictionary events computed by the synchronizations")
+                .register(registry);
+    }
+
+    @Override
+    public String toString() {
+        return "SyncMetrics{" +
+                "initialSyncTime=" + getInitialSyncTime() +
+                ", initialSyncApis=" + getInitialSyncApis() +
+                ", syncs=" + getSyncs() +
+                ", lastSyncTime=" + getLastSyncTime() +
+                ", maxSyncTime=" + getMaxSyncTime() +
+                ", averageSyncTime=" + getAverageSyncTime() +
+                ", computedEvents=" + getComputedEvents() +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.services.sync;
+
+import io.gravitee.common.component.Lifecycle;
+import io.gravitee.common.event.EventManager;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.service.event.ApiEvent;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiManagerTest {
+
+    @InjectMocks
+    private ApiManager apiManager = new ApiManager();
+
+    @Mock
+    private EventManager eventManager;
+
+    @After
+    public void tearDown() {
+        apiManager.destroy();
+    }
+
+    @Test
+    public void shouldNotUpdateWithOlderDeployedAt() {
+        ApiEntity deployed = api("api-1", 2000);
+        apiManager.deploy(deployed);
+
+        apiManager.update(api("api-1", 1000));
+
+        assertSame(deployed, apiManager.get("api-1"));
+        verify(eventManager).publishEvent(ApiEvent.DEPLOY, deployed);
+        verify(eventManager, never()).publishEvent(eq(ApiEvent.UPDATE), any());
+    }
+
+    @Test
+    public void shouldDispatchEventsOfAnApiInOrder() throws Exception {
+        setField(apiManager, "workers", 4);
+        apiManager.afterPropertiesSet();
+
+        int nbUpdates = 50;
+        Map<String, List<Date>> published = Collections.synchronizedMap(new HashMap<>());
+        CountDownLatch latch = new CountDownLatch(2 * (nbUpdates + 1));
+        doAnswer(invocation -> {
+            ApiEntity api = invocation.getArgument(1);
+            published.computeIfAbsent(api.getId(), id -> Collections.synchronizedList(new ArrayList<>())).add(api.getDeployedAt());
+            latch.countDown();
+            return null;
+        }).when(eventManager).publishEvent(any(ApiEvent.class), any(ApiEntity.class));
+
+        for (String id : Arrays.asList("api-1", "api-2")) {
+            apiManager.deploy(api(id, 0));
+        }
+        for (int i = 1; i <= nbUpdates; i++) {
+            apiManager.update(api("api-1", i));
+            apiManager.update(api("api-2", i));
+        }
+
+        assertTrue("All the events are published", latch.await(10, TimeUnit.SECONDS));
+        for (String id : Arrays.asList("api-1", "api-2")) {
+            List<Date> dates = published.get(id);
+            assertEquals(nbUpdates + 1, dates.size());
+            for (int i = 0; i < dates.size(); i++) {
+                assertEquals(new Date(i), dates.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldKeepDispatchingWhenAListenerFails() throws Exception {
+        setField(apiManager, "workers", 1);
+        apiManager.afterPropertiesSet();
+
+        List<String> published = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        doAnswer(invocation -> {
+            ApiEntity api = invocation.getArgument(1);
+            try {
+                if ("api-1".equals(api.getId()) && invocation.getArgument(0) == ApiEvent.DEPLOY) {
+                    throw new IllegalStateException("Listener failure");
+                }
+                published.add(invocation.getArgument(0) + " " + api.getId());
+                return null;
+            } finally {
+                latch.countDown();
+            }
+        }).when(eventManager).publishEvent(any(ApiEvent.class), any(ApiEntity.class));
+
+        apiManager.deploy(api("api-1", 0));
+        apiManager.deploy(api("api-2", 0));
+        apiManager.update(api("api-1", 1));
+
+        assertTrue("All the events are published", latch.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("DEPLOY api-2", "UPDATE api-1"), published);
+        assertEquals(new Date(1), apiManager.get("api-1").getDeployedAt());
+    }
+
+    private ApiEntity api(String id, long deployedAt) {
+        ApiEntity api = new ApiEntity();
+        api.setId(id);
+        api.setState(Lifecycle.State.STARTED);
+        api.setDeployedAt(new Date(deployedAt));
+        return api;
+    }
+}
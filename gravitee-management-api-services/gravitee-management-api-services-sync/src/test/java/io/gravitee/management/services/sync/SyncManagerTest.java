@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.services.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.common.event.EventManager;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.service.UserService;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.DictionaryRepository;
+import io.gravitee.repository.management.api.EventRepository;
+import io.gravitee.repository.management.api.MembershipRepository;
+import io.gravitee.repository.management.api.search.EventCriteria;
+import io.gravitee.repository.management.api.search.Pageable;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Event;
+import io.gravitee.repository.management.model.EventType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SyncManagerTest {
+
+    @InjectMocks
+    private SyncManager syncManager = new SyncManager();
+
+    @Mock
+    private ApiRepository apiRepository;
+    @Mock
+    private DictionaryRepository dictionaryRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ApiManager apiManager;
+    @Mock
+    private EventManager eventManager;
+    @Mock
+    private MembershipRepository membershipRepository;
+    @Mock
+    private UserService userService;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Before
+    public void setUp() throws Exception {
+        when(apiRepository.search(isNull(), any())).thenReturn(Arrays.asList(api("api-1"), api("api-2")));
+    }
+
+    @Test
+    public void shouldDeployLastEventsFoundInBatch() {
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenAnswer(invocation ->
+                page(publishEvent("evt-2", "api-2"), publishEvent("evt-1", "api-1")));
+
+        syncManager.refresh();
+
+        verify(apiManager).deploy(argThat(api -> "api-1".equals(api.getId())));
+        verify(apiManager).deploy(argThat(api -> "api-2".equals(api.getId())));
+        verify(eventRepository, times(1)).search(any(EventCriteria.class), any(Pageable.class));
+    }
+
+    @Test
+    public void shouldLookUpEventsOneByOneWhenNotFoundInBatch() {
+        // The repository does not match the list of API IDs against each of them
+        when(eventRepository.search(any(EventCriteria.class), any(Pageable.class))).thenAnswer(invocation -> {
+            Object api = invocation.<EventCriteria>getArgument(0).getProperties().get(Event.EventProperties.API_ID.getValue());
+            return api instanceof String ? page(publishEvent("evt-" + api, (String) api)) : page();
+        });
+
+        syncManager.refresh();
+
+        verify(apiManager).deploy(argThat(api -> "api-1".equals(api.getId())));
+        verify(apiManager).deploy(argThat(api -> "api-2".equals(api.getId())));
+        verify(apiManager, never()).undeploy(anyString());
+    }
+
+    private Api api(String id) {
+        Api api = new Api();
+        api.setId(id);
+        return api;
+    }
+
+    private Event publishEvent(String id, String api) throws Exception {
+        Api payload = api(api);
+        payload.setDeployedAt(new Date());
+
+        Event event = new Event();
+        event.setId(id);
+        event.setType(EventType.PUBLISH_API);
+        event.setCreatedAt(new Date());
+        event.setProperties(Collections.singletonMap(Event.EventProperties.API_ID.getValue(), api));
+        event.setPayload(objectMapper.writeValueAsString(payload));
+        return event;
+    }
+
+    private Page<Event> page(Event... events) {
+        return new Page<>(Arrays.asList(events), 0, events.length, events.length);
+    }
+}